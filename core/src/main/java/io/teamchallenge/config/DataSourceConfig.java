@@ -0,0 +1,128 @@
+package io.teamchallenge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.teamchallenge.datasource.ReadYourWritesTracker;
+import io.teamchallenge.datasource.ReplicaPool;
+import io.teamchallenge.datasource.ReplicaRoutingDataSource;
+import io.teamchallenge.datasource.WriteTrackingDataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Config of the data sources. Read-write transactions go to the primary, read-only transactions go to the
+ * replicas listed in {@code datasource.replica.urls}, or to the primary as well if there are none.
+ * The connection is obtained lazily, once the transaction has marked it read-only, so that the routing
+ * can rely on the read-only flag of the transaction.
+ *
+ * @author Niktia Malov
+ */
+@Configuration
+public class DataSourceConfig {
+    /**
+     * Creates the connection pool of the primary from the {@code spring.datasource} properties.
+     *
+     * @param properties The data source properties.
+     * @return The connection pool of the primary.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the tracker of the writes of the authenticated users.
+     *
+     * @param windowSeconds The time in seconds after a write during which the reads of the user go to the primary.
+     * @return The tracker.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+        @Value("${datasource.replica.read-your-writes-seconds}") Long windowSeconds) {
+        return new ReadYourWritesTracker(DataSourceConfig::currentUser, Duration.ofSeconds(windowSeconds),
+            Clock.systemUTC());
+    }
+
+    /**
+     * Creates the data source of the read-only transactions with a connection pool per replica.
+     *
+     * @param primaryDataSource The connection pool of the primary.
+     * @param tracker           The tracker of the writes of the users.
+     * @param properties        The data source properties of the primary.
+     * @param urls              The JDBC URLs of the replicas.
+     * @param username          The username of the replicas.
+     * @param password          The password of the replicas.
+     * @param poolSize          The maximum size of the connection pool of every replica.
+     * @param maxLagSeconds     The maximum lag in seconds of a replica that still receives reads.
+     * @return The data source of the read-only transactions.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        ReadYourWritesTracker tracker,
+        DataSourceProperties properties,
+        @Value("${datasource.replica.urls}") List<String> urls,
+        @Value("${datasource.replica.username}") String username,
+        @Value("${datasource.replica.password}") String password,
+        @Value("${datasource.replica.pool-size}") Integer poolSize,
+        @Value("${datasource.replica.max-lag-seconds}") Long maxLagSeconds) {
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(new ReplicaPool(replica.getPoolName(), replica));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, tracker, Duration.ofSeconds(maxLagSeconds));
+    }
+
+    /**
+     * Creates the data source used by the application, which routes the read-write transactions to the primary
+     * and the read-only transactions to the replicas.
+     *
+     * @param primaryDataSource        The connection pool of the primary.
+     * @param replicaRoutingDataSource The data source of the read-only transactions.
+     * @param tracker                  The tracker of the writes of the users.
+     * @return The routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource,
+                                 ReadYourWritesTracker tracker) {
+        LazyConnectionDataSourceProxy dataSource =
+            new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, tracker));
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (Objects.isNull(authentication) || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
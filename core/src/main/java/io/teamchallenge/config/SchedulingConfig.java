@@ -0,0 +1,13 @@
+package io.teamchallenge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Config for scheduled jobs.
+ * @author Niktia Malov
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
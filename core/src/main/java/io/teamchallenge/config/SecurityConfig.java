@@ -104,6 +104,9 @@ public class SecurityConfig {
                     "/swagger-resources/**",
                     "/webjars/**")
                 .permitAll()
+                .requestMatchers(HttpMethod.GET, API_V1 + "/products/feed", API_V1 + "/products/cache-stats",
+                    API_V1 + "/products/imports/**")
+                .hasRole(ADMIN)
                 .requestMatchers(HttpMethod.GET,
                     API_V1 + "/categories/{id}/attribute-attributeValues",
                     API_V1 + "/categories/{id}/attribute-attributeValues",
@@ -112,6 +115,8 @@ public class SecurityConfig {
                     API_V1 + "/attributes",
                     API_V1 + "/categories",
                     API_V1 + "/products/{id}",
+                    API_V1 + "/products/batch",
+                    API_V1 + "/images/**",
                     "/hello",
                     API_V1 + "/reviews/{productId}"
                 )
@@ -0,0 +1,60 @@
+package io.teamchallenge.controller;
+
+import io.teamchallenge.service.impl.LocalImageStorageServiceImpl;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Controller serving the images stored in the local file system.
+ * Registered when the {@code image.storage} property is {@code local}.
+ *
+ * @author Niktia Malov
+ */
+@RestController
+@RequestMapping("/api/v1/images")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "image.storage", havingValue = "local")
+public class ImageController {
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final LocalImageStorageServiceImpl localImageStorageService;
+
+    /**
+     * Retrieves the stored image with the given name. The file is streamed from the disk, and a request with
+     * a Range header is answered with the requested byte ranges. Since the images are named by the hash of
+     * their content, they never change and are cached for a year.
+     *
+     * @param folderName The name of the folder of the image.
+     * @param fileName   The name of the file of the image.
+     * @param webRequest The current request, used to evaluate the If-None-Match header.
+     * @return ResponseEntity containing the image, with status OK, or with status NOT_MODIFIED if the client
+     *         already has the image.
+     */
+    @GetMapping("/{folderName}/{fileName:.+}")
+    public ResponseEntity<Resource> getImage(@PathVariable String folderName, @PathVariable String fileName,
+                                             WebRequest webRequest) {
+        Resource image = localImageStorageService.getImage(folderName, fileName);
+        String etag = "\"" + StringUtils.stripFilenameExtension(fileName) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(IMMUTABLE)
+            .contentType(MediaTypeFactory.getMediaType(image).orElse(MediaType.APPLICATION_OCTET_STREAM))
+            .body(image);
+    }
+}
@@ -7,14 +7,17 @@ import io.teamchallenge.dto.order.OrderRequestDto;
 import io.teamchallenge.dto.order.OrderResponseDto;
 import io.teamchallenge.dto.order.OrderFilterDto;
 import io.teamchallenge.dto.order.ShortOrderResponseDto;
+import io.teamchallenge.dto.pageable.CursorPageableDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.enumerated.DeliveryStatus;
 import io.teamchallenge.service.impl.OrderService;
+import io.teamchallenge.util.EntityTagUtils;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -23,9 +26,11 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
@@ -54,13 +59,20 @@ public class OrderController {
     /**
      * Retrieves an order by its unique identifier.
      *
-     * @param orderId The unique identifier of the order.
+     * @param orderId    The unique identifier of the order.
+     * @param webRequest The current request, used to evaluate the If-None-Match header.
      * @return A {@link ResponseEntity} containing the {@link OrderResponseDto}
-     *          with the order details and HTTP status OK.
+     *          with the order details, the ETag of the order version and HTTP status OK,
+     *          or with HTTP status NOT_MODIFIED if the client already has the current version.
      */
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable Long orderId) {
-        return ResponseEntity.status(HttpStatus.OK).body(orderService.getById(orderId));
+    public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable Long orderId, WebRequest webRequest) {
+        OrderResponseDto orderResponseDto = orderService.getById(orderId);
+        String etag = EntityTagUtils.toETag(orderResponseDto.getVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).body(orderResponseDto);
     }
 
     /**
@@ -68,11 +80,15 @@ public class OrderController {
      *
      * @param orderId The unique identifier of the order.
      * @param status  The new delivery status to be set for the order.
+     * @param ifMatch Optional ETag of the order version the update is based on. If it is present
+     *                and the order was modified since, the update is rejected with PRECONDITION_FAILED.
      * @return A {@link ResponseEntity} with HTTP status CREATED.
      */
     @PatchMapping("/{orderId}")
-    public ResponseEntity<Void> setOrderStatus(@PathVariable Long orderId, @RequestParam DeliveryStatus status) {
-        orderService.setDeliveryStatus(orderId, status);
+    public ResponseEntity<Void> setOrderStatus(@PathVariable Long orderId, @RequestParam DeliveryStatus status,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) {
+        orderService.setDeliveryStatus(orderId, status, EntityTagUtils.parseIfMatch(ifMatch));
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -81,11 +97,15 @@ public class OrderController {
      *
      * @param orderId The unique identifier of the order to be canceled.
      * @param userId  The unique identifier of the user requesting the cancellation.
+     * @param ifMatch Optional ETag of the order version the cancellation is based on. If it is present
+     *                and the order was modified since, the cancellation is rejected with PRECONDITION_FAILED.
      * @return A {@link ResponseEntity} with HTTP status CREATED.
      */
     @PatchMapping("/cancel/{orderId}")
-    public ResponseEntity<Void> cancelOrder(@PathVariable Long orderId, @CurrentUserId Long userId) {
-        orderService.cancelOrder(orderId, userId);
+    public ResponseEntity<Void> cancelOrder(@PathVariable Long orderId, @CurrentUserId Long userId,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                            String ifMatch) {
+        orderService.cancelOrder(orderId, userId, EntityTagUtils.parseIfMatch(ifMatch));
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -104,4 +124,24 @@ public class OrderController {
         @PageableDefault(sort = "createdAt", direction = DESC) Pageable pageable) {
         return ResponseEntity.status(HttpStatus.OK).body(orderService.getAllByFilter(filterParametersDto, pageable));
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the window of orders filtered by the given parameters that follows the given cursor.
+     * An empty cursor requests the first window.
+     *
+     * @param cursor              The cursor returned with the previous window, empty for the first window.
+     * @param filterParametersDto The filter parameters to apply to the query.
+     * @param pageable            The page size and sorting information, the page number is ignored.
+     * @return A {@link ResponseEntity} containing a {@link CursorPageableDto} with a list
+     *          of {@link ShortOrderResponseDto} and HTTP status OK.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageableDto<ShortOrderResponseDto>> getAllOrdersByCursor(
+        @RequestParam(defaultValue = "") String cursor,
+        @Valid OrderFilterDto filterParametersDto,
+        @AllowedSortFields(values = {"id", "createdAt", "isPaid", "deliveryStatus", "deliveryMethod", "total"})
+        @PageableDefault(sort = "createdAt", direction = DESC) Pageable pageable) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(orderService.getAllByFilter(cursor, filterParametersDto, pageable));
+    }
+}
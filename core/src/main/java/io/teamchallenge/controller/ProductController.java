@@ -3,16 +3,31 @@ package io.teamchallenge.controller;
 import io.teamchallenge.annotation.AllowedSortFields;
 import io.teamchallenge.annotation.ImageValidation;
 import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.pageable.AdvancedCursorPageableDto;
 import io.teamchallenge.dto.pageable.AdvancedPageableDto;
+import io.teamchallenge.dto.product.ProductComparisonDto;
+import io.teamchallenge.dto.product.ProductDetailCacheStatsDto;
 import io.teamchallenge.dto.product.ProductRequestDto;
 import io.teamchallenge.dto.product.ProductResponseDto;
 import io.teamchallenge.dto.product.ShortProductResponseDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
+import io.teamchallenge.service.impl.ProductFeedService;
+import io.teamchallenge.service.impl.ProductResponseCacheService;
 import io.teamchallenge.service.impl.ProductService;
+import io.teamchallenge.util.EntityTagUtils;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,10 +37,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
@@ -38,35 +57,142 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @RequiredArgsConstructor
 @Validated
 public class ProductController {
+    /**
+     * The maximum number of products retrieved by one batch request.
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final ProductService productService;
+    private final ProductResponseCacheService productResponseCacheService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductFeedService productFeedService;
+    private final ProductDetailCacheService productDetailCacheService;
 
     /**
      * Retrieves a paginated list of products based on the provided filter criteria and pagination settings.
      *
      * @param productFilterDto  DTO containing filter criteria for products.
      * @param pageable          Pageable object for pagination and sorting information.
-     *                          Allowed sort fields: "price".
+     *                          Allowed sort fields: "price", "popularity", "rating", "relevance".
+     *                          "relevance" ranks the products by the searched name and falls back
+     *                          to "rating" when no name is searched.
      *                          Default sort: "price" in descending order.
-     * @return ResponseEntity containing a pageable list of short product responses.
+     * @param webRequest        The current request, used to evaluate the If-None-Match header.
+     * @return ResponseEntity containing a pageable list of short product responses with the ETag of the
+     *         catalog version, or with status NOT_MODIFIED if the client already has the current version.
      */
     @GetMapping
     public ResponseEntity<AdvancedPageableDto<ShortProductResponseDto>> getAll(
+        @Valid ProductFilterDto productFilterDto,
+        @AllowedSortFields(values = {"price","popularity","rating","relevance"})
+        @PageableDefault(sort = "price", direction = DESC) Pageable pageable,
+        WebRequest webRequest) {
+        String etag = catalogVersionService.getETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(productResponseCacheService.getAll(pageable, productFilterDto));
+    }
+
+
+    /**
+     * Retrieves the window of products following the given cursor, based on the provided filter criteria
+     * and sort. The cursor mode is opt-in: an empty cursor requests the first window, and every response carries
+     * the cursor of the next one, so deep windows cost the same as the first one.
+     *
+     * @param cursor           The cursor returned with the previous window, empty for the first window.
+     * @param productFilterDto DTO containing filter criteria for products.
+     * @param pageable         Pageable object for the page size and sorting information, the page number is ignored.
+     *                         Allowed sort fields: "price", "popularity", "rating".
+     *                         Default sort: "price" in descending order.
+     * @return ResponseEntity containing a window of short product responses and the cursor of the next window.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<AdvancedCursorPageableDto<ShortProductResponseDto>> getAllByCursor(
+        @RequestParam(defaultValue = "") String cursor,
         @Valid ProductFilterDto productFilterDto,
         @AllowedSortFields(values = {"price","popularity","rating"})
         @PageableDefault(sort = "price", direction = DESC) Pageable pageable) {
-        return ResponseEntity.ok(productService.getAll(pageable, productFilterDto));
+        return ResponseEntity.ok(productService.getAll(cursor, pageable, productFilterDto));
+    }
+
+    /**
+     * Streams the feed of the whole product catalog, or of the products updated since the given time,
+     * for marketplace partners. The feed is written while the products are read, so it is not buffered
+     * in memory, and partners do not have to page through the listing.
+     *
+     * @param format       The format of the feed, "NDJSON" or "CSV". Default: "NDJSON".
+     * @param updatedSince Optional ISO date-time; only the products updated since then are exported.
+     * @return ResponseEntity streaming the feed as an attachment, with status OK.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<StreamingResponseBody> getFeed(
+        @RequestParam(defaultValue = "NDJSON") ProductFeedFormat format,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime updatedSince) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("products." + format.getFileExtension())
+                .build()
+                .toString())
+            .body(outputStream -> productFeedService.export(updatedSince, format, outputStream));
     }
 
+    /**
+     * Retrieves the statistics of the product detail cache, such as its hit rate and the time spent loading
+     * the missing products, for monitoring.
+     *
+     * @return ResponseEntity containing the statistics of the product detail cache, with status OK.
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ProductDetailCacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(productDetailCacheService.getStats());
+    }
+
+    /**
+     * Retrieves a batch of products by their identifiers, so that lists of known products are loaded
+     * by one request instead of a request per product.
+     *
+     * @param ids The identifiers of the products to retrieve, at most {@value #MAX_BATCH_SIZE}.
+     * @return ResponseEntity containing the found products in the order of the identifiers, with status OK.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<ProductResponseDto>> getByIds(
+        @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) List<Long> ids) {
+        return ResponseEntity.ok(productService.getByIds(ids));
+    }
+
+    /**
+     * Compares a batch of products by their identifiers.
+     *
+     * @param ids The identifiers of the products to compare, at most {@value #MAX_BATCH_SIZE}.
+     * @return ResponseEntity containing the found products in the order of the identifiers and the matrix of
+     *         their attributes, with status OK.
+     */
+    @GetMapping(path = "/batch", params = "compare=true")
+    public ResponseEntity<ProductComparisonDto> compare(
+        @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) List<Long> ids) {
+        return ResponseEntity.ok(productService.compare(ids));
+    }
 
     /**
      * Retrieves a product by its unique identifier.
      *
-     * @param id The identifier of the product to retrieve.
-     * @return ResponseEntity containing the ProductResponseDto representing the retrieved product, with status OK.
+     * @param id         The identifier of the product to retrieve.
+     * @param webRequest The current request, used to evaluate the If-None-Match header.
+     * @return ResponseEntity containing the ProductResponseDto representing the retrieved product, with status OK
+     *         and the ETag of the product version, or with status NOT_MODIFIED if the client already has
+     *         the current version.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDto> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getById(id));
+    public ResponseEntity<ProductResponseDto> getById(@PathVariable Long id, WebRequest webRequest) {
+        ProductResponseDto productResponseDto = productResponseCacheService.getById(id);
+        String etag = EntityTagUtils.toETag(productResponseDto.getVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(productResponseDto);
     }
 
     /**
@@ -94,15 +220,23 @@ public class ProductController {
      *                          Must pass custom @ImageValidation if provided.
      * @param productRequestDto DTO containing updated product details.
      *                          Must be valid as per validation constraints.
-     * @return ResponseEntity containing the updated product details with a status of OK (200).
+     * @param ifMatch           Optional ETag of the product version the update is based on. If it is present
+     *                          and the product was modified since, the update is rejected with PRECONDITION_FAILED.
+     * @return ResponseEntity containing the updated product details and the ETag of the new product version
+     *         with a status of OK (200).
      */
     @PutMapping(path = "/{id}", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<ProductResponseDto> update(@PathVariable Long id,
                                                      @RequestPart(required = false) @ImageValidation
                                                      List<MultipartFile> images,
-                                                     @RequestPart @Valid ProductRequestDto productRequestDto) {
+                                                     @RequestPart @Valid ProductRequestDto productRequestDto,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                     String ifMatch) {
+        ProductResponseDto productResponseDto =
+            productService.update(id, productRequestDto, images, EntityTagUtils.parseIfMatch(ifMatch));
         return ResponseEntity.status(HttpStatus.OK)
-            .body(productService.update(id, productRequestDto, images));
+            .eTag(EntityTagUtils.toETag(productResponseDto.getVersion()))
+            .body(productResponseDto);
     }
 
     /**
@@ -0,0 +1,84 @@
+package io.teamchallenge.controller;
+
+import io.teamchallenge.dto.pageable.PageableDto;
+import io.teamchallenge.dto.product.ProductImportDto;
+import io.teamchallenge.dto.product.ProductImportErrorDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.service.impl.ProductImportService;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for bulk imports of products.
+ *
+ * @author Niktia Malov
+ */
+@RestController
+@RequestMapping("/api/v1/products/imports")
+@RequiredArgsConstructor
+public class ProductImportController {
+    private final ProductImportService productImportService;
+
+    /**
+     * Starts the import of the file of products sent as the request body. The body is stored as it is
+     * received, so files larger than the multipart limits can be imported, and the products are imported
+     * in the background.
+     *
+     * @param format      The format of the file, "NDJSON" or "CSV". Default: "NDJSON".
+     * @param inputStream The stream of the request body.
+     * @return ResponseEntity containing the pending import, with status ACCEPTED.
+     */
+    @PostMapping
+    public ResponseEntity<ProductImportDto> start(@RequestParam(defaultValue = "NDJSON") ProductFeedFormat format,
+                                                  InputStream inputStream) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(productImportService.start(inputStream, format));
+    }
+
+    /**
+     * Retrieves the import with the given ID together with its progress.
+     *
+     * @param id The ID of the import.
+     * @return ResponseEntity containing the import, with status OK.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductImportDto> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(productImportService.getById(id));
+    }
+
+    /**
+     * Retrieves the errors of the rows of the import with the given ID that were not imported.
+     *
+     * @param id       The ID of the import.
+     * @param pageable Pagination information. Default: sorted by the row number.
+     * @return ResponseEntity containing a page of the errors of the rows, with status OK.
+     */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<PageableDto<ProductImportErrorDto>> getErrors(
+        @PathVariable Long id,
+        @PageableDefault(size = 50, sort = "rowNumber") Pageable pageable) {
+        return ResponseEntity.ok(productImportService.getErrors(id, pageable));
+    }
+
+    /**
+     * Resumes the failed import with the given ID after its last committed chunk.
+     *
+     * @param id The ID of the import.
+     * @return ResponseEntity containing the pending import, with status ACCEPTED.
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ProductImportDto> resume(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(productImportService.resume(id));
+    }
+}
@@ -2,6 +2,7 @@ package io.teamchallenge.controller;
 
 import io.teamchallenge.annotation.AllowedSortFields;
 import io.teamchallenge.annotation.CurrentUserId;
+import io.teamchallenge.dto.pageable.CursorPageableDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.dto.review.AddReviewRequestDto;
 import io.teamchallenge.dto.review.ReviewResponseDto;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -46,6 +48,24 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getAllByProductId(productId, pageable));
     }
 
+    /**
+     * Retrieves the window of reviews for a specific product by its ID that follows the given cursor.
+     * An empty cursor requests the first window.
+     *
+     * @param productId the ID of the product whose reviews are to be retrieved.
+     * @param cursor    the cursor returned with the previous window, empty for the first window.
+     * @param pageable  the page size and sorting information, the page number is ignored.
+     * @return a {@link ResponseEntity} containing a {@link CursorPageableDto} with the reviews.
+     */
+    @GetMapping(path = "/{productId}", params = "cursor")
+    public ResponseEntity<CursorPageableDto<ReviewResponseDto>> getAllByProductIdAndCursor(
+        @PathVariable Long productId,
+        @RequestParam(defaultValue = "") String cursor,
+        @AllowedSortFields(values = {"rate", "createdAt"})
+        @PageableDefault(sort = "rate", direction = DESC) Pageable pageable) {
+        return ResponseEntity.ok(reviewService.getAllByProductId(productId, cursor, pageable));
+    }
+
     /**
      * Creates a new review for a specific product.
      *
@@ -7,8 +7,10 @@ import io.teamchallenge.exception.ConflictException;
 import io.teamchallenge.exception.DeletionException;
 import io.teamchallenge.exception.ExceptionResponse;
 import io.teamchallenge.exception.ForbiddenException;
+import io.teamchallenge.exception.InvalidCursorException;
 import io.teamchallenge.exception.NotFoundException;
 import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.exception.PreconditionFailedException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -21,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -201,6 +204,22 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
             .body(exceptionResponse);
     }
 
+    /**
+     * Exception handler method to handle InvalidCursorException.
+     *
+     * @param e          The InvalidCursorException instance that occurred.
+     * @param webRequest The WebRequest associated with the request.
+     * @return A ResponseEntity containing the ExceptionResponse with HttpStatus.BAD_REQUEST.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidCursorException(InvalidCursorException e,
+                                                                          WebRequest webRequest) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(getErrorAttributes(webRequest));
+        log.trace(e.getMessage(), e);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(exceptionResponse);
+    }
+
     /**
      * Exception handler method to handle DeletionException.
      *
@@ -247,6 +266,39 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
             .body(exceptionResponse);
     }
 
+    /**
+     * Exception handler method to handle PreconditionFailedException.
+     *
+     * @param e          The PreconditionFailedException instance that occurred.
+     * @param webRequest The WebRequest associated with the request.
+     * @return A ResponseEntity containing the ExceptionResponse with HttpStatus.PRECONDITION_FAILED.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ExceptionResponse> handlePreconditionFailedException(PreconditionFailedException e,
+                                                                               WebRequest webRequest) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(getErrorAttributes(webRequest));
+        log.trace(e.getMessage(), e);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .body(exceptionResponse);
+    }
+
+    /**
+     * Exception handler method to handle OptimisticLockingFailureException, which is thrown when an entity
+     * was modified by a concurrent transaction between being read and being written.
+     *
+     * @param e          The OptimisticLockingFailureException instance that occurred.
+     * @param webRequest The WebRequest associated with the request.
+     * @return A ResponseEntity containing the ExceptionResponse with HttpStatus.CONFLICT.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleOptimisticLockingFailureException(
+        OptimisticLockingFailureException e, WebRequest webRequest) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(getErrorAttributes(webRequest));
+        log.trace(e.getMessage(), e);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(exceptionResponse);
+    }
+
     private Map<String, Object> getErrorAttributes(WebRequest webRequest) {
         return new HashMap<>(errorAttributes.getErrorAttributes(webRequest,
             ErrorAttributeOptions.of(ErrorAttributeOptions.Include.MESSAGE)));
@@ -0,0 +1,66 @@
+package io.teamchallenge.controller;
+
+import io.teamchallenge.service.impl.LocalImageStorageServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
+
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+    private static final String HASH = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+    @InjectMocks
+    private ImageController imageController;
+
+    @Mock
+    private LocalImageStorageServiceImpl localImageStorageService;
+
+    @Test
+    void getImageTest() {
+        Resource image = new ByteArrayResource(new byte[] {1, 2, 3}) {
+            @Override
+            public String getFilename() {
+                return HASH + ".png";
+            }
+        };
+        when(localImageStorageService.getImage("productImages", HASH + ".png")).thenReturn(image);
+        var webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        var actual = imageController.getImage("productImages", HASH + ".png", webRequest);
+
+        assertEquals(OK, actual.getStatusCode());
+        assertEquals(image, actual.getBody());
+        assertEquals("\"" + HASH + "\"", actual.getHeaders().getETag());
+        assertEquals("max-age=31536000, public, immutable", actual.getHeaders().getCacheControl());
+        assertEquals(MediaType.IMAGE_PNG, actual.getHeaders().getContentType());
+    }
+
+    @Test
+    void getImageReturnsNotModifiedTest() {
+        when(localImageStorageService.getImage("productImages", HASH + ".png"))
+            .thenReturn(new ByteArrayResource(new byte[] {1, 2, 3}));
+        var request = new MockHttpServletRequest("GET", "/api/v1/images/productImages/" + HASH + ".png");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+        var webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+
+        var actual = imageController.getImage("productImages", HASH + ".png", webRequest);
+
+        assertEquals(NOT_MODIFIED, actual.getStatusCode());
+        assertNull(actual.getBody());
+    }
+}
@@ -6,6 +6,7 @@ import io.teamchallenge.dto.order.OrderResponseDto;
 import io.teamchallenge.dto.order.ShortOrderResponseDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.enumerated.DeliveryStatus;
+import io.teamchallenge.exception.PreconditionFailedException;
 import io.teamchallenge.service.impl.OrderService;
 import io.teamchallenge.utils.Utils;
 import java.security.Principal;
@@ -16,17 +17,26 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import static io.teamchallenge.utils.Utils.getOrderResponseDto;
 import static io.teamchallenge.utils.Utils.getShortOrderResponseDtoPageableDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @ExtendWith(MockitoExtension.class)
 public class OrderControllerTest {
+    private static final String E_TAG = "\"1\"";
+
     @InjectMocks
     private OrderController orderController;
 
@@ -51,24 +61,47 @@ public class OrderControllerTest {
     void getOrderByIdTest() {
         Long orderId = 1L;
         OrderResponseDto orderResponseDto = getOrderResponseDto();
+        var webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
         when(orderService.getById(orderId)).thenReturn(orderResponseDto);
 
-        var responseEntity = orderController.getOrderById(orderId);
+        var responseEntity = orderController.getOrderById(orderId, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(E_TAG, responseEntity.getHeaders().getETag());
         assertEquals(orderResponseDto, responseEntity.getBody());
         verify(orderService).getById(orderId);
     }
 
+    @Test
+    void getOrderByIdReturnsNotModifiedIfETagMatchesTest() {
+        Long orderId = 1L;
+        var request = new MockHttpServletRequest("GET", "/api/v1/orders/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, E_TAG);
+        var webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+        when(orderService.getById(orderId)).thenReturn(getOrderResponseDto());
+
+        var responseEntity = orderController.getOrderById(orderId, webRequest);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
+    }
+
     @Test
     void setOrderStatusTest() {
         Long orderId = 1L;
         DeliveryStatus status = DeliveryStatus.COMPLETED;
 
-        var responseEntity = orderController.setOrderStatus(orderId, status);
+        var responseEntity = orderController.setOrderStatus(orderId, status, E_TAG);
 
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
-        verify(orderService).setDeliveryStatus(orderId, status);
+        verify(orderService).setDeliveryStatus(orderId, status, 1L);
+    }
+
+    @Test
+    void setOrderStatusWithInvalidIfMatchTest() {
+        assertThrows(PreconditionFailedException.class,
+            () -> orderController.setOrderStatus(1L, DeliveryStatus.COMPLETED, "W/\"1\""));
+        verifyNoInteractions(orderService);
     }
 
     @Test
@@ -76,10 +109,10 @@ public class OrderControllerTest {
         Long orderId = 1L;
         Long userId = 1L;
 
-        var responseEntity = orderController.cancelOrder(orderId, userId);
+        var responseEntity = orderController.cancelOrder(orderId, userId, null);
 
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
-        verify(orderService).cancelOrder(orderId, userId);
+        verify(orderService).cancelOrder(orderId, userId, null);
     }
 
     @Test
@@ -1,7 +1,18 @@
 package io.teamchallenge.controller;
 
+import io.teamchallenge.dto.product.ProductAttributeComparisonDto;
+import io.teamchallenge.dto.product.ProductComparisonDto;
+import io.teamchallenge.dto.product.ProductDetailCacheStatsDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
+import io.teamchallenge.service.impl.ProductFeedService;
+import io.teamchallenge.service.impl.ProductResponseCacheService;
 import io.teamchallenge.service.impl.ProductService;
 import io.teamchallenge.utils.Utils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,23 +21,34 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import static io.teamchallenge.utils.Utils.getAdvancedPageableDto;
 import static io.teamchallenge.utils.Utils.getProductFilterDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 import static org.springframework.http.HttpStatus.OK;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductControllerTest {
+    private static final String E_TAG = "\"a1b2c3-1\"";
+    private static final String PRODUCT_E_TAG = "\"1\"";
 
     @InjectMocks
     private ProductController productController;
@@ -34,16 +56,109 @@ public class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductResponseCacheService productResponseCacheService;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    @Mock
+    private ProductFeedService productFeedService;
+
+    @Mock
+    private ProductDetailCacheService productDetailCacheService;
+
+    @Test
+    void getFeedTest() throws IOException {
+        var updatedSince = LocalDateTime.of(2024, 5, 10, 10, 0);
+        var outputStream = new ByteArrayOutputStream();
+
+        var responseEntity = productController.getFeed(ProductFeedFormat.CSV, updatedSince);
+        responseEntity.getBody().writeTo(outputStream);
+
+        verify(productFeedService).export(eq(updatedSince), eq(ProductFeedFormat.CSV), eq(outputStream));
+        assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.parseMediaType("text/csv"), responseEntity.getHeaders().getContentType());
+        assertEquals("products.csv", responseEntity.getHeaders().getContentDisposition().getFilename());
+    }
+
+    @Test
+    void getCacheStatsTest() {
+        var stats = ProductDetailCacheStatsDto.builder()
+            .hitCount(3)
+            .missCount(1)
+            .hitRate(0.75)
+            .totalLoadTimeMillis(12)
+            .averageLoadTimeMillis(12)
+            .size(1)
+            .build();
+        when(productDetailCacheService.getStats()).thenReturn(stats);
+
+        var responseEntity = productController.getCacheStats();
+
+        assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(stats, responseEntity.getBody());
+    }
+
     @Test
     void getAllTest() {
         var pageable = PageRequest.of(1, 1, Sort.by("price"));
         var response = getAdvancedPageableDto();
         var filter = getProductFilterDto();
-        when(productService.getAll(pageable, filter)).thenReturn(response);
+        var webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+        when(catalogVersionService.getETag()).thenReturn(E_TAG);
+        when(productResponseCacheService.getAll(pageable, filter)).thenReturn(response);
+
+        var responseEntity = productController.getAll(filter, pageable, webRequest);
+
+        verify(productResponseCacheService).getAll(eq(pageable), eq(filter));
+        assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(E_TAG, responseEntity.getHeaders().getETag());
+        assertEquals(response, responseEntity.getBody());
+    }
+
+    @Test
+    void getAllReturnsNotModifiedIfETagMatchesTest() {
+        var pageable = PageRequest.of(1, 1, Sort.by("price"));
+        var filter = getProductFilterDto();
+        var request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, E_TAG);
+        var webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+        when(catalogVersionService.getETag()).thenReturn(E_TAG);
 
-        var responseEntity = productController.getAll(filter, pageable);
+        var responseEntity = productController.getAll(filter, pageable, webRequest);
 
-        verify(productService).getAll(eq(pageable), eq(filter));
+        verify(productResponseCacheService, never()).getAll(any(), any());
+        assertEquals(NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals(E_TAG, responseEntity.getHeaders().getETag());
+        assertNull(responseEntity.getBody());
+    }
+
+    @Test
+    void getByIdsTest() {
+        var ids = List.of(2L, 1L);
+        var response = List.of(Utils.getProductResponseDto());
+        when(productService.getByIds(ids)).thenReturn(response);
+
+        var responseEntity = productController.getByIds(ids);
+
+        verify(productService).getByIds(eq(ids));
+        assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(response, responseEntity.getBody());
+    }
+
+    @Test
+    void compareTest() {
+        var ids = List.of(2L, 1L);
+        var response = ProductComparisonDto.builder()
+            .products(List.of(Utils.getProductResponseDto()))
+            .attributes(List.of(new ProductAttributeComparisonDto("Color", List.of("Red"))))
+            .build();
+        when(productService.compare(ids)).thenReturn(response);
+
+        var responseEntity = productController.compare(ids);
+
+        verify(productService).compare(eq(ids));
         assertEquals(OK, responseEntity.getStatusCode());
         assertEquals(response, responseEntity.getBody());
     }
@@ -52,15 +167,32 @@ public class ProductControllerTest {
     void getByIdTest() {
         var id = 1L;
         var response = Utils.getProductResponseDto();
-        when(productService.getById(id)).thenReturn(response);
+        var webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+        when(productResponseCacheService.getById(id)).thenReturn(response);
 
-        var responseEntity = productController.getById(id);
+        var responseEntity = productController.getById(id, webRequest);
 
-        verify(productService).getById(eq(id));
+        verify(productResponseCacheService).getById(eq(id));
         assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(PRODUCT_E_TAG, responseEntity.getHeaders().getETag());
         assertEquals(response, responseEntity.getBody());
     }
 
+    @Test
+    void getByIdReturnsNotModifiedIfETagMatchesTest() {
+        var id = 1L;
+        var request = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, PRODUCT_E_TAG);
+        var webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+        when(productResponseCacheService.getById(id)).thenReturn(Utils.getProductResponseDto());
+
+        var responseEntity = productController.getById(id, webRequest);
+
+        assertEquals(NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals(PRODUCT_E_TAG, responseEntity.getHeaders().getETag());
+        assertNull(responseEntity.getBody());
+    }
+
     @Test
     void createTest() {
         var request = Utils.getProductRequestDto();
@@ -91,15 +223,30 @@ public class ProductControllerTest {
         ));
         var request = Utils.getProductRequestDto();
         var response = Utils.getProductResponseDto();
-        when(productService.update(id, request, multipartFiles)).thenReturn(response);
+        when(productService.update(id, request, multipartFiles, null)).thenReturn(response);
 
-        var responseEntity = productController.update(id, multipartFiles, request);
+        var responseEntity = productController.update(id, multipartFiles, request, null);
 
-        verify(productService).update(eq(id), eq(request), eq(multipartFiles));
+        verify(productService).update(eq(id), eq(request), eq(multipartFiles), isNull());
         assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(PRODUCT_E_TAG, responseEntity.getHeaders().getETag());
         assertEquals(response, responseEntity.getBody());
     }
 
+    @Test
+    void updateWithIfMatchTest() {
+        var id = 1L;
+        var request = Utils.getProductRequestDto();
+        var response = Utils.getProductResponseDto();
+        when(productService.update(id, request, null, 0L)).thenReturn(response);
+
+        var responseEntity = productController.update(id, null, request, "\"0\"");
+
+        verify(productService).update(id, request, null, 0L);
+        assertEquals(OK, responseEntity.getStatusCode());
+        assertEquals(PRODUCT_E_TAG, responseEntity.getHeaders().getETag());
+    }
+
     @Test
     void deleteTest() {
         var id = 1L;
@@ -0,0 +1,94 @@
+package io.teamchallenge.controller;
+
+import io.teamchallenge.dto.pageable.PageableDto;
+import io.teamchallenge.dto.product.ProductImportDto;
+import io.teamchallenge.dto.product.ProductImportErrorDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.enumerated.ProductImportStatus;
+import io.teamchallenge.service.impl.ProductImportService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.OK;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportControllerTest {
+    @InjectMocks
+    private ProductImportController productImportController;
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Test
+    void startTest() {
+        var inputStream = new ByteArrayInputStream("name\nPhone\n".getBytes(StandardCharsets.UTF_8));
+        var expected = getProductImportDto(ProductImportStatus.PENDING);
+        when(productImportService.start(inputStream, ProductFeedFormat.CSV)).thenReturn(expected);
+
+        var actual = productImportController.start(ProductFeedFormat.CSV, inputStream);
+
+        verify(productImportService).start(inputStream, ProductFeedFormat.CSV);
+        assertEquals(ACCEPTED, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+
+    @Test
+    void getByIdTest() {
+        var expected = getProductImportDto(ProductImportStatus.RUNNING);
+        when(productImportService.getById(1L)).thenReturn(expected);
+
+        var actual = productImportController.getById(1L);
+
+        assertEquals(OK, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+
+    @Test
+    void getErrorsTest() {
+        var pageable = PageRequest.of(0, 50, Sort.by("rowNumber"));
+        var expected = PageableDto.<ProductImportErrorDto>builder()
+            .page(List.of(new ProductImportErrorDto(2, "There is no brand with name: Unknown")))
+            .totalElements(1)
+            .currentPage(0)
+            .totalPages(1)
+            .build();
+        when(productImportService.getErrors(1L, pageable)).thenReturn(expected);
+
+        var actual = productImportController.getErrors(1L, pageable);
+
+        assertEquals(OK, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+
+    @Test
+    void resumeTest() {
+        var expected = getProductImportDto(ProductImportStatus.PENDING);
+        when(productImportService.resume(1L)).thenReturn(expected);
+
+        var actual = productImportController.resume(1L);
+
+        verify(productImportService).resume(1L);
+        assertEquals(ACCEPTED, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+    }
+
+    private ProductImportDto getProductImportDto(ProductImportStatus status) {
+        return ProductImportDto.builder()
+            .id(1L)
+            .format(ProductFeedFormat.CSV)
+            .status(status)
+            .build();
+    }
+}
@@ -7,8 +7,10 @@ import io.teamchallenge.exception.DeletionException;
 import io.teamchallenge.exception.ConflictException;
 import io.teamchallenge.exception.ExceptionResponse;
 import io.teamchallenge.exception.ForbiddenException;
+import io.teamchallenge.exception.InvalidCursorException;
 import io.teamchallenge.exception.NotFoundException;
 import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.exception.PreconditionFailedException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -26,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -182,6 +185,30 @@ public class CustomExceptionHandlerTest {
         assertEquals(customExceptionHandler.handleConflictException(conflictException, webRequest),
             ResponseEntity.status(HttpStatus.CONFLICT).body(exceptionResponse));
     }
+    @Test
+    void handlePreconditionFailedExceptionTest() {
+        PreconditionFailedException preconditionFailedException = new PreconditionFailedException("test");
+        ExceptionResponse exceptionResponse = new ExceptionResponse(objectMap);
+        when(errorAttributes.getErrorAttributes(eq(webRequest),
+            any(ErrorAttributeOptions.class))).thenReturn(objectMap);
+
+        assertEquals(customExceptionHandler.handlePreconditionFailedException(preconditionFailedException, webRequest),
+            ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(exceptionResponse));
+    }
+
+    @Test
+    void handleOptimisticLockingFailureExceptionTest() {
+        OptimisticLockingFailureException optimisticLockingFailureException =
+            new OptimisticLockingFailureException("test");
+        ExceptionResponse exceptionResponse = new ExceptionResponse(objectMap);
+        when(errorAttributes.getErrorAttributes(eq(webRequest),
+            any(ErrorAttributeOptions.class))).thenReturn(objectMap);
+
+        assertEquals(customExceptionHandler.handleOptimisticLockingFailureException(
+                optimisticLockingFailureException, webRequest),
+            ResponseEntity.status(HttpStatus.CONFLICT).body(exceptionResponse));
+    }
+
     @Test
     void handleForbiddenExceptionTest() {
         ForbiddenException conflictException = new ForbiddenException("test");
@@ -193,6 +220,17 @@ public class CustomExceptionHandlerTest {
             ResponseEntity.status(HttpStatus.FORBIDDEN).body(exceptionResponse));
     }
 
+    @Test
+    void handleInvalidCursorExceptionTest() {
+        InvalidCursorException invalidCursorException = new InvalidCursorException("test");
+        ExceptionResponse exceptionResponse = new ExceptionResponse(objectMap);
+        when(errorAttributes.getErrorAttributes(eq(webRequest),
+            any(ErrorAttributeOptions.class))).thenReturn(objectMap);
+
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exceptionResponse),
+            customExceptionHandler.handleInvalidCursorException(invalidCursorException, webRequest));
+    }
+
     @Test
     void handleDeletionExceptionTest() {
         DeletionException deletionExceptionException = new DeletionException("test");
@@ -156,6 +156,7 @@ public class Utils {
             .price(product.getPrice())
             .quantity(product.getQuantity())
             .createdAt(product.getCreatedAt())
+            .version(1L)
             .build();
     }
 
@@ -297,6 +298,7 @@ public class Utils {
             .createdAt(LocalDateTime.of(1, 1, 1, 1, 1))
             .total(new BigDecimal("99.99"))
             .orderItems(List.of(getOrderItemResponseDto()))
+            .version(1L)
             .build();
     }
 
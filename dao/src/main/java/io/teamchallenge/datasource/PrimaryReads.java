@@ -0,0 +1,45 @@
+package io.teamchallenge.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Routing hint that sends the read-only transactions of the current thread to the primary. It is used by the
+ * internal reads that follow a write of the same process without a user, e.g. the refresh of a cache after
+ * a commit, which the read-your-writes window of {@link ReadYourWritesTracker} does not cover, so that they
+ * do not read a replica that has not replayed the write yet.
+ *
+ * @author Niktia Malov
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Runs the given reads with their read-only transactions sent to the primary. The connection of a
+     * transaction is obtained lazily, so the transactions have to be opened by the given reads.
+     *
+     * @param reads The reads to run.
+     * @param <T>   The type of the result of the reads.
+     * @return The result of the reads.
+     */
+    public static <T> T call(Supplier<T> reads) {
+        boolean active = ACTIVE.get();
+        ACTIVE.set(true);
+        try {
+            return reads.get();
+        } finally {
+            ACTIVE.set(active);
+        }
+    }
+
+    /**
+     * Checks whether the read-only transactions of the current thread have to be sent to the primary.
+     *
+     * @return true if the current thread runs reads with {@link #call(Supplier)}, false otherwise.
+     */
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+}
@@ -0,0 +1,68 @@
+package io.teamchallenge.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tracker of the latest writes of the users. For a while after a user's own write, their reads are sent to the
+ * primary, so that the user sees the write even if the replicas have not replayed it yet.
+ * Requests without a user are never tracked.
+ *
+ * @author Niktia Malov
+ */
+public class ReadYourWritesTracker {
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+    private final Supplier<String> currentUser;
+    private final Duration window;
+    private final Clock clock;
+
+    /**
+     * Constructs the tracker.
+     *
+     * @param currentUser The supplier of the key of the current user, which supplies null if there is no user.
+     * @param window      The time after a write during which the reads of the user go to the primary.
+     * @param clock       The clock.
+     */
+    public ReadYourWritesTracker(Supplier<String> currentUser, Duration window, Clock clock) {
+        this.currentUser = currentUser;
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a write of the current user.
+     */
+    public void recordWrite() {
+        String user = currentUser.get();
+        if (Objects.nonNull(user)) {
+            lastWrites.put(user, clock.instant());
+        }
+    }
+
+    /**
+     * Checks whether the current user wrote something within the window.
+     *
+     * @return true if the reads of the current user have to go to the primary, false otherwise.
+     */
+    public boolean isWithinWindow() {
+        String user = currentUser.get();
+        if (Objects.isNull(user)) {
+            return false;
+        }
+        Instant lastWrite = lastWrites.get(user);
+        return Objects.nonNull(lastWrite) && lastWrite.plus(window).isAfter(clock.instant());
+    }
+
+    /**
+     * Forgets the writes that are older than the window.
+     */
+    public void purgeExpired() {
+        Instant threshold = clock.instant().minus(window);
+        lastWrites.values().removeIf(lastWrite -> !lastWrite.isAfter(threshold));
+    }
+}
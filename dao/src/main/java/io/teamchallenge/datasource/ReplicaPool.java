@@ -0,0 +1,72 @@
+package io.teamchallenge.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Connection pool of one read replica together with its health. The replica is healthy when it answers the
+ * health check and lags behind the primary by no more than the allowed lag; only healthy replicas receive
+ * read-only transactions.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Getter
+public class ReplicaPool {
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+        + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile Duration lag;
+
+    /**
+     * Constructs the pool. The replica is considered unhealthy until it passes its first health check.
+     *
+     * @param name       The name of the pool used in the logs.
+     * @param dataSource The connection pool of the replica.
+     */
+    public ReplicaPool(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Checks the health of the replica by measuring how far its replay lags behind the primary.
+     * A replica that has replayed everything it received reports no lag, even if the primary was idle since.
+     *
+     * @param maxLag The maximum lag of a healthy replica.
+     * @return true if the replica is healthy, false otherwise.
+     */
+    public boolean checkHealth(Duration maxLag) {
+        boolean wasHealthy = healthy;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lag = Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+            healthy = lag.compareTo(maxLag) <= 0;
+            if (wasHealthy && !healthy) {
+                log.warn("Replica {} lags behind the primary by {}, reads fall back to other pools", name, lag);
+            }
+        } catch (SQLException | RuntimeException e) {
+            lag = null;
+            healthy = false;
+            if (wasHealthy) {
+                log.warn("Replica {} failed its health check, reads fall back to other pools", name, e);
+            }
+        }
+        if (!wasHealthy && healthy) {
+            log.info("Replica {} is healthy with a lag of {}", name, lag);
+        }
+        return healthy;
+    }
+}
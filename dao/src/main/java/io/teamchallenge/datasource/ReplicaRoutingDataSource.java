@@ -0,0 +1,103 @@
+package io.teamchallenge.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Data source of read-only transactions, which spreads them round-robin over the healthy replica pools.
+ * The reads fall back to the primary when no replica is healthy, for example because all of them lag too far
+ * behind, while the current user is within the read-your-writes window after their own write, and while the
+ * current thread reads its own writes through {@link PrimaryReads}.
+ *
+ * @author Niktia Malov
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs the data source.
+     *
+     * @param primary  The connection pool of the primary.
+     * @param replicas The connection pools of the replicas.
+     * @param tracker  The tracker of the writes of the users.
+     * @param maxLag   The maximum lag of a replica that still receives reads.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaPool> replicas, ReadYourWritesTracker tracker,
+                                    Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    /**
+     * Checks the health of every replica pool and forgets the writes that left the read-your-writes window.
+     */
+    public void checkHealth() {
+        replicas.forEach(replica -> replica.checkHealth(maxLag));
+        tracker.purgeExpired();
+    }
+
+    /**
+     * Closes the connection pools of the replicas. The primary is left open, since it is shared with the
+     * read-write transactions.
+     *
+     * @throws Exception if a replica pool cannot be closed.
+     */
+    @Override
+    public void close() throws Exception {
+        for (ReplicaPool replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable) {
+                ((AutoCloseable) replica.getDataSource()).close();
+            }
+        }
+    }
+
+    /**
+     * Gets the connection pools of the replicas.
+     *
+     * @return The replica pools.
+     */
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Determines the data source the current read-only transaction is sent to.
+     *
+     * @return The next healthy replica pool, or the primary if there is none or the current user or thread has
+     *         to read their own writes.
+     */
+    DataSource determineTarget() {
+        if (replicas.isEmpty() || PrimaryReads.isActive() || tracker.isWithinWindow()) {
+            return primary;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaPool replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                return replica.getDataSource();
+            }
+        }
+        return primary;
+    }
+}
@@ -0,0 +1,39 @@
+package io.teamchallenge.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source of the primary that records a write of the current user whenever a connection is obtained from
+ * it for a read-write transaction.
+ *
+ * @author Niktia Malov
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+    private final ReadYourWritesTracker tracker;
+
+    /**
+     * Constructs the data source.
+     *
+     * @param primary The connection pool of the primary.
+     * @param tracker The tracker of the writes of the users.
+     */
+    public WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker tracker) {
+        super(primary);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        tracker.recordWrite();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        tracker.recordWrite();
+        return super.getConnection(username, password);
+    }
+}
@@ -14,7 +14,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"country"})
 public class Address {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_seq")
+    @SequenceGenerator(name = "addresses_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "address_line", nullable = false)
@@ -16,7 +16,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"products"})
 public class Brand {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "brands_seq")
+    @SequenceGenerator(name = "brands_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
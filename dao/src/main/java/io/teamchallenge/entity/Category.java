@@ -17,7 +17,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"products","categoryAttributes"})
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -14,7 +14,8 @@ import lombok.*;
 @EqualsAndHashCode
 public class Country {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "countries_seq")
+    @SequenceGenerator(name = "countries_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, updatable = false)
@@ -14,7 +14,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"product"})
 public class Image {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "images_seq")
+    @SequenceGenerator(name = "images_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -24,6 +25,15 @@ public class Image {
     @Column(nullable = false, unique = true)
     private String link;
 
+    @Column(name = "thumbnail_link")
+    private String thumbnailLink;
+
+    @Column(name = "medium_link")
+    private String mediumLink;
+
+    @Column(name = "content_hash", columnDefinition = "char(64)")
+    private String contentHash;
+
     @Column(nullable = false, unique = true,name = "image_order")
     private Short order;
 }
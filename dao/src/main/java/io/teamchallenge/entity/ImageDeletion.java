@@ -0,0 +1,68 @@
+package io.teamchallenge.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Image waiting in the queue to be deleted from the cloud storage. The entry is removed once the image
+ * is deleted, a failed attempt is retried after the recorded time.
+ */
+@Entity
+@Table(name = "image_deletions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class ImageDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_deletions_seq")
+    @SequenceGenerator(name = "image_deletions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String url;
+
+    @Column(name = "folder_name", nullable = false)
+    private String folderName;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Records a failed attempt to delete the image and postpones the next attempt.
+     *
+     * @param error         The message of the failure.
+     * @param nextAttemptAt The time of the next attempt.
+     */
+    public void fail(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -16,7 +16,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,12 +38,13 @@ import org.hibernate.annotations.CreationTimestamp;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"address","postAddress", "orderItems"})
+@ToString(exclude = {"address","postAddress", "orderItems", "version"})
 @Builder
-@EqualsAndHashCode(exclude = {"address","postAddress", "orderItems"})
+@EqualsAndHashCode(exclude = {"address","postAddress", "orderItems", "version"})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Embedded
@@ -75,6 +78,11 @@ public class Order {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    @Version
+    @Setter(AccessLevel.PRIVATE)
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Adds an order item to the user's list of order items.
      *
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "products")
@@ -17,12 +18,13 @@ import org.hibernate.annotations.CreationTimestamp;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"category","brand","images","cartItems"})
+@ToString(exclude = {"category","brand","images","cartItems","searchVector","updatedAt","version"})
 @Builder
-@EqualsAndHashCode(exclude = {"category","brand","images","cartItems"})
+@EqualsAndHashCode(exclude = {"category","brand","images","cartItems","searchVector","updatedAt","version"})
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "short_desc", nullable = false)
@@ -45,6 +47,64 @@ public class Product {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at", nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Setter(AccessLevel.PRIVATE)
+    @Column(nullable = false)
+    private Long version;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_count", nullable = false, insertable = false, updatable = false)
+    private Integer ratingCount = 0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Double rating = 0.0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_1_count", nullable = false, insertable = false, updatable = false)
+    private Integer rating1Count = 0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_2_count", nullable = false, insertable = false, updatable = false)
+    private Integer rating2Count = 0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_3_count", nullable = false, insertable = false, updatable = false)
+    private Integer rating3Count = 0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_4_count", nullable = false, insertable = false, updatable = false)
+    private Integer rating4Count = 0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "rating_5_count", nullable = false, insertable = false, updatable = false)
+    private Integer rating5Count = 0;
+
+    @Builder.Default
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "order_count", nullable = false, insertable = false, updatable = false)
+    private Integer orderCount = 0;
+
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "search_vector", insertable = false, updatable = false, columnDefinition = "tsvector")
+    private String searchVector;
+
     @OneToMany(mappedBy = "product",cascade = CascadeType.ALL,orphanRemoval = true)
     @Setter(AccessLevel.PRIVATE)
     private List<Image> images = new ArrayList<>();
@@ -16,7 +16,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"categoryAttributes"})
 public class Attribute {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attributes_seq")
+    @SequenceGenerator(name = "attributes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false,unique = true)
@@ -15,7 +15,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"attribute","productAttributes"})
 public class AttributeValue {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attribute_values_seq")
+    @SequenceGenerator(name = "attribute_values_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -16,7 +16,8 @@ import lombok.*;
 @EqualsAndHashCode(exclude = {"category","attribute"})
 public class CategoryAttribute {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_attributes_seq")
+    @SequenceGenerator(name = "category_attributes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
@@ -0,0 +1,44 @@
+package io.teamchallenge.entity.pricebound;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Rollup row of the products of one category and brand whose prices fall into one price bucket.
+ * The rows are derived from the products and are only written by the statements of
+ * {@link io.teamchallenge.repository.PriceBoundRepository}.
+ */
+@Entity
+@Immutable
+@Table(name = "price_bounds")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class PriceBound {
+    @EmbeddedId
+    private PriceBoundId id;
+
+    @Column(name = "min_price", nullable = false)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", nullable = false)
+    private BigDecimal maxPrice;
+
+    @Column(name = "product_count", nullable = false)
+    private Integer productCount;
+}
@@ -0,0 +1,29 @@
+package io.teamchallenge.entity.pricebound;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Embeddable
+@ToString
+@EqualsAndHashCode
+public class PriceBoundId implements Serializable {
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    @Column(name = "brand_id", nullable = false)
+    private Long brandId;
+    @Column(nullable = false)
+    private Integer bucket;
+}
@@ -0,0 +1,115 @@
+package io.teamchallenge.entity.productimport;
+
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.enumerated.ProductImportStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Import of a file of products into the catalog. The file is imported in chunks, each committed together with
+ * the counters of the import, so the counters always describe the committed rows and an interrupted import
+ * is resumed after its last committed chunk. A pending or running import is owned by the instance of the
+ * application that runs it, which renews the heartbeat of the import while the instance is alive.
+ */
+@Entity
+@Table(name = "product_imports")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class ProductImport {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_imports_seq")
+    @SequenceGenerator(name = "product_imports_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductFeedFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductImportStatus status;
+
+    @Column(name = "file_path", nullable = false)
+    private String filePath;
+
+    @Column(name = "total_rows")
+    private Integer totalRows;
+
+    @Builder.Default
+    @Column(name = "processed_rows", nullable = false)
+    private Integer processedRows = 0;
+
+    @Builder.Default
+    @Column(name = "imported_rows", nullable = false)
+    private Integer importedRows = 0;
+
+    @Builder.Default
+    @Column(name = "failed_rows", nullable = false)
+    private Integer failedRows = 0;
+
+    @Builder.Default
+    @Column(name = "committed_chunks", nullable = false)
+    private Integer committedChunks = 0;
+
+    @Builder.Default
+    @Column(name = "running_millis", nullable = false)
+    private Long runningMillis = 0L;
+
+    @Column(name = "failure_message")
+    private String failureMessage;
+
+    @Setter(AccessLevel.PRIVATE)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "owner_id")
+    private String ownerId;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * Adds the counters of a committed chunk to the counters of the import.
+     *
+     * @param rows          The number of rows of the chunk.
+     * @param importedRows  The number of rows of the chunk imported as products.
+     * @param failedRows    The number of rows of the chunk rejected with an error.
+     * @param runningMillis The number of milliseconds the chunk was imported for.
+     */
+    public void addChunk(int rows, int importedRows, int failedRows, long runningMillis) {
+        this.processedRows += rows;
+        this.importedRows += importedRows;
+        this.failedRows += failedRows;
+        this.committedChunks++;
+        this.runningMillis += runningMillis;
+    }
+}
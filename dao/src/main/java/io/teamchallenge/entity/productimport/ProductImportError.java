@@ -0,0 +1,48 @@
+package io.teamchallenge.entity.productimport;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Error of a row of a {@link ProductImport} that was not imported.
+ */
+@Entity
+@Table(name = "product_import_errors")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "productImport")
+@Builder
+@EqualsAndHashCode(exclude = "productImport")
+public class ProductImportError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_import_errors_seq")
+    @SequenceGenerator(name = "product_import_errors_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "import_id")
+    private ProductImport productImport;
+
+    @Column(name = "row_number", nullable = false)
+    private Integer rowNumber;
+
+    @Column(nullable = false)
+    private String message;
+}
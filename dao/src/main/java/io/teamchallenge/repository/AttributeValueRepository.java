@@ -4,6 +4,7 @@ import io.teamchallenge.entity.attributes.AttributeValue;
 import java.util.List;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
  * Repository interface for managing {@link AttributeValue} entities.
@@ -19,4 +20,12 @@ public interface AttributeValueRepository extends JpaRepository<AttributeValue,L
      */
     @EntityGraph(attributePaths = {"attribute"})
     List<AttributeValue> findAllByIdIn(List<Long> ids);
+
+    /**
+     * Retrieves all AttributeValues, fetching the associated attribute with the same query.
+     *
+     * @return A list of all AttributeValues with the associated attribute fetched.
+     */
+    @Query("select av from AttributeValue av join fetch av.attribute")
+    List<AttributeValue> findAllWithAttribute();
 }
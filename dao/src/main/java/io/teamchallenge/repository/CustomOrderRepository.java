@@ -2,8 +2,11 @@ package io.teamchallenge.repository;
 
 import io.teamchallenge.dto.order.OrderFilterDto;
 import io.teamchallenge.entity.Order;
+import java.util.List;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
 /**
  * Repository interface for getting {@link Order} entities.
@@ -21,4 +24,33 @@ public interface CustomOrderRepository {
      * @return a page of orders that match the given filter parameters and pagination settings.
      */
     Page<Order> findAllByFilterParameters(OrderFilterDto filterParametersDto, Pageable pageable);
+
+    /**
+     * Finds the orders of the requested page that match the given filter parameters
+     * without counting all matching orders.
+     *
+     * @param filterParametersDto the filter parameters used to narrow down the search for orders.
+     * @param pageable            the pagination information specifying the page number, page size, and sorting options.
+     * @return the orders of the page that match the given filter parameters.
+     */
+    List<Order> findPageByFilterParameters(OrderFilterDto filterParametersDto, Pageable pageable);
+
+    /**
+     * Counts the orders that match the given filter parameters.
+     *
+     * @param filterParametersDto the filter parameters used to narrow down the search for orders.
+     * @return the number of orders that match the given filter parameters.
+     */
+    long countByFilterParameters(OrderFilterDto filterParametersDto);
+
+    /**
+     * Finds the window of orders that match the given filter parameters and follow the given keyset position.
+     *
+     * @param filterParametersDto the filter parameters used to narrow down the search for orders.
+     * @param position            the position to continue after, initial for the first window.
+     * @param pageable            the pagination information, only the page size and sorting options are used.
+     * @return a window of orders that match the given filter parameters.
+     */
+    Window<Order> scrollAllByFilterParameters(OrderFilterDto filterParametersDto, KeysetScrollPosition position,
+                                              Pageable pageable);
 }
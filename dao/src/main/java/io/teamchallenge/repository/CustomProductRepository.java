@@ -1,11 +1,19 @@
 package io.teamchallenge.repository;
 
+import io.teamchallenge.dto.product.ProductListingDto;
 import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.dto.product.ShortProductResponseDto;
 import io.teamchallenge.entity.Product;
+import io.teamchallenge.entity.attributes.AttributeValue;
+import io.teamchallenge.entity.attributes.ProductAttribute;
 import io.teamchallenge.entity.cartitem.CartItem;
 import jakarta.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
 /**
@@ -33,4 +41,94 @@ public interface CustomProductRepository {
      * @return A Page object containing the IDs of products.
      */
     Page<Long> findAllProductIds(@Nullable Specification<Product> specification, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Finds the page of product IDs based on the given specification and pagination parameters together with
+     * the total number of matching products and their minimum and maximum prices, using a single SQL statement.
+     * If a Specification is provided, filters the products based on the given criteria.
+     * If a search term is provided, the products can be sorted by their relevance to it.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @param searchTerm    The term the products are searched by, used for the "relevance" sort (can be null).
+     * @param pageable      The pagination parameters.
+     * @return A ProductListingDto object containing the page of product IDs and the price range of the products.
+     */
+    ProductListingDto findProductListing(@Nullable Specification<Product> specification, @Nullable String searchTerm,
+                                         Pageable pageable);
+
+    /**
+     * Counts the products based on the given specification.
+     * If a Specification is provided, filters the products based on the given criteria.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @return The number of matching products.
+     */
+    Long countProducts(@Nullable Specification<Product> specification);
+
+    /**
+     * Finds the page of product IDs based on the given specification and pagination parameters
+     * without counting all matching products, for the listings whose total is already known.
+     * If a Specification is provided, filters the products based on the given criteria.
+     * If a search term is provided, the products can be sorted by their relevance to it.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @param searchTerm    The term the products are searched by, used for the "relevance" sort (can be null).
+     * @param pageable      The pagination parameters.
+     * @return A list of the IDs of the products of the page.
+     */
+    List<Long> findProductIds(@Nullable Specification<Product> specification, @Nullable String searchTerm,
+                              Pageable pageable);
+
+    /**
+     * Finds the window of product IDs following the given keyset position.
+     * Unlike {@link #findAllProductIds(Specification, Pageable)} no rows are skipped with an offset,
+     * so every window costs the same regardless of how deep it is.
+     * If a Specification is provided, filters the products based on the given criteria.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @param position      The position to continue after, initial for the first window.
+     * @param pageable      The pagination parameters, only the page size and the sort are used.
+     * @return A Window object containing the IDs of products.
+     */
+    Window<Long> scrollAllProductIds(@Nullable Specification<Product> specification,
+                                     KeysetScrollPosition position, Pageable pageable);
+
+    /**
+     * Finds the short representations of the products with the given IDs.
+     * Only the columns of the short representation and the images of the products are selected,
+     * straight into DTOs, so no entities are loaded into the persistence context.
+     *
+     * @param productIds The IDs of the products.
+     * @return A list of ShortProductResponseDto objects in the order of the given IDs,
+     *         with the images ordered by their order.
+     */
+    List<ShortProductResponseDto> findShortProductsByIds(List<Long> productIds);
+
+    /**
+     * Inserts the given products using a single SQL statement. Only the name, the descriptions, the price,
+     * the quantity, the brand and the category of the products are inserted; the other columns get their
+     * defaults. Products whose names are already present in the database are skipped.
+     *
+     * @param products The products to insert, referencing their brand and category by ID.
+     * @return A map of the names of the inserted products to their generated IDs.
+     */
+    Map<String, Long> insertProducts(List<Product> products);
+
+    /**
+     * Inserts the given attribute values using a single SQL statement, skipping the values already present
+     * in the database, and selects the IDs of all of them.
+     *
+     * @param attributeValues The attribute values to insert, referencing their attribute by ID.
+     * @return A list of the given attribute values, together with the ones that were already present,
+     *         with their IDs set.
+     */
+    List<AttributeValue> insertAttributeValues(List<AttributeValue> attributeValues);
+
+    /**
+     * Inserts the given links of products and attribute values using a single SQL statement.
+     *
+     * @param productAttributes The product attributes to insert, referencing their product and attribute value
+     *                          by ID.
+     */
+    void insertProductAttributes(List<ProductAttribute> productAttributes);
+}
@@ -0,0 +1,24 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.reviews.Review;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+
+/**
+ * Repository interface for getting {@link Review} entities.
+ * Provides methods to custom queries.
+ * @author Niktia Malov
+ */
+public interface CustomReviewRepository {
+    /**
+     * Retrieves the window of reviews for a specific product that follows the given keyset position,
+     * including the associated user details.
+     *
+     * @param productId the ID of the product whose reviews are to be retrieved
+     * @param position  the position to continue after, initial for the first window
+     * @param pageable  the pagination information, only the page size and sort are used
+     * @return a {@link Window} of {@link Review} entities for the specified product ID
+     */
+    Window<Review> scrollAllByProductId(Long productId, KeysetScrollPosition position, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.ImageDeletion;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for managing {@link ImageDeletion} entities.
+ * Provides methods to perform CRUD operations and custom queries.
+ * @author Niktia Malov
+ */
+public interface ImageDeletionRepository extends JpaRepository<ImageDeletion, Long> {
+    /**
+     * Retrieves the ImageDeletions whose next attempt is due, the longest waiting first.
+     *
+     * @param now   The current time.
+     * @param limit The maximum number of ImageDeletions to retrieve.
+     * @return The list of due ImageDeletions.
+     */
+    List<ImageDeletion> findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAt(LocalDateTime now, Limit limit);
+}
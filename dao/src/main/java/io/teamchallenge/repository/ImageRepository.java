@@ -0,0 +1,63 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.Image;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for managing {@link Image} entities.
+ * Provides methods to perform CRUD operations and custom queries.
+ * @author Niktia Malov
+ */
+public interface ImageRepository extends JpaRepository<Image, Long> {
+    /**
+     * Checks whether any Image refers to the given link, as its original or as one of its renditions.
+     *
+     * @param link The link of the image.
+     * @return true if an Image referring to the given link exists, false otherwise.
+     */
+    @Query("select count(i) > 0 from Image i "
+        + "where i.link = :link or i.thumbnailLink = :link or i.mediumLink = :link")
+    boolean existsByAnyLink(@Param("link") String link);
+
+    /**
+     * Retrieves the hashes of the content of the Images of the Product with the given ID.
+     * Images stored before their hashes were introduced have none and are not included.
+     *
+     * @param productId The ID of the Product.
+     * @return The set of the SHA-256 hashes of the content of the Images, in hexadecimal.
+     */
+    @Query("select i.contentHash from Image i where i.product.id = :productId and i.contentHash is not null")
+    Set<String> findContentHashesByProductId(@Param("productId") Long productId);
+
+    /**
+     * Retrieves the Images with a missing rendition and an ID greater than the given one, ordered by ID.
+     *
+     * @param id    The ID after which the Images are retrieved.
+     * @param limit The maximum number of Images to retrieve.
+     * @return The list of Images with a missing rendition.
+     */
+    @Query("select i from Image i where (i.thumbnailLink is null or i.mediumLink is null) and i.id > :id "
+        + "order by i.id")
+    List<Image> findAllWithoutRenditions(@Param("id") Long id, Limit limit);
+
+    /**
+     * Sets the links of the renditions of the Image with the given ID, unless its original was replaced.
+     *
+     * @param id            The ID of the Image.
+     * @param link          The link of the original of the Image.
+     * @param thumbnailLink The link of the thumbnail.
+     * @param mediumLink    The link of the medium rendition.
+     * @return The number of updated Images.
+     */
+    @Modifying
+    @Query("update Image i set i.thumbnailLink = :thumbnailLink, i.mediumLink = :mediumLink "
+        + "where i.id = :id and i.link = :link")
+    int updateRenditionLinks(@Param("id") Long id, @Param("link") String link,
+                             @Param("thumbnailLink") String thumbnailLink, @Param("mediumLink") String mediumLink);
+}
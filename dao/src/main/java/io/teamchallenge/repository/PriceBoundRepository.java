@@ -0,0 +1,124 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.pricebound.PriceBound;
+import io.teamchallenge.entity.pricebound.PriceBoundId;
+import io.teamchallenge.entity.pricebound.PriceBoundId_;
+import io.teamchallenge.entity.pricebound.PriceBound_;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for the {@link PriceBound} rollup of the product prices per category, brand
+ * and price bucket. The rollup is derived from the products, so it is only rewritten by the
+ * native statements below and never saved entity by entity.
+ *
+ * @author Niktia Malov
+ */
+public interface PriceBoundRepository
+    extends JpaRepository<PriceBound, PriceBoundId>, JpaSpecificationExecutor<PriceBound> {
+    /**
+     * Recomputes the rollup rows of the given category and brand from their products.
+     *
+     * @param categoryId  The ID of the category.
+     * @param brandId     The ID of the brand.
+     * @param bucketWidth The width of the price buckets.
+     */
+    default void refresh(Long categoryId, Long brandId, BigDecimal bucketWidth) {
+        deleteByCategoryIdAndBrandId(categoryId, brandId);
+        insertByCategoryIdAndBrandId(categoryId, brandId, bucketWidth);
+    }
+
+    /**
+     * Recomputes the whole rollup from the products.
+     *
+     * @param bucketWidth The width of the price buckets.
+     * @return The number of inserted rollup rows.
+     */
+    default int rebuild(BigDecimal bucketWidth) {
+        deleteAllBounds();
+        return insertAll(bucketWidth);
+    }
+
+    /**
+     * Deletes the rollup rows of the given category and brand.
+     *
+     * @param categoryId The ID of the category.
+     * @param brandId    The ID of the brand.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM price_bounds WHERE category_id = :categoryId AND brand_id = :brandId",
+        nativeQuery = true)
+    void deleteByCategoryIdAndBrandId(@Param("categoryId") Long categoryId, @Param("brandId") Long brandId);
+
+    /**
+     * Inserts the rollup rows of the products of the given category and brand, one row per price bucket.
+     *
+     * @param categoryId  The ID of the category.
+     * @param brandId     The ID of the brand.
+     * @param bucketWidth The width of the price buckets.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO price_bounds (category_id, brand_id, bucket, min_price, max_price, product_count) "
+        + "SELECT b.category_id, b.brand_id, b.bucket, MIN(b.price), MAX(b.price), COUNT(*) "
+        + "FROM (SELECT p.category_id, p.brand_id, p.price, CAST(FLOOR(p.price / :bucketWidth) AS int) AS bucket "
+        + "FROM products p WHERE p.category_id = :categoryId AND p.brand_id = :brandId) b "
+        + "GROUP BY b.category_id, b.brand_id, b.bucket",
+        nativeQuery = true)
+    void insertByCategoryIdAndBrandId(@Param("categoryId") Long categoryId, @Param("brandId") Long brandId,
+                                      @Param("bucketWidth") BigDecimal bucketWidth);
+
+    /**
+     * Deletes all rollup rows.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM price_bounds", nativeQuery = true)
+    void deleteAllBounds();
+
+    /**
+     * Inserts the rollup rows of all products, one row per category, brand and price bucket.
+     *
+     * @param bucketWidth The width of the price buckets.
+     * @return The number of inserted rollup rows.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO price_bounds (category_id, brand_id, bucket, min_price, max_price, product_count) "
+        + "SELECT b.category_id, b.brand_id, b.bucket, MIN(b.price), MAX(b.price), COUNT(*) "
+        + "FROM (SELECT p.category_id, p.brand_id, p.price, CAST(FLOOR(p.price / :bucketWidth) AS int) AS bucket "
+        + "FROM products p) b "
+        + "GROUP BY b.category_id, b.brand_id, b.bucket",
+        nativeQuery = true)
+    int insertAll(@Param("bucketWidth") BigDecimal bucketWidth);
+
+    /**
+     * Specifications for filtering the rollup rows.
+     */
+    interface Specs {
+        /**
+         * Generates a specification for filtering the rollup rows by category ID.
+         *
+         * @param categoryId The ID of the category to filter by.
+         * @return Specification for filtering the rollup rows by category ID.
+         */
+        static Specification<PriceBound> byCategoryId(Long categoryId) {
+            return (root, query, builder) ->
+                builder.equal(root.get(PriceBound_.id).get(PriceBoundId_.categoryId), categoryId);
+        }
+
+        /**
+         * Generates a specification for filtering the rollup rows by brand IDs.
+         *
+         * @param brandIds List of brand IDs to filter by.
+         * @return Specification for filtering the rollup rows by brand IDs.
+         */
+        static Specification<PriceBound> byBrandIds(List<Long> brandIds) {
+            return (root, query, builder) ->
+                root.get(PriceBound_.id).get(PriceBoundId_.brandId).in(brandIds);
+        }
+    }
+}
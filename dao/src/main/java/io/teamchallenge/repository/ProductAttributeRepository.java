@@ -1,9 +1,13 @@
 package io.teamchallenge.repository;
 
+import io.teamchallenge.dto.product.ProductAttributeIndexDto;
 import io.teamchallenge.entity.attributes.ProductAttribute;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing {@link ProductAttribute} entities.
@@ -20,4 +24,24 @@ public interface ProductAttributeRepository extends JpaRepository<ProductAttribu
      */
     @EntityGraph(attributePaths = {"attributeValue", "attributeValue.attribute"})
     List<ProductAttribute> findAllByIdIn(List<Long> ids);
+
+    /**
+     * Retrieves the attribute values of all products that are kept in the in-memory product index.
+     *
+     * @return A list of product, attribute and attribute value IDs.
+     */
+    @Query("select new io.teamchallenge.dto.product.ProductAttributeIndexDto("
+        + "pa.product.id, pa.attributeValue.attribute.id, pa.attributeValue.id) from ProductAttribute pa")
+    List<ProductAttributeIndexDto> findAllIndexEntries();
+
+    /**
+     * Retrieves the attribute values of the products with the given IDs that are kept in the in-memory product index.
+     *
+     * @param productIds The list of IDs of the products.
+     * @return A list of product, attribute and attribute value IDs.
+     */
+    @Query("select new io.teamchallenge.dto.product.ProductAttributeIndexDto("
+        + "pa.product.id, pa.attributeValue.attribute.id, pa.attributeValue.id) from ProductAttribute pa "
+        + "where pa.product.id in :productIds")
+    List<ProductAttributeIndexDto> findIndexEntriesByProductIds(@Param("productIds") Collection<Long> productIds);
 }
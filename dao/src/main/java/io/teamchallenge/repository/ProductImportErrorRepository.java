@@ -0,0 +1,22 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.productimport.ProductImportError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for managing {@link ProductImportError} entities.
+ * Provides methods to perform CRUD operations and custom queries.
+ * @author Niktia Malov
+ */
+public interface ProductImportErrorRepository extends JpaRepository<ProductImportError, Long> {
+    /**
+     * Retrieves a page of the errors of the ProductImport with the given ID.
+     *
+     * @param productImportId The ID of the ProductImport.
+     * @param pageable        The pagination parameters.
+     * @return A page of the errors of the ProductImport.
+     */
+    Page<ProductImportError> findAllByProductImportId(Long productImportId, Pageable pageable);
+}
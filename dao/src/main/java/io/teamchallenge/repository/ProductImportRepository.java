@@ -0,0 +1,52 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.productimport.ProductImport;
+import io.teamchallenge.enumerated.ProductImportStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for managing {@link ProductImport} entities.
+ * Provides methods to perform CRUD operations and custom queries.
+ * @author Niktia Malov
+ */
+public interface ProductImportRepository extends JpaRepository<ProductImport, Long> {
+    /**
+     * Renews the heartbeat of the ProductImports with the given statuses owned by the given instance.
+     *
+     * @param ownerId     The ID of the instance owning the ProductImports.
+     * @param statuses    The statuses of the ProductImports.
+     * @param heartbeatAt The time of the heartbeat.
+     * @return The number of updated ProductImports.
+     */
+    @Modifying
+    @Query("update ProductImport pi set pi.heartbeatAt = :heartbeatAt "
+        + "where pi.ownerId = :ownerId and pi.status in :statuses")
+    int renewHeartbeat(@Param("ownerId") String ownerId, @Param("statuses") Collection<ProductImportStatus> statuses,
+                       @Param("heartbeatAt") LocalDateTime heartbeatAt);
+
+    /**
+     * Changes the status of the ProductImports with the given statuses whose heartbeat was last renewed before
+     * the given time by an instance other than the given one, recording the given failure message.
+     *
+     * @param statuses       The current statuses of the ProductImports.
+     * @param ownerId        The ID of the instance whose ProductImports are left unchanged.
+     * @param expiredBefore  The time before which the heartbeat of an abandoned ProductImport was renewed.
+     * @param newStatus      The new status of the ProductImports.
+     * @param failureMessage The failure message to record.
+     * @return The number of updated ProductImports.
+     */
+    @Modifying
+    @Query("update ProductImport pi set pi.status = :newStatus, pi.failureMessage = :failureMessage "
+        + "where pi.status in :statuses and (pi.ownerId is null or pi.ownerId <> :ownerId) "
+        + "and (pi.heartbeatAt is null or pi.heartbeatAt < :expiredBefore)")
+    int updateStatusOfAbandoned(@Param("statuses") Collection<ProductImportStatus> statuses,
+                                @Param("ownerId") String ownerId,
+                                @Param("expiredBefore") LocalDateTime expiredBefore,
+                                @Param("newStatus") ProductImportStatus newStatus,
+                                @Param("failureMessage") String failureMessage);
+}
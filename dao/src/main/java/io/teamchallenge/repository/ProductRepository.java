@@ -1,18 +1,36 @@
 package io.teamchallenge.repository;
 
+import io.teamchallenge.dto.product.ProductComparisonCellDto;
+import io.teamchallenge.dto.product.ProductFeedRowDto;
+import io.teamchallenge.dto.product.ProductIndexDto;
 import io.teamchallenge.entity.Product;
 import io.teamchallenge.entity.Product_;
+import io.teamchallenge.entity.attributes.ProductAttribute;
 import io.teamchallenge.entity.attributes.ProductAttribute_;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import static io.teamchallenge.repository.function.SearchFunctionContributor.FTS_MATCH;
+import static io.teamchallenge.repository.function.SearchFunctionContributor.TRGM_WORD_SIMILAR;
+
 /**
  * Repository interface for managing {@link Product} entities.
  * Provides methods to perform CRUD operations and custom queries.
@@ -21,6 +39,11 @@ import org.springframework.data.repository.query.Param;
  */
 public interface ProductRepository
     extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, CustomProductRepository {
+    /**
+     * The number of rows of the product feed fetched from the database at once.
+     */
+    int FEED_FETCH_SIZE = 500;
+
     /**
      * Retrieves a Product by its ID along with associated collections if available.
      *
@@ -31,25 +54,158 @@ public interface ProductRepository
         var product = findByIdWithCategoryAndBrandAndProductAttribute(id);
         if (product.isPresent()) {
             product = findByIdWithImages(id);
-            product = findByIdWithReviews(id);
         }
         return product;
     }
 
     /**
      * Retrieves Products by their IDs along with associated collections if available.
+     * The Products are hydrated by two IN queries regardless of their number, one for the category, brand and
+     * product attributes and one for the images, since fetching both collections at once would multiply the rows.
      *
      * @param ids The IDs of the Products to retrieve.
      * @return A List containing the Products if found, with associated collections eagerly fetched.
      */
     default List<Product> findByIdsWithCollections(List<Long> ids) {
-        var products = findAllByIdWithImages(ids);
+        List<Product> products = findAllByIdWithCategoryAndBrandAndProductAttributes(ids);
         if (!products.isEmpty()) {
-            products = findAllByIdWithReviews(ids);
+            findAllByIdWithImages(ids);
         }
         return products;
     }
 
+    /**
+     * Adds a review rate to the rating aggregates and the rating distribution of the Product with the given ID.
+     * The update is performed atomically in the database, so concurrent reviews are not lost.
+     * The Product is marked as updated and its version is incremented, since its rating is part of the product
+     * feed and of the product details.
+     *
+     * @param productId The ID of the Product that was reviewed.
+     * @param rate      The rate of the added review.
+     */
+    @Modifying
+    @Query("update versioned Product p set p.ratingSum = p.ratingSum + :rate, "
+        + "p.ratingCount = p.ratingCount + 1, "
+        + "p.rating = cast(p.ratingSum + :rate as double) / (p.ratingCount + 1), "
+        + "p.rating1Count = p.rating1Count + case when :rate = 1 then 1 else 0 end, "
+        + "p.rating2Count = p.rating2Count + case when :rate = 2 then 1 else 0 end, "
+        + "p.rating3Count = p.rating3Count + case when :rate = 3 then 1 else 0 end, "
+        + "p.rating4Count = p.rating4Count + case when :rate = 4 then 1 else 0 end, "
+        + "p.rating5Count = p.rating5Count + case when :rate = 5 then 1 else 0 end, "
+        + "p.updatedAt = local datetime "
+        + "where p.id = :productId")
+    void addRating(@Param("productId") Long productId, @Param("rate") Short rate);
+
+    /**
+     * Removes a review rate from the rating aggregates and the rating distribution of the Product
+     * with the given ID.
+     * The update is performed atomically in the database, so concurrent reviews are not lost.
+     * The Product is marked as updated and its version is incremented, since its rating is part of the product
+     * feed and of the product details.
+     *
+     * @param productId The ID of the Product whose review was deleted.
+     * @param rate      The rate of the deleted review.
+     */
+    @Modifying
+    @Query("update versioned Product p set p.ratingSum = p.ratingSum - :rate, "
+        + "p.ratingCount = p.ratingCount - 1, "
+        + "p.rating = case when p.ratingCount > 1 "
+        + "then cast(p.ratingSum - :rate as double) / (p.ratingCount - 1) else 0.0 end, "
+        + "p.rating1Count = p.rating1Count - case when :rate = 1 then 1 else 0 end, "
+        + "p.rating2Count = p.rating2Count - case when :rate = 2 then 1 else 0 end, "
+        + "p.rating3Count = p.rating3Count - case when :rate = 3 then 1 else 0 end, "
+        + "p.rating4Count = p.rating4Count - case when :rate = 4 then 1 else 0 end, "
+        + "p.rating5Count = p.rating5Count - case when :rate = 5 then 1 else 0 end, "
+        + "p.updatedAt = local datetime "
+        + "where p.id = :productId")
+    void removeRating(@Param("productId") Long productId, @Param("rate") Short rate);
+
+    /**
+     * Increments the order counters of the Products with the given IDs.
+     * The update is performed atomically in the database, so concurrent orders are not lost.
+     *
+     * @param productIds The IDs of the ordered Products.
+     */
+    @Modifying
+    @Query("update Product p set p.orderCount = p.orderCount + 1 where p.id in :productIds")
+    void incrementOrderCount(@Param("productIds") List<Long> productIds);
+
+    /**
+     * Changes the order counters of all Products contained in the Order with the given ID.
+     *
+     * @param orderId The ID of the Order whose Products should be updated.
+     * @param delta   The value to add to the order counters, negative to decrease them.
+     */
+    @Modifying
+    @Query("update Product p set p.orderCount = p.orderCount + :delta "
+        + "where p.id in (select oi.id.productId from OrderItem oi where oi.id.orderId = :orderId)")
+    void updateOrderCountByOrderId(@Param("orderId") Long orderId, @Param("delta") int delta);
+
+    /**
+     * Recomputes the order counters of all Products from the order items of not canceled Orders.
+     *
+     * @return The number of updated Products.
+     */
+    @Modifying
+    @Query(value = "UPDATE products p SET order_count = "
+        + "(SELECT COUNT(*) FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+        + "WHERE oi.product_id = p.id AND o.delivery_status <> 'CANCELED')",
+        nativeQuery = true)
+    int rebuildOrderCounts();
+
+    /**
+     * Retrieves the fields of all Products that are kept in the in-memory product index.
+     *
+     * @return A list of index entries of all Products.
+     */
+    @Query("select new io.teamchallenge.dto.product.ProductIndexDto("
+        + "p.id, p.brand.id, p.category.id, p.price, p.quantity, p.rating, p.orderCount) from Product p")
+    List<ProductIndexDto> findAllIndexEntries();
+
+    /**
+     * Retrieves the fields of the Products with the given IDs that are kept in the in-memory product index.
+     *
+     * @param productIds The list of IDs of the Products to retrieve.
+     * @return A list of index entries of the found Products.
+     */
+    @Query("select new io.teamchallenge.dto.product.ProductIndexDto("
+        + "p.id, p.brand.id, p.category.id, p.price, p.quantity, p.rating, p.orderCount) from Product p "
+        + "where p.id in :productIds")
+    List<ProductIndexDto> findIndexEntriesByIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Retrieves the names among the given ones that are already taken by Products.
+     *
+     * @param names The names to check.
+     * @return A list of the given names that are taken by Products.
+     */
+    @Query("select p.name from Product p where p.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    /**
+     * Streams the rows of the product feed of the Products updated since the given time, ordered by the
+     * Product ID. A Product has one row per attribute value, or a single row without attribute if it has none;
+     * its brand, category and first image are repeated in every row. Only scalar values are selected,
+     * so no entities accumulate in the persistence context, and the rows are fetched from a server-side
+     * cursor in batches of {@link #FEED_FETCH_SIZE}. The stream has to be consumed within a transaction
+     * and closed afterwards.
+     *
+     * @param updatedSince The time since which the Products were updated.
+     * @return A stream of the rows of the product feed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FEED_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new io.teamchallenge.dto.product.ProductFeedRowDto("
+        + "p.id, p.name, p.shortDesc, p.price, p.quantity, p.rating, p.ratingCount, p.updatedAt, "
+        + "b.name, c.name, i.link, a.name, av.value) "
+        + "from Product p join p.brand b join p.category c "
+        + "left join p.images i on i.order = 1 "
+        + "left join p.productAttributes pa left join pa.attributeValue av left join av.attribute a "
+        + "where p.updatedAt >= :updatedSince "
+        + "order by p.id, a.name, av.value")
+    Stream<ProductFeedRowDto> streamFeedRows(@Param("updatedSince") LocalDateTime updatedSince);
+
     /**
      * Retrieves all Products by their IDs with associated reviews eagerly fetched.
      *
@@ -85,22 +241,46 @@ public interface ProductRepository
     Optional<Product> findByIdWithCategoryAndBrandAndProductAttribute(@Param("productId") Long id);
 
     /**
-     * Retrieves a Product by its ID with associated images eagerly fetched.
+     * Retrieves all Products by their IDs with associated category, brand, and product attributes eagerly fetched.
      *
-     * @param id The ID of the Product to retrieve.
-     * @return An Optional containing the Product if found, with associated images eagerly fetched.
+     * @param productIds The list of IDs of the Products to retrieve.
+     * @return A list of Products with associated category, brand, and product attributes eagerly fetched.
      */
-    @Query("select p from Product p left join fetch p.images where p.id in :productId ")
-    Optional<Product> findByIdWithImages(@Param("productId") Long id);
+    @Query("select p from Product p "
+        + "join fetch p.category "
+        + "join fetch p.brand "
+        + "left join fetch p.productAttributes pa "
+        + "left join fetch pa.attributeValue "
+        + "left join fetch pa.attributeValue.attribute "
+        + "where p.id in :productIds")
+    List<Product> findAllByIdWithCategoryAndBrandAndProductAttributes(@Param("productIds") List<Long> productIds);
 
     /**
-     * Retrieves a Product by its ID with associated reviews eagerly fetched.
+     * Retrieves the attribute values of the Products with the given IDs aggregated into the cells of their
+     * comparison matrix: one cell per attribute and Product, with several values of the same attribute joined
+     * in alphabetical order. The cells are ordered by the name of the attribute.
+     *
+     * @param productIds The list of IDs of the compared Products.
+     * @return A list of the cells of the comparison matrix; an attribute the Product has no value of has no cell.
+     */
+    @Query("select new io.teamchallenge.dto.product.ProductComparisonCellDto("
+        + "a.id, a.name, pa.product.id, listagg(av.value, ', ') within group (order by av.value)) "
+        + "from ProductAttribute pa "
+        + "join pa.attributeValue av "
+        + "join av.attribute a "
+        + "where pa.product.id in :productIds "
+        + "group by a.id, a.name, pa.product.id "
+        + "order by a.name, a.id")
+    List<ProductComparisonCellDto> findComparisonCells(@Param("productIds") List<Long> productIds);
+
+    /**
+     * Retrieves a Product by its ID with associated images eagerly fetched.
      *
      * @param id The ID of the Product to retrieve.
      * @return An Optional containing the Product if found, with associated images eagerly fetched.
      */
-    @Query("select p from Product p left join fetch p.reviews where p.id in :productId ")
-    Optional<Product> findByIdWithReviews(@Param("productId") Long id);
+    @Query("select p from Product p left join fetch p.images where p.id in :productId ")
+    Optional<Product> findByIdWithImages(@Param("productId") Long id);
 
     /**
      * Retrieves a Product by its name.
@@ -124,14 +304,27 @@ public interface ProductRepository
      */
     interface Specs {
         /**
-         * Generates a specification for filtering products by name.
+         * Generates a specification for searching products by name.
+         * A product matches if its full-text search vector, built from the name, the short description
+         * and the brand name, matches the search term, if its name contains the term,
+         * or if its name contains a word similar to the term, which tolerates typos.
+         * Every branch is backed by a GIN index, so the search does not scan the whole table.
          *
-         * @param productName The name of the product to filter by.
-         * @return Specification for filtering products by name.
+         * @param productName The search term.
+         * @return Specification for searching products by name.
          */
         static Specification<Product> byName(String productName) {
-            return (root, query, builder) ->
-                builder.like(builder.lower(root.get(Product_.name)), "%" + productName.toLowerCase() + "%");
+            return (root, query, builder) -> {
+                var hibernateBuilder = (HibernateCriteriaBuilder) builder;
+                String term = productName.toLowerCase();
+                Expression<String> lowerName = builder.lower(root.get(Product_.name));
+                return builder.or(
+                    builder.isTrue(builder.function(FTS_MATCH, Boolean.class,
+                        root.get(Product_.searchVector), hibernateBuilder.value(productName))),
+                    builder.like(lowerName, "%" + term + "%"),
+                    builder.isTrue(builder.function(TRGM_WORD_SIMILAR, Boolean.class,
+                        lowerName, hibernateBuilder.value(term))));
+            };
         }
 
         /**
@@ -170,14 +363,23 @@ public interface ProductRepository
 
         /**
          * Generates a specification for filtering products by attribute value IDs.
+         * A product matches if it has at least one of the attribute values, which is checked by an EXISTS
+         * subquery on the product attributes, so the products are neither joined with their attributes
+         * nor duplicated. The values should belong to the same attribute; to require a value of each of
+         * several attributes, one specification per attribute has to be combined with AND.
          *
          * @param attributeValuesIds List of attribute value IDs to filter by.
          * @return Specification for filtering products by attribute value IDs.
          */
         static Specification<Product> byAttributeValuesIds(List<Long> attributeValuesIds) {
-            return (root, query, builder) ->
-                root.get(Product_.PRODUCT_ATTRIBUTES).get(ProductAttribute_.ATTRIBUTE_VALUE)
-                    .get("id").in(attributeValuesIds);
+            return (root, query, builder) -> {
+                Subquery<Long> productAttributes = query.subquery(Long.class);
+                Root<ProductAttribute> productAttribute = productAttributes.from(ProductAttribute.class);
+                productAttributes.select(productAttribute.get(ProductAttribute_.id))
+                    .where(builder.equal(productAttribute.get(ProductAttribute_.product), root),
+                        productAttribute.get(ProductAttribute_.attributeValue).get("id").in(attributeValuesIds));
+                return builder.exists(productAttributes);
+            };
         }
     }
 }
@@ -3,12 +3,14 @@ package io.teamchallenge.repository;
 import io.teamchallenge.dto.review.ReviewResponseDto;
 import io.teamchallenge.entity.reviews.Review;
 import io.teamchallenge.entity.reviews.ReviewId;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-public interface ReviewRepository extends JpaRepository<Review, ReviewId> {
+public interface ReviewRepository extends JpaRepository<Review, ReviewId>, CustomReviewRepository {
     /**
      * Retrieves a page of reviews for a specific product by its ID, including the associated user details.
      *
@@ -20,4 +22,19 @@ public interface ReviewRepository extends JpaRepository<Review, ReviewId> {
            + "LEFT JOIN FETCH r.user u "
            + "WHERE r.product.id = :productId")
     Page<Review> findAllByProductId(Long productId, Pageable pageable);
+
+    /**
+     * Retrieves the most recent reviews for a specific product by its ID, including the associated user details.
+     * Only the given number of reviews is read, so the preview costs the same regardless of how many reviews
+     * the product has.
+     *
+     * @param productId the ID of the product whose reviews are to be retrieved
+     * @param limit     the maximum number of reviews to retrieve
+     * @return a list of the most recent {@link Review} entities for the specified product ID, newest first
+     */
+    @Query("SELECT r FROM Review r "
+           + "LEFT JOIN FETCH r.user u "
+           + "WHERE r.product.id = :productId "
+           + "ORDER BY r.createdAt DESC")
+    List<Review> findRecentByProductId(Long productId, Limit limit);
 }
@@ -0,0 +1,51 @@
+package io.teamchallenge.repository.function;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the PostgreSQL full-text and trigram search operators as functions,
+ * so they can be used in Criteria queries and specifications.
+ * The 'simple' text search configuration is used, because product names are not written in a single language.
+ *
+ * @author Niktia Malov
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+    /**
+     * Checks whether a tsvector matches a search query written in web search syntax.
+     */
+    public static final String FTS_MATCH = "fts_match";
+    /**
+     * Ranks a tsvector against a search query written in web search syntax.
+     */
+    public static final String FTS_RANK = "fts_rank";
+    /**
+     * Checks whether a string contains a word similar enough to a search term
+     * according to the pg_trgm word similarity threshold.
+     */
+    public static final String TRGM_WORD_SIMILAR = "trgm_word_similar";
+    /**
+     * Returns the pg_trgm word similarity of a search term to a string.
+     */
+    public static final String TRGM_WORD_SIMILARITY = "trgm_word_similarity";
+
+    /**
+     * Registers the search functions in the function registry.
+     *
+     * @param functionContributions The target for the contributions.
+     */
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        BasicType<Boolean> booleanType = basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE);
+        var functionRegistry = functionContributions.getFunctionRegistry();
+
+        functionRegistry.registerPattern(FTS_MATCH, "(?1 @@ websearch_to_tsquery('simple', ?2))", booleanType);
+        functionRegistry.registerPattern(FTS_RANK, "ts_rank(?1, websearch_to_tsquery('simple', ?2))", doubleType);
+        functionRegistry.registerPattern(TRGM_WORD_SIMILAR, "(?1 %> ?2)", booleanType);
+        functionRegistry.registerPattern(TRGM_WORD_SIMILARITY, "word_similarity(?2, ?1)", doubleType);
+    }
+}
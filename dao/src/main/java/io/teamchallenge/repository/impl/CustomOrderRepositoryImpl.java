@@ -6,6 +6,7 @@ import io.teamchallenge.entity.Order;
 import io.teamchallenge.entity.orderitem.OrderItem;
 import io.teamchallenge.repository.CustomOrderRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -14,15 +15,23 @@ import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.hibernate.query.criteria.JpaCriteriaQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Repository;
 
@@ -33,6 +42,7 @@ public class CustomOrderRepositoryImpl implements CustomOrderRepository {
     public static final String ADDRESS = "address";
     public static final String PRICE = "price";
     public static final String QUANTITY = "quantity";
+    public static final String TOTAL = "total";
     private final EntityManager em;
     private final CriteriaBuilder cb;
 
@@ -59,6 +69,27 @@ public class CustomOrderRepositoryImpl implements CustomOrderRepository {
      */
     @Override
     public Page<Order> findAllByFilterParameters(OrderFilterDto filterParametersDto, Pageable pageable) {
+        List<Order> firstResults = findPageByFilterParameters(filterParametersDto, pageable);
+
+        if (firstResults.isEmpty()) {
+            return new PageImpl<>(firstResults, pageable, 0L);
+        }
+
+        return new PageImpl<>(firstResults, pageable, countByFilterParameters(filterParametersDto));
+    }
+
+    /**
+     * Retrieves the page of order entities based on the specified filter parameters
+     * without counting all matching orders.
+     *
+     * @param filterParametersDto
+     *            the filter parameters to apply when retrieving the order entities
+     * @param pageable
+     *            the pagination information
+     * @return the order entities of the page that match the filter parameters
+     */
+    @Override
+    public List<Order> findPageByFilterParameters(OrderFilterDto filterParametersDto, Pageable pageable) {
         var mainQuery = cb.createQuery(Order.class);
         var mainRoot = mainQuery.from(Order.class);
 
@@ -80,17 +111,122 @@ public class CustomOrderRepositoryImpl implements CustomOrderRepository {
         List<Order> firstResults = countTotalTypedQuery.setFirstResult((int) pageable.getOffset())
             .setMaxResults(pageable.getPageSize()).getResultList();
 
-        if (firstResults.isEmpty()) {
-            return new PageImpl<>(firstResults, pageable, 0L);
+        if (!firstResults.isEmpty()) {
+            fetchDataByIds(firstResults.stream().map(Order::getId).toList());
         }
 
-        List<Long> ids = firstResults.stream().map(Order::getId).toList();
+        return firstResults;
+    }
 
-        fetchDataByIds(ids);
+    /**
+     * Counts the order entities that match the specified filter parameters.
+     *
+     * @param filterParametersDto
+     *            the filter parameters to apply when counting the order entities
+     * @return the number of order entities that match the filter parameters
+     */
+    @Override
+    public long countByFilterParameters(OrderFilterDto filterParametersDto) {
+        var countQuery = cb.createQuery(UUID.class);
+        var countRoot = countQuery.from(Order.class);
+
+        Join<Order, OrderItem> oij = countRoot.join(ORDER_ITEMS, JoinType.LEFT);
+
+        List<Predicate> predicatesCount = getAllPredicates(countRoot, filterParametersDto);
+        List<Predicate> totalCountPredicates = getTotalPredicates(oij, filterParametersDto);
+        countQuery.select(countRoot.get("id")).where(predicatesCount.toArray(new Predicate[0]))
+            .groupBy(countRoot.get("id"));
 
-        Long totalCount = getTotalCount(filterParametersDto);
+        if (!totalCountPredicates.isEmpty()) {
+            countQuery.having(totalCountPredicates.toArray(new Predicate[0]));
+        }
 
-        return new PageImpl<>(firstResults, pageable, totalCount);
+        CriteriaQuery<Long> query = ((JpaCriteriaQuery<UUID>) countQuery).createCountQuery();
+        return em.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Retrieves the window of order entities based on the specified filter parameters
+     * that follows the given keyset position. The requested sort is extended with the order ID,
+     * so the position of every order is unique, and the orders before the position are excluded
+     * by a predicate instead of being skipped with an offset.
+     *
+     * @param filterParametersDto
+     *            the filter parameters to apply when retrieving the order entities
+     * @param position
+     *            the position to continue after, initial for the first window
+     * @param pageable
+     *            the pagination information, only the page size and sort are used
+     * @return a window of order entities that match the filter parameters
+     */
+    @Override
+    public Window<Order> scrollAllByFilterParameters(OrderFilterDto filterParametersDto,
+                                                     KeysetScrollPosition position, Pageable pageable) {
+        var mainQuery = cb.createTupleQuery();
+        var mainRoot = mainQuery.from(Order.class);
+
+        Join<Order, OrderItem> oij = mainRoot.join(ORDER_ITEMS, JoinType.LEFT);
+
+        List<KeysetSupport.Key> keys = getKeys(pageable, mainRoot, oij);
+        List<Predicate> predicates = getAllPredicates(mainRoot, filterParametersDto);
+        List<Predicate> totalPredicates = getTotalPredicates(oij, filterParametersDto);
+
+        if (!position.isInitial()) {
+            Predicate afterPosition = KeysetSupport.after(cb, keys, position);
+            boolean sortedByTotal = keys.stream().anyMatch(key -> key.getName().equals(TOTAL));
+            (sortedByTotal ? totalPredicates : predicates).add(afterPosition);
+        }
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(mainRoot);
+        keys.forEach(key -> selections.add(key.getExpression()));
+
+        mainQuery.multiselect(selections)
+            .where(predicates.toArray(new Predicate[0]))
+            .groupBy(mainRoot.get("id"))
+            .orderBy(keys.stream().map(key -> key.toOrder(cb)).toList());
+
+        if (!totalPredicates.isEmpty()) {
+            mainQuery.having(totalPredicates.toArray(new Predicate[0]));
+        }
+
+        List<Tuple> rows = em.createQuery(mainQuery).setMaxResults(pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Tuple> windowRows = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        List<Order> orders = new ArrayList<>();
+        List<Map<String, Object>> positions = new ArrayList<>();
+        for (Tuple row : windowRows) {
+            orders.add(row.get(0, Order.class));
+            positions.add(KeysetSupport.positionOf(keys, Arrays.asList(row.toArray()).subList(1, keys.size() + 1)));
+        }
+
+        if (!orders.isEmpty()) {
+            fetchDataByIds(orders.stream().map(Order::getId).toList());
+        }
+
+        return Window.from(orders, i -> ScrollPosition.forward(positions.get(i)), hasNext);
+    }
+
+    private List<KeysetSupport.Key> getKeys(Pageable pageable, Root<Order> root, Join<Order, OrderItem> oij) {
+        List<KeysetSupport.Key> keys = new ArrayList<>();
+
+        pageable.getSort().forEach(order -> {
+            if (order.getProperty().equals(TOTAL)) {
+                var totalPriceExpression = cb.coalesce(cb.sum(cb.prod(oij.get(PRICE), oij.get(QUANTITY))),
+                    BigDecimal.ZERO);
+                keys.add(new KeysetSupport.Key(TOTAL, totalPriceExpression, BigDecimal.class,
+                    order.getDirection().isAscending()));
+            } else {
+                keys.add(KeysetSupport.Key.of(order.getProperty(), root.get(order.getProperty()),
+                    order.getDirection().isAscending()));
+            }
+        });
+        if (keys.stream().noneMatch(key -> key.getName().equals("id"))) {
+            keys.add(KeysetSupport.Key.of("id", root.get("id"), true));
+        }
+
+        return keys;
     }
 
     private void fetchDataByIds(List<Long> ids) {
@@ -127,25 +263,6 @@ public class CustomOrderRepositoryImpl implements CustomOrderRepository {
         return orders;
     }
 
-    private Long getTotalCount(OrderFilterDto filterParametersDto) {
-        var countQuery = cb.createQuery(UUID.class);
-        var countRoot = countQuery.from(Order.class);
-
-        Join<Order, OrderItem> oij = countRoot.join(ORDER_ITEMS, JoinType.LEFT);
-
-        List<Predicate> predicatesCount = getAllPredicates(countRoot, filterParametersDto);
-        List<Predicate> totalCountPredicates = getTotalPredicates(oij, filterParametersDto);
-        countQuery.select(countRoot.get("id")).where(predicatesCount.toArray(new Predicate[0]))
-            .groupBy(countRoot.get("id"));
-
-        if (!totalCountPredicates.isEmpty()) {
-            countQuery.having(totalCountPredicates.toArray(new Predicate[0]));
-        }
-
-        CriteriaQuery<Long> query = ((JpaCriteriaQuery<UUID>) countQuery).createCountQuery();
-        return em.createQuery(query).getSingleResult();
-    }
-
     private List<Predicate> getTotalPredicates(Join<Order, OrderItem> oij,
                                                OrderFilterDto filterParametersDto) {
         List<Predicate> predicates = new LinkedList<>();
@@ -1,30 +1,58 @@
 package io.teamchallenge.repository.impl;
 
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.dto.product.ProductListingDto;
 import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.dto.product.ShortProductResponseDto;
+import io.teamchallenge.entity.Image;
 import io.teamchallenge.entity.Product;
-import io.teamchallenge.entity.orderitem.OrderItem;
-import io.teamchallenge.entity.reviews.Review;
+import io.teamchallenge.entity.attributes.Attribute;
+import io.teamchallenge.entity.attributes.AttributeValue;
+import io.teamchallenge.entity.attributes.ProductAttribute;
+import io.teamchallenge.exception.InvalidCursorException;
 import io.teamchallenge.repository.CustomProductRepository;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaWindow;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Repository;
 
+import static io.teamchallenge.constant.ExceptionMessage.INVALID_CURSOR;
+import static io.teamchallenge.repository.function.SearchFunctionContributor.FTS_RANK;
+import static io.teamchallenge.repository.function.SearchFunctionContributor.TRGM_WORD_SIMILARITY;
+
 /**
  * Implementation of a custom product repository interface that provides additional
  * functionality beyond the standard CRUD operations.
@@ -35,6 +63,26 @@ import org.springframework.stereotype.Repository;
 @Repository
 @RequiredArgsConstructor
 public class CustomProductRepositoryImpl implements CustomProductRepository {
+    private static final String AVAILABLE = "available";
+    private static final String INSERT_PRODUCTS =
+        "INSERT INTO products (name, short_desc, description, price, quantity, brand_id, category_id, created_at) "
+        + "SELECT t.name, t.short_desc, t.description, t.price, t.quantity, t.brand_id, t.category_id, now() "
+        + "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::int[], ?::bigint[], ?::bigint[]) "
+        + "AS t(name, short_desc, description, price, quantity, brand_id, category_id) "
+        + "ON CONFLICT (name) DO NOTHING "
+        + "RETURNING id, name";
+    private static final String INSERT_ATTRIBUTE_VALUES =
+        "INSERT INTO attribute_values (attribute_id, value) "
+        + "SELECT t.attribute_id, t.value FROM unnest(?::bigint[], ?::varchar[]) AS t(attribute_id, value) "
+        + "ON CONFLICT (value, attribute_id) DO NOTHING";
+    private static final String SELECT_ATTRIBUTE_VALUES =
+        "SELECT av.id, av.attribute_id, av.value FROM attribute_values av "
+        + "JOIN unnest(?::bigint[], ?::varchar[]) AS t(attribute_id, value) "
+        + "ON av.attribute_id = t.attribute_id AND av.value = t.value";
+    private static final String INSERT_PRODUCT_ATTRIBUTES =
+        "INSERT INTO product_attributes (product_id, attribute_value_id) "
+        + "SELECT t.product_id, t.attribute_value_id FROM unnest(?::bigint[], ?::bigint[]) "
+        + "AS t(product_id, attribute_value_id)";
     private final EntityManager entityManager;
 
     /**
@@ -86,27 +134,371 @@ public class CustomProductRepositoryImpl implements CustomProductRepository {
         if (Objects.nonNull(specification)) {
             query.where(specification.toPredicate(root, query, cb));
         }
-        query.groupBy(root.get("id"));
-        addSortPartToQuery(pageable, query, root, cb);
+        addSortPartToQuery(pageable, null, query, root, cb);
 
         List<Long> productIds = entityManager.createQuery(query).setFirstResult((int) pageable.getOffset())
             .setMaxResults(pageable.getPageSize()).getResultList();
 
+        return new PageImpl<>(productIds, pageable, countProducts(specification));
+    }
+
+    /**
+     * Finds the page of product IDs together with the total number of matching products and their minimum
+     * and maximum prices. The total and the price range are computed by window aggregates over the whole
+     * filtered set in the same statement that selects the page, so one round trip serves the listing.
+     * Only when the requested page lies beyond the last one, and therefore returns no rows to carry
+     * the aggregates, the total and the price range are queried separately.
+     * If a Specification is provided, filters the products based on the given criteria.
+     * If a search term is provided, the products can be sorted by their relevance to it.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @param searchTerm    The term the products are searched by, used for the "relevance" sort (can be null).
+     * @param pageable      The pagination parameters.
+     * @return A ProductListingDto object containing the page of product IDs and the price range of the products.
+     */
+    @Override
+    public ProductListingDto findProductListing(@Nullable Specification<Product> specification,
+                                                @Nullable String searchTerm, Pageable pageable) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        JpaWindow wholeResult = cb.createWindow();
+
+        query.multiselect(
+            root.get("id"),
+            cb.count(root.get("id"), wholeResult),
+            cb.functionAggregate("min", BigDecimal.class, wholeResult, root.get("price")),
+            cb.functionAggregate("max", BigDecimal.class, wholeResult, root.get("price")));
+        if (Objects.nonNull(specification)) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+        addSortPartToQuery(pageable, searchTerm, query, root, cb);
+
+        List<Tuple> rows = entityManager.createQuery(query).setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize()).getResultList();
+
+        if (rows.isEmpty() && pageable.getOffset() > 0) {
+            return new ProductListingDto(new PageImpl<>(List.of(), pageable, countProducts(specification)),
+                findProductMinMaxPrice(specification));
+        }
+
+        if (rows.isEmpty()) {
+            return new ProductListingDto(new PageImpl<>(List.of(), pageable, 0L),
+                new ProductMinMaxPriceDto(null, null));
+        }
+
+        List<Long> productIds = rows.stream().map(row -> row.get(0, Long.class)).toList();
+        Tuple first = rows.getFirst();
+
+        return new ProductListingDto(new PageImpl<>(productIds, pageable, first.get(1, Long.class)),
+            new ProductMinMaxPriceDto(first.get(2, BigDecimal.class), first.get(3, BigDecimal.class)));
+    }
+
+    /**
+     * Finds the page of product IDs based on the given specification and pagination parameters.
+     * Executes the page query of {@link #findProductListing(Specification, String, Pageable)} without
+     * the window aggregates, so the database can stop reading the matching rows once the page is filled.
+     * If a Specification is provided, filters the products based on the given criteria.
+     * If a search term is provided, the products can be sorted by their relevance to it.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @param searchTerm    The term the products are searched by, used for the "relevance" sort (can be null).
+     * @param pageable      The pagination parameters.
+     * @return A list of the IDs of the products of the page.
+     */
+    @Override
+    public List<Long> findProductIds(@Nullable Specification<Product> specification, @Nullable String searchTerm,
+                                     Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(root.get("id"));
+        if (Objects.nonNull(specification)) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+        addSortPartToQuery(pageable, searchTerm, query, root, cb);
+
+        return entityManager.createQuery(query).setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize()).getResultList();
+    }
+
+    /**
+     * Finds the window of product IDs following the given keyset position.
+     * Executes a CriteriaQuery ordered by availability, the requested sort key and the ID,
+     * restricted to the rows after the position instead of skipping them with an offset.
+     * One row more than the page size is fetched to find out whether a next window exists.
+     * If a Specification is provided, filters the products based on the given criteria.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @param position      The position to continue after, initial for the first window.
+     * @param pageable      The pagination parameters, only the page size and the sort are used.
+     * @return A Window object containing the IDs of products.
+     */
+    @Override
+    public Window<Long> scrollAllProductIds(@Nullable Specification<Product> specification,
+                                            KeysetScrollPosition position, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Expression<Integer> quantity = root.get("quantity");
+        List<KeysetSupport.Key> keys = getKeys(pageable, root);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(quantity);
+        keys.forEach(key -> selections.add(key.getExpression()));
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (Objects.nonNull(specification)) {
+            predicates.add(specification.toPredicate(root, query, cb));
+        }
+        if (!position.isInitial()) {
+            predicates.add(getAfterPositionPredicate(cb, quantity, keys, position));
+        }
+        query.where(predicates.stream().filter(Objects::nonNull).toArray(Predicate[]::new));
+
+        List<Order> orderList = new ArrayList<>();
+        orderList.add(cb.desc(cb.greaterThan(quantity, 0)));
+        keys.forEach(key -> orderList.add(key.toOrder(cb)));
+        query.orderBy(orderList);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+            .setMaxResults(pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Tuple> windowRows = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        List<Long> productIds = new ArrayList<>();
+        List<Map<String, Object>> positions = new ArrayList<>();
+        for (Tuple row : windowRows) {
+            Map<String, Object> rowPosition =
+                KeysetSupport.positionOf(keys, Arrays.asList(row.toArray()).subList(1, keys.size() + 1));
+            rowPosition.put(AVAILABLE, row.get(0, Integer.class) > 0);
+            positions.add(rowPosition);
+            productIds.add(row.get(keys.size(), Long.class));
+        }
+
+        return Window.from(productIds, i -> ScrollPosition.forward(positions.get(i)), hasNext);
+    }
+
+    /**
+     * Finds the short representations of the products with the given IDs.
+     * Executes a single CriteriaQuery that selects the columns of the short representation together with
+     * the images of the products, joined and ordered by the image order, and assembles the DTOs from the rows.
+     * The missing renditions of the images refer to their originals.
+     * Since only scalar values are selected, no entities are loaded into the persistence context.
+     *
+     * @param productIds The IDs of the products.
+     * @return A list of ShortProductResponseDto objects in the order of the given IDs.
+     */
+    @Override
+    public List<ShortProductResponseDto> findShortProductsByIds(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Image> images = root.join("images", JoinType.LEFT);
+
+        query.multiselect(
+            root.get("id"),
+            root.get("name"),
+            root.get("price"),
+            root.get("quantity"),
+            root.get("rating"),
+            images.get("link"),
+            images.get("order"),
+            cb.coalesce(images.get("thumbnailLink"), images.<String>get("link")),
+            cb.coalesce(images.get("mediumLink"), images.<String>get("link")));
+        query.where(root.get("id").in(productIds));
+        query.orderBy(cb.asc(images.get("order")));
+
+        Map<Long, ShortProductResponseDto> products = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            ShortProductResponseDto product = products.computeIfAbsent(row.get(0, Long.class),
+                id -> ShortProductResponseDto.builder()
+                    .id(id)
+                    .name(row.get(1, String.class))
+                    .price(row.get(2, BigDecimal.class))
+                    .available(row.get(3, Integer.class) > 0)
+                    .rating(row.get(4, Double.class))
+                    .images(new ArrayList<>())
+                    .build());
+            if (Objects.nonNull(row.get(5))) {
+                product.getImages().add(ImageDto.builder()
+                    .link(row.get(5, String.class))
+                    .order(row.get(6, Short.class))
+                    .thumbnailLink(row.get(7, String.class))
+                    .mediumLink(row.get(8, String.class))
+                    .build());
+            }
+        }
+
+        return productIds.stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Counts the products based on the given specification.
+     * Executes a CriteriaQuery to count the products.
+     * If a Specification is provided, filters the products based on the given criteria.
+     *
+     * @param specification The Specification to filter products (can be null).
+     * @return The number of matching products.
+     */
+    @Override
+    public Long countProducts(@Nullable Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         var countQuery = cb.createQuery(Long.class);
         var rootCount = countQuery.from(Product.class);
-        countQuery.select(cb.countDistinct(rootCount));
+        countQuery.select(cb.count(rootCount));
 
         if (Objects.nonNull(specification)) {
             countQuery.where(specification.toPredicate(rootCount, countQuery, cb));
         }
 
-        Long count = entityManager.createQuery(countQuery).getSingleResult();
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
 
-        return new PageImpl<>(productIds, pageable, count);
+    /**
+     * Inserts the given products using a single SQL statement.
+     * The columns of all products are bound as arrays and unnested by the database, so the statement
+     * does not grow with the number of products, and the generated IDs are returned by the same statement.
+     *
+     * @param products The products to insert, referencing their brand and category by ID.
+     * @return A map of the names of the inserted products to their generated IDs.
+     */
+    @Override
+    public Map<String, Long> insertProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PRODUCTS)) {
+                statement.setArray(1, connection.createArrayOf("varchar",
+                    products.stream().map(Product::getName).toArray()));
+                statement.setArray(2, connection.createArrayOf("varchar",
+                    products.stream().map(Product::getShortDesc).toArray()));
+                statement.setArray(3, connection.createArrayOf("varchar",
+                    products.stream().map(Product::getDescription).toArray()));
+                statement.setArray(4, connection.createArrayOf("numeric",
+                    products.stream().map(Product::getPrice).toArray()));
+                statement.setArray(5, connection.createArrayOf("int4",
+                    products.stream().map(Product::getQuantity).toArray()));
+                statement.setArray(6, connection.createArrayOf("int8",
+                    products.stream().map(product -> product.getBrand().getId()).toArray()));
+                statement.setArray(7, connection.createArrayOf("int8",
+                    products.stream().map(product -> product.getCategory().getId()).toArray()));
+                Map<String, Long> ids = new HashMap<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.put(resultSet.getString(2), resultSet.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * Inserts the given attribute values using a single SQL statement, skipping the values already present
+     * in the database, and selects the IDs of all of them with a second one.
+     *
+     * @param attributeValues The attribute values to insert, referencing their attribute by ID.
+     * @return A list of the given attribute values, together with the ones that were already present,
+     *         with their IDs set.
+     */
+    @Override
+    public List<AttributeValue> insertAttributeValues(List<AttributeValue> attributeValues) {
+        if (attributeValues.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Array attributeIds = connection.createArrayOf("int8",
+                attributeValues.stream().map(attributeValue -> attributeValue.getAttribute().getId()).toArray());
+            Array values = connection.createArrayOf("varchar",
+                attributeValues.stream().map(AttributeValue::getValue).toArray());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ATTRIBUTE_VALUES)) {
+                statement.setArray(1, attributeIds);
+                statement.setArray(2, values);
+                statement.executeUpdate();
+            }
+            List<AttributeValue> inserted = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_ATTRIBUTE_VALUES)) {
+                statement.setArray(1, attributeIds);
+                statement.setArray(2, values);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        inserted.add(AttributeValue.builder()
+                            .id(resultSet.getLong(1))
+                            .attribute(Attribute.builder().id(resultSet.getLong(2)).build())
+                            .value(resultSet.getString(3))
+                            .build());
+                    }
+                }
+            }
+            return inserted;
+        });
+    }
+
+    /**
+     * Inserts the given links of products and attribute values using a single SQL statement.
+     *
+     * @param productAttributes The product attributes to insert, referencing their product and attribute value
+     *                          by ID.
+     */
+    @Override
+    public void insertProductAttributes(List<ProductAttribute> productAttributes) {
+        if (productAttributes.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PRODUCT_ATTRIBUTES)) {
+                statement.setArray(1, connection.createArrayOf("int8",
+                    productAttributes.stream().map(productAttribute -> productAttribute.getProduct().getId())
+                        .toArray()));
+                statement.setArray(2, connection.createArrayOf("int8",
+                    productAttributes.stream().map(productAttribute -> productAttribute.getAttributeValue().getId())
+                        .toArray()));
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private List<KeysetSupport.Key> getKeys(Pageable pageable, Root<Product> root) {
+        List<KeysetSupport.Key> keys = new ArrayList<>();
+        Sort.Order priceOrder = pageable.getSort().getOrderFor("price");
+
+        if (Objects.nonNull(priceOrder)) {
+            keys.add(KeysetSupport.Key.of("price", root.get("price"), priceOrder.isAscending()));
+        } else if (Objects.nonNull(pageable.getSort().getOrderFor("popularity"))) {
+            keys.add(KeysetSupport.Key.of("orderCount", root.get("orderCount"), false));
+        } else {
+            keys.add(KeysetSupport.Key.of("rating", root.get("rating"), false));
+        }
+        keys.add(KeysetSupport.Key.of("id", root.get("id"), true));
+
+        return keys;
+    }
+
+    private Predicate getAfterPositionPredicate(CriteriaBuilder cb, Expression<Integer> quantity,
+                                                List<KeysetSupport.Key> keys, KeysetScrollPosition position) {
+        Predicate afterKeys = KeysetSupport.after(cb, keys, position);
+        String available = String.valueOf(position.getKeys().get(AVAILABLE));
+
+        if ("true".equals(available)) {
+            return cb.or(cb.le(quantity, 0), cb.and(cb.gt(quantity, 0), afterKeys));
+        } else if ("false".equals(available)) {
+            return cb.and(cb.le(quantity, 0), afterKeys);
+        }
+        throw new InvalidCursorException(INVALID_CURSOR);
     }
 
-    private void addSortPartToQuery(Pageable pageable, CriteriaQuery<Long> query, Root<Product> root,
-                                    CriteriaBuilder cb) {
+    private void addSortPartToQuery(Pageable pageable, @Nullable String searchTerm, CriteriaQuery<?> query,
+                                    Root<Product> root, CriteriaBuilder cb) {
         List<Order> orderList = new ArrayList<>();
 
         orderList.add(cb.desc(cb.greaterThan(root.get("quantity"), 0)));
@@ -115,17 +507,15 @@ public class CustomProductRepositoryImpl implements CustomProductRepository {
             var priceSort = Sort.by(priceOrder);
             orderList.addAll(QueryUtils.toOrders(priceSort, root, cb));
         } else if (Objects.nonNull(pageable.getSort().getOrderFor("popularity"))) {
-            Subquery<Long> subquery = query.subquery(Long.class);
-            Root<OrderItem> orderItemRoot = subquery.from(OrderItem.class);
-            subquery.select(cb.count(orderItemRoot.get("id").get("productId")))
-                .where(cb.equal(orderItemRoot.get("id").get("productId"), root.get("id")));
-            orderList.add(cb.desc(subquery));
+            orderList.add(cb.desc(root.get("orderCount")));
+        } else if (Objects.nonNull(pageable.getSort().getOrderFor("relevance")) && Objects.nonNull(searchTerm)) {
+            var hibernateBuilder = (HibernateCriteriaBuilder) cb;
+            orderList.add(cb.desc(cb.function(FTS_RANK, Double.class,
+                root.get("searchVector"), hibernateBuilder.value(searchTerm))));
+            orderList.add(cb.desc(cb.function(TRGM_WORD_SIMILARITY, Double.class,
+                cb.lower(root.get("name")), hibernateBuilder.value(searchTerm.toLowerCase()))));
         } else {
-            Subquery<Double> subquery = query.subquery(Double.class);
-            Root<Review> reviewRoot = subquery.from(Review.class);
-            subquery.select(cb.coalesce(cb.avg(reviewRoot.<Double>get("rate")), 0.0))
-                .where(cb.equal(reviewRoot.get("id").get("productId"), root.get("id")));
-            orderList.add(cb.desc(subquery));
+            orderList.add(cb.desc(root.get("rating")));
         }
 
         query.orderBy(orderList);
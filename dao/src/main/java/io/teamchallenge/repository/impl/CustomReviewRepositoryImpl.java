@@ -0,0 +1,80 @@
+package io.teamchallenge.repository.impl;
+
+import io.teamchallenge.entity.reviews.Review;
+import io.teamchallenge.repository.CustomReviewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Implementation of a custom review repository interface that provides keyset pagination
+ * of the reviews of a product.
+ *
+ * @author Niktia Malov
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomReviewRepositoryImpl implements CustomReviewRepository {
+    private static final String USER_ID = "userId";
+    private final EntityManager entityManager;
+
+    /**
+     * Retrieves the window of reviews for a specific product that follows the given keyset position.
+     * The requested sort is extended with the ID of the reviewer, which is unique within a product,
+     * and the reviews before the position are excluded by a predicate instead of being skipped with an offset.
+     *
+     * @param productId the ID of the product whose reviews are to be retrieved
+     * @param position  the position to continue after, initial for the first window
+     * @param pageable  the pagination information, only the page size and sort are used
+     * @return a {@link Window} of {@link Review} entities for the specified product ID
+     */
+    @Override
+    public Window<Review> scrollAllByProductId(Long productId, KeysetScrollPosition position, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Review.class);
+        Root<Review> root = query.from(Review.class);
+        root.fetch("user", JoinType.LEFT);
+
+        List<KeysetSupport.Key> keys = new ArrayList<>();
+        pageable.getSort().forEach(order -> keys.add(
+            KeysetSupport.Key.of(order.getProperty(), root.get(order.getProperty()), order.isAscending())));
+        keys.add(KeysetSupport.Key.of(USER_ID, root.get("id").get(USER_ID), true));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("product").get("id"), productId));
+        if (!position.isInitial()) {
+            predicates.add(KeysetSupport.after(cb, keys, position));
+        }
+        query.select(root)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(keys.stream().map(key -> key.toOrder(cb)).toList());
+
+        List<Review> reviews = entityManager.createQuery(query)
+            .setMaxResults(pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = reviews.size() > pageable.getPageSize();
+        List<Review> windowReviews = hasNext ? reviews.subList(0, pageable.getPageSize()) : reviews;
+
+        return Window.from(windowReviews, i -> ScrollPosition.forward(
+            KeysetSupport.positionOf(keys, keys.stream()
+                .map(key -> getKeyValue(windowReviews.get(i), key.getName())).toList())), hasNext);
+    }
+
+    private Object getKeyValue(Review review, String key) {
+        if ("rate".equals(key)) {
+            return review.getRate();
+        } else if ("createdAt".equals(key)) {
+            return review.getCreatedAt();
+        }
+        return review.getId().getUserId();
+    }
+}
@@ -0,0 +1,158 @@
+package io.teamchallenge.repository.impl;
+
+import io.teamchallenge.exception.InvalidCursorException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import static io.teamchallenge.constant.ExceptionMessage.INVALID_CURSOR;
+
+/**
+ * Helper for building keyset (seek) pagination queries with the Criteria API.
+ * Instead of skipping rows with an offset, the query continues right after the sort key values
+ * of the last row of the previous window, so every window costs the same as the first one.
+ *
+ * @author Niktia Malov
+ */
+final class KeysetSupport {
+    private KeysetSupport() {
+    }
+
+    /**
+     * A single sort key of a keyset query: its name inside a {@link KeysetScrollPosition},
+     * the expression the query is ordered by, the Java type of its values and the sort direction.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class Key {
+        private final String name;
+        private final Expression<?> expression;
+        private final Class<?> type;
+        private final boolean ascending;
+
+        /**
+         * Creates a key whose value type is taken from the given expression.
+         *
+         * @param name       The name of the key.
+         * @param expression The expression the query is ordered by.
+         * @param ascending  Whether the query is ordered by the key in ascending order.
+         * @return The created key.
+         */
+        static Key of(String name, Expression<?> expression, boolean ascending) {
+            return new Key(name, expression, expression.getJavaType(), ascending);
+        }
+
+        /**
+         * Creates the ORDER BY item for this key.
+         *
+         * @param cb The CriteriaBuilder used to build the query.
+         * @return The order of the query by this key.
+         */
+        jakarta.persistence.criteria.Order toOrder(CriteriaBuilder cb) {
+            return ascending ? cb.asc(expression) : cb.desc(expression);
+        }
+    }
+
+    /**
+     * Builds a predicate selecting the rows that follow the given position in the order defined by the keys,
+     * e.g. {@code k1 > v1 OR (k1 = v1 AND (k2 > v2 OR (k2 = v2 AND ...)))}.
+     *
+     * @param cb       The CriteriaBuilder used to build the query.
+     * @param keys     The sort keys of the query, the last one must be unique.
+     * @param position The position to continue after, must not be initial.
+     * @return The predicate restricting the query to the rows after the position.
+     * @throws InvalidCursorException if the position does not contain a valid value for every key.
+     */
+    static Predicate after(CriteriaBuilder cb, List<Key> keys, KeysetScrollPosition position) {
+        Predicate predicate = null;
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            Key key = keys.get(i);
+            Object value = valueOf(key, position);
+            Predicate strictlyAfter = compare(cb, key, value);
+            predicate = Objects.isNull(predicate)
+                ? strictlyAfter
+                : cb.or(strictlyAfter, cb.and(cb.equal(key.getExpression(), value), predicate));
+        }
+        return predicate;
+    }
+
+    /**
+     * Extracts the key values of a result row to build the position following that row.
+     *
+     * @param keys   The sort keys of the query.
+     * @param values The values of the keys in the same order as the keys.
+     * @return The map of key names to their values.
+     */
+    static Map<String, Object> positionOf(List<Key> keys, List<?> values) {
+        Map<String, Object> position = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            position.put(keys.get(i).getName(), values.get(i));
+        }
+        return position;
+    }
+
+    /**
+     * Returns the value of the given key in the position converted to the type of the key.
+     *
+     * @param key      The key to get the value of.
+     * @param position The position containing the value.
+     * @return The converted value.
+     * @throws InvalidCursorException if the value is missing or cannot be converted.
+     */
+    static Object valueOf(Key key, KeysetScrollPosition position) {
+        Object value = position.getKeys().get(key.getName());
+        if (Objects.isNull(value)) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+        return convert(value, key.getType());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate compare(CriteriaBuilder cb, Key key, Object value) {
+        Expression<Comparable> expression = (Expression<Comparable>) key.getExpression();
+        return key.isAscending()
+            ? cb.greaterThan(expression, (Comparable) value)
+            : cb.lessThan(expression, (Comparable) value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Object value, Class<?> type) {
+        if (type.isInstance(value)) {
+            return value;
+        }
+        String text = value.toString();
+        try {
+            if (type == String.class) {
+                return text;
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(text);
+            } else if (type == Long.class) {
+                return Long.valueOf(text);
+            } else if (type == Integer.class) {
+                return Integer.valueOf(text);
+            } else if (type == Short.class) {
+                return Short.valueOf(text);
+            } else if (type == Double.class) {
+                return Double.valueOf(text);
+            } else if (type == Boolean.class && ("true".equals(text) || "false".equals(text))) {
+                return Boolean.valueOf(text);
+            } else if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(text);
+            } else if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, text);
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(INVALID_CURSOR, e);
+        }
+        throw new InvalidCursorException(INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,182 @@
+package io.teamchallenge.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+class ReplicaRoutingDataSourceTCTest {
+    private static final DockerImageName POSTGRES = DockerImageName.parse("postgres:16-alpine");
+    private static final Network NETWORK = Network.newNetwork();
+    private static final String INIT_REPLICATION = """
+        #!/bin/sh
+        set -e
+        psql -v ON_ERROR_STOP=1 -U "$POSTGRES_USER" -d "$POSTGRES_DB" \
+            -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator'"
+        echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+        """;
+    private static final String START_STANDBY = """
+        until pg_basebackup -d "host=primary port=5432 user=replicator password=replicator" \
+            -D "$PGDATA" -R -X stream; do rm -rf "$PGDATA"/*; sleep 1; done
+        chmod 0700 "$PGDATA"
+        exec postgres -D "$PGDATA"
+        """;
+
+    @Container
+    static PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>(POSTGRES)
+        .withNetwork(NETWORK)
+        .withNetworkAliases("primary")
+        .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4")
+        .withCopyToContainer(Transferable.of(INIT_REPLICATION), "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    static GenericContainer<?> replicaContainer = new GenericContainer<>(POSTGRES)
+        .withNetwork(NETWORK)
+        .withEnv("PGDATA", "/var/lib/postgresql/data")
+        .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+        .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+        .withCommand("sh", "-c", START_STANDBY)
+        .dependsOn(primaryContainer)
+        .waitingFor(Wait.forLogMessage(".*ready to accept read.only connections.*", 1)
+            .withStartupTimeout(Duration.ofMinutes(2)));
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+    private ReplicaRoutingDataSource routingDataSource;
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void setUpPools() throws SQLException {
+        primaryPool = createPool(primaryContainer.getJdbcUrl());
+        replicaPool = createPool("jdbc:postgresql://" + replicaContainer.getHost() + ":"
+            + replicaContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/"
+            + primaryContainer.getDatabaseName());
+        execute(primaryPool, "CREATE TABLE IF NOT EXISTS replicated (id bigint PRIMARY KEY)");
+    }
+
+    @AfterAll
+    static void closePools() {
+        replicaPool.close();
+        primaryPool.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(currentUser::get, Duration.ofSeconds(10),
+            Clock.systemUTC());
+        routingDataSource = new ReplicaRoutingDataSource(primaryPool,
+            List.of(new ReplicaPool("replica-1", replicaPool)), tracker, Duration.ofMillis(500));
+        LazyConnectionDataSourceProxy proxy =
+            new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryPool, tracker));
+        proxy.setReadOnlyDataSource(routingDataSource);
+        dataSource = proxy;
+    }
+
+    @AfterEach
+    void resumeReplay() throws SQLException {
+        execute(replicaPool, "SELECT pg_wal_replay_resume()");
+    }
+
+    @Test
+    void readOnlyConnectionsGoToReplicaTest() throws SQLException, InterruptedException {
+        awaitHealthy();
+
+        assertTrue(isInRecovery(true));
+        assertFalse(isInRecovery(false));
+    }
+
+    @Test
+    void readsOfOwnWritesGoToPrimaryTest() throws SQLException, InterruptedException {
+        awaitHealthy();
+        currentUser.set("john@example.com");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO replicated VALUES (1) ON CONFLICT DO NOTHING");
+        }
+
+        assertFalse(isInRecovery(true));
+
+        currentUser.set("jane@example.com");
+        assertTrue(isInRecovery(true));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryTest() throws SQLException, InterruptedException {
+        awaitHealthy();
+        execute(replicaPool, "SELECT pg_wal_replay_pause()");
+        execute(primaryPool, "INSERT INTO replicated VALUES (2) ON CONFLICT DO NOTHING");
+        Thread.sleep(1000);
+        routingDataSource.checkHealth();
+
+        assertFalse(routingDataSource.getReplicas().getFirst().isHealthy());
+        assertFalse(isInRecovery(true));
+    }
+
+    private static HikariDataSource createPool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(primaryContainer.getUsername());
+        pool.setPassword(primaryContainer.getPassword());
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void awaitHealthy() throws SQLException, InterruptedException {
+        execute(primaryPool, "SELECT 1");
+        for (int attempt = 0; attempt < 50 && !isReplicaHealthy(); attempt++) {
+            Thread.sleep(200);
+        }
+        assertTrue(isReplicaHealthy());
+    }
+
+    private boolean isReplicaHealthy() {
+        routingDataSource.checkHealth();
+        return routingDataSource.getReplicas().getFirst().isHealthy();
+    }
+
+    private boolean isInRecovery(boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT pg_is_in_recovery()")) {
+                resultSet.next();
+                assertEquals(readOnly, connection.isReadOnly());
+                return resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.teamchallenge.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource firstReplica;
+    @Mock
+    private DataSource secondReplica;
+
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+    private final MutableClock clock = new MutableClock();
+    private ReadYourWritesTracker tracker;
+    private ReplicaPool firstPool;
+    private ReplicaPool secondPool;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(currentUser::get, WINDOW, clock);
+        firstPool = new ReplicaPool("replica-1", firstReplica);
+        secondPool = new ReplicaPool("replica-2", secondReplica);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(firstPool, secondPool), tracker, MAX_LAG);
+    }
+
+    @Test
+    void determineTargetRoundRobinsOverHealthyReplicasTest() throws SQLException {
+        mockLag(firstReplica, 0);
+        mockLag(secondReplica, 1.5);
+        routingDataSource.checkHealth();
+
+        assertSame(firstReplica, routingDataSource.determineTarget());
+        assertSame(secondReplica, routingDataSource.determineTarget());
+        assertSame(firstReplica, routingDataSource.determineTarget());
+    }
+
+    @Test
+    void determineTargetSkipsLaggingReplicaTest() throws SQLException {
+        mockLag(firstReplica, 7.5);
+        mockLag(secondReplica, 0);
+        routingDataSource.checkHealth();
+
+        assertFalse(firstPool.isHealthy());
+        assertSame(secondReplica, routingDataSource.determineTarget());
+        assertSame(secondReplica, routingDataSource.determineTarget());
+    }
+
+    @Test
+    void determineTargetFallsBackToPrimaryWhenNoReplicaIsHealthyTest() throws SQLException {
+        mockLag(firstReplica, 60);
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkHealth();
+
+        assertFalse(firstPool.isHealthy());
+        assertFalse(secondPool.isHealthy());
+        assertSame(primary, routingDataSource.determineTarget());
+    }
+
+    @Test
+    void determineTargetFallsBackToPrimaryBeforeFirstHealthCheckTest() {
+        assertSame(primary, routingDataSource.determineTarget());
+    }
+
+    @Test
+    void determineTargetSendsOwnReadsToPrimaryWithinWindowTest() throws SQLException {
+        mockLag(firstReplica, 0);
+        mockLag(secondReplica, 0);
+        routingDataSource.checkHealth();
+        currentUser.set("john@example.com");
+        new WriteTrackingDataSource(primary, tracker).getConnection();
+
+        assertSame(primary, routingDataSource.determineTarget());
+
+        currentUser.set("jane@example.com");
+        assertSame(firstReplica, routingDataSource.determineTarget());
+
+        currentUser.set("john@example.com");
+        clock.advance(WINDOW);
+        assertSame(secondReplica, routingDataSource.determineTarget());
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void determineTargetSendsPrimaryReadsToPrimaryWithoutUserTest() throws SQLException {
+        mockLag(firstReplica, 0);
+        mockLag(secondReplica, 0);
+        routingDataSource.checkHealth();
+
+        assertSame(primary, PrimaryReads.call(routingDataSource::determineTarget));
+        assertFalse(PrimaryReads.isActive());
+        assertSame(firstReplica, routingDataSource.determineTarget());
+    }
+
+    @Test
+    void recordWriteIgnoresAnonymousRequestsTest() {
+        tracker.recordWrite();
+
+        assertFalse(tracker.isWithinWindow());
+    }
+
+    @Test
+    void purgeExpiredTest() {
+        currentUser.set("john@example.com");
+        tracker.recordWrite();
+        tracker.purgeExpired();
+        assertTrue(tracker.isWithinWindow());
+
+        clock.advance(WINDOW);
+        tracker.purgeExpired();
+        clock.advance(Duration.ofSeconds(-10));
+        assertFalse(tracker.isWithinWindow());
+    }
+
+    private void mockLag(DataSource replica, double lagSeconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaPool.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2024-03-01T10:00:00Z");
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+    }
+}
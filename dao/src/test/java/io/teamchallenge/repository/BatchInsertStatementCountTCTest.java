@@ -0,0 +1,143 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.Address;
+import io.teamchallenge.entity.Brand;
+import io.teamchallenge.entity.Category;
+import io.teamchallenge.entity.ContactInfo;
+import io.teamchallenge.entity.Country;
+import io.teamchallenge.entity.Image;
+import io.teamchallenge.entity.Order;
+import io.teamchallenge.entity.PostAddress;
+import io.teamchallenge.entity.Product;
+import io.teamchallenge.entity.attributes.AttributeValue;
+import io.teamchallenge.entity.attributes.ProductAttribute;
+import io.teamchallenge.entity.orderitem.OrderItem;
+import io.teamchallenge.entity.orderitem.OrderItemId;
+import io.teamchallenge.enumerated.DeliveryMethod;
+import io.teamchallenge.enumerated.DeliveryStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=16",
+    "spring.jpa.properties.hibernate.order_inserts=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("ts")
+@Sql(scripts = "classpath:data.sql")
+class BatchInsertStatementCountTCTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgresqlContainer =
+        new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createProductWithImagesAndAttributesBatchesInsertsTest() {
+        var product = Product.builder()
+            .name("Example Laptop")
+            .shortDesc("Laptop")
+            .description("This is an example laptop.")
+            .price(new BigDecimal("999.99"))
+            .quantity(10)
+            .brand(entityManager.getReference(Brand.class, 1L))
+            .category(entityManager.getReference(Category.class, 1L))
+            .build();
+        for (short order = 1; order <= 5; order++) {
+            product.addImage(Image.builder()
+                .link("https://example.com/laptop-" + order + ".jpg")
+                .order(order)
+                .build());
+        }
+        for (long attributeValueId = 1; attributeValueId <= 6; attributeValueId++) {
+            product.addProductAttribute(ProductAttribute.builder()
+                .attributeValue(entityManager.getReference(AttributeValue.class, attributeValueId))
+                .build());
+        }
+
+        productRepository.save(product);
+        entityManager.flush();
+
+        assertEquals(12, statistics.getEntityInsertCount());
+        // one call of each of the three sequences and one batched insert into each of the three tables
+        assertEquals(6, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createOrdersWithItemsBatchesInsertsTest() {
+        for (int i = 0; i < 3; i++) {
+            var order = orderRepository.save(Order.builder()
+                .contactInfo(ContactInfo.builder()
+                    .firstName("John")
+                    .lastName("Doe")
+                    .email("john@example.com")
+                    .phoneNumber("+1234567890")
+                    .build())
+                .address(Address.builder()
+                    .addressLine("123 Main St")
+                    .city("New York")
+                    .postalCode("10001")
+                    .country(entityManager.getReference(Country.class, 1L))
+                    .build())
+                .postAddress(PostAddress.builder().city("New York").department("11").build())
+                .deliveryMethod(DeliveryMethod.COURIER)
+                .deliveryStatus(DeliveryStatus.PROCESSING)
+                .orderItems(new ArrayList<>())
+                .isPaid(false)
+                .build());
+            for (long productId : List.of(1L, 2L)) {
+                order.addOrderItem(OrderItem.builder()
+                    .id(OrderItemId.builder().orderId(order.getId()).productId(productId).build())
+                    .product(entityManager.getReference(Product.class, productId))
+                    .quantity(1)
+                    .price(new BigDecimal("19.99"))
+                    .build());
+            }
+        }
+        entityManager.flush();
+
+        assertEquals(15, statistics.getEntityInsertCount());
+        // one call of each of the three sequences and one batched insert into each of the four tables
+        assertEquals(7, statistics.getPrepareStatementCount());
+    }
+}
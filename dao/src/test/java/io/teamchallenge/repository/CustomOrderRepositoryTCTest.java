@@ -56,4 +56,30 @@ public class CustomOrderRepositoryTCTest {
         assertFalse(page.getContent().isEmpty());
         assertEquals(1, page.getContent().size());
     }
+
+    @Test
+    void findPageByFilterParametersTest() {
+        OrderFilterDto orderFilterDto = OrderFilterDto.builder().isPaid(true)
+            .statuses(List.of(COMPLETED))
+            .build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("total"));
+
+        List<Order> orders = orderRepository.findPageByFilterParameters(orderFilterDto, pageable);
+
+        assertEquals(orderRepository.findAllByFilterParameters(orderFilterDto, pageable).getContent(), orders);
+    }
+
+    @Test
+    void countByFilterParametersTest() {
+        OrderFilterDto orderFilterDto = OrderFilterDto.builder().isPaid(true)
+            .createdAfter(LocalDateTime.of(2020,1,1,1,1))
+            .createdBefore(LocalDateTime.of(2026,1,1,1,1))
+            .deliveryMethods(List.of(NOVA))
+            .statuses(List.of(COMPLETED))
+            .totalLess(BigDecimal.valueOf(2000))
+            .totalMore(BigDecimal.ZERO)
+            .build();
+
+        assertEquals(1L, orderRepository.countByFilterParameters(orderFilterDto));
+    }
 }
@@ -0,0 +1,67 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.entity.pricebound.PriceBound;
+import io.teamchallenge.entity.pricebound.PriceBoundId;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static io.teamchallenge.repository.PriceBoundRepository.Specs.byCategoryId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("ts")
+@Sql(scripts = "classpath:data.sql")
+public class PriceBoundRepositoryTCTest {
+    private static final BigDecimal BUCKET_WIDTH = BigDecimal.valueOf(50);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgresqlContainer =
+        new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @Autowired
+    private PriceBoundRepository priceBoundRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void rebuildTest() {
+        assertEquals(2, priceBoundRepository.rebuild(BUCKET_WIDTH));
+
+        List<PriceBound> actual = priceBoundRepository.findAll(byCategoryId(1L));
+
+        assertEquals(1, actual.size());
+        assertEquals(new PriceBoundId(1L, 1L, 11), actual.getFirst().getId());
+        assertEquals(new BigDecimal("599.99"), actual.getFirst().getMinPrice());
+        assertEquals(new BigDecimal("599.99"), actual.getFirst().getMaxPrice());
+        assertEquals(1, actual.getFirst().getProductCount());
+    }
+
+    @Test
+    void refreshTest() {
+        priceBoundRepository.rebuild(BUCKET_WIDTH);
+        productRepository.findById(1L).orElseThrow().setPrice(new BigDecimal("49.99"));
+        productRepository.flush();
+
+        priceBoundRepository.refresh(1L, 1L, BUCKET_WIDTH);
+
+        List<PriceBound> actual = priceBoundRepository.findAll(byCategoryId(1L));
+        assertEquals(1, actual.size());
+        assertEquals(new PriceBoundId(1L, 1L, 0), actual.getFirst().getId());
+        assertEquals(new BigDecimal("49.99"), actual.getFirst().getMinPrice());
+        assertEquals(2, priceBoundRepository.count());
+    }
+}
@@ -0,0 +1,91 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.dto.product.ProductListingDto;
+import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static io.teamchallenge.repository.ProductRepository.Specs.byAttributeValuesIds;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("ts")
+@Sql(scripts = "classpath:data.sql")
+class ProductListingStatementCountTCTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgresqlContainer =
+        new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findProductListingWithHydrationUsesTwoStatementsTest() {
+        PageRequest pageable = PageRequest.of(0, 1, Sort.by(Sort.Order.desc("price")));
+
+        ProductListingDto listing = productRepository.findProductListing(null, null, pageable);
+        productRepository.findShortProductsByIds(listing.getProductIds().getContent());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of(1L), listing.getProductIds().getContent());
+        assertEquals(2, listing.getProductIds().getTotalElements());
+        assertEquals(2, listing.getProductIds().getTotalPages());
+        assertEquals(new ProductMinMaxPriceDto(BigDecimal.valueOf(19.99), BigDecimal.valueOf(599.99)),
+            listing.getPriceRange());
+    }
+
+    @Test
+    void findProductListingWithSpecificationUsesOneStatementTest() {
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by(Sort.Order.asc("price")));
+
+        ProductListingDto listing = productRepository.findProductListing(byAttributeValuesIds(List.of(1L, 2L)),
+            null, pageable);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(listing.getProductIds().getContent().size(), listing.getProductIds().getTotalElements());
+    }
+
+    @Test
+    void findProductListingBeyondLastPageTest() {
+        PageRequest pageable = PageRequest.of(5, 2, Sort.by(Sort.Order.asc("price")));
+
+        ProductListingDto listing = productRepository.findProductListing(null, null, pageable);
+
+        assertEquals(0, listing.getProductIds().getContent().size());
+        assertEquals(2, listing.getProductIds().getTotalElements());
+        assertEquals(new ProductMinMaxPriceDto(BigDecimal.valueOf(19.99), BigDecimal.valueOf(599.99)),
+            listing.getPriceRange());
+    }
+}
@@ -1,9 +1,18 @@
 package io.teamchallenge.repository;
 
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.dto.product.ProductComparisonCellDto;
+import io.teamchallenge.dto.product.ProductFeedRowDto;
 import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.dto.product.ShortProductResponseDto;
+import io.teamchallenge.entity.Brand;
+import io.teamchallenge.entity.Category;
 import io.teamchallenge.entity.Product;
 import io.teamchallenge.entity.Product_;
+import io.teamchallenge.entity.attributes.Attribute;
+import io.teamchallenge.entity.attributes.AttributeValue;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -11,7 +20,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
@@ -47,6 +58,28 @@ class ProductRepositoryTCTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Test
+    void streamFeedRowsTest() {
+        List<ProductFeedRowDto> rows;
+        try (var stream = productRepository.streamFeedRows(LocalDateTime.of(1970, 1, 1, 0, 0))) {
+            rows = stream.toList();
+        }
+
+        assertEquals(List.of(1L, 1L, 2L, 2L), rows.stream().map(ProductFeedRowDto::getId).toList());
+        assertEquals(List.of("Red", "Cotton", "Blue", "Polyester"),
+            rows.stream().map(ProductFeedRowDto::getAttributeValue).toList());
+        assertEquals("ExampleBrand1", rows.getFirst().getBrand());
+        assertEquals("Electronics", rows.getFirst().getCategory());
+        assertEquals("https://example.com/image1.jpg", rows.getFirst().getImage());
+    }
+
+    @Test
+    void streamFeedRowsSkipsProductsNotUpdatedSinceTest() {
+        try (var stream = productRepository.streamFeedRows(LocalDateTime.now().plusDays(1))) {
+            assertEquals(0, stream.count());
+        }
+    }
+
     @Test
     void findByNameTest() {
         Optional<Product> product = productRepository.findByName("Example Smartphone");
@@ -71,16 +104,6 @@ class ProductRepositoryTCTest {
         assertEquals(1L, product.get().getImages().size());
     }
 
-    @Test
-    void findByIdWithReviewsTest() {
-        Optional<Product> product = productRepository.findByIdWithReviews(1L);
-
-        TestTransaction.end();
-
-        assertFalse(product.isEmpty());
-        assertEquals(1L, product.get().getReviews().size());
-    }
-
     @Test
     void findByIdWithCategoryAndBrandAndProductAttributeTest() {
         Optional<Product> product = productRepository.findByIdWithCategoryAndBrandAndProductAttribute(1L);
@@ -136,7 +159,82 @@ class ProductRepositoryTCTest {
         assertEquals(1L, products.getFirst().getCategory().getId());
         assertEquals(1L, products.getFirst().getBrand().getId());
         assertEquals(1, products.getFirst().getImages().size());
-        assertEquals(1, products.getFirst().getReviews().size());
+        assertEquals(2.0, products.getFirst().getRating());
+        assertEquals("ExampleBrand1", products.getFirst().getBrand().getName());
+        assertEquals(2, products.getFirst().getProductAttributes().size());
+    }
+
+    @Test
+    void findComparisonCellsTest() {
+        List<ProductComparisonCellDto> cells = productRepository.findComparisonCells(List.of(1L, 2L));
+
+        assertEquals(List.of("Color", "Color", "Material", "Material"),
+            cells.stream().map(ProductComparisonCellDto::getAttribute).toList());
+        assertTrue(cells.contains(new ProductComparisonCellDto(1L, "Color", 1L, "Red")));
+        assertTrue(cells.contains(new ProductComparisonCellDto(1L, "Color", 2L, "Blue")));
+        assertTrue(cells.contains(new ProductComparisonCellDto(3L, "Material", 2L, "Polyester")));
+    }
+
+    @Test
+    void findShortProductsByIdsTest() {
+        List<ShortProductResponseDto> products = productRepository.findShortProductsByIds(List.of(2L, 1L, 42L));
+
+        assertEquals(List.of(2L, 1L), products.stream().map(ShortProductResponseDto::getId).toList());
+        assertEquals("Example Smartphone", products.get(1).getName());
+        assertEquals(new BigDecimal("599.99"), products.get(1).getPrice());
+        assertTrue(products.get(1).getAvailable());
+        assertEquals(2.0, products.get(1).getRating());
+        assertEquals(List.of(new ImageDto("https://example.com/image1.jpg", (short) 1,
+            "https://example.com/image1.jpg", "https://example.com/image1.jpg", null)), products.get(1).getImages());
+    }
+
+    @Test
+    void addRatingTest() {
+        productRepository.addRating(1L, (short) 5);
+
+        Product product = productRepository.findById(1L).orElseThrow();
+        assertEquals(7L, product.getRatingSum());
+        assertEquals(2, product.getRatingCount());
+        assertEquals(3.5, product.getRating());
+        assertEquals(1, product.getRating2Count());
+        assertEquals(1, product.getRating5Count());
+        assertEquals(0, product.getRating4Count());
+    }
+
+    @Test
+    void removeRatingTest() {
+        productRepository.removeRating(1L, (short) 2);
+
+        Product product = productRepository.findById(1L).orElseThrow();
+        assertEquals(0L, product.getRatingSum());
+        assertEquals(0, product.getRatingCount());
+        assertEquals(0.0, product.getRating());
+        assertEquals(0, product.getRating2Count());
+    }
+
+    @Test
+    void incrementOrderCountTest() {
+        productRepository.incrementOrderCount(List.of(1L, 2L));
+
+        assertEquals(2, productRepository.findById(1L).orElseThrow().getOrderCount());
+        assertEquals(3, productRepository.findById(2L).orElseThrow().getOrderCount());
+    }
+
+    @Test
+    void updateOrderCountByOrderIdTest() {
+        productRepository.updateOrderCountByOrderId(2L, -1);
+
+        assertEquals(1, productRepository.findById(1L).orElseThrow().getOrderCount());
+        assertEquals(1, productRepository.findById(2L).orElseThrow().getOrderCount());
+    }
+
+    @Test
+    void rebuildOrderCountsTest() {
+        productRepository.incrementOrderCount(List.of(1L, 2L));
+
+        assertEquals(2, productRepository.rebuildOrderCounts());
+        assertEquals(1, productRepository.findById(1L).orElseThrow().getOrderCount());
+        assertEquals(2, productRepository.findById(2L).orElseThrow().getOrderCount());
     }
 
     @Test
@@ -186,6 +284,20 @@ class ProductRepositoryTCTest {
         assertEquals(2L, actual.getContent().get(1));
     }
 
+    @Test
+    void scrollAllProductIdsOrderByPriceDescTest() {
+        PageRequest pageable = PageRequest.of(0, 1, Sort.by(Sort.Order.desc("price")));
+
+        var firstWindow = productRepository.scrollAllProductIds(null, ScrollPosition.keyset(), pageable);
+        var secondWindow = productRepository.scrollAllProductIds(null,
+            (KeysetScrollPosition) firstWindow.positionAt(0), pageable);
+
+        assertEquals(List.of(1L), firstWindow.getContent());
+        assertTrue(firstWindow.hasNext());
+        assertEquals(List.of(2L), secondWindow.getContent());
+        assertFalse(secondWindow.hasNext());
+    }
+
     @Test
     void findAllProductIdsOrderByPopularityTest() {
         PageRequest pageable = PageRequest.of(0, 2,Sort.by(Sort.Order.by("popularity")));
@@ -230,6 +342,40 @@ class ProductRepositoryTCTest {
         assertEquals("Example Smartphone", actual.getFirst().getName());
     }
 
+    @Test
+    void byNameMatchesBrandNameTest() {
+        var actual = productRepository.findAll(byName("ExampleBrand2"));
+
+        assertEquals(1, actual.size());
+        assertEquals("Example T-shirt", actual.getFirst().getName());
+    }
+
+    @Test
+    void byNameToleratesTyposTest() {
+        var actual = productRepository.findAll(byName("smartphnoe"));
+
+        assertEquals(1, actual.size());
+        assertEquals("Example Smartphone", actual.getFirst().getName());
+    }
+
+    @Test
+    void findProductListingOrderByRelevanceTest() {
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("relevance"));
+
+        var actual = productRepository.findProductListing(byName("example"), "example smartphone", pageable);
+
+        assertEquals(List.of(1L, 2L), actual.getProductIds().getContent());
+    }
+
+    @Test
+    void findProductIdsTest() {
+        PageRequest pageable = PageRequest.of(1, 1, Sort.by("relevance"));
+
+        var actual = productRepository.findProductIds(byName("example"), "example smartphone", pageable);
+
+        assertEquals(List.of(2L), actual);
+    }
+
     @Test
     void byPriceTest() {
         BigDecimal from = BigDecimal.valueOf(1L);
@@ -272,4 +418,52 @@ class ProductRepositoryTCTest {
         assertEquals(1, actual.size());
         assertEquals("Example Smartphone", actual.getFirst().getName());
     }
+
+    @Test
+    void byAttributeValuesIdsMatchesAnyValueOfAttributeTest() {
+        var actual = productRepository.findAllProductIds(byAttributeValuesIds(List.of(1L, 2L)),
+            PageRequest.of(0, 10, Sort.by("price")));
+
+        assertEquals(List.of(2L, 1L), actual.getContent());
+        assertEquals(2, actual.getTotalElements());
+    }
+
+    @Test
+    void byAttributeValuesIdsOfSeveralAttributesMatchesEveryAttributeTest() {
+        Specification<Product> redAndCotton = byAttributeValuesIds(List.of(1L)).and(byAttributeValuesIds(List.of(5L)));
+        Specification<Product> blueAndCotton = byAttributeValuesIds(List.of(2L)).and(byAttributeValuesIds(List.of(5L)));
+
+        assertEquals(List.of(1L), productRepository.findAll(redAndCotton).stream().map(Product::getId).toList());
+        assertTrue(productRepository.findAll(blueAndCotton).isEmpty());
+    }
+
+    @Test
+    void findExistingNamesTest() {
+        assertEquals(List.of("Example T-shirt"),
+            productRepository.findExistingNames(List.of("Example T-shirt", "Example Jacket")));
+    }
+
+    @Test
+    void insertProductsSkipsExistingNamesTest() {
+        var product = Product.builder()
+            .name("Example Smartphone")
+            .shortDesc("Smartphone")
+            .description("This is an example smartphone.")
+            .price(new BigDecimal("599.99"))
+            .quantity(1)
+            .brand(Brand.builder().id(1L).build())
+            .category(Category.builder().id(1L).build())
+            .build();
+
+        assertTrue(productRepository.insertProducts(List.of(product)).isEmpty());
+    }
+
+    @Test
+    void insertAttributeValuesReturnsExistingValuesTest() {
+        var actual = productRepository.insertAttributeValues(List.of(
+            AttributeValue.builder().attribute(Attribute.builder().id(1L).build()).value("Blue").build(),
+            AttributeValue.builder().attribute(Attribute.builder().id(3L).build()).value("Cotton").build()));
+
+        assertEquals(List.of(2L, 5L), actual.stream().map(AttributeValue::getId).sorted().toList());
+    }
 }
@@ -3,11 +3,13 @@ package io.teamchallenge.repository;
 import io.teamchallenge.entity.reviews.Review;
 import io.teamchallenge.entity.reviews.ReviewId;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
@@ -50,4 +52,13 @@ public class ReviewRepositoryTest {
         assertEquals(1, allByProductId.getTotalElements());
         assertEquals(expected, allByProductId.getContent().getFirst());
     }
+
+    @Test
+    void findRecentByProductIdTest() {
+        List<Review> recentReviews = reviewRepository.findRecentByProductId(2L, Limit.of(1));
+
+        assertEquals(1, recentReviews.size());
+        assertEquals(2L, recentReviews.getFirst().getId().getUserId());
+        assertEquals("Jane", recentReviews.getFirst().getUser().getFirstName());
+    }
 }
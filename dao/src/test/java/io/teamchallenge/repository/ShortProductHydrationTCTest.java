@@ -0,0 +1,111 @@
+package io.teamchallenge.repository;
+
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.dto.product.ShortProductResponseDto;
+import io.teamchallenge.entity.Image;
+import io.teamchallenge.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("ts")
+@Sql(scripts = "classpath:data.sql")
+class ShortProductHydrationTCTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgresqlContainer =
+        new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void init() {
+        entityManager.createNativeQuery("INSERT INTO products "
+                + "(id, short_desc, category_id, brand_id, name, description, price, quantity) "
+                + "SELECT g, 'Short description', 1, 1, 'Hydrated product ' || g, 'Description', g, g % 3 "
+                + "FROM generate_series(100, 199) g")
+            .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO images (id, product_id, link, image_order) "
+                + "SELECT p * 10 + o, p, 'https://example.com/' || p || '/' || o || '.jpg', 4 - o "
+                + "FROM generate_series(100, 199) p, generate_series(1, 3) o")
+            .executeUpdate();
+        productIds = LongStream.range(100, 100 + PAGE_SIZE).boxed().toList();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findShortProductsByIdsLoadsNoEntitiesTest() {
+        List<ShortProductResponseDto> products = productRepository.findShortProductsByIds(productIds);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(productIds, products.stream().map(ShortProductResponseDto::getId).toList());
+        products.forEach(product -> assertEquals(List.of((short) 1, (short) 2, (short) 3),
+            product.getImages().stream().map(ImageDto::getOrder).toList()));
+    }
+
+    @Test
+    void findShortProductsByIdsMatchesEntityHydrationTest() {
+        List<Product> entities = productRepository.findByIdsWithCollections(productIds);
+        long entityLoadCount = statistics.getEntityLoadCount();
+        statistics.clear();
+
+        List<ShortProductResponseDto> products = productRepository.findShortProductsByIds(productIds);
+
+        assertEquals(PAGE_SIZE + PAGE_SIZE * IMAGES_PER_PRODUCT, entityLoadCount);
+        assertEquals(0, statistics.getEntityLoadCount());
+        for (ShortProductResponseDto product : products) {
+            Product entity = entities.stream()
+                .filter(e -> e.getId().equals(product.getId()))
+                .findAny()
+                .orElseThrow();
+            assertEquals(entity.getName(), product.getName());
+            assertEquals(entity.getPrice(), product.getPrice());
+            assertEquals(entity.getQuantity() > 0, product.getAvailable());
+            assertEquals(entity.getRating(), product.getRating());
+            assertEquals(entity.getImages().stream()
+                    .sorted(Comparator.comparing(Image::getOrder))
+                    .map(image -> new ImageDto(image.getLink(), image.getOrder(), image.getLink(), image.getLink(),
+                        null))
+                    .toList(),
+                product.getImages());
+        }
+    }
+}
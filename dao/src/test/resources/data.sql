@@ -21,10 +21,12 @@ VALUES
 INSERT INTO Users (id, password, first_name, last_name, phone_number, email, created_at, role, refresh_token_key, address_id)
 VALUES (1, 'password1', 'John', 'Doe', '+1234567890', 'john@example.com', '2024-05-10 08:00:00', 'ROLE_USER', '3cZAVF/SKSCmCM2+1azD2XHK7K2PChcSg32vrrEh/Qk=', 1),
        (2, 'password2', 'Jane', 'Smith', '+1987654321', 'jane@example.com', '2024-05-10 09:00:00', 'ROLE_USER', '4cZAVF/SKSCmCM2+1azD2XHK7K2PChcSg32vrrEh/Qk=', 2);
-INSERT INTO Products (id, short_desc, category_id, brand_id, name, description, price, quantity, created_at)
+INSERT INTO Products (id, short_desc, category_id, brand_id, name, description, price, quantity, created_at,
+                      rating_sum, rating_count, rating, rating_2_count, rating_4_count, order_count)
 VALUES (1, 'Smartphone', 1, 1, 'Example Smartphone', 'This is an example smartphone.', 599.99, 100,
-        '2024-05-10 10:00:00'),
-       (2, 'T-shirt', 2, 2, 'Example T-shirt', 'This is an example t-shirt.', 19.99, 200, '2024-05-10 11:00:00');
+        '2024-05-10 10:00:00', 2, 1, 2.0, 1, 0, 1),
+       (2, 'T-shirt', 2, 2, 'Example T-shirt', 'This is an example t-shirt.', 19.99, 200, '2024-05-10 11:00:00',
+        4, 1, 4.0, 0, 1, 2);
 INSERT INTO Images (id, product_id, link, image_order)
 VALUES (1, 1, 'https://example.com/image1.jpg', 1),
        (2, 2, 'https://example.com/image2.jpg', 1);
@@ -60,4 +62,16 @@ INSERT INTO users_orders (user_id, order_id)
 VALUES (1, 1);
 INSERT INTO reviews (user_id, product_id, text, rate, created_at)
 VALUES (1,1,'sometext',2,'2024-05-10 14:00:00'),
-       (2,2,'sometext',4,'2024-04-10 14:00:00');
\ No newline at end of file
+       (2,2,'sometext',4,'2024-04-10 14:00:00');
+SELECT setval('attributes_seq', MAX(id)) FROM attributes;
+SELECT setval('brands_seq', MAX(id)) FROM brands;
+SELECT setval('categories_seq', MAX(id)) FROM categories;
+SELECT setval('addresses_seq', MAX(id)) FROM addresses;
+SELECT setval('post_addresses_seq', MAX(id)) FROM post_addresses;
+SELECT setval('users_seq', MAX(id)) FROM users;
+SELECT setval('products_seq', MAX(id)) FROM products;
+SELECT setval('images_seq', MAX(id)) FROM images;
+SELECT setval('orders_seq', MAX(id)) FROM orders;
+SELECT setval('attribute_values_seq', MAX(id)) FROM attribute_values;
+SELECT setval('product_attributes_seq', MAX(id)) FROM product_attributes;
+SELECT setval('category_attributes_seq', MAX(id)) FROM category_attributes;
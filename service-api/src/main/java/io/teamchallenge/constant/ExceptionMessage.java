@@ -35,6 +35,11 @@ public final class ExceptionMessage {
         "Quantity requested for the following product %s exceeds our current stock";
     public static final String IMAGE_PERSISTENCE_EXCEPTION_MESSAGE = "The problem encountered during image persistence";
     public static final String IMAGE_DELETION_EXCEPTION_MESSAGE = "The problem encountered during image deletion";
+    public static final String IMAGE_UPLOAD_INTERRUPTED = "The upload of the images was interrupted before it completed";
+    public static final String IMAGE_NOT_FOUND = "The image %s is not present in the storage";
+    public static final String IMAGE_DOWNLOAD_EXCEPTION_MESSAGE = "The problem encountered during image download";
+    public static final String PRODUCT_IMAGES_CHANGED_CONCURRENTLY =
+        "The images of the product with id: %s were changed by another update";
     public static final String USER_HAS_NO_ORDERS_WITH_ID = "User has no orders with id %s";
     public static final String UPDATE_ORDER_EXCEPTION = "You cannot update completed order.";
     public static final String BRAND_DELETION_EXCEPTION_MESSAGE =
@@ -47,4 +52,26 @@ public final class ExceptionMessage {
         "You cannot delete attribute if it has products associated with it";
     public static final String USER_HAS_NO_COMPLETED_ORDERS_WITH_PRODUCT = "User has no completed orders with product %s";
     public static final String REVIEW_ALREADY_EXISTS = "This product was already reviewed by user.";
+    public static final String INVALID_CURSOR =
+        "The cursor is malformed or was issued for another sort order than the requested one";
+    public static final String QUERY_INTERRUPTED = "The query was interrupted before it completed";
+    public static final String QUERY_FAILED = "The query failed";
+    public static final String PRODUCT_VERSION_MISMATCH =
+        "The product with id: %s was modified, its current version is %s";
+    public static final String ORDER_VERSION_MISMATCH = "Order with id: %s was modified, its current version is %s";
+    public static final String INVALID_IF_MATCH = "If-Match has to contain a single strong entity tag or *";
+    public static final String PRODUCT_IMPORT_NOT_FOUND_BY_ID =
+        "The product import with id: %s is not present in database";
+    public static final String PRODUCT_IMPORT_CANNOT_BE_RESUMED =
+        "The product import with id: %s is %s, only a failed import can be resumed";
+    public static final String PRODUCT_IMPORT_FILE_NOT_STORED = "The file of the product import cannot be stored";
+    public static final String PRODUCT_IMPORT_FILE_NOT_READ = "The file of the product import cannot be read";
+    public static final String PRODUCT_IMPORT_INTERRUPTED = "The product import was interrupted before it completed";
+    public static final String IMPORT_ROW_MALFORMED = "The row is malformed: %s";
+    public static final String IMPORT_ROW_INVALID = "Invalid field %s: %s";
+    public static final String IMPORT_BRAND_NOT_FOUND_BY_NAME = "There is no brand with name: %s";
+    public static final String IMPORT_CATEGORY_NOT_FOUND_BY_NAME = "There is no category with name: %s";
+    public static final String IMPORT_ATTRIBUTE_NOT_FOUND_BY_NAME = "There is no attribute with name: %s";
+    public static final String IMPORT_DUPLICATE_PRODUCT_NAME =
+        "The product with name: %s is already imported by the row %s";
 }
@@ -1,5 +1,6 @@
 package io.teamchallenge.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -18,4 +19,8 @@ import lombok.ToString;
 public class ImageDto {
     private String link;
     private Short order;
+    private String thumbnailLink;
+    private String mediumLink;
+    @JsonIgnore
+    private String contentHash;
 }
@@ -35,6 +35,7 @@ public class OrderResponseDto {
     private PostAddressDto postAddress;
     private Boolean isPaid;
     private LocalDateTime createdAt;
+    private Long version;
     private BigDecimal total;
     private List<OrderItemResponseDto> orderItems;
     private UserVO user;
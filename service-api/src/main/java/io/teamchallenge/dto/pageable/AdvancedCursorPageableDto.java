@@ -0,0 +1,23 @@
+package io.teamchallenge.dto.pageable;
+
+import io.teamchallenge.dto.product.PriceHistogramBucketDto;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+public class AdvancedCursorPageableDto<T> extends CursorPageableDto<T> {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private List<PriceHistogramBucketDto> priceHistogram;
+}
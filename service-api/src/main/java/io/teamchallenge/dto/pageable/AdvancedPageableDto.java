@@ -1,6 +1,9 @@
 package io.teamchallenge.dto.pageable;
 
+import io.teamchallenge.dto.product.PriceHistogramBucketDto;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,4 +20,7 @@ import lombok.experimental.SuperBuilder;
 public class AdvancedPageableDto<T> extends PageableDto<T> {
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
+    private List<PriceHistogramBucketDto> priceHistogram;
+    private Map<Long, Long> brandCounts;
+    private Map<Long, Long> attributeValueCounts;
 }
@@ -0,0 +1,22 @@
+package io.teamchallenge.dto.pageable;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@SuperBuilder
+public class CursorPageableDto<T> {
+    private List<T> page;
+    private String nextCursor;
+}
@@ -23,4 +23,6 @@ public class PageableDto<T> {
     private long totalElements;
     private int currentPage;
     private int totalPages;
+    @Builder.Default
+    private boolean totalElementsExact = true;
 }
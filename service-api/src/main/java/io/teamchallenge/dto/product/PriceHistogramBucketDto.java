@@ -0,0 +1,17 @@
+package io.teamchallenge.dto.product;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceHistogramBucketDto {
+    private BigDecimal from;
+    private BigDecimal to;
+    private Long count;
+}
@@ -0,0 +1,16 @@
+package io.teamchallenge.dto.product;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductAttributeComparisonDto {
+    private String attribute;
+    private List<String> values;
+}
@@ -0,0 +1,14 @@
+package io.teamchallenge.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductAttributeIndexDto {
+    private Long productId;
+    private Long attributeId;
+    private Long attributeValueId;
+}
@@ -0,0 +1,15 @@
+package io.teamchallenge.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductComparisonCellDto {
+    private Long attributeId;
+    private String attribute;
+    private Long productId;
+    private String value;
+}
@@ -0,0 +1,18 @@
+package io.teamchallenge.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductDetailCacheStatsDto {
+    private long hitCount;
+    private long missCount;
+    private long loadFailureCount;
+    private double hitRate;
+    private long totalLoadTimeMillis;
+    private double averageLoadTimeMillis;
+    private long size;
+}
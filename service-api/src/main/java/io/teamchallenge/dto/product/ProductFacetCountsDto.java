@@ -0,0 +1,14 @@
+package io.teamchallenge.dto.product;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductFacetCountsDto {
+    private Map<Long, Long> brandCounts;
+    private Map<Long, Long> attributeValueCounts;
+}
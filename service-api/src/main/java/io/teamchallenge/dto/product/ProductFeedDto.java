@@ -0,0 +1,29 @@
+package io.teamchallenge.dto.product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFeedDto {
+    private Long id;
+    private String name;
+    private String shortDesc;
+    private BigDecimal price;
+    private Boolean available;
+    private String brand;
+    private String category;
+    private Map<String, List<String>> attributes;
+    private String image;
+    private Double rating;
+    private Integer reviewCount;
+    private LocalDateTime updatedAt;
+}
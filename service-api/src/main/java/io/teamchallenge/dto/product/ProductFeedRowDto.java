@@ -0,0 +1,26 @@
+package io.teamchallenge.dto.product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductFeedRowDto {
+    private Long id;
+    private String name;
+    private String shortDesc;
+    private BigDecimal price;
+    private Integer quantity;
+    private Double rating;
+    private Integer ratingCount;
+    private LocalDateTime updatedAt;
+    private String brand;
+    private String category;
+    private String image;
+    private String attribute;
+    private String attributeValue;
+}
@@ -0,0 +1,28 @@
+package io.teamchallenge.dto.product;
+
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.enumerated.ProductImportStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductImportDto {
+    private Long id;
+    private ProductFeedFormat format;
+    private ProductImportStatus status;
+    private Integer totalRows;
+    private Integer processedRows;
+    private Integer importedRows;
+    private Integer failedRows;
+    private Integer committedChunks;
+    private Double progress;
+    private Double rowsPerSecond;
+    private String failureMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,13 @@
+package io.teamchallenge.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductImportErrorDto {
+    private Integer rowNumber;
+    private String message;
+}
@@ -0,0 +1,42 @@
+package io.teamchallenge.dto.product;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportRowDto {
+    @NotBlank
+    @Size(max = 255, message = "name is too long. Max size is 255 chars")
+    private String name;
+    @NotBlank
+    @Size(max = 255, message = "shortDesc is too long. Max size is 255 chars")
+    private String shortDesc;
+    @NotBlank
+    @Size(max = 1000, message = "description is too long. Max size is 1000 chars")
+    private String description;
+    @NotNull
+    @Digits(integer = 10, fraction = 2, message = "Price must have an integer part less than 10 "
+        + "and a fraction part less than 2")
+    private BigDecimal price;
+    @NotNull
+    @Min(value = 1, message = "The quantity of one product must be greater than 0")
+    private Integer quantity;
+    @NotBlank
+    private String brand;
+    @NotBlank
+    private String category;
+    private Map<String, List<String>> attributes;
+}
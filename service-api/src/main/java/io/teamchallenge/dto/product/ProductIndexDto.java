@@ -0,0 +1,19 @@
+package io.teamchallenge.dto.product;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductIndexDto {
+    private Long id;
+    private Long brandId;
+    private Long categoryId;
+    private BigDecimal price;
+    private Integer quantity;
+    private Double rating;
+    private Integer orderCount;
+}
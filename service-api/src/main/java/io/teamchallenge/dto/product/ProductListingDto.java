@@ -0,0 +1,14 @@
+package io.teamchallenge.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductListingDto {
+    private Page<Long> productIds;
+    private ProductMinMaxPriceDto priceRange;
+}
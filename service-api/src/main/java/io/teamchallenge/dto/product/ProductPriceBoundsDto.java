@@ -0,0 +1,14 @@
+package io.teamchallenge.dto.product;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductPriceBoundsDto {
+    private ProductMinMaxPriceDto priceRange;
+    private List<PriceHistogramBucketDto> histogram;
+}
@@ -2,6 +2,7 @@ package io.teamchallenge.dto.product;
 
 import io.teamchallenge.dto.ImageDto;
 import io.teamchallenge.dto.category.CategoryResponseDto;
+import io.teamchallenge.dto.review.ReviewResponseDto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,16 +10,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 import lombok.ToString;
 
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
 @ToString
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode
 public class ProductResponseDto {
     private Long id;
@@ -32,5 +29,9 @@ public class ProductResponseDto {
     private BigDecimal price;
     private Integer quantity;
     private Double rating;
+    private Integer ratingCount;
+    private List<RatingHistogramBucketDto> ratingHistogram;
+    private List<ReviewResponseDto> recentReviews;
     private LocalDateTime createdAt;
+    private Long version;
 }
@@ -0,0 +1,8 @@
+package io.teamchallenge.enumerated;
+
+public enum ProductImportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
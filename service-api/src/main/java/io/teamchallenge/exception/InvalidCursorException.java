@@ -0,0 +1,23 @@
+package io.teamchallenge.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message.
+     *
+     * @param message The detail message (which is saved for later retrieval by the getMessage() method).
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message and cause.
+     *
+     * @param message The detail message (which is saved for later retrieval by the getMessage() method).
+     * @param cause   The cause (which is saved for later retrieval by the getCause() method).
+     *                (A null value is permitted, and indicates that the cause is nonexistent or unknown.)
+     */
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
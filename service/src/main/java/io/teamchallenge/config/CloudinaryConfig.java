@@ -3,14 +3,16 @@ package io.teamchallenge.config;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Config for Cloudinary.
+ * Config for Cloudinary, used unless the {@code image.storage} property selects another storage.
  * @author Denys Liubchenko
  */
 @Configuration
+@ConditionalOnProperty(name = "image.storage", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
     @Value("${cloudinary.cloud_name}")
     private String cloudName;
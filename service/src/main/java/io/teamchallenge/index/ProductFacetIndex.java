@@ -0,0 +1,351 @@
+package io.teamchallenge.index;
+
+import io.teamchallenge.dto.filter.PriceFilter;
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.ProductAttributeIndexDto;
+import io.teamchallenge.dto.product.ProductFacetCountsDto;
+import io.teamchallenge.dto.product.ProductIndexDto;
+import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Sort;
+
+/**
+ * In-memory index of the products that answers filtered product listings without querying the database.
+ * The IDs of the products are kept in compressed bitmaps per brand, per category and per attribute value,
+ * so a filter is evaluated by intersecting and uniting bitmaps. The fields the listings are ordered by
+ * are kept in primitive arrays indexed by the product ID. The same bitmaps are used to count the matching
+ * products per brand and per attribute value for the facets of the listing.
+ * The index is not thread-safe, the access to it has to be synchronized by the caller.
+ *
+ * @author Niktia Malov
+ */
+public class ProductFacetIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long[] NO_ATTRIBUTE_VALUES = new long[0];
+
+    private final RoaringBitmap products = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> productsByBrand = new HashMap<>();
+    private final Map<Long, RoaringBitmap> productsByCategory = new HashMap<>();
+    private final Map<Long, RoaringBitmap> productsByAttributeValue = new HashMap<>();
+    private final Map<Long, Long> attributeIdsByAttributeValue = new HashMap<>();
+
+    private Long[] brandIds = new Long[INITIAL_CAPACITY];
+    private Long[] categoryIds = new Long[INITIAL_CAPACITY];
+    private long[][] attributeValueIds = new long[INITIAL_CAPACITY][];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private double[] ratings = new double[INITIAL_CAPACITY];
+    private int[] orderCounts = new int[INITIAL_CAPACITY];
+
+    /**
+     * Adds the product to the index or replaces the indexed state of the product.
+     *
+     * @param product           The indexed fields of the product.
+     * @param productAttributes The attribute values of the product together with their attributes.
+     * @throws ArithmeticException if the ID of the product does not fit into an int.
+     */
+    public void put(ProductIndexDto product, Collection<ProductAttributeIndexDto> productAttributes) {
+        int id = Math.toIntExact(product.getId());
+        remove(product.getId());
+        ensureCapacity(id);
+
+        products.add(id);
+        brandIds[id] = product.getBrandId();
+        addTo(productsByBrand, product.getBrandId(), id);
+        categoryIds[id] = product.getCategoryId();
+        addTo(productsByCategory, product.getCategoryId(), id);
+        productAttributes.forEach(productAttribute -> attributeIdsByAttributeValue
+            .put(productAttribute.getAttributeValueId(), productAttribute.getAttributeId()));
+        attributeValueIds[id] = productAttributes.stream()
+            .mapToLong(ProductAttributeIndexDto::getAttributeValueId)
+            .distinct()
+            .toArray();
+        for (long attributeValueId : attributeValueIds[id]) {
+            addTo(productsByAttributeValue, attributeValueId, id);
+        }
+        priceCents[id] = product.getPrice().movePointRight(2).longValue();
+        quantities[id] = product.getQuantity();
+        ratings[id] = product.getRating();
+        orderCounts[id] = product.getOrderCount();
+    }
+
+    /**
+     * Removes the product from the index, does nothing if the product is not indexed.
+     *
+     * @param productId The ID of the product to remove.
+     */
+    public void remove(Long productId) {
+        if (!contains(productId)) {
+            return;
+        }
+        int id = productId.intValue();
+        products.remove(id);
+        removeFrom(productsByBrand, brandIds[id], id);
+        removeFrom(productsByCategory, categoryIds[id], id);
+        for (long attributeValueId : attributeValueIds[id]) {
+            removeFrom(productsByAttributeValue, attributeValueId, id);
+        }
+        brandIds[id] = null;
+        categoryIds[id] = null;
+        attributeValueIds[id] = NO_ATTRIBUTE_VALUES;
+    }
+
+    /**
+     * Checks whether the product is indexed.
+     *
+     * @param productId The ID of the product.
+     * @return true if the product is indexed, false otherwise.
+     */
+    public boolean contains(Long productId) {
+        return productId > 0 && productId <= Integer.MAX_VALUE && products.contains(productId.intValue());
+    }
+
+    /**
+     * Finds the products matching the filter. The category and the price range have to match,
+     * the brand has to be one of the filtered brands and for every attribute with filtered values
+     * the product has to have at least one of the filtered values of that attribute.
+     * The name of the filter is not supported by the index and is ignored. An attribute value no indexed product
+     * has matches no product.
+     *
+     * @param filter The filter of the products.
+     * @return The bitmap of the IDs of the matching products.
+     */
+    public RoaringBitmap filter(ProductFilterDto filter) {
+        Map<Long, List<Long>> selectedAttributeValueIds = groupByAttribute(filter.getAttributeValueIds());
+        if (selectedAttributeValueIds.containsKey(null)) {
+            return new RoaringBitmap();
+        }
+        RoaringBitmap matches = filterByCategoryAndPrice(filter);
+        if (Objects.nonNull(filter.getBrandIds())) {
+            matches.and(unionOf(productsByBrand, filter.getBrandIds()));
+        }
+        filterByAttributes(matches, selectedAttributeValueIds, null);
+        return matches;
+    }
+
+    /**
+     * Counts the products matching the filter per brand and per attribute value.
+     * Following the usual facet semantics, the products of a brand are counted without the brand filter
+     * and the products with a value of an attribute are counted without the values selected for that attribute,
+     * so the counts show how many products a selection would add. All other parts of the filter apply.
+     * The brands and attribute values without matching products are left out.
+     * The name of the filter is not supported by the index and is ignored. An attribute value no indexed product
+     * has matches no product.
+     *
+     * @param filter The filter of the products.
+     * @return The numbers of matching products per brand ID and per attribute value ID.
+     */
+    public ProductFacetCountsDto getFacetCounts(ProductFilterDto filter) {
+        Map<Long, List<Long>> selectedAttributeValueIds = groupByAttribute(filter.getAttributeValueIds());
+        if (selectedAttributeValueIds.containsKey(null)) {
+            return new ProductFacetCountsDto(Map.of(), Map.of());
+        }
+        RoaringBitmap categoryAndPriceMatches = filterByCategoryAndPrice(filter);
+
+        RoaringBitmap brandCandidates = categoryAndPriceMatches.clone();
+        filterByAttributes(brandCandidates, selectedAttributeValueIds, null);
+        Map<Long, Long> brandCounts = new LinkedHashMap<>();
+        brandCandidates.forEach((int id) -> {
+            if (Objects.nonNull(brandIds[id])) {
+                brandCounts.merge(brandIds[id], 1L, Long::sum);
+            }
+        });
+
+        RoaringBitmap attributeCandidates = categoryAndPriceMatches;
+        if (Objects.nonNull(filter.getBrandIds())) {
+            attributeCandidates.and(unionOf(productsByBrand, filter.getBrandIds()));
+        }
+        Map<Long, Long> attributeValueCounts = new LinkedHashMap<>();
+        RoaringBitmap unselectedAttributesCandidates = attributeCandidates.clone();
+        filterByAttributes(unselectedAttributesCandidates, selectedAttributeValueIds, null);
+        countAttributeValues(unselectedAttributesCandidates, attributeValueCounts,
+            attributeId -> !selectedAttributeValueIds.containsKey(attributeId));
+        selectedAttributeValueIds.keySet().forEach(attributeId -> {
+            RoaringBitmap candidates = attributeCandidates.clone();
+            filterByAttributes(candidates, selectedAttributeValueIds, attributeId);
+            countAttributeValues(candidates, attributeValueCounts, attributeId::equals);
+        });
+
+        return new ProductFacetCountsDto(brandCounts, attributeValueCounts);
+    }
+
+    /**
+     * Orders the matching products and returns the requested page of them. Available products go first,
+     * then the products are ordered by the price, the popularity or, by default, by the rating,
+     * the ID breaks the ties. Only the products up to the end of the page are kept in a bounded heap,
+     * so the whole matching set is never sorted.
+     *
+     * @param matches The bitmap of the IDs of the matching products.
+     * @param sort    The requested sort.
+     * @param offset  The number of products to skip.
+     * @param limit   The maximum number of products to return.
+     * @return The IDs of the products on the page in their order.
+     */
+    public List<Long> getPage(RoaringBitmap matches, Sort sort, long offset, int limit) {
+        long end = Math.min(offset + limit, matches.getLongCardinality());
+        if (offset >= end) {
+            return List.of();
+        }
+        Comparator<Integer> order = getOrder(sort);
+        int heapSize = (int) end;
+        PriorityQueue<Integer> heap = new PriorityQueue<>(heapSize, order.reversed());
+        matches.forEach((int id) -> {
+            if (heap.size() < heapSize) {
+                heap.add(id);
+            } else if (order.compare(id, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(id);
+            }
+        });
+
+        List<Integer> top = new ArrayList<>(heap);
+        top.sort(order);
+        return top.subList((int) offset, top.size()).stream().map(Integer::longValue).toList();
+    }
+
+    /**
+     * Finds the minimum and maximum prices of the matching products.
+     *
+     * @param matches The bitmap of the IDs of the matching products.
+     * @return The price range of the products, with null bounds if no product matches.
+     */
+    public ProductMinMaxPriceDto getPriceRange(RoaringBitmap matches) {
+        if (matches.isEmpty()) {
+            return new ProductMinMaxPriceDto(null, null);
+        }
+        long[] range = {Long.MAX_VALUE, Long.MIN_VALUE};
+        matches.forEach((int id) -> {
+            range[0] = Math.min(range[0], priceCents[id]);
+            range[1] = Math.max(range[1], priceCents[id]);
+        });
+        return new ProductMinMaxPriceDto(BigDecimal.valueOf(range[0], 2), BigDecimal.valueOf(range[1], 2));
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return The number of indexed products.
+     */
+    public int size() {
+        return products.getCardinality();
+    }
+
+    private RoaringBitmap filterByCategoryAndPrice(ProductFilterDto filter) {
+        RoaringBitmap matches = products.clone();
+        if (Objects.nonNull(filter.getCategoryId())) {
+            matches.and(productsByCategory.getOrDefault(filter.getCategoryId(), new RoaringBitmap()));
+        }
+        PriceFilter price = filter.getPrice();
+        if (Objects.nonNull(price)) {
+            long fromCents = price.getFrom() * 100L;
+            long toCents = price.getTo() * 100L;
+            RoaringBitmap inPriceRange = new RoaringBitmap();
+            matches.forEach((int id) -> {
+                if (priceCents[id] >= fromCents && priceCents[id] <= toCents) {
+                    inPriceRange.add(id);
+                }
+            });
+            matches = inPriceRange;
+        }
+        return matches;
+    }
+
+    private void filterByAttributes(RoaringBitmap matches, Map<Long, List<Long>> attributeValueIdsByAttribute,
+                                    Long skippedAttributeId) {
+        attributeValueIdsByAttribute.forEach((attributeId, attributeValueIds) -> {
+            if (!Objects.equals(attributeId, skippedAttributeId)) {
+                matches.and(unionOf(productsByAttributeValue, attributeValueIds));
+            }
+        });
+    }
+
+    private Map<Long, List<Long>> groupByAttribute(List<Long> attributeValueIds) {
+        Map<Long, List<Long>> groupedAttributeValueIds = new HashMap<>();
+        if (Objects.nonNull(attributeValueIds)) {
+            attributeValueIds.forEach(attributeValueId -> groupedAttributeValueIds
+                .computeIfAbsent(attributeIdsByAttributeValue.get(attributeValueId), k -> new ArrayList<>())
+                .add(attributeValueId));
+        }
+        return groupedAttributeValueIds;
+    }
+
+    private void countAttributeValues(RoaringBitmap candidates, Map<Long, Long> attributeValueCounts,
+                                      Predicate<Long> attributeFilter) {
+        candidates.forEach((int id) -> {
+            for (long attributeValueId : attributeValueIds[id]) {
+                if (attributeFilter.test(attributeIdsByAttributeValue.get(attributeValueId))) {
+                    attributeValueCounts.merge(attributeValueId, 1L, Long::sum);
+                }
+            }
+        });
+    }
+
+    private Comparator<Integer> getOrder(Sort sort) {
+        Comparator<Integer> order = Comparator.comparing(id -> quantities[id] <= 0);
+        Sort.Order priceOrder = sort.getOrderFor("price");
+
+        if (Objects.nonNull(priceOrder)) {
+            Comparator<Integer> byPrice = Comparator.comparingLong(id -> priceCents[id]);
+            order = order.thenComparing(priceOrder.isAscending() ? byPrice : byPrice.reversed());
+        } else if (Objects.nonNull(sort.getOrderFor("popularity"))) {
+            order = order.thenComparing(Comparator.<Integer>comparingInt(id -> orderCounts[id]).reversed());
+        } else {
+            order = order.thenComparing(Comparator.<Integer>comparingDouble(id -> ratings[id]).reversed());
+        }
+
+        return order.thenComparing(Comparator.naturalOrder());
+    }
+
+    private RoaringBitmap unionOf(Map<Long, RoaringBitmap> bitmaps, List<Long> keys) {
+        return FastAggregation.or(keys.stream()
+            .map(bitmaps::get)
+            .filter(Objects::nonNull)
+            .iterator());
+    }
+
+    private void addTo(Map<Long, RoaringBitmap> bitmaps, Long key, int id) {
+        if (Objects.nonNull(key)) {
+            bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void removeFrom(Map<Long, RoaringBitmap> bitmaps, Long key, int id) {
+        if (Objects.isNull(key)) {
+            return;
+        }
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (Objects.nonNull(bitmap)) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < priceCents.length) {
+            return;
+        }
+        int capacity = Math.max(id + 1, priceCents.length * 2);
+        brandIds = Arrays.copyOf(brandIds, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        attributeValueIds = Arrays.copyOf(attributeValueIds, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        orderCounts = Arrays.copyOf(orderCounts, capacity);
+    }
+}
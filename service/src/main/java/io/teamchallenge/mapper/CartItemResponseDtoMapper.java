@@ -3,6 +3,7 @@ package io.teamchallenge.mapper;
 import io.teamchallenge.dto.cart.CartItemResponseDto;
 import io.teamchallenge.entity.Image;
 import io.teamchallenge.entity.cartitem.CartItem;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.modelmapper.AbstractConverter;
 import org.springframework.stereotype.Component;
@@ -25,10 +26,12 @@ public class CartItemResponseDtoMapper extends AbstractConverter<CartItem, CartI
             .productId(cartItem.getProduct().getId())
             .name(cartItem.getProduct().getName())
             .price(cartItem.getProduct().getPrice())
-            .image(cartItem.getProduct().getImages()
-                .getFirst()
-                .getLink())
+            .image(getThumbnailLink(cartItem.getProduct().getImages().getFirst()))
             .quantity(cartItem.getQuantity())
             .build();
     }
+
+    private String getThumbnailLink(Image image) {
+        return Objects.requireNonNullElse(image.getThumbnailLink(), image.getLink());
+    }
 }
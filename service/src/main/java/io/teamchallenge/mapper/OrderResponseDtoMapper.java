@@ -32,6 +32,7 @@ public class OrderResponseDtoMapper extends AbstractConverter<Order, OrderRespon
                 .shortProductResponseDto(shortProductResponseDtoMapper.convert(orderItem.getProduct()))
                 .build()).toList())
             .createdAt(source.getCreatedAt())
+            .version(source.getVersion())
             .total(source.getOrderItems().stream()
                 .map(orderItem -> orderItem.getPrice()
                     .multiply(BigDecimal.valueOf(orderItem.getQuantity())))
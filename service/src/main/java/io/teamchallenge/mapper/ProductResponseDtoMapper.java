@@ -4,9 +4,10 @@ import io.teamchallenge.dto.ImageDto;
 import io.teamchallenge.dto.category.CategoryResponseDto;
 import io.teamchallenge.dto.product.ProductAttributeResponseDto;
 import io.teamchallenge.dto.product.ProductResponseDto;
+import io.teamchallenge.dto.product.RatingHistogramBucketDto;
 import io.teamchallenge.entity.Product;
-import io.teamchallenge.entity.reviews.Review;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Objects;
 import org.modelmapper.AbstractConverter;
 import org.springframework.stereotype.Component;
 
@@ -42,24 +43,31 @@ public class ProductResponseDtoMapper extends AbstractConverter<Product, Product
                         .name(pa.getAttributeValue().getAttribute().getName())
                         .value(pa.getAttributeValue().getValue())
                         .build())
-                .collect(Collectors.toList()))
+                .toList())
             .images(product.getImages()
                 .stream()
                 .map(img -> ImageDto.builder()
                     .link(img.getLink())
                     .order(img.getOrder())
+                    .thumbnailLink(Objects.requireNonNullElse(img.getThumbnailLink(), img.getLink()))
+                    .mediumLink(Objects.requireNonNullElse(img.getMediumLink(), img.getLink()))
                     .build())
-                .collect(Collectors.toList()))
+                .toList())
             .brand(product.getBrand().getName())
             .name(product.getName())
             .description(product.getDescription())
             .price(product.getPrice())
             .quantity(product.getQuantity())
             .createdAt(product.getCreatedAt())
-            .rating(product.getReviews().stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0))
+            .version(product.getVersion())
+            .rating(product.getRating())
+            .ratingCount(product.getRatingCount())
+            .ratingHistogram(List.of(
+                new RatingHistogramBucketDto((short) 5, product.getRating5Count()),
+                new RatingHistogramBucketDto((short) 4, product.getRating4Count()),
+                new RatingHistogramBucketDto((short) 3, product.getRating3Count()),
+                new RatingHistogramBucketDto((short) 2, product.getRating2Count()),
+                new RatingHistogramBucketDto((short) 1, product.getRating1Count())))
             .build();
     }
 }
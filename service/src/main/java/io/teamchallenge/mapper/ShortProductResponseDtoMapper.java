@@ -3,7 +3,7 @@ package io.teamchallenge.mapper;
 import io.teamchallenge.dto.ImageDto;
 import io.teamchallenge.dto.product.ShortProductResponseDto;
 import io.teamchallenge.entity.Product;
-import io.teamchallenge.entity.reviews.Review;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.modelmapper.AbstractConverter;
 import org.springframework.stereotype.Component;
@@ -32,13 +32,12 @@ public class ShortProductResponseDtoMapper extends AbstractConverter<Product, Sh
                 .map(img -> ImageDto.builder()
                     .link(img.getLink())
                     .order(img.getOrder())
+                    .thumbnailLink(Objects.requireNonNullElse(img.getThumbnailLink(), img.getLink()))
+                    .mediumLink(Objects.requireNonNullElse(img.getMediumLink(), img.getLink()))
                     .build())
                 .collect(Collectors.toList()))
             .available(product.getQuantity() > 0)
-            .rating(product.getReviews().stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0))
+            .rating(product.getRating())
             .build();
     }
 }
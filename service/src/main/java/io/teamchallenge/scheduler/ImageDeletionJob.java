@@ -0,0 +1,25 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.service.impl.ImageDeletionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that periodically deletes the images waiting in the deletion queue from the cloud storage.
+ *
+ * @author Niktia Malov
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageDeletionJob {
+    private final ImageDeletionService imageDeletionService;
+
+    /**
+     * Deletes the next batch of the due images with the configured delay.
+     */
+    @Scheduled(fixedDelayString = "${image.deletion.process-millis}")
+    public void process() {
+        imageDeletionService.processDue();
+    }
+}
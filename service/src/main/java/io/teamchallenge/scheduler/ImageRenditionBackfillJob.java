@@ -0,0 +1,31 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.service.impl.ImageRenditionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that periodically creates the missing renditions of the product images, i.e. of the images uploaded
+ * before the renditions were introduced and of those whose renditions failed to be uploaded.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageRenditionBackfillJob {
+    private final ImageRenditionService imageRenditionService;
+
+    /**
+     * Creates the missing renditions according to the configured cron expression.
+     */
+    @Scheduled(cron = "${image.rendition.backfill-cron}")
+    public void backfill() {
+        int updated = imageRenditionService.backfill();
+        if (updated > 0) {
+            log.info("Created the renditions of {} images", updated);
+        }
+    }
+}
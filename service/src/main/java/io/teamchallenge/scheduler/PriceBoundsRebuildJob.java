@@ -0,0 +1,41 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.PriceBoundsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that builds the price bounds rollup on startup and periodically rebuilds it from the products,
+ * which repairs the rollup after failed incremental updates.
+ *
+ * @author Niktia Malov
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceBoundsRebuildJob {
+    private final PriceBoundsService priceBoundsService;
+    private final CatalogVersionService catalogVersionService;
+
+    /**
+     * Builds the price bounds rollup once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        priceBoundsService.rebuild();
+        catalogVersionService.bump();
+    }
+
+    /**
+     * Rebuilds the price bounds rollup according to the configured cron expression.
+     * The catalog version is increased afterwards, since the rebuilt rollup may answer listings differently.
+     */
+    @Scheduled(cron = "${product.price-bounds.rebuild-cron}")
+    public void rebuild() {
+        priceBoundsService.rebuild();
+        catalogVersionService.bump();
+    }
+}
@@ -0,0 +1,48 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.service.impl.ProductImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that renews the leases of the product imports owned by this instance of the application and marks
+ * the product imports whose owner stopped renewing their lease as failed, so that they can be resumed after
+ * their last committed chunk.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductImportRecoveryJob {
+    private final ProductImportService productImportService;
+
+    /**
+     * Marks the interrupted product imports as failed once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recover();
+    }
+
+    /**
+     * Renews the leases of the owned product imports and marks the interrupted ones as failed
+     * with the configured delay.
+     */
+    @Scheduled(fixedDelayString = "${product.import.heartbeat-millis}")
+    public void heartbeat() {
+        productImportService.renewLeases();
+        recover();
+    }
+
+    private void recover() {
+        int interrupted = productImportService.failInterrupted();
+        if (interrupted > 0) {
+            log.warn("Marked {} interrupted product imports as failed", interrupted);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.ProductIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that builds the in-memory product index on startup and periodically rebuilds it from the database,
+ * which repairs the index after failed incremental updates.
+ *
+ * @author Niktia Malov
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductIndexRebuildJob {
+    private final ProductIndexService productIndexService;
+    private final CatalogVersionService catalogVersionService;
+
+    /**
+     * Builds the product index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        productIndexService.rebuild();
+        catalogVersionService.bump();
+    }
+
+    /**
+     * Rebuilds the product index according to the configured cron expression.
+     * The catalog version is increased afterwards, since the rebuilt index may answer listings differently.
+     */
+    @Scheduled(cron = "${product.index.rebuild-cron}")
+    public void rebuild() {
+        productIndexService.rebuild();
+        catalogVersionService.bump();
+    }
+}
@@ -0,0 +1,28 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.service.impl.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that periodically recomputes products popularity counters from the order items.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductPopularityRebuildJob {
+    private final ProductService productService;
+
+    /**
+     * Rebuilds the popularity counters of all products according to the configured cron expression.
+     */
+    @Scheduled(cron = "${product.popularity.rebuild-cron}")
+    public void rebuildPopularity() {
+        int updatedProducts = productService.rebuildPopularity();
+        log.info("Rebuilt popularity counters of {} products", updatedProducts);
+    }
+}
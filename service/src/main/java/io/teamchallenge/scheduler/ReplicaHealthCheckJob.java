@@ -0,0 +1,26 @@
+package io.teamchallenge.scheduler;
+
+import io.teamchallenge.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that periodically checks the health and the lag of the replica pools, so that the read-only
+ * transactions are only sent to the replicas that are reachable and up to date.
+ *
+ * @author Niktia Malov
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplicaHealthCheckJob {
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    /**
+     * Checks the replica pools with the configured delay, starting right after the application starts.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-millis}")
+    public void checkHealth() {
+        replicaRoutingDataSource.checkHealth();
+    }
+}
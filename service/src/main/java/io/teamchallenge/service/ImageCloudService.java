@@ -1,5 +1,6 @@
 package io.teamchallenge.service;
 
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -17,6 +18,15 @@ public interface ImageCloudService {
      */
     String uploadImage(MultipartFile file, String folderName);
 
+    /**
+     * Opens the content of the image with the given URL in the specified folder of the cloud storage.
+     *
+     * @param url the URL of the image
+     * @param folderName the name of the folder of the image
+     * @return the stream of the content of the image, which has to be closed by the caller
+     */
+    InputStream downloadImage(String url, String folderName);
+
     /**
      * Deletes images from the specified folder in the cloud storage based on their URLs.
      *
@@ -0,0 +1,57 @@
+package io.teamchallenge.service.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service that keeps the version of the catalog. The version is increased by every write that changes
+ * what the catalog pages show, so the cached catalog responses and the entity tags of the responses
+ * of an older version are no longer used.
+ *
+ * @author Niktia Malov
+ */
+@Service
+public class CatalogVersionService {
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Returns the current version of the catalog.
+     *
+     * @return The current version of the catalog.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the strong entity tag of the catalog responses of the current version.
+     * The tag also contains a random epoch of this instance, so the tags issued before a restart are not reused.
+     *
+     * @return The quoted entity tag.
+     */
+    public String getETag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Increases the version of the catalog. If a transaction is active, the version is increased
+     * after it commits, so a response computed from the data before the commit is never cached
+     * under the new version; otherwise it is increased immediately.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -6,20 +6,26 @@ import io.teamchallenge.exception.DeletionException;
 import io.teamchallenge.exception.PersistenceException;
 import io.teamchallenge.service.ImageCloudService;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import static io.teamchallenge.constant.ExceptionMessage.IMAGE_DELETION_EXCEPTION_MESSAGE;
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_DOWNLOAD_EXCEPTION_MESSAGE;
 import static io.teamchallenge.constant.ExceptionMessage.IMAGE_PERSISTENCE_EXCEPTION_MESSAGE;
 
 /**
  * {@inheritDoc}
+ * The images are stored in Cloudinary. Used unless the {@code image.storage} property selects another storage.
  */
 @Service
+@ConditionalOnProperty(name = "image.storage", havingValue = "cloudinary", matchIfMissing = true)
 @RequiredArgsConstructor
 public class CloudinaryUploadServiceImpl implements ImageCloudService {
     private final Cloudinary cloudinary;
@@ -40,6 +46,18 @@ public class CloudinaryUploadServiceImpl implements ImageCloudService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream downloadImage(String url, String folderName) {
+        try {
+            return URI.create(url).toURL().openStream();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new PersistenceException(IMAGE_DOWNLOAD_EXCEPTION_MESSAGE, e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,121 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.entity.ImageDeletion;
+import io.teamchallenge.repository.ImageDeletionRepository;
+import io.teamchallenge.service.ImageCloudService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service of the persistent queue of the images to be deleted from the cloud storage.
+ * The images are enqueued in the transaction that stops referencing them, so they are neither lost
+ * when the deletion fails nor deleted when the transaction rolls back, and the writes do not wait for
+ * the cloud storage. The first attempt is delayed by the grace period the uploads of the images are kept for,
+ * so that the images uploaded before they were enqueued are no longer within it. The queue is processed in
+ * the background in batches; a batch that fails is retried with an exponentially growing delay.
+ * The deletions are idempotent, so an image deleted twice, e.g. by two instances processing the same batch,
+ * does no harm.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+public class ImageDeletionService {
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final ImageCloudService imageCloudService;
+    private final int batchSize;
+    private final Duration delay;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+
+    /**
+     * Constructs the service.
+     *
+     * @param imageDeletionRepository The repository of the queued images.
+     * @param imageCloudService       The service of the cloud storage.
+     * @param batchSize               The maximum number of images deleted in one run.
+     * @param delaySeconds            The delay before the first attempt to delete an image.
+     * @param retryDelaySeconds       The delay before the first retry of a failed deletion.
+     * @param maxRetryDelaySeconds    The maximum delay between the retries of a failed deletion.
+     */
+    public ImageDeletionService(ImageDeletionRepository imageDeletionRepository,
+                                ImageCloudService imageCloudService,
+                                @Value("${image.deletion.batch-size}") Integer batchSize,
+                                @Value("${image.deletion.delay-seconds}") Long delaySeconds,
+                                @Value("${image.deletion.retry-seconds}") Long retryDelaySeconds,
+                                @Value("${image.deletion.max-retry-seconds}") Long maxRetryDelaySeconds) {
+        this.imageDeletionRepository = imageDeletionRepository;
+        this.imageCloudService = imageCloudService;
+        this.batchSize = batchSize;
+        this.delay = Duration.ofSeconds(delaySeconds);
+        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.maxRetryDelay = Duration.ofSeconds(maxRetryDelaySeconds);
+    }
+
+    /**
+     * Enqueues the images with the given URLs to be deleted. Joins the transaction of the caller,
+     * so the images are only deleted once it commits.
+     *
+     * @param urls       The URLs of the images.
+     * @param folderName The name of the folder of the images in the cloud storage.
+     */
+    public void enqueue(List<String> urls, String folderName) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageDeletion> deletions = urls.stream()
+            .filter(Objects::nonNull)
+            .map(url -> ImageDeletion.builder()
+                .url(url)
+                .folderName(folderName)
+                .nextAttemptAt(now.plus(delay))
+                .createdAt(now)
+                .build())
+            .toList();
+        if (!deletions.isEmpty()) {
+            imageDeletionRepository.saveAll(deletions);
+        }
+    }
+
+    /**
+     * Deletes the next batch of the due images from the cloud storage. The images of one folder are deleted
+     * with one request; the entries of the deleted images are removed from the queue, those of the failed
+     * requests are postponed.
+     *
+     * @return The number of the deleted images.
+     */
+    public int processDue() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<ImageDeletion>> deletionsByFolder = imageDeletionRepository
+            .findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAt(now, Limit.of(batchSize))
+            .stream()
+            .collect(Collectors.groupingBy(ImageDeletion::getFolderName, LinkedHashMap::new, Collectors.toList()));
+        int deleted = 0;
+        for (Map.Entry<String, List<ImageDeletion>> entry : deletionsByFolder.entrySet()) {
+            List<ImageDeletion> deletions = entry.getValue();
+            try {
+                imageCloudService.deleteImages(deletions.stream().map(ImageDeletion::getUrl).toList(), entry.getKey());
+                imageDeletionRepository.deleteAllInBatch(deletions);
+                deleted += deletions.size();
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete {} images from the folder {}", deletions.size(), entry.getKey(), e);
+                deletions.forEach(deletion -> deletion.fail(e.getMessage(), now.plus(getRetryDelay(deletion))));
+                imageDeletionRepository.saveAll(deletions);
+            }
+        }
+        return deleted;
+    }
+
+    private Duration getRetryDelay(ImageDeletion deletion) {
+        int doublings = Math.min(deletion.getAttempts(), 20);
+        Duration delay = retryDelay.multipliedBy(1L << doublings);
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+}
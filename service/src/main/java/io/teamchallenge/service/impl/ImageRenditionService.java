@@ -0,0 +1,246 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.entity.Image;
+import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.repository.ImageRepository;
+import io.teamchallenge.service.ImageCloudService;
+import io.teamchallenge.util.ByteArrayMultipartFile;
+import jakarta.annotation.PreDestroy;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_UPLOAD_INTERRUPTED;
+
+/**
+ * Service that creates the renditions of the product images: a thumbnail for the listings and the cart, and
+ * a medium rendition for the product page, next to the full-size original. The renditions are scaled with
+ * ImageIO, keeping the aspect ratio, until their longer side fits the configured size. Since decoding and
+ * scaling are CPU and memory intensive, they run on a pool with a fixed number of threads.
+ * A rendition that would not be smaller than the original, or of an image that cannot be decoded, refers to
+ * the original. A rendition that fails to be uploaded is left missing and created later by {@link #backfill()},
+ * which also creates the renditions of the images uploaded before they were introduced.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+public class ImageRenditionService {
+    private final ImageCloudService imageCloudService;
+    private final ImageRepository imageRepository;
+    private final ImageDeletionService imageDeletionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int thumbnailSize;
+    private final int mediumSize;
+    private final int backfillBatchSize;
+    private final String productImagesFolderName;
+
+    /**
+     * Constructs the service.
+     *
+     * @param imageCloudService       The service of the cloud storage.
+     * @param imageRepository         The repository of the product images.
+     * @param imageDeletionService    The service of the deletion queue.
+     * @param transactionManager      The transaction manager.
+     * @param threads                 The number of images rendered at the same time.
+     * @param thumbnailSize           The maximum size of the longer side of a thumbnail, in pixels.
+     * @param mediumSize              The maximum size of the longer side of a medium rendition, in pixels.
+     * @param backfillBatchSize       The number of images loaded at once by the backfill.
+     * @param productImagesFolderName The name of the folder of the product images.
+     */
+    public ImageRenditionService(ImageCloudService imageCloudService,
+                                 ImageRepository imageRepository,
+                                 ImageDeletionService imageDeletionService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${image.rendition.threads}") Integer threads,
+                                 @Value("${image.rendition.thumbnail-size}") Integer thumbnailSize,
+                                 @Value("${image.rendition.medium-size}") Integer mediumSize,
+                                 @Value("${image.rendition.backfill-batch-size}") Integer backfillBatchSize,
+                                 @Value("${cloudinary.product_images_folder_name}") String productImagesFolderName) {
+        this.imageCloudService = imageCloudService;
+        this.imageRepository = imageRepository;
+        this.imageDeletionService = imageDeletionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.thumbnailSize = thumbnailSize;
+        this.mediumSize = mediumSize;
+        this.backfillBatchSize = backfillBatchSize;
+        this.productImagesFolderName = productImagesFolderName;
+    }
+
+    /**
+     * Creates and uploads the missing renditions of the given image.
+     *
+     * @param original   The source of the content of the original image.
+     * @param image      The image with the link of its original, whose missing rendition links are set.
+     * @param folderName The name of the folder the renditions are uploaded to.
+     * @return The given image.
+     * @throws PersistenceException if the calling thread is interrupted while the image is rendered.
+     */
+    public ImageDto createRenditions(InputStreamSource original, ImageDto image, String folderName) {
+        Renditions renditions;
+        try {
+            renditions = executor.submit(() -> render(original)).get();
+        } catch (ExecutionException e) {
+            log.warn("Failed to render the image {}", image.getLink(), e.getCause());
+            return image;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException(IMAGE_UPLOAD_INTERRUPTED, e);
+        }
+        if (Objects.isNull(image.getThumbnailLink())) {
+            image.setThumbnailLink(upload(renditions.thumbnail, renditions, "thumbnail", image, folderName));
+        }
+        if (Objects.isNull(image.getMediumLink())) {
+            image.setMediumLink(upload(renditions.medium, renditions, "medium", image, folderName));
+        }
+        return image;
+    }
+
+    /**
+     * Creates the missing renditions of the stored product images, one image at a time. An image whose
+     * renditions cannot be created is skipped until the next run.
+     *
+     * @return The number of the images whose renditions were stored.
+     */
+    public int backfill() {
+        int updated = 0;
+        long lastId = 0;
+        List<Image> images;
+        do {
+            images = imageRepository.findAllWithoutRenditions(lastId, Limit.of(backfillBatchSize));
+            for (Image image : images) {
+                lastId = image.getId();
+                try {
+                    updated += backfillImage(image);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to create the renditions of the image {}", image.getId(), e);
+                }
+            }
+        } while (images.size() == backfillBatchSize);
+        return updated;
+    }
+
+    /**
+     * Stops the threads of the rendering.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int backfillImage(Image image) {
+        var imageDto = ImageDto.builder()
+            .link(image.getLink())
+            .thumbnailLink(image.getThumbnailLink())
+            .mediumLink(image.getMediumLink())
+            .build();
+        createRenditions(() -> imageCloudService.downloadImage(image.getLink(), productImagesFolderName),
+            imageDto, productImagesFolderName);
+        if (Objects.equals(imageDto.getThumbnailLink(), image.getThumbnailLink())
+            && Objects.equals(imageDto.getMediumLink(), image.getMediumLink())) {
+            return 0;
+        }
+        int updated = transactionTemplate.execute(status -> imageRepository.updateRenditionLinks(image.getId(),
+            image.getLink(), imageDto.getThumbnailLink(), imageDto.getMediumLink()));
+        if (updated == 0) {
+            imageDeletionService.enqueue(Stream.of(imageDto.getThumbnailLink(), imageDto.getMediumLink())
+                .filter(link -> !Objects.equals(link, image.getLink()))
+                .toList(), productImagesFolderName);
+        }
+        return updated;
+    }
+
+    private String upload(byte[] content, Renditions renditions, String name, ImageDto image, String folderName) {
+        if (Objects.isNull(content)) {
+            return image.getLink();
+        }
+        try {
+            return imageCloudService.uploadImage(
+                new ByteArrayMultipartFile(name + "." + renditions.format, "image/" + renditions.format, content),
+                folderName);
+        } catch (RuntimeException e) {
+            log.warn("Failed to upload the {} of the image {}", name, image.getLink(), e);
+            return null;
+        }
+    }
+
+    private Renditions render(InputStreamSource original) throws IOException {
+        BufferedImage image;
+        try (InputStream inputStream = original.getInputStream()) {
+            image = ImageIO.read(inputStream);
+        }
+        if (Objects.isNull(image)) {
+            return new Renditions(null, null, null);
+        }
+        String format = image.getColorModel().hasAlpha() ? "png" : "jpeg";
+        BufferedImage medium = scale(image, mediumSize);
+        BufferedImage thumbnail = scale(Objects.requireNonNullElse(medium, image), thumbnailSize);
+        return new Renditions(encode(thumbnail, format), encode(medium, format), format);
+    }
+
+    private BufferedImage scale(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (Math.max(width, height) <= size) {
+            return null;
+        }
+        double ratio = (double) size / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(scaled, 0, 0, width, height, null);
+            graphics.dispose();
+            scaled = step;
+        } while (width != targetWidth || height != targetHeight);
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        if (Objects.isNull(image)) {
+            return null;
+        }
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, format, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static final class Renditions {
+        private final byte[] thumbnail;
+        private final byte[] medium;
+        private final String format;
+
+        private Renditions(byte[] thumbnail, byte[] medium, String format) {
+            this.thumbnail = thumbnail;
+            this.medium = medium;
+            this.format = format;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.service.ImageCloudService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_PERSISTENCE_EXCEPTION_MESSAGE;
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_UPLOAD_INTERRUPTED;
+
+/**
+ * Service that uploads the images of one request to the cloud storage concurrently on virtual threads,
+ * each together with its renditions created by the {@link ImageRenditionService}. The files are identified by
+ * the SHA-256 hash of their content, so a file whose content is already stored, or is sent twice, is not
+ * uploaded again.
+ * It is meant to be called before the transaction that stores the URLs of the images is opened, so that
+ * no connection is held while the images are uploaded. The images of a failed upload, or of a transaction
+ * that did not commit, are discarded through the {@link ImageDeletionService} queue.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageUploadService {
+    private final ImageCloudService imageCloudService;
+    private final ImageDeletionService imageDeletionService;
+    private final ImageRenditionService imageRenditionService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Uploads the given files and their renditions concurrently.
+     *
+     * @param files      The files to upload, may be null.
+     * @param folderName The name of the folder the images are uploaded to.
+     * @return The links and the content hashes of the uploaded images, in the order of the files.
+     * @throws PersistenceException if an upload fails or the calling thread is interrupted while waiting.
+     * @see #uploadAll(List, Set, String)
+     */
+    public List<ImageDto> uploadAll(List<MultipartFile> files, String folderName) {
+        return uploadAll(files, Set.of(), folderName);
+    }
+
+    /**
+     * Hashes the given files and uploads the ones whose content is not stored yet, together with their
+     * renditions, concurrently. A file whose content was already sent earlier in the list is skipped.
+     * When one of the uploads fails, the waiting for the others continues and the uploaded images are
+     * discarded before the failure is rethrown.
+     *
+     * @param files        The files to upload, may be null.
+     * @param storedHashes The content hashes of the images that are already stored.
+     * @param folderName   The name of the folder the images are uploaded to.
+     * @return One image per distinct content, in the order of the files. An uploaded image has its links set,
+     *         an image whose content is already stored has only its content hash set.
+     * @throws PersistenceException if a file cannot be read, an upload fails or the calling thread is
+     *                              interrupted while waiting.
+     */
+    public List<ImageDto> uploadAll(List<MultipartFile> files, Set<String> storedHashes, String folderName) {
+        if (Objects.isNull(files) || files.isEmpty()) {
+            return List.of();
+        }
+        List<String> hashes = new ArrayList<>(files.size());
+        RuntimeException failure = awaitAll(files.stream()
+            .map(file -> executor.submit(() -> hash(file)))
+            .toList(), hashes);
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
+        Map<String, MultipartFile> newFiles = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (!storedHashes.contains(hashes.get(i))) {
+                newFiles.putIfAbsent(hashes.get(i), files.get(i));
+            }
+        }
+        List<ImageDto> uploadedImages = new ArrayList<>(newFiles.size());
+        failure = awaitAll(newFiles.entrySet().stream()
+            .map(file -> executor.submit(() -> upload(file.getValue(), file.getKey(), folderName)))
+            .toList(), uploadedImages);
+        if (Objects.nonNull(failure)) {
+            discard(uploadedImages, folderName);
+            throw failure;
+        }
+        Map<String, ImageDto> uploadedImagesByHash = uploadedImages.stream()
+            .collect(Collectors.toMap(ImageDto::getContentHash, Function.identity()));
+        return hashes.stream()
+            .distinct()
+            .map(hash -> uploadedImagesByHash.getOrDefault(hash, ImageDto.builder().contentHash(hash).build()))
+            .toList();
+    }
+
+    /**
+     * Discards the uploaded images and their renditions that are not going to be referenced, e.g. because
+     * the transaction storing them rolled back. The images are enqueued for the deletion; when the queue
+     * cannot be written, they are deleted right away.
+     *
+     * @param images     The links of the images and their renditions.
+     * @param folderName The name of the folder of the images.
+     */
+    public void discard(List<ImageDto> images, String folderName) {
+        List<String> uploadedUrls = images.stream()
+            .flatMap(image -> Stream.of(image.getLink(), image.getThumbnailLink(), image.getMediumLink()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        if (uploadedUrls.isEmpty()) {
+            return;
+        }
+        try {
+            imageDeletionService.enqueue(uploadedUrls, folderName);
+        } catch (RuntimeException e) {
+            log.warn("Failed to enqueue {} discarded images, deleting them right away", uploadedUrls.size(), e);
+            try {
+                imageCloudService.deleteImages(uploadedUrls, folderName);
+            } catch (RuntimeException deletionException) {
+                log.error("Failed to delete the discarded images {}", uploadedUrls, deletionException);
+            }
+        }
+    }
+
+    /**
+     * Stops the threads of the uploads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> RuntimeException awaitAll(List<Future<T>> tasks, List<T> results) {
+        RuntimeException failure = null;
+        for (Future<T> task : tasks) {
+            try {
+                results.add(task.get());
+            } catch (ExecutionException e) {
+                if (Objects.isNull(failure)) {
+                    failure = asRuntimeException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tasks.forEach(pendingTask -> pendingTask.cancel(true));
+                return new PersistenceException(IMAGE_UPLOAD_INTERRUPTED, e);
+            }
+        }
+        return failure;
+    }
+
+    private String hash(MultipartFile file) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ImageDto upload(MultipartFile file, String contentHash, String folderName) {
+        var image = ImageDto.builder()
+            .link(imageCloudService.uploadImage(file, folderName))
+            .contentHash(contentHash)
+            .build();
+        try {
+            return imageRenditionService.createRenditions(file, image, folderName);
+        } catch (RuntimeException e) {
+            discard(List.of(image), folderName);
+            throw e;
+        }
+    }
+
+    private RuntimeException asRuntimeException(Throwable cause) {
+        return cause instanceof RuntimeException
+            ? (RuntimeException) cause
+            : new PersistenceException(IMAGE_PERSISTENCE_EXCEPTION_MESSAGE, cause);
+    }
+}
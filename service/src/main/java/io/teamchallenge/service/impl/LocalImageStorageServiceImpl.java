@@ -0,0 +1,208 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.datasource.PrimaryReads;
+import io.teamchallenge.exception.DeletionException;
+import io.teamchallenge.exception.NotFoundException;
+import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.repository.ImageRepository;
+import io.teamchallenge.service.ImageCloudService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_DELETION_EXCEPTION_MESSAGE;
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_DOWNLOAD_EXCEPTION_MESSAGE;
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_NOT_FOUND;
+import static io.teamchallenge.constant.ExceptionMessage.IMAGE_PERSISTENCE_EXCEPTION_MESSAGE;
+
+/**
+ * {@inheritDoc}
+ * The images are stored in a directory of the local file system, one subdirectory per folder, and named by
+ * the SHA-256 hash of their content, so an image uploaded twice is stored once. The uploads are streamed to
+ * the disk without being buffered on the heap, and the stored images are served by their URLs under the
+ * configured base URL. An image is only deleted when no product image refers to it anymore and it was not
+ * uploaded again recently, since a product storing the same image may not have committed its reference yet.
+ * Used when the {@code image.storage} property is {@code local}.
+ *
+ * @author Niktia Malov
+ */
+@Service
+@ConditionalOnProperty(name = "image.storage", havingValue = "local")
+public class LocalImageStorageServiceImpl implements ImageCloudService {
+    private static final Pattern FOLDER_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+    private static final Map<String, String> EXTENSIONS_BY_CONTENT_TYPE =
+        Map.of("image/jpeg", "jpg", "image/jpg", "jpg", "image/png", "png");
+    private static final long TRANSFER_CHUNK_SIZE = 1 << 20;
+
+    private final ImageRepository imageRepository;
+    private final Path directory;
+    private final String baseUrl;
+    private final Duration uploadGrace;
+
+    /**
+     * Constructs the service.
+     *
+     * @param imageRepository    The repository of the product images.
+     * @param directory          The directory the images are stored in.
+     * @param baseUrl            The URL the images are served under.
+     * @param uploadGraceSeconds The time in seconds after its upload an image is kept regardless of its
+     *                           references, which has to be longer than the time between the upload of
+     *                           an image and the commit of its reference.
+     */
+    public LocalImageStorageServiceImpl(ImageRepository imageRepository,
+                                        @Value("${image.local.directory}") Path directory,
+                                        @Value("${image.local.base-url}") String baseUrl,
+                                        @Value("${image.deletion.delay-seconds}") Long uploadGraceSeconds) {
+        this.imageRepository = imageRepository;
+        this.directory = directory;
+        this.baseUrl = baseUrl;
+        this.uploadGrace = Duration.ofSeconds(uploadGraceSeconds);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The file of the image is replaced even if it is already stored, so that its modification time is the time
+     * of its latest upload.
+     */
+    @Override
+    public String uploadImage(MultipartFile file, String folderName) {
+        Path folder = getFolder(folderName);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(folder);
+            temporaryFile = Files.createTempFile(folder, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (ReadableByteChannel in = Channels.newChannel(new DigestInputStream(file.getInputStream(), digest));
+                 FileChannel out = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                do {
+                    transferred = out.transferFrom(in, position, TRANSFER_CHUNK_SIZE);
+                    position += transferred;
+                } while (transferred > 0);
+            }
+            String fileName = HexFormat.of().formatHex(digest.digest()) + "." + getExtension(file);
+            Files.move(temporaryFile, folder.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            return baseUrl + "/" + folderName + "/" + fileName;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(temporaryFile);
+            throw new PersistenceException(IMAGE_PERSISTENCE_EXCEPTION_MESSAGE, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream downloadImage(String url, String folderName) {
+        String fileName = url.substring(url.lastIndexOf('/') + 1);
+        try {
+            return getImage(folderName, fileName).getInputStream();
+        } catch (IOException e) {
+            throw new PersistenceException(IMAGE_DOWNLOAD_EXCEPTION_MESSAGE, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The images still referred to by a product image, as its original or as one of its renditions, are kept.
+     * The references are read from the primary, since a replica may not have replayed a new reference yet.
+     * The images uploaded within the grace period are kept as well, since their new references may not be
+     * committed yet; the upload is either committed with a reference or rolled back and enqueued for deletion.
+     */
+    @Override
+    public void deleteImages(List<String> urls, String folderName) {
+        Path folder = getFolder(folderName);
+        Instant uploadedBefore = Instant.now().minus(uploadGrace);
+        try {
+            for (String url : urls) {
+                String fileName = url.substring(url.lastIndexOf('/') + 1);
+                if (!FILE_NAME.matcher(fileName).matches()) {
+                    continue;
+                }
+                Path file = folder.resolve(fileName);
+                if (Files.exists(file) && Files.getLastModifiedTime(file).toInstant().isBefore(uploadedBefore)
+                    && !PrimaryReads.call(() -> imageRepository.existsByAnyLink(url))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new DeletionException(IMAGE_DELETION_EXCEPTION_MESSAGE, e);
+        }
+    }
+
+    /**
+     * Retrieves the stored image with the given name.
+     *
+     * @param folderName The name of the folder of the image.
+     * @param fileName   The name of the file of the image.
+     * @return The resource of the file of the image.
+     * @throws NotFoundException if the image is not stored.
+     */
+    public Resource getImage(String folderName, String fileName) {
+        if (!FOLDER_NAME.matcher(folderName).matches() || !FILE_NAME.matcher(fileName).matches()) {
+            throw new NotFoundException(IMAGE_NOT_FOUND.formatted(folderName + "/" + fileName));
+        }
+        Path file = directory.resolve(folderName).resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            throw new NotFoundException(IMAGE_NOT_FOUND.formatted(folderName + "/" + fileName));
+        }
+        return new FileSystemResource(file);
+    }
+
+    private Path getFolder(String folderName) {
+        if (!FOLDER_NAME.matcher(folderName).matches()) {
+            throw new IllegalArgumentException("Invalid folder name: " + folderName);
+        }
+        return directory.resolve(folderName);
+    }
+
+    private String getExtension(MultipartFile file) {
+        String extension = Objects.isNull(file.getContentType())
+            ? null
+            : EXTENSIONS_BY_CONTENT_TYPE.get(file.getContentType());
+        if (Objects.nonNull(extension)) {
+            return extension;
+        }
+        String filenameExtension = StringUtils.getFilenameExtension(file.getOriginalFilename());
+        return Objects.nonNull(filenameExtension) && EXTENSION.matcher(filenameExtension.toLowerCase(Locale.ROOT))
+            .matches() ? filenameExtension.toLowerCase(Locale.ROOT) : "bin";
+    }
+
+    private void deleteQuietly(Path file) {
+        if (Objects.isNull(file)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.teamchallenge.dto.order.OrderFilterDto;
 import io.teamchallenge.dto.order.OrderRequestDto;
 import io.teamchallenge.dto.order.OrderResponseDto;
 import io.teamchallenge.dto.order.ShortOrderResponseDto;
+import io.teamchallenge.dto.pageable.CursorPageableDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.dto.user.UserVO;
 import io.teamchallenge.entity.Address;
@@ -20,21 +21,28 @@ import io.teamchallenge.enumerated.DeliveryStatus;
 import io.teamchallenge.exception.ConflictException;
 import io.teamchallenge.exception.ForbiddenException;
 import io.teamchallenge.exception.NotFoundException;
+import io.teamchallenge.exception.PreconditionFailedException;
 import io.teamchallenge.repository.CartItemRepository;
 import io.teamchallenge.repository.OrderRepository;
 import io.teamchallenge.repository.ProductRepository;
 import io.teamchallenge.repository.UserRepository;
+import io.teamchallenge.util.CursorUtils;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import static io.teamchallenge.constant.ExceptionMessage.ORDER_NOT_FOUND_BY_ID;
+import static io.teamchallenge.constant.ExceptionMessage.ORDER_VERSION_MISMATCH;
 import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_QUANTITY_CONFLICT;
 import static io.teamchallenge.constant.ExceptionMessage.UPDATE_ORDER_EXCEPTION;
 import static io.teamchallenge.constant.ExceptionMessage.USER_HAS_NO_ORDERS_WITH_ID;
@@ -51,6 +59,10 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final ProductIndexService productIndexService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final TotalCountService totalCountService;
 
     /**
      * Creates a new {@code Order} based on the given {@code OrderRequestDto} and the authenticated user.
@@ -96,9 +108,10 @@ public class OrderService {
             order.setPostAddress(modelMapper.map(orderRequestDto.getPostAddress(), PostAddress.class));
         }
 
-        List<Product> products = productRepository.findAllById(orderRequestDto.getCartItems().stream()
+        List<Long> productIds = orderRequestDto.getCartItems().stream()
             .map(CartItemRequestDto::getProductId)
-            .collect(Collectors.toList()));
+            .collect(Collectors.toList());
+        List<Product> products = productRepository.findAllById(productIds);
 
         Order savedOrder = orderRepository.save(order);
         orderRequestDto.getCartItems().stream().map(cartItem -> {
@@ -106,6 +119,10 @@ public class OrderService {
             product.setQuantity(product.getQuantity() - cartItem.getQuantity());
             return buildOrderItem(cartItem, savedOrder, product);
         }).forEach(order::addOrderItem);
+        productRepository.incrementOrderCount(productIds);
+        productDetailCacheService.invalidate(productIds);
+        productIndexService.refresh(productIds);
+        catalogVersionService.bump();
         return savedOrder.getId();
     }
 
@@ -129,33 +146,54 @@ public class OrderService {
 
     /**
      * Updates the delivery status of an order.
+     * Products of an order that gets canceled (or restored from canceled) are removed from
+     * (or added back to) the products popularity counters.
      *
-     * @param orderId The unique identifier of the order.
-     * @param status  The new delivery status to be set for the order.
-     * @throws NotFoundException If no order is found with the provided ID.
-     * @throws ConflictException If the current delivery status of the order is {@link DeliveryStatus#COMPLETED}.
+     * @param orderId         The unique identifier of the order.
+     * @param status          The new delivery status to be set for the order.
+     * @param expectedVersion The version of the order the update is based on, or null to update any version.
+     * @throws NotFoundException           If no order is found with the provided ID.
+     * @throws PreconditionFailedException If the order was modified since the expected version.
+     * @throws ConflictException           If the current delivery status of the order is
+     *                                     {@link DeliveryStatus#COMPLETED}.
      */
     @Transactional
-    public void setDeliveryStatus(Long orderId, DeliveryStatus status) {
+    public void setDeliveryStatus(Long orderId, DeliveryStatus status, Long expectedVersion) {
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND_BY_ID.formatted(orderId)));
-        if (order.getDeliveryStatus().equals(DeliveryStatus.COMPLETED)) {
+        if (Objects.nonNull(expectedVersion) && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException(ORDER_VERSION_MISMATCH.formatted(orderId, order.getVersion()));
+        }
+        DeliveryStatus previousStatus = order.getDeliveryStatus();
+        if (previousStatus.equals(DeliveryStatus.COMPLETED)) {
             throw new ConflictException(UPDATE_ORDER_EXCEPTION);
         }
         order.setDeliveryStatus(status);
+
+        if (previousStatus != DeliveryStatus.CANCELED && status == DeliveryStatus.CANCELED) {
+            productRepository.updateOrderCountByOrderId(orderId, -1);
+            productIndexService.refresh(getProductIds(order));
+            catalogVersionService.bump();
+        } else if (previousStatus == DeliveryStatus.CANCELED && status != DeliveryStatus.CANCELED) {
+            productRepository.updateOrderCountByOrderId(orderId, 1);
+            productIndexService.refresh(getProductIds(order));
+            catalogVersionService.bump();
+        }
     }
 
     /**
      * Cancels an order if the user has the specified order.
      *
-     * @param orderId The unique identifier of the order to be canceled.
-     * @param userId  The unique identifier of the user requesting the cancellation.
-     * @throws ForbiddenException If the user does not have an order with the specified ID.
+     * @param orderId         The unique identifier of the order to be canceled.
+     * @param userId          The unique identifier of the user requesting the cancellation.
+     * @param expectedVersion The version of the order the cancellation is based on, or null to cancel any version.
+     * @throws ForbiddenException          If the user does not have an order with the specified ID.
+     * @throws PreconditionFailedException If the order was modified since the expected version.
      */
     @Transactional
-    public void cancelOrder(Long orderId, Long userId) {
+    public void cancelOrder(Long orderId, Long userId, Long expectedVersion) {
         if (userRepository.userHasOrderWithId(userId, orderId)) {
-            setDeliveryStatus(orderId, DeliveryStatus.CANCELED);
+            setDeliveryStatus(orderId, DeliveryStatus.CANCELED, expectedVersion);
         } else {
             throw new ForbiddenException(USER_HAS_NO_ORDERS_WITH_ID.formatted(orderId));
         }
@@ -167,10 +205,16 @@ public class OrderService {
      * @param filterParametersDto The filter parameters to apply to the query.
      * @param pageable            The pagination information.
      * @return A {@link PageableDto} containing a list of {@link ShortOrderResponseDto} and pagination details.
+     *         The total number of orders of large listings is estimated by {@link TotalCountService},
+     *         which is indicated by the totalElementsExact flag.
      */
     public PageableDto<ShortOrderResponseDto> getAllByFilter(OrderFilterDto filterParametersDto, Pageable pageable) {
-        var orders = orderRepository
-            .findAllByFilterParameters(filterParametersDto, pageable);
+        Optional<Long> estimatedTotal = totalCountService.findEstimate(filterParametersDto, pageable,
+            () -> orderRepository.countByFilterParameters(filterParametersDto), Long::longValue);
+        var orders = estimatedTotal
+            .<Page<Order>>map(total -> new PageImpl<>(
+                orderRepository.findPageByFilterParameters(filterParametersDto, pageable), pageable, total))
+            .orElseGet(() -> findAllByFilterCounted(filterParametersDto, pageable));
         var content = orders.getContent().stream()
             .map(order -> modelMapper.map(order, ShortOrderResponseDto.class))
             .collect(Collectors.toList());
@@ -179,9 +223,38 @@ public class OrderService {
             .totalElements(orders.getTotalElements())
             .currentPage(orders.getPageable().getPageNumber())
             .totalPages(orders.getTotalPages())
+            .totalElementsExact(estimatedTotal.isEmpty())
             .build();
     }
 
+    /**
+     * Retrieves the window of orders filtered by the given parameters that follows the given cursor.
+     *
+     * @param cursor              The cursor returned with the previous window, blank for the first window.
+     * @param filterParametersDto The filter parameters to apply to the query.
+     * @param pageable            The page size and sorting information.
+     * @return A {@link CursorPageableDto} containing a list of {@link ShortOrderResponseDto}
+     *         and the cursor of the next window.
+     */
+    public CursorPageableDto<ShortOrderResponseDto> getAllByFilter(String cursor, OrderFilterDto filterParametersDto,
+                                                                   Pageable pageable) {
+        var orders = orderRepository.scrollAllByFilterParameters(filterParametersDto,
+            CursorUtils.decode(cursor, pageable.getSort()), pageable);
+        var content = orders.getContent().stream()
+            .map(order -> modelMapper.map(order, ShortOrderResponseDto.class))
+            .collect(Collectors.toList());
+        return CursorPageableDto.<ShortOrderResponseDto>builder()
+            .page(content)
+            .nextCursor(CursorUtils.nextCursor(orders, pageable.getSort()))
+            .build();
+    }
+
+    private Page<Order> findAllByFilterCounted(OrderFilterDto filterParametersDto, Pageable pageable) {
+        Page<Order> orders = orderRepository.findAllByFilterParameters(filterParametersDto, pageable);
+        totalCountService.put(filterParametersDto, orders.getTotalElements(), orders.getTotalElements());
+        return orders;
+    }
+
     private static OrderItem buildOrderItem(CartItemRequestDto cartItem, Order savedOrder, Product product) {
         return OrderItem.builder()
             .id(OrderItemId.builder()
@@ -195,6 +268,12 @@ public class OrderService {
             .build();
     }
 
+    private static List<Long> getProductIds(Order order) {
+        return order.getOrderItems().stream()
+            .map(orderItem -> orderItem.getId().getProductId())
+            .toList();
+    }
+
     private static Product getProductByCartItem(CartItemRequestDto cartItem, List<Product> products) {
         return products.stream()
             .filter(p -> p.getId().equals(cartItem.getProductId()) && cartItem.getQuantity() <= p.getQuantity())
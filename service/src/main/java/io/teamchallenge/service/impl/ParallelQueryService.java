@@ -0,0 +1,215 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.exception.PersistenceException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static io.teamchallenge.constant.ExceptionMessage.QUERY_FAILED;
+import static io.teamchallenge.constant.ExceptionMessage.QUERY_INTERRUPTED;
+
+/**
+ * Service that runs independent read-only queries of one request concurrently on virtual threads.
+ * Every forked query runs in its own read-only transaction and therefore on its own connection, with the
+ * security context of the calling thread, so that the reads of a user are routed like the reads of the
+ * calling thread. The number of connections held by the scopes at the same time is capped, so that the
+ * listings cannot exhaust the connection pool: besides the forked queries, the cap counts the connection of
+ * a calling thread that forks from within a transaction, since it is held while the forked queries wait for
+ * theirs. A query forked while the cap is reached, or while the parallel execution is disabled, runs
+ * immediately on the calling thread instead. When one of the queries fails, the others are cancelled and
+ * the failure is rethrown to the caller.
+ *
+ * @author Niktia Malov
+ */
+@Service
+public class ParallelQueryService {
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final boolean enabled;
+
+    /**
+     * Constructs the service.
+     *
+     * @param transactionManager The transaction manager.
+     * @param enabled            Whether the queries are run concurrently.
+     * @param maxQueries         The maximum number of connections held by the forked queries and their calling
+     *                           threads at the same time, which has to stay well below the size of the
+     *                           connection pool.
+     */
+    public ParallelQueryService(PlatformTransactionManager transactionManager,
+                                @Value("${listing.parallel.enabled}") Boolean enabled,
+                                @Value("${listing.parallel.max-queries}") Integer maxQueries) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.permits = new Semaphore(maxQueries);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether the queries are run concurrently.
+     *
+     * @return true if the forked queries run on virtual threads, false if they run on the calling thread.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens a scope the queries of one request are forked in. The scope has to be closed,
+     * which cancels the queries that are still running.
+     *
+     * @return The opened scope.
+     */
+    public Scope open() {
+        return new Scope();
+    }
+
+    /**
+     * Scope of the queries forked for one request.
+     */
+    public final class Scope implements AutoCloseable {
+        private final List<ForkedQuery<?>> queries = new CopyOnWriteArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private boolean callerPermitHeld;
+
+        private Scope() {
+        }
+
+        /**
+         * Forks the given query. Its result can be obtained from the returned supplier after {@link #join()}.
+         *
+         * @param query The query to run.
+         * @param <T>   The type of the result of the query.
+         * @return The supplier of the result of the query.
+         */
+        public <T> Supplier<T> fork(Supplier<T> query) {
+            if (!enabled || !acquirePermits()) {
+                T result = query.get();
+                return () -> result;
+            }
+            ForkedQuery<T> forkedQuery = new ForkedQuery<>(query, this);
+            queries.add(forkedQuery);
+            executor.execute(new DelegatingSecurityContextRunnable(forkedQuery));
+            return forkedQuery::resultNow;
+        }
+
+        /**
+         * Waits until all forked queries complete.
+         *
+         * @throws RuntimeException     the failure of the first failed query, after the other queries were cancelled.
+         * @throws PersistenceException if the calling thread was interrupted while waiting.
+         */
+        public void join() {
+            for (ForkedQuery<?> query : queries) {
+                try {
+                    query.get();
+                } catch (ExecutionException e) {
+                    fail(asRuntimeException(e.getCause()));
+                    break;
+                } catch (CancellationException e) {
+                    break;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelAll();
+                    throw new PersistenceException(QUERY_INTERRUPTED, e);
+                }
+            }
+            RuntimeException firstFailure = failure.get();
+            if (Objects.nonNull(firstFailure)) {
+                throw firstFailure;
+            }
+        }
+
+        /**
+         * Cancels the forked queries that are still running and releases the permit of the calling thread.
+         */
+        @Override
+        public void close() {
+            cancelAll();
+            if (callerPermitHeld) {
+                callerPermitHeld = false;
+                permits.release();
+            }
+        }
+
+        private boolean acquirePermits() {
+            if (callerPermitHeld || !TransactionSynchronizationManager.isActualTransactionActive()) {
+                return permits.tryAcquire();
+            }
+            callerPermitHeld = permits.tryAcquire(2);
+            return callerPermitHeld;
+        }
+
+        private void fail(RuntimeException e) {
+            if (failure.compareAndSet(null, e)) {
+                cancelAll();
+            }
+        }
+
+        private void cancelAll() {
+            queries.forEach(query -> query.cancel(true));
+        }
+
+        private RuntimeException asRuntimeException(Throwable cause) {
+            return cause instanceof RuntimeException
+                ? (RuntimeException) cause
+                : new PersistenceException(QUERY_FAILED, cause);
+        }
+    }
+
+    private final class ForkedQuery<T> extends FutureTask<T> {
+        private final AtomicBoolean started;
+        private final AtomicBoolean permitHeld;
+
+        private ForkedQuery(Supplier<T> query, Scope scope) {
+            this(query, scope, new AtomicBoolean(), new AtomicBoolean(true));
+        }
+
+        private ForkedQuery(Supplier<T> query, Scope scope, AtomicBoolean started, AtomicBoolean permitHeld) {
+            super(() -> {
+                started.set(true);
+                try {
+                    return transactionTemplate.execute(status -> query.get());
+                } catch (RuntimeException e) {
+                    scope.fail(e);
+                    throw e;
+                } finally {
+                    releasePermit(permitHeld);
+                }
+            });
+            this.started = started;
+            this.permitHeld = permitHeld;
+        }
+
+        @Override
+        protected void done() {
+            if (!started.get()) {
+                releasePermit(permitHeld);
+            }
+        }
+    }
+
+    private void releasePermit(AtomicBoolean permitHeld) {
+        if (permitHeld.compareAndSet(true, false)) {
+            permits.release();
+        }
+    }
+}
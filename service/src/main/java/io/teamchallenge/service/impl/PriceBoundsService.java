@@ -0,0 +1,193 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.PriceHistogramBucketDto;
+import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.dto.product.ProductPriceBoundsDto;
+import io.teamchallenge.entity.pricebound.PriceBound;
+import io.teamchallenge.repository.PriceBoundRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static io.teamchallenge.repository.PriceBoundRepository.Specs.byBrandIds;
+import static io.teamchallenge.repository.PriceBoundRepository.Specs.byCategoryId;
+
+/**
+ * Service that maintains the {@code price_bounds} rollup, which keeps the minimum and maximum price and the
+ * number of products per category, brand and price bucket, and answers the price range and the price
+ * histogram of listings filtered only by category and brands from it. The rollup is rebuilt on startup and
+ * periodically, and the groups of changed products are recomputed after the transactions that change them
+ * commit. While the rollup is not built yet, or after such a recomputation failed, it is considered stale
+ * and the price range has to be aggregated from the products.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+public class PriceBoundsService {
+    private final PriceBoundRepository priceBoundRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BigDecimal bucketWidth;
+    private final Set<Group> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean stale = true;
+    private volatile boolean rebuilding;
+
+    /**
+     * Constructs the service. The rollup is written in separate transactions, so that it is also recomputed
+     * correctly after the commit of a transaction that is still bound to the thread.
+     *
+     * @param priceBoundRepository The repository of the rollup.
+     * @param transactionManager   The transaction manager.
+     * @param bucketWidth          The width of the price buckets of the histogram.
+     */
+    public PriceBoundsService(PriceBoundRepository priceBoundRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${product.price-bounds.bucket-width}") BigDecimal bucketWidth) {
+        this.priceBoundRepository = priceBoundRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bucketWidth = bucketWidth;
+    }
+
+    /**
+     * Finds the price range and the price histogram of the products matching the filter using the rollup.
+     * The price filter is ignored, since the range and the histogram describe the prices that can be selected.
+     *
+     * @param productFilterDto The filter of the products.
+     * @return The price bounds, or an empty Optional if the rollup is stale or the filter contains a name or
+     *         attribute values, which the rollup does not support.
+     */
+    public Optional<ProductPriceBoundsDto> findPriceBounds(ProductFilterDto productFilterDto) {
+        if (stale || Objects.nonNull(productFilterDto.getName())
+            || Objects.nonNull(productFilterDto.getAttributeValueIds())) {
+            return Optional.empty();
+        }
+        List<Specification<PriceBound>> specifications = new ArrayList<>();
+        if (Objects.nonNull(productFilterDto.getCategoryId())) {
+            specifications.add(byCategoryId(productFilterDto.getCategoryId()));
+        }
+        if (Objects.nonNull(productFilterDto.getBrandIds())) {
+            specifications.add(byBrandIds(productFilterDto.getBrandIds()));
+        }
+        List<PriceBound> priceBounds = priceBoundRepository.findAll(Specification.allOf(specifications));
+
+        return Optional.of(new ProductPriceBoundsDto(getPriceRange(priceBounds), getHistogram(priceBounds)));
+    }
+
+    /**
+     * Recomputes the rollup of the given category and brand. If a transaction is active, the rollup is
+     * recomputed after it commits, so it never contains uncommitted changes; otherwise it is recomputed
+     * immediately.
+     *
+     * @param categoryId The ID of the category of the changed product.
+     * @param brandId    The ID of the brand of the changed product.
+     */
+    public void refresh(Long categoryId, Long brandId) {
+        Group group = new Group(categoryId, brandId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshNow(Set.of(group));
+                }
+            });
+        } else {
+            refreshNow(Set.of(group));
+        }
+    }
+
+    /**
+     * Recomputes the whole rollup from the products. The groups refreshed while the rollup was being
+     * recomputed are refreshed again afterwards, so that their changes are not lost.
+     */
+    public void rebuild() {
+        rebuilding = true;
+        refreshedDuringRebuild.clear();
+        try {
+            Integer rows = transactionTemplate.execute(status -> priceBoundRepository.rebuild(bucketWidth));
+            stale = false;
+            log.info("Rebuilt price bounds rollup of {} rows", rows);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild price bounds rollup", e);
+        } finally {
+            rebuilding = false;
+        }
+
+        Set<Group> groups = new HashSet<>(refreshedDuringRebuild);
+        refreshedDuringRebuild.clear();
+        if (!groups.isEmpty()) {
+            refreshNow(groups);
+        }
+    }
+
+    /**
+     * Checks whether the rollup is stale and the price range has to be aggregated from the products.
+     *
+     * @return true if the rollup is stale, false otherwise.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    private void refreshNow(Set<Group> groups) {
+        if (rebuilding) {
+            refreshedDuringRebuild.addAll(groups);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> groups.forEach(group ->
+                priceBoundRepository.refresh(group.getCategoryId(), group.getBrandId(), bucketWidth)));
+        } catch (RuntimeException e) {
+            stale = true;
+            log.error("Failed to refresh price bounds of {}, the rollup is stale until rebuilt", groups, e);
+        }
+    }
+
+    private ProductMinMaxPriceDto getPriceRange(List<PriceBound> priceBounds) {
+        return new ProductMinMaxPriceDto(
+            priceBounds.stream().map(PriceBound::getMinPrice).min(Comparator.naturalOrder()).orElse(null),
+            priceBounds.stream().map(PriceBound::getMaxPrice).max(Comparator.naturalOrder()).orElse(null));
+    }
+
+    private List<PriceHistogramBucketDto> getHistogram(List<PriceBound> priceBounds) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        priceBounds.forEach(priceBound ->
+            counts.merge(priceBound.getId().getBucket(), priceBound.getProductCount().longValue(), Long::sum));
+        return counts.entrySet().stream()
+            .map(entry -> {
+                BigDecimal from = bucketWidth.multiply(BigDecimal.valueOf(entry.getKey()));
+                return new PriceHistogramBucketDto(from, from.add(bucketWidth), entry.getValue());
+            })
+            .toList();
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Group {
+        private final Long categoryId;
+        private final Long brandId;
+    }
+}
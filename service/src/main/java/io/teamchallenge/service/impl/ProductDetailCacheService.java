@@ -0,0 +1,155 @@
+package io.teamchallenge.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.teamchallenge.dto.product.ProductDetailCacheStatsDto;
+import io.teamchallenge.dto.product.ProductResponseDto;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service that caches the details of the products by their IDs. The cache is bounded by size and the time
+ * since an entry was written, and the entries of changed products are invalidated precisely by the writes
+ * that change them, so a write to one product leaves the details of the others cached.
+ * Concurrent misses of the same product are loaded once: the first request loads the product on its own thread,
+ * and the others wait for its result instead of querying the database as well.
+ * The read-only loads may be served by a replica that has not replayed the write yet, so the details loaded
+ * within the replica lag after the invalidation of a product are returned to the waiting requests but not cached.
+ *
+ * @author Niktia Malov
+ */
+@Service
+public class ProductDetailCacheService {
+    private final AsyncCache<Long, ProductResponseDto> products;
+    private final Cache<Long, Boolean> recentlyInvalidated;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * Constructs the service.
+     *
+     * @param maximumSize The maximum number of cached products.
+     * @param ttlSeconds        The number of seconds the details of a product are used for.
+     * @param replicaLagSeconds The number of seconds after the invalidation of a product during which a replica
+     *                          may still return its old details.
+     */
+    public ProductDetailCacheService(@Value("${product.detail-cache.maximum-size}") Long maximumSize,
+                                     @Value("${product.detail-cache.ttl-seconds}") Long ttlSeconds,
+                                     @Value("${datasource.replica.read-your-writes-seconds}")
+                                     Long replicaLagSeconds) {
+        this.products = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .buildAsync();
+        this.recentlyInvalidated = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(replicaLagSeconds))
+            .build();
+    }
+
+    /**
+     * Retrieves the details of the product from the cache, loading them with the given loader if they are
+     * missing. If the product is being loaded by another request, the result of that load is awaited.
+     * A failed load is not cached, and its exception is thrown to all requests waiting for it. Neither is a load
+     * started within the replica lag after the invalidation of the product.
+     *
+     * @param id     The ID of the product.
+     * @param loader The function that loads the details of the product by its ID.
+     * @return The details of the product.
+     */
+    public ProductResponseDto get(Long id, Function<Long, ProductResponseDto> loader) {
+        CompletableFuture<ProductResponseDto> loading = new CompletableFuture<>();
+        CompletableFuture<ProductResponseDto> cached = products.asMap().putIfAbsent(id, loading);
+        if (Objects.nonNull(cached)) {
+            hitCount.increment();
+            return join(cached);
+        }
+
+        missCount.increment();
+        boolean mayBeStale = Objects.nonNull(recentlyInvalidated.getIfPresent(id));
+        long start = System.nanoTime();
+        try {
+            ProductResponseDto product = loader.apply(id);
+            loading.complete(product);
+            if (mayBeStale) {
+                products.asMap().remove(id, loading);
+            }
+            return product;
+        } catch (RuntimeException e) {
+            loadFailureCount.increment();
+            products.asMap().remove(id, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            totalLoadTime.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Invalidates the cached details of the given products. If a transaction is active, they are invalidated
+     * after it commits, so the details loaded before the commit are not cached again; otherwise they are
+     * invalidated immediately.
+     *
+     * @param ids The IDs of the changed products.
+     */
+    public void invalidate(Collection<Long> ids) {
+        List<Long> changedIds = List.copyOf(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(changedIds);
+                }
+            });
+        } else {
+            evict(changedIds);
+        }
+    }
+
+    /**
+     * Returns the statistics of the cache since the application started.
+     *
+     * @return The numbers of hits, misses and failed loads, the load times and the number of cached products.
+     */
+    public ProductDetailCacheStatsDto getStats() {
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+        long loadTimeMillis = Duration.ofNanos(totalLoadTime.sum()).toMillis();
+        return ProductDetailCacheStatsDto.builder()
+            .hitCount(hits)
+            .missCount(misses)
+            .loadFailureCount(loadFailureCount.sum())
+            .hitRate(hits + misses == 0 ? 1.0 : (double) hits / (hits + misses))
+            .totalLoadTimeMillis(loadTimeMillis)
+            .averageLoadTimeMillis(misses == 0 ? 0.0 : (double) loadTimeMillis / misses)
+            .size(products.synchronous().estimatedSize())
+            .build();
+    }
+
+    private void evict(List<Long> ids) {
+        recentlyInvalidated.putAll(ids.stream().collect(Collectors.toMap(Function.identity(), id -> true,
+            (first, second) -> first)));
+        products.synchronous().invalidateAll(ids);
+    }
+
+    private ProductResponseDto join(CompletableFuture<ProductResponseDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.teamchallenge.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.teamchallenge.dto.product.ProductFeedDto;
+import io.teamchallenge.dto.product.ProductFeedRowDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.repository.ProductRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service that exports the product catalog as a feed for marketplace partners.
+ * The products are read from a server-side cursor and written to the output one by one,
+ * so the export runs in constant memory regardless of the size of the catalog.
+ *
+ * @author Niktia Malov
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductFeedService {
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final List<String> CSV_HEADER = List.of("id", "name", "short_desc", "price", "available",
+        "brand", "category", "attributes", "image", "rating", "review_count", "updated_at");
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the feed of the products updated since the given time to the output stream.
+     * In the NDJSON format every product is written as a JSON object on its own line; in the CSV format
+     * every product is written as a row after the header, with its attributes joined into one column
+     * as {@code name=value|value;name=value}.
+     *
+     * @param updatedSince The time since which the products were updated, null for the whole catalog.
+     * @param format       The format of the feed.
+     * @param outputStream The stream the feed is written to, it is flushed but not closed.
+     * @throws IOException if the feed cannot be written to the output stream.
+     */
+    @Transactional(readOnly = true)
+    public void export(LocalDateTime updatedSince, ProductFeedFormat format, OutputStream outputStream)
+        throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ProductFeedFormat.CSV) {
+            writeCsvLine(writer, CSV_HEADER);
+        }
+        try (Stream<ProductFeedRowDto> rows =
+                 productRepository.streamFeedRows(Objects.requireNonNullElse(updatedSince, BEGINNING))) {
+            Iterator<ProductFeedRowDto> iterator = rows.iterator();
+            ProductFeedDto product = null;
+            while (iterator.hasNext()) {
+                ProductFeedRowDto row = iterator.next();
+                if (Objects.isNull(product) || !product.getId().equals(row.getId())) {
+                    write(writer, format, product);
+                    product = toFeedProduct(row);
+                }
+                if (Objects.nonNull(row.getAttribute())) {
+                    product.getAttributes().computeIfAbsent(row.getAttribute(), k -> new ArrayList<>())
+                        .add(row.getAttributeValue());
+                }
+            }
+            write(writer, format, product);
+        }
+        writer.flush();
+    }
+
+    private ProductFeedDto toFeedProduct(ProductFeedRowDto row) {
+        return ProductFeedDto.builder()
+            .id(row.getId())
+            .name(row.getName())
+            .shortDesc(row.getShortDesc())
+            .price(row.getPrice())
+            .available(row.getQuantity() > 0)
+            .brand(row.getBrand())
+            .category(row.getCategory())
+            .attributes(new LinkedHashMap<>())
+            .image(row.getImage())
+            .rating(row.getRating())
+            .reviewCount(row.getRatingCount())
+            .updatedAt(row.getUpdatedAt())
+            .build();
+    }
+
+    private void write(Writer writer, ProductFeedFormat format, ProductFeedDto product) throws IOException {
+        if (Objects.isNull(product)) {
+            return;
+        }
+        if (format == ProductFeedFormat.CSV) {
+            writeCsvLine(writer, List.of(
+                String.valueOf(product.getId()),
+                product.getName(),
+                product.getShortDesc(),
+                product.getPrice().toPlainString(),
+                String.valueOf(product.getAvailable()),
+                product.getBrand(),
+                product.getCategory(),
+                formatAttributes(product.getAttributes()),
+                Objects.requireNonNullElse(product.getImage(), ""),
+                String.valueOf(product.getRating()),
+                String.valueOf(product.getReviewCount()),
+                String.valueOf(product.getUpdatedAt())));
+        } else {
+            writer.write(objectMapper.writeValueAsString(product));
+            writer.write('\n');
+        }
+    }
+
+    private String formatAttributes(Map<String, List<String>> attributes) {
+        return attributes.entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + String.join("|", entry.getValue()))
+            .collect(Collectors.joining(";"));
+    }
+
+    private void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        writer.write(values.stream().map(this::escapeCsv).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
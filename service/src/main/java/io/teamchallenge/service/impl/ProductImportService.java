@@ -0,0 +1,588 @@
+package io.teamchallenge.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.teamchallenge.dto.pageable.PageableDto;
+import io.teamchallenge.dto.product.ProductImportDto;
+import io.teamchallenge.dto.product.ProductImportErrorDto;
+import io.teamchallenge.dto.product.ProductImportRowDto;
+import io.teamchallenge.entity.Brand;
+import io.teamchallenge.entity.Category;
+import io.teamchallenge.entity.Product;
+import io.teamchallenge.entity.attributes.Attribute;
+import io.teamchallenge.entity.attributes.AttributeValue;
+import io.teamchallenge.entity.attributes.ProductAttribute;
+import io.teamchallenge.entity.productimport.ProductImport;
+import io.teamchallenge.entity.productimport.ProductImportError;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.enumerated.ProductImportStatus;
+import io.teamchallenge.exception.ConflictException;
+import io.teamchallenge.exception.NotFoundException;
+import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.repository.AttributeRepository;
+import io.teamchallenge.repository.AttributeValueRepository;
+import io.teamchallenge.repository.BrandRepository;
+import io.teamchallenge.repository.CategoryRepository;
+import io.teamchallenge.repository.ProductImportErrorRepository;
+import io.teamchallenge.repository.ProductImportRepository;
+import io.teamchallenge.repository.ProductRepository;
+import io.teamchallenge.util.ProductImportReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static io.teamchallenge.constant.ExceptionMessage.IMPORT_ATTRIBUTE_NOT_FOUND_BY_NAME;
+import static io.teamchallenge.constant.ExceptionMessage.IMPORT_BRAND_NOT_FOUND_BY_NAME;
+import static io.teamchallenge.constant.ExceptionMessage.IMPORT_CATEGORY_NOT_FOUND_BY_NAME;
+import static io.teamchallenge.constant.ExceptionMessage.IMPORT_DUPLICATE_PRODUCT_NAME;
+import static io.teamchallenge.constant.ExceptionMessage.IMPORT_ROW_INVALID;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_IMPORT_CANNOT_BE_RESUMED;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_IMPORT_FILE_NOT_READ;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_IMPORT_FILE_NOT_STORED;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_IMPORT_INTERRUPTED;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_IMPORT_NOT_FOUND_BY_ID;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_WITH_NAME_ALREADY_EXISTS;
+
+/**
+ * Service that imports files of products into the catalog in the background. The file is stored and read
+ * row by row, and the rows are imported in chunks: the brands, categories, attributes and attribute values
+ * are resolved by name from dictionaries loaded once per import, and the products of a chunk, its new
+ * attribute values and its product attributes are each inserted with a single SQL statement. Every chunk is
+ * committed together with the errors of its rejected rows and the counters of the import, so an import
+ * that failed or was interrupted by a restart is resumed after its last committed chunk.
+ * The imports run one at a time on a dedicated thread. A pending or running import is owned by the instance
+ * that started or resumed it, which renews its lease while alive, so only the imports whose owner stopped
+ * renewing their lease are marked as interrupted.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+    private final ProductImportRepository productImportRepository;
+    private final ProductImportErrorRepository productImportErrorRepository;
+    private final ProductRepository productRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final AttributeRepository attributeRepository;
+    private final AttributeValueRepository attributeValueRepository;
+    private final ProductIndexService productIndexService;
+    private final PriceBoundsService priceBoundsService;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Path directory;
+    private final int chunkSize;
+    private final long leaseSeconds;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * Constructs the service.
+     *
+     * @param productImportRepository      The repository of the imports.
+     * @param productImportErrorRepository The repository of the errors of the imports.
+     * @param productRepository            The repository of the products.
+     * @param brandRepository              The repository of the brands.
+     * @param categoryRepository           The repository of the categories.
+     * @param attributeRepository          The repository of the attributes.
+     * @param attributeValueRepository     The repository of the attribute values.
+     * @param productIndexService          The service of the in-memory product index.
+     * @param priceBoundsService           The service of the price bounds rollup.
+     * @param catalogVersionService        The service of the catalog version.
+     * @param objectMapper                 The object mapper the rows of NDJSON files are read with.
+     * @param validator                    The validator of the rows.
+     * @param transactionManager           The transaction manager.
+     * @param directory                    The directory the imported files are stored in until imported.
+     * @param chunkSize                    The number of rows imported in one transaction.
+     * @param leaseSeconds                 The number of seconds after the last renewal of its lease a pending
+     *                                     or running import is considered abandoned by its owner.
+     */
+    public ProductImportService(ProductImportRepository productImportRepository,
+                                ProductImportErrorRepository productImportErrorRepository,
+                                ProductRepository productRepository,
+                                BrandRepository brandRepository,
+                                CategoryRepository categoryRepository,
+                                AttributeRepository attributeRepository,
+                                AttributeValueRepository attributeValueRepository,
+                                ProductIndexService productIndexService,
+                                PriceBoundsService priceBoundsService,
+                                CatalogVersionService catalogVersionService,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${product.import.directory}") Path directory,
+                                @Value("${product.import.chunk-size}") Integer chunkSize,
+                                @Value("${product.import.lease-seconds}") Long leaseSeconds) {
+        this.productImportRepository = productImportRepository;
+        this.productImportErrorRepository = productImportErrorRepository;
+        this.productRepository = productRepository;
+        this.brandRepository = brandRepository;
+        this.categoryRepository = categoryRepository;
+        this.attributeRepository = attributeRepository;
+        this.attributeValueRepository = attributeValueRepository;
+        this.productIndexService = productIndexService;
+        this.priceBoundsService = priceBoundsService;
+        this.catalogVersionService = catalogVersionService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Stores the file read from the given stream and starts its import in the background.
+     * The file is copied to the import directory as it is received, so it is never held in memory.
+     *
+     * @param inputStream The stream of the file of the products, it is read to the end but not closed.
+     * @param format      The format of the file.
+     * @return A {@link ProductImportDto} describing the pending import.
+     * @throws PersistenceException if the file cannot be stored.
+     */
+    public ProductImportDto start(InputStream inputStream, ProductFeedFormat format) {
+        Path path;
+        try {
+            Files.createDirectories(directory);
+            path = Files.createTempFile(directory, "products-", "." + format.name().toLowerCase());
+            Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new PersistenceException(PRODUCT_IMPORT_FILE_NOT_STORED, e);
+        }
+        ProductImport productImport = productImportRepository.save(ProductImport.builder()
+            .format(format)
+            .status(ProductImportStatus.PENDING)
+            .filePath(path.toString())
+            .ownerId(instanceId)
+            .heartbeatAt(LocalDateTime.now())
+            .build());
+        Long id = productImport.getId();
+        executor.execute(() -> run(id));
+        return toDto(productImport);
+    }
+
+    /**
+     * Resumes the failed import with the given ID in the background after its last committed chunk.
+     *
+     * @param id The ID of the import.
+     * @return A {@link ProductImportDto} describing the pending import.
+     * @throws NotFoundException if the import is not found.
+     * @throws ConflictException if the import has not failed.
+     */
+    public ProductImportDto resume(Long id) {
+        ProductImport productImport = findById(id);
+        if (productImport.getStatus() != ProductImportStatus.FAILED) {
+            throw new ConflictException(PRODUCT_IMPORT_CANNOT_BE_RESUMED.formatted(id, productImport.getStatus()));
+        }
+        productImport.setStatus(ProductImportStatus.PENDING);
+        productImport.setFailureMessage(null);
+        productImport.setOwnerId(instanceId);
+        productImport.setHeartbeatAt(LocalDateTime.now());
+        productImportRepository.save(productImport);
+        executor.execute(() -> run(id));
+        return toDto(productImport);
+    }
+
+    /**
+     * Retrieves the import with the given ID together with its progress.
+     *
+     * @param id The ID of the import.
+     * @return A {@link ProductImportDto} describing the import.
+     * @throws NotFoundException if the import is not found.
+     */
+    public ProductImportDto getById(Long id) {
+        return toDto(findById(id));
+    }
+
+    /**
+     * Retrieves a page of the errors of the rows of the import with the given ID that were not imported.
+     *
+     * @param id       The ID of the import.
+     * @param pageable The pagination parameters.
+     * @return A {@link PageableDto} containing the errors of the rows.
+     * @throws NotFoundException if the import is not found.
+     */
+    public PageableDto<ProductImportErrorDto> getErrors(Long id, Pageable pageable) {
+        if (!productImportRepository.existsById(id)) {
+            throw new NotFoundException(PRODUCT_IMPORT_NOT_FOUND_BY_ID.formatted(id));
+        }
+        Page<ProductImportError> errors = productImportErrorRepository.findAllByProductImportId(id, pageable);
+        return PageableDto.<ProductImportErrorDto>builder()
+            .page(errors.getContent().stream()
+                .map(error -> new ProductImportErrorDto(error.getRowNumber(), error.getMessage()))
+                .toList())
+            .totalElements(errors.getTotalElements())
+            .currentPage(errors.getPageable().getPageNumber())
+            .totalPages(errors.getTotalPages())
+            .build();
+    }
+
+    /**
+     * Renews the lease of the pending and running imports owned by this instance.
+     *
+     * @return The number of the imports whose lease was renewed.
+     */
+    public int renewLeases() {
+        return transactionTemplate.execute(status -> productImportRepository.renewHeartbeat(instanceId,
+            List.of(ProductImportStatus.PENDING, ProductImportStatus.RUNNING), LocalDateTime.now()));
+    }
+
+    /**
+     * Marks the pending and running imports whose owner stopped renewing their lease, because the owner
+     * was stopped, as failed, so they can be resumed. The imports of this instance and of other running
+     * instances are left unchanged.
+     *
+     * @return The number of the imports marked as failed.
+     */
+    public int failInterrupted() {
+        return transactionTemplate.execute(status -> productImportRepository.updateStatusOfAbandoned(
+            List.of(ProductImportStatus.PENDING, ProductImportStatus.RUNNING), instanceId,
+            LocalDateTime.now().minusSeconds(leaseSeconds), ProductImportStatus.FAILED, PRODUCT_IMPORT_INTERRUPTED));
+    }
+
+    /**
+     * Runs the pending import with the given ID on the calling thread. The rows committed by a previous run
+     * are skipped. On failure the import is marked as failed; once completed, its file is deleted. The import
+     * is stopped after its current chunk once another instance takes it over.
+     *
+     * @param id The ID of the import.
+     */
+    public void run(Long id) {
+        ProductImport productImport = transactionTemplate.execute(status -> {
+            ProductImport pending = findById(id);
+            if (pending.getStatus() != ProductImportStatus.PENDING || !isOwned(pending)) {
+                return null;
+            }
+            pending.setStatus(ProductImportStatus.RUNNING);
+            pending.setStartedAt(Objects.requireNonNullElseGet(pending.getStartedAt(), LocalDateTime::now));
+            return productImportRepository.save(pending);
+        });
+        if (Objects.isNull(productImport)) {
+            return;
+        }
+        Path path = Path.of(productImport.getFilePath());
+        try {
+            if (Objects.isNull(productImport.getTotalRows())) {
+                int totalRows = countRows(path, productImport.getFormat());
+                transactionTemplate.executeWithoutResult(status -> findById(id).setTotalRows(totalRows));
+            }
+            Dictionaries dictionaries = loadDictionaries();
+            try (ProductImportReader reader = new ProductImportReader(
+                Files.newBufferedReader(path, StandardCharsets.UTF_8), productImport.getFormat(), objectMapper)) {
+                reader.skip(productImport.getProcessedRows());
+                for (var rows = reader.next(chunkSize); !rows.isEmpty(); rows = reader.next(chunkSize)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new PersistenceException(PRODUCT_IMPORT_INTERRUPTED);
+                    }
+                    importChunk(id, rows, dictionaries);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                ProductImport completed = findById(id);
+                completed.setStatus(ProductImportStatus.COMPLETED);
+                completed.setFinishedAt(LocalDateTime.now());
+            });
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("Failed to read the file of product import {}", id, e);
+            fail(id, PRODUCT_IMPORT_FILE_NOT_READ);
+        } catch (RuntimeException e) {
+            log.error("Failed to run product import {}", id, e);
+            fail(id, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the thread of the imports. The running import is interrupted after its current chunk
+     * and can be resumed after the restart.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void importChunk(Long id, List<ProductImportReader.Row> rows, Dictionaries dictionaries) {
+        long startedAt = System.currentTimeMillis();
+        Map<AttributeValueKey, Long> newAttributeValueIds = transactionTemplate.execute(status -> {
+            List<ProductImportError> errors = new ArrayList<>();
+            Map<String, ResolvedRow> resolvedRows = resolveRows(rows, dictionaries, errors);
+            productRepository.findExistingNames(resolvedRows.keySet()).forEach(name ->
+                errors.add(toError(resolvedRows.remove(name).getNumber(),
+                    PRODUCT_WITH_NAME_ALREADY_EXISTS.formatted(name))));
+
+            Map<AttributeValueKey, Long> attributeValueIds = insertAttributeValues(resolvedRows.values(),
+                dictionaries);
+            Map<String, Long> productIds = productRepository.insertProducts(resolvedRows.values().stream()
+                .map(ResolvedRow::getProduct)
+                .toList());
+            List<ProductAttribute> productAttributes = new ArrayList<>();
+            resolvedRows.forEach((name, row) -> {
+                Long productId = productIds.get(name);
+                if (Objects.isNull(productId)) {
+                    errors.add(toError(row.getNumber(), PRODUCT_WITH_NAME_ALREADY_EXISTS.formatted(name)));
+                    return;
+                }
+                row.getAttributeValues().forEach(key -> productAttributes.add(ProductAttribute.builder()
+                    .product(Product.builder().id(productId).build())
+                    .attributeValue(AttributeValue.builder()
+                        .id(Objects.requireNonNullElseGet(dictionaries.getAttributeValueIds().get(key),
+                            () -> attributeValueIds.get(key)))
+                        .build())
+                    .build()));
+            });
+            productRepository.insertProductAttributes(productAttributes);
+
+            ProductImport productImport = findById(id);
+            if (productImport.getStatus() != ProductImportStatus.RUNNING || !isOwned(productImport)) {
+                throw new PersistenceException(PRODUCT_IMPORT_INTERRUPTED);
+            }
+            errors.forEach(error -> error.setProductImport(productImport));
+            errors.sort(Comparator.comparing(ProductImportError::getRowNumber));
+            productImportErrorRepository.saveAll(errors);
+            productImport.addChunk(rows.size(), productIds.size(), errors.size(),
+                System.currentTimeMillis() - startedAt);
+
+            if (!productIds.isEmpty()) {
+                productIndexService.refresh(List.copyOf(productIds.values()));
+                resolvedRows.values().stream()
+                    .filter(row -> productIds.containsKey(row.getProduct().getName()))
+                    .map(row -> List.of(row.getProduct().getCategory().getId(), row.getProduct().getBrand().getId()))
+                    .collect(Collectors.toSet())
+                    .forEach(group -> priceBoundsService.refresh(group.get(0), group.get(1)));
+                catalogVersionService.bump();
+            }
+            return attributeValueIds;
+        });
+        dictionaries.getAttributeValueIds().putAll(newAttributeValueIds);
+    }
+
+    private Map<String, ResolvedRow> resolveRows(List<ProductImportReader.Row> rows, Dictionaries dictionaries,
+                                                 List<ProductImportError> errors) {
+        Map<String, ResolvedRow> resolvedRows = new LinkedHashMap<>();
+        for (ProductImportReader.Row row : rows) {
+            Optional<String> error = Optional.ofNullable(row.getError())
+                .or(() -> validate(row.getValue()))
+                .or(() -> Optional.ofNullable(resolvedRows.get(row.getValue().getName()))
+                    .map(duplicate -> IMPORT_DUPLICATE_PRODUCT_NAME.formatted(row.getValue().getName(),
+                        duplicate.getNumber())));
+            if (error.isEmpty()) {
+                error = resolve(row, dictionaries, resolvedRows);
+            }
+            error.ifPresent(message -> errors.add(toError(row.getNumber(), message)));
+        }
+        return resolvedRows;
+    }
+
+    private Optional<String> resolve(ProductImportReader.Row row, Dictionaries dictionaries,
+                                     Map<String, ResolvedRow> resolvedRows) {
+        ProductImportRowDto value = row.getValue();
+        Long brandId = dictionaries.getBrandIds().get(value.getBrand().trim().toLowerCase());
+        if (Objects.isNull(brandId)) {
+            return Optional.of(IMPORT_BRAND_NOT_FOUND_BY_NAME.formatted(value.getBrand()));
+        }
+        Long categoryId = dictionaries.getCategoryIds().get(value.getCategory().trim().toLowerCase());
+        if (Objects.isNull(categoryId)) {
+            return Optional.of(IMPORT_CATEGORY_NOT_FOUND_BY_NAME.formatted(value.getCategory()));
+        }
+        Set<AttributeValueKey> attributeValues = new LinkedHashSet<>();
+        if (Objects.nonNull(value.getAttributes())) {
+            for (Map.Entry<String, List<String>> attribute : value.getAttributes().entrySet()) {
+                Long attributeId = dictionaries.getAttributeIds().get(attribute.getKey().trim().toLowerCase());
+                if (Objects.isNull(attributeId)) {
+                    return Optional.of(IMPORT_ATTRIBUTE_NOT_FOUND_BY_NAME.formatted(attribute.getKey()));
+                }
+                attribute.getValue().stream()
+                    .filter(Objects::nonNull)
+                    .filter(attributeValue -> !attributeValue.isBlank())
+                    .forEach(attributeValue ->
+                        attributeValues.add(new AttributeValueKey(attributeId, attributeValue.trim())));
+            }
+        }
+        resolvedRows.put(value.getName(), new ResolvedRow(row.getNumber(), Product.builder()
+            .name(value.getName())
+            .shortDesc(value.getShortDesc())
+            .description(value.getDescription())
+            .price(value.getPrice())
+            .quantity(value.getQuantity())
+            .brand(Brand.builder().id(brandId).build())
+            .category(Category.builder().id(categoryId).build())
+            .build(), attributeValues));
+        return Optional.empty();
+    }
+
+    private Optional<String> validate(ProductImportRowDto row) {
+        return validator.validate(row).stream()
+            .min(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(this::toMessage);
+    }
+
+    private String toMessage(ConstraintViolation<ProductImportRowDto> violation) {
+        return IMPORT_ROW_INVALID.formatted(violation.getPropertyPath(), violation.getMessage());
+    }
+
+    private Map<AttributeValueKey, Long> insertAttributeValues(Iterable<ResolvedRow> rows,
+                                                               Dictionaries dictionaries) {
+        Set<AttributeValueKey> missing = new LinkedHashSet<>();
+        rows.forEach(row -> row.getAttributeValues().stream()
+            .filter(key -> !dictionaries.getAttributeValueIds().containsKey(key))
+            .forEach(missing::add));
+        return productRepository.insertAttributeValues(missing.stream()
+                .map(key -> AttributeValue.builder()
+                    .attribute(Attribute.builder().id(key.getAttributeId()).build())
+                    .value(key.getValue())
+                    .build())
+                .toList())
+            .stream()
+            .collect(Collectors.toMap(
+                attributeValue -> new AttributeValueKey(attributeValue.getAttribute().getId(),
+                    attributeValue.getValue()),
+                AttributeValue::getId));
+    }
+
+    private Dictionaries loadDictionaries() {
+        return transactionTemplate.execute(status -> {
+            Map<String, Long> brandIds = new HashMap<>();
+            brandRepository.findAll().forEach(brand -> brandIds.put(brand.getName().toLowerCase(), brand.getId()));
+            Map<String, Long> categoryIds = new HashMap<>();
+            categoryRepository.findAll().forEach(category ->
+                categoryIds.put(category.getName().toLowerCase(), category.getId()));
+            Map<String, Long> attributeIds = new HashMap<>();
+            attributeRepository.findAll().forEach(attribute ->
+                attributeIds.put(attribute.getName().toLowerCase(), attribute.getId()));
+            Map<AttributeValueKey, Long> attributeValueIds = new ConcurrentHashMap<>();
+            attributeValueRepository.findAllWithAttribute().forEach(attributeValue -> attributeValueIds.put(
+                new AttributeValueKey(attributeValue.getAttribute().getId(), attributeValue.getValue()),
+                attributeValue.getId()));
+            return new Dictionaries(brandIds, categoryIds, attributeIds, attributeValueIds);
+        });
+    }
+
+    private int countRows(Path path, ProductFeedFormat format) throws IOException {
+        try (ProductImportReader reader = new ProductImportReader(
+            Files.newBufferedReader(path, StandardCharsets.UTF_8), format, objectMapper)) {
+            int count = 0;
+            while (Objects.nonNull(reader.next())) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private void fail(Long id, String message) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ProductImport failed = findById(id);
+                if (isOwned(failed)) {
+                    failed.setStatus(ProductImportStatus.FAILED);
+                    failed.setFailureMessage(message);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to mark product import {} as failed", id, e);
+        }
+    }
+
+    private boolean isOwned(ProductImport productImport) {
+        return instanceId.equals(productImport.getOwnerId());
+    }
+
+    private ProductImport findById(Long id) {
+        return productImportRepository.findById(id)
+            .orElseThrow(() -> new NotFoundException(PRODUCT_IMPORT_NOT_FOUND_BY_ID.formatted(id)));
+    }
+
+    private ProductImportError toError(int rowNumber, String message) {
+        return ProductImportError.builder()
+            .rowNumber(rowNumber)
+            .message(message)
+            .build();
+    }
+
+    private ProductImportDto toDto(ProductImport productImport) {
+        Integer totalRows = productImport.getTotalRows();
+        Integer processedRows = productImport.getProcessedRows();
+        Double progress = null;
+        if (Objects.nonNull(totalRows)) {
+            progress = totalRows == 0 ? 1.0 : processedRows.doubleValue() / totalRows;
+        }
+        Double rowsPerSecond = productImport.getRunningMillis() > 0
+            ? processedRows * 1000.0 / productImport.getRunningMillis()
+            : null;
+        return ProductImportDto.builder()
+            .id(productImport.getId())
+            .format(productImport.getFormat())
+            .status(productImport.getStatus())
+            .totalRows(totalRows)
+            .processedRows(processedRows)
+            .importedRows(productImport.getImportedRows())
+            .failedRows(productImport.getFailedRows())
+            .committedChunks(productImport.getCommittedChunks())
+            .progress(progress)
+            .rowsPerSecond(rowsPerSecond)
+            .failureMessage(productImport.getFailureMessage())
+            .createdAt(productImport.getCreatedAt())
+            .startedAt(productImport.getStartedAt())
+            .finishedAt(productImport.getFinishedAt())
+            .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Dictionaries {
+        private final Map<String, Long> brandIds;
+        private final Map<String, Long> categoryIds;
+        private final Map<String, Long> attributeIds;
+        private final Map<AttributeValueKey, Long> attributeValueIds;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class ResolvedRow {
+        private final int number;
+        private final Product product;
+        private final Set<AttributeValueKey> attributeValues;
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class AttributeValueKey {
+        private final Long attributeId;
+        private final String value;
+    }
+}
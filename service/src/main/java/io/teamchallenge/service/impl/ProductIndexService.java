@@ -0,0 +1,224 @@
+package io.teamchallenge.service.impl;
+
+import io.teamchallenge.datasource.PrimaryReads;
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.ProductAttributeIndexDto;
+import io.teamchallenge.dto.product.ProductFacetCountsDto;
+import io.teamchallenge.dto.product.ProductIndexDto;
+import io.teamchallenge.dto.product.ProductListingDto;
+import io.teamchallenge.index.ProductFacetIndex;
+import io.teamchallenge.repository.ProductAttributeRepository;
+import io.teamchallenge.repository.ProductRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service that maintains the in-memory {@link ProductFacetIndex} and answers filtered product listings from it.
+ * The index is built on startup, rebuilt periodically and updated incrementally after the transactions
+ * that change the indexed products commit. While the index is not built yet, or after an incremental
+ * update failed, it is considered stale and the listings have to be served from the database.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+public class ProductIndexService {
+    private final ProductRepository productRepository;
+    private final ProductAttributeRepository productAttributeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private ProductFacetIndex index = new ProductFacetIndex();
+    private volatile boolean stale = true;
+    private volatile boolean rebuilding;
+
+    /**
+     * Constructs the service. The index is read in separate read-only transactions, so that it is also
+     * refreshed correctly after the commit of a transaction that is still bound to the thread. The refreshed
+     * products are read from the primary, since a replica may not have replayed the commit yet.
+     *
+     * @param productRepository          The repository of the products.
+     * @param productAttributeRepository The repository of the product attributes.
+     * @param transactionManager         The transaction manager.
+     */
+    public ProductIndexService(ProductRepository productRepository,
+                               ProductAttributeRepository productAttributeRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productAttributeRepository = productAttributeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Finds the page of product IDs together with the total number of matching products and their minimum
+     * and maximum prices using the in-memory index.
+     *
+     * @param productFilterDto The filter of the products.
+     * @param pageable         The pagination parameters.
+     * @return The product listing, or an empty Optional if the index is stale or the filter contains a name,
+     *         which the index does not support.
+     */
+    public Optional<ProductListingDto> findProductListing(ProductFilterDto productFilterDto, Pageable pageable) {
+        if (stale || Objects.nonNull(productFilterDto.getName())) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = index.filter(productFilterDto);
+            List<Long> productIds =
+                index.getPage(matches, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+
+            return Optional.of(new ProductListingDto(
+                new PageImpl<>(productIds, pageable, matches.getLongCardinality()),
+                index.getPriceRange(matches)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products matching the filter per brand and per attribute value using the in-memory index.
+     * The selection of a facet is not applied when its own values are counted.
+     *
+     * @param productFilterDto The filter of the products.
+     * @return The facet counts, or an empty Optional if the index is stale or the filter contains a name,
+     *         which the index does not support.
+     */
+    public Optional<ProductFacetCountsDto> findFacetCounts(ProductFilterDto productFilterDto) {
+        if (stale || Objects.nonNull(productFilterDto.getName())) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.getFacetCounts(productFilterDto));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the index from the database and replaces the current index with it.
+     * The products refreshed while the index was being built are refreshed again afterwards,
+     * so that their changes are not lost.
+     */
+    public void rebuild() {
+        rebuilding = true;
+        refreshedDuringRebuild.clear();
+        try {
+            ProductFacetIndex rebuiltIndex = transactionTemplate.execute(status -> loadIndex());
+            lock.writeLock().lock();
+            try {
+                index = rebuiltIndex;
+                stale = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Rebuilt product index of {} products", rebuiltIndex.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild product index", e);
+        } finally {
+            rebuilding = false;
+        }
+
+        Set<Long> productIds = new HashSet<>(refreshedDuringRebuild);
+        refreshedDuringRebuild.clear();
+        if (!productIds.isEmpty()) {
+            refreshNow(productIds);
+        }
+    }
+
+    /**
+     * Reloads the given products into the index. If a transaction is active, the products are reloaded
+     * after it commits, so the index never contains uncommitted changes; otherwise they are reloaded immediately.
+     * Products that no longer exist are removed from the index.
+     *
+     * @param productIds The IDs of the changed products.
+     */
+    public void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(productIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshNow(ids);
+                }
+            });
+        } else {
+            refreshNow(ids);
+        }
+    }
+
+    /**
+     * Checks whether the index is stale and the listings have to be served from the database.
+     *
+     * @return true if the index is stale, false otherwise.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    private void refreshNow(Set<Long> productIds) {
+        if (rebuilding) {
+            refreshedDuringRebuild.addAll(productIds);
+        }
+        try {
+            PrimaryReads.call(() -> transactionTemplate.execute(status -> {
+                List<ProductIndexDto> products = productRepository.findIndexEntriesByIds(productIds);
+                Map<Long, List<ProductAttributeIndexDto>> productAttributes = groupByProductId(
+                    productAttributeRepository.findIndexEntriesByProductIds(productIds));
+
+                lock.writeLock().lock();
+                try {
+                    productIds.forEach(index::remove);
+                    products.forEach(product ->
+                        index.put(product, productAttributes.getOrDefault(product.getId(), List.of())));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return null;
+            }));
+        } catch (RuntimeException e) {
+            stale = true;
+            log.error("Failed to refresh products {} in product index, the index is stale until rebuilt",
+                productIds, e);
+        }
+    }
+
+    private ProductFacetIndex loadIndex() {
+        Map<Long, List<ProductAttributeIndexDto>> productAttributes =
+            groupByProductId(productAttributeRepository.findAllIndexEntries());
+        ProductFacetIndex loadedIndex = new ProductFacetIndex();
+        productRepository.findAllIndexEntries().forEach(product ->
+            loadedIndex.put(product, productAttributes.getOrDefault(product.getId(), List.of())));
+        return loadedIndex;
+    }
+
+    private Map<Long, List<ProductAttributeIndexDto>> groupByProductId(
+        List<ProductAttributeIndexDto> productAttributes) {
+        return productAttributes.stream().collect(Collectors.groupingBy(ProductAttributeIndexDto::getProductId));
+    }
+}
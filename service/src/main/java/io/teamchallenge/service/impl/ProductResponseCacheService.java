@@ -0,0 +1,96 @@
+package io.teamchallenge.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.pageable.AdvancedPageableDto;
+import io.teamchallenge.dto.product.ProductResponseDto;
+import io.teamchallenge.dto.product.ShortProductResponseDto;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service that caches the catalog responses of {@link ProductService}. The cache is bounded by size and
+ * the time since an entry was written. The keys of the product pages contain the version of the catalog from
+ * {@link CatalogVersionService}, so a write to the catalog makes all cached pages unreachable
+ * and they are evicted over time. The details of single products are cached by
+ * {@link ProductDetailCacheService}, which invalidates only the changed products.
+ * A cache hit neither queries the database nor opens a transaction.
+ *
+ * @author Niktia Malov
+ */
+@Service
+public class ProductResponseCacheService {
+    private final ProductService productService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final Cache<List<Object>, AdvancedPageableDto<ShortProductResponseDto>> productPagesCache;
+
+    /**
+     * Constructs the service.
+     *
+     * @param productService        The service the missing responses are loaded from.
+     * @param catalogVersionService     The service that keeps the version of the catalog.
+     * @param productDetailCacheService The cache of the details of single products.
+     * @param maximumSize               The maximum number of cached product pages.
+     * @param ttlSeconds                The number of seconds a cached product page is used for.
+     */
+    public ProductResponseCacheService(ProductService productService, CatalogVersionService catalogVersionService,
+                                       ProductDetailCacheService productDetailCacheService,
+                                       @Value("${product.response-cache.maximum-size}") Long maximumSize,
+                                       @Value("${product.response-cache.ttl-seconds}") Long ttlSeconds) {
+        this.productService = productService;
+        this.catalogVersionService = catalogVersionService;
+        this.productDetailCacheService = productDetailCacheService;
+        this.productPagesCache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    /**
+     * Retrieves the page of products for the filter and pagination from the cache,
+     * loading it with {@link ProductService#getAll(Pageable, ProductFilterDto)} if it is missing.
+     * Filters that select the same products share the cached response.
+     *
+     * @param pageable         Pageable object containing pagination and sorting information.
+     * @param productFilterDto DTO containing optional product filter criteria.
+     * @return AdvancedPageableDto of ShortProductResponseDto containing the page of products.
+     */
+    public AdvancedPageableDto<ShortProductResponseDto> getAll(Pageable pageable, ProductFilterDto productFilterDto) {
+        List<Object> key = List.of(catalogVersionService.getVersion(), normalize(productFilterDto), pageable);
+        return productPagesCache.get(key, k -> productService.getAll(pageable, productFilterDto));
+    }
+
+    /**
+     * Retrieves the product from the detail cache, loading it with {@link ProductService#getById(Long)}
+     * if it is missing.
+     *
+     * @param id The identifier of the product to retrieve.
+     * @return The ProductResponseDto object representing the retrieved product.
+     */
+    public ProductResponseDto getById(Long id) {
+        return productDetailCacheService.get(id, productService::getById);
+    }
+
+    private ProductFilterDto normalize(ProductFilterDto productFilterDto) {
+        return ProductFilterDto.builder()
+            .name(Objects.isNull(productFilterDto.getName())
+                ? null
+                : productFilterDto.getName().toLowerCase(Locale.ROOT))
+            .price(productFilterDto.getPrice())
+            .brandIds(sortedDistinct(productFilterDto.getBrandIds()))
+            .categoryId(productFilterDto.getCategoryId())
+            .attributeValueIds(sortedDistinct(productFilterDto.getAttributeValueIds()))
+            .build();
+    }
+
+    private List<Long> sortedDistinct(List<Long> ids) {
+        return Objects.isNull(ids) ? null : ids.stream().distinct().sorted().toList();
+    }
+}
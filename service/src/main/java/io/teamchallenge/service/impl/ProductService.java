@@ -1,12 +1,21 @@
 package io.teamchallenge.service.impl;
 
 import io.teamchallenge.constant.ExceptionMessage;
+import io.teamchallenge.dto.ImageDto;
 import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.pageable.AdvancedCursorPageableDto;
 import io.teamchallenge.dto.pageable.AdvancedPageableDto;
+import io.teamchallenge.dto.product.ProductAttributeComparisonDto;
+import io.teamchallenge.dto.product.ProductComparisonCellDto;
+import io.teamchallenge.dto.product.ProductComparisonDto;
+import io.teamchallenge.dto.product.ProductFacetCountsDto;
+import io.teamchallenge.dto.product.ProductListingDto;
 import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.dto.product.ProductPriceBoundsDto;
 import io.teamchallenge.dto.product.ProductRequestDto;
 import io.teamchallenge.dto.product.ProductResponseDto;
 import io.teamchallenge.dto.product.ShortProductResponseDto;
+import io.teamchallenge.dto.review.ReviewResponseDto;
 import io.teamchallenge.entity.Brand;
 import io.teamchallenge.entity.Category;
 import io.teamchallenge.entity.Image;
@@ -14,37 +23,59 @@ import io.teamchallenge.entity.Product;
 import io.teamchallenge.entity.attributes.AttributeValue;
 import io.teamchallenge.entity.attributes.ProductAttribute;
 import io.teamchallenge.exception.AlreadyExistsException;
+import io.teamchallenge.exception.ConflictException;
 import io.teamchallenge.exception.NotFoundException;
 import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.exception.PreconditionFailedException;
 import io.teamchallenge.repository.AttributeRepository;
 import io.teamchallenge.repository.AttributeValueRepository;
 import io.teamchallenge.repository.BrandRepository;
 import io.teamchallenge.repository.CategoryRepository;
+import io.teamchallenge.repository.ImageRepository;
 import io.teamchallenge.repository.ProductAttributeRepository;
 import io.teamchallenge.repository.ProductRepository;
-import io.teamchallenge.service.ImageCloudService;
+import io.teamchallenge.repository.ReviewRepository;
+import io.teamchallenge.util.CursorUtils;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import static io.teamchallenge.constant.ExceptionMessage.BRAND_NOT_FOUND_BY_ID;
 import static io.teamchallenge.constant.ExceptionMessage.CATEGORY_NOT_FOUND_BY_ID;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_IMAGES_CHANGED_CONCURRENTLY;
 import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_PERSISTENCE_EXCEPTION;
+import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_VERSION_MISMATCH;
 import static io.teamchallenge.constant.ExceptionMessage.PRODUCT_WITH_NAME_ALREADY_EXISTS;
 import static io.teamchallenge.repository.ProductRepository.Specs.byAttributeValuesIds;
 import static io.teamchallenge.repository.ProductRepository.Specs.byBrandIds;
@@ -68,77 +99,203 @@ public class ProductService {
     private final ProductAttributeRepository productAttributeRepository;
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
-    private final ImageCloudService imageCloudService;
+    private final ImageRepository imageRepository;
+    private final ImageUploadService imageUploadService;
+    private final ImageDeletionService imageDeletionService;
+    private final ProductIndexService productIndexService;
+    private final CatalogVersionService catalogVersionService;
+    private final TotalCountService totalCountService;
+    private final PriceBoundsService priceBoundsService;
+    private final ParallelQueryService parallelQueryService;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${cloudinary.product_images_folder_name}")
     private String productImagesFolderName;
 
+    @Value("${product.recent-reviews-limit}")
+    private Integer recentReviewsLimit;
+
     /**
      * Retrieves a paginated list of short product response DTOs based on the provided filter
      * criteria and pagination details.
+     * The listing is answered from the in-memory product index when it is up to date and the filter
+     * does not contain a name, otherwise it is queried from the database.
+     * The numbers of matching products per brand and per attribute value are added from the index as well,
+     * they are omitted when the index cannot answer the filter. The price histogram is added from the
+     * {@link PriceBoundsService} rollup, it is omitted when the rollup cannot answer the filter.
      *
      * @param pageable         Pageable object containing pagination and sorting information.
      * @param productFilterDto DTO containing optional product filter criteria.
      *                         - The filter criteria may include name, price range, brand IDs, category ID,
      *                         and attribute value IDs.
      * @return AdvancedPageableDto of ShortProductResponseDto containing the paginated list of products, total elements,
-     *         current page, total pages, and the minimum and maximum price range of the products.
+     *         current page, total pages, the minimum and maximum price range of the products, the facet counts
+     *         and the price histogram.
+     *         The total elements and the price range of large listings served from the database are estimated
+     *         by {@link TotalCountService}, which is indicated by the totalElementsExact flag.
+     *         When the parallel execution of {@link ParallelQueryService} is enabled, the page, the total
+     *         and the price range of the listings counted exactly are queried concurrently instead of
+     *         in one statement; the price range is taken from the rollup when it can answer the filter.
      */
     public AdvancedPageableDto<ShortProductResponseDto> getAll(Pageable pageable, ProductFilterDto productFilterDto) {
-        Specification<Product> specification = null;
-        Page<Long> retrievedProducts;
-        if (areAllVariablesNull(productFilterDto)) {
-            retrievedProducts =
-                productRepository.findAllProductIds(null, pageable);
-        } else {
-            specification = getSpecificationFromFilterDto(productFilterDto);
-            retrievedProducts =
-                productRepository.findAllProductIds(specification, pageable);
-        }
+        Specification<Product> specification = areAllVariablesNull(productFilterDto)
+            ? null
+            : getSpecificationFromFilterDto(productFilterDto);
+        Optional<ProductPriceBoundsDto> priceBounds = priceBoundsService.findPriceBounds(productFilterDto);
+        Optional<ProductListingDto> indexedListing = productIndexService.findProductListing(productFilterDto, pageable);
+        Optional<ProductListingDto> estimatedListing = indexedListing.isPresent()
+            ? Optional.empty()
+            : findEstimatedListing(specification, productFilterDto, pageable);
+        ProductListingDto listing = indexedListing.or(() -> estimatedListing)
+            .orElseGet(() -> findExactListing(specification, productFilterDto, pageable,
+                getKnownPriceRange(productFilterDto, priceBounds)));
+        Page<Long> retrievedProducts = listing.getProductIds();
 
-        Map<Long, ShortProductResponseDto> productMap = productRepository
-            .findByIdsWithCollections(retrievedProducts.getContent())
-            .stream()
-            .map(product -> modelMapper.map(product, ShortProductResponseDto.class))
-            .collect(Collectors.toMap(ShortProductResponseDto::getId, product -> product));
-        List<ShortProductResponseDto> content = retrievedProducts.getContent().stream()
-            .map(productMap::get)
-            .collect(Collectors.toList());
-
-        ProductMinMaxPriceDto productMinMaxPriceDto;
-        if (Objects.isNull(productFilterDto.getPrice())) {
-            productMinMaxPriceDto = productRepository.findProductMinMaxPrice(specification);
-        } else {
-            productMinMaxPriceDto = new ProductMinMaxPriceDto(BigDecimal.valueOf(productFilterDto.getPrice().getFrom()),
-                BigDecimal.valueOf(productFilterDto.getPrice().getTo()));
-        }
+        List<ShortProductResponseDto> content = getShortProductsByIds(retrievedProducts.getContent());
+        ProductMinMaxPriceDto productMinMaxPriceDto = Objects.isNull(productFilterDto.getPrice())
+            ? listing.getPriceRange()
+            : getFilterPriceRange(productFilterDto);
+        Optional<ProductFacetCountsDto> facetCounts = productIndexService.findFacetCounts(productFilterDto);
 
         return AdvancedPageableDto.<ShortProductResponseDto>builder()
             .page(content)
-            .totalElements(retrievedProducts.getNumberOfElements())
+            .totalElements(retrievedProducts.getTotalElements())
             .currentPage(retrievedProducts.getPageable().getPageNumber())
             .totalPages(retrievedProducts.getTotalPages())
+            .totalElementsExact(estimatedListing.isEmpty())
+            .minPrice(productMinMaxPriceDto.getMin())
+            .maxPrice(productMinMaxPriceDto.getMax())
+            .brandCounts(facetCounts.map(ProductFacetCountsDto::getBrandCounts).orElse(null))
+            .attributeValueCounts(facetCounts.map(ProductFacetCountsDto::getAttributeValueCounts).orElse(null))
+            .priceHistogram(priceBounds.map(ProductPriceBoundsDto::getHistogram).orElse(null))
+            .build();
+    }
+
+    /**
+     * Retrieves the window of short product response DTOs that follows the given cursor, based on the provided
+     * filter criteria and sort. Unlike {@link #getAll(Pageable, ProductFilterDto)} the products before the cursor
+     * are not skipped with an offset, so every window costs the same regardless of how deep it is.
+     * The price range of listings filtered only by category and brands is taken from the
+     * {@link PriceBoundsService} rollup instead of being aggregated from the matching products;
+     * otherwise the window and the price range are queried concurrently by {@link ParallelQueryService}.
+     *
+     * @param cursor           The cursor returned with the previous window, blank for the first window.
+     * @param pageable         Pageable object containing the page size and sorting information.
+     * @param productFilterDto DTO containing optional product filter criteria.
+     * @return AdvancedCursorPageableDto of ShortProductResponseDto containing the window of products,
+     *         the cursor of the next window, the minimum and maximum price range of the products
+     *         and the price histogram.
+     */
+    public AdvancedCursorPageableDto<ShortProductResponseDto> getAll(String cursor, Pageable pageable,
+                                                                     ProductFilterDto productFilterDto) {
+        KeysetScrollPosition position = CursorUtils.decode(cursor, pageable.getSort());
+        Specification<Product> specification = areAllVariablesNull(productFilterDto)
+            ? null
+            : getSpecificationFromFilterDto(productFilterDto);
+        Optional<ProductPriceBoundsDto> priceBounds = priceBoundsService.findPriceBounds(productFilterDto);
+        ProductMinMaxPriceDto knownPriceRange = getKnownPriceRange(productFilterDto, priceBounds);
+        Window<Long> retrievedProducts;
+        ProductMinMaxPriceDto productMinMaxPriceDto;
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Window<Long>> window =
+                scope.fork(() -> productRepository.scrollAllProductIds(specification, position, pageable));
+            Supplier<ProductMinMaxPriceDto> priceRange = Objects.isNull(knownPriceRange)
+                ? scope.fork(() -> productRepository.findProductMinMaxPrice(specification))
+                : () -> knownPriceRange;
+            scope.join();
+            retrievedProducts = window.get();
+            productMinMaxPriceDto = priceRange.get();
+        }
+
+        List<ShortProductResponseDto> content = getShortProductsByIds(retrievedProducts.getContent());
+
+        return AdvancedCursorPageableDto.<ShortProductResponseDto>builder()
+            .page(content)
+            .nextCursor(CursorUtils.nextCursor(retrievedProducts, pageable.getSort()))
             .minPrice(productMinMaxPriceDto.getMin())
             .maxPrice(productMinMaxPriceDto.getMax())
+            .priceHistogram(priceBounds.map(ProductPriceBoundsDto::getHistogram).orElse(null))
             .build();
     }
 
     /**
      * Retrieves a product by its unique identifier.
+     * The product carries the distribution of its review rates, which is kept in the product itself,
+     * and a preview of its most recent reviews; the full list of reviews is paginated by {@link ReviewService}.
      *
      * @param id The identifier of the product to retrieve.
      * @return The ProductResponseDto object representing the retrieved product.
      * @throws NotFoundException if the product with the given ID is not found.
      */
     public ProductResponseDto getById(Long id) {
-        return productRepository
+        ProductResponseDto productResponseDto = productRepository
             .findByIdWithCollections(id)
             .stream()
             .map(product -> modelMapper.map(product, ProductResponseDto.class))
             .findAny()
             .orElseThrow(() -> new NotFoundException(ExceptionMessage.PRODUCT_NOT_FOUND_BY_ID.formatted(id)));
+        List<ReviewResponseDto> recentReviews = reviewRepository
+            .findRecentByProductId(id, Limit.of(recentReviewsLimit))
+            .stream()
+            .map(review -> modelMapper.map(review, ReviewResponseDto.class))
+            .toList();
+
+        return productResponseDto.toBuilder()
+            .recentReviews(recentReviews)
+            .build();
     }
 
+    /**
+     * Retrieves the products with the given identifiers. The products are hydrated by the same number of
+     * queries regardless of how many are requested, and are returned in the order of the identifiers;
+     * a repeated identifier is returned once and the identifiers of missing products are skipped.
+     * Unlike {@link #getById(Long)}, the products carry no preview of their recent reviews.
+     *
+     * @param ids The identifiers of the products to retrieve.
+     * @return The list of ProductResponseDto objects representing the found products.
+     */
+    public List<ProductResponseDto> getByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = productRepository.findByIdsWithCollections(distinctIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return distinctIds.stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
+            .map(product -> modelMapper.map(product, ProductResponseDto.class))
+            .toList();
+    }
+
+    /**
+     * Compares the products with the given identifiers. Besides the products, retrieved as by
+     * {@link #getByIds(List)}, the comparison contains their attributes pivoted into a matrix with a row per
+     * attribute, ordered by its name, and a value per product in the order of the products. The value of a product
+     * that has no value of the attribute is null, and several values of one attribute are joined into one.
+     *
+     * @param ids The identifiers of the products to compare.
+     * @return The ProductComparisonDto object representing the products and their attribute matrix.
+     */
+    public ProductComparisonDto compare(List<Long> ids) {
+        List<ProductResponseDto> products = getByIds(ids);
+        List<Long> productIds = products.stream().map(ProductResponseDto::getId).toList();
+        Map<Long, ProductAttributeComparisonDto> attributes = new LinkedHashMap<>();
+        if (!productIds.isEmpty()) {
+            for (ProductComparisonCellDto cell : productRepository.findComparisonCells(productIds)) {
+                attributes.computeIfAbsent(cell.getAttributeId(), attributeId -> new ProductAttributeComparisonDto(
+                        cell.getAttribute(), new ArrayList<>(Collections.nCopies(productIds.size(), null))))
+                    .getValues()
+                    .set(productIds.indexOf(cell.getProductId()), cell.getValue());
+            }
+        }
+        return ProductComparisonDto.builder()
+            .products(products)
+            .attributes(new ArrayList<>(attributes.values()))
+            .build();
+    }
 
     /**
      * Deletes a product by its unique identifier.
@@ -152,19 +309,39 @@ public class ProductService {
             .findById(id)
             .orElseThrow(() -> new NotFoundException(ExceptionMessage.PRODUCT_NOT_FOUND_BY_ID.formatted(id)));
         productRepository.deleteById(retrievedProduct.getId());
+        productDetailCacheService.invalidate(List.of(id));
+        productIndexService.refresh(List.of(id));
+        priceBoundsService.refresh(retrievedProduct.getCategory().getId(), retrievedProduct.getBrand().getId());
+        catalogVersionService.bump();
     }
 
 
     /**
      * Creates a new product.
+     * The images are uploaded together with their renditions concurrently before the transaction is opened,
+     * and discarded if it does not commit.
      *
      * @param productRequestDto the DTO containing the details of the product to create
      * @param multipartFiles    the list of multipart files to be associated with the product
      * @return a {@link ProductResponseDto} containing the details of the created product
      * @throws PersistenceException if there is a data integrity violation during the save operation
+     *                              or the images cannot be uploaded
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductResponseDto create(ProductRequestDto productRequestDto, List<MultipartFile> multipartFiles) {
+        List<ImageDto> images = imageUploadService.uploadAll(multipartFiles, productImagesFolderName);
+        try {
+            return transactionTemplate.execute(status -> createProduct(productRequestDto, images));
+        } catch (DataIntegrityViolationException e) {
+            imageUploadService.discard(images, productImagesFolderName);
+            throw new PersistenceException(PRODUCT_PERSISTENCE_EXCEPTION, e);
+        } catch (RuntimeException e) {
+            imageUploadService.discard(images, productImagesFolderName);
+            throw e;
+        }
+    }
+
+    private ProductResponseDto createProduct(ProductRequestDto productRequestDto, List<ImageDto> images) {
         var brand = getBrandById(productRequestDto);
         var category = getCategoryById(productRequestDto);
         validateProductName(productRequestDto);
@@ -183,35 +360,67 @@ public class ProductService {
         insertExistingAttributes(productRequestDto, product);
         insertNewAttributes(productRequestDto, product);
 
-        try {
-            var savedProduct = productRepository.save(product);
-            addNewImages(multipartFiles, product);
-            productAttributeRepository.findAllByIdIn(productRequestDto.getAttributeValueIds());
+        var savedProduct = productRepository.save(product);
+        addNewImages(images, product);
+        productAttributeRepository.findAllByIdIn(productRequestDto.getAttributeValueIds());
+        productIndexService.refresh(List.of(savedProduct.getId()));
+        priceBoundsService.refresh(category.getId(), brand.getId());
+        catalogVersionService.bump();
 
-            return modelMapper.map(savedProduct, ProductResponseDto.class);
-        } catch (DataIntegrityViolationException e) {
-            throw new PersistenceException(PRODUCT_PERSISTENCE_EXCEPTION, e);
-        }
+        return modelMapper.map(savedProduct, ProductResponseDto.class);
     }
 
     /**
      * Updates an existing product.
+     * The images are compared with the stored ones by the SHA-256 hash of their content: the unchanged images
+     * are kept and only reordered, the new images are uploaded together with their renditions concurrently
+     * before the transaction is opened, and discarded if it does not commit. The removed images and their
+     * renditions are enqueued to the {@link ImageDeletionService} in the same transaction.
      *
      * @param id                the ID of the product to update
      * @param productRequestDto the DTO containing the updated details of the product
-     * @param multipartFiles    the list of multipart files to be associated with the product
-     * @return a {@link ProductResponseDto} containing the details of the updated product
-     * @throws NotFoundException    if the product with the given ID is not found
-     * @throws PersistenceException if there is a data integrity violation during the update operation
+     * @param multipartFiles    the list of multipart files to replace the images of the product,
+     *                          or null or empty to keep them
+     * @param expectedVersion   the version of the product the update is based on, or null to update any version
+     * @return a {@link ProductResponseDto} containing the details of the updated product with its new version
+     * @throws NotFoundException           if the product with the given ID is not found
+     * @throws PreconditionFailedException if the product was modified since the expected version
+     * @throws ConflictException           if an unchanged image was removed by another update in the meantime
+     * @throws PersistenceException        if there is a data integrity violation during the update operation
+     *                                     or the images cannot be uploaded
      */
-    @Transactional
-    public ProductResponseDto update(Long id, ProductRequestDto productRequestDto, List<MultipartFile> multipartFiles) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductResponseDto update(Long id, ProductRequestDto productRequestDto, List<MultipartFile> multipartFiles,
+                                     Long expectedVersion) {
+        Set<String> storedHashes = Objects.isNull(multipartFiles) || multipartFiles.isEmpty()
+            ? Set.of()
+            : imageRepository.findContentHashesByProductId(id);
+        List<ImageDto> images = imageUploadService.uploadAll(multipartFiles, storedHashes, productImagesFolderName);
+        try {
+            return transactionTemplate.execute(status ->
+                updateProduct(id, productRequestDto, images, expectedVersion));
+        } catch (DataIntegrityViolationException e) {
+            imageUploadService.discard(images, productImagesFolderName);
+            throw new PersistenceException(PRODUCT_PERSISTENCE_EXCEPTION, e);
+        } catch (RuntimeException e) {
+            imageUploadService.discard(images, productImagesFolderName);
+            throw e;
+        }
+    }
+
+    private ProductResponseDto updateProduct(Long id, ProductRequestDto productRequestDto, List<ImageDto> images,
+                                             Long expectedVersion) {
         var product = productRepository
             .findByIdWithCollections(id)
             .orElseThrow(() -> new NotFoundException(ExceptionMessage.PRODUCT_NOT_FOUND_BY_ID.formatted(id)));
+        if (Objects.nonNull(expectedVersion) && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException(PRODUCT_VERSION_MISMATCH.formatted(id, product.getVersion()));
+        }
         var brand = getBrandById(productRequestDto);
         var category = getCategoryById(productRequestDto);
         validateProductNameWhereIdNotEquals(productRequestDto, id);
+        final Long oldCategoryId = product.getCategory().getId();
+        final Long oldBrandId = product.getBrand().getId();
 
         product.setBrand(brand);
         product.setCategory(category);
@@ -220,34 +429,93 @@ public class ProductService {
         product.setQuantity(productRequestDto.getQuantity());
         product.setShortDesc(productRequestDto.getShortDesc());
         product.setPrice(productRequestDto.getPrice());
+        product.setUpdatedAt(LocalDateTime.now());
         insertNewAttributes(productRequestDto, product);
 
         List<Long> idsToFetch = updateProductAttributes(productRequestDto, product);
-        try {
-            attributeValueRepository.findAllByIdIn(idsToFetch);
-            productRepository.saveAndFlush(product);
-            if (Objects.nonNull(multipartFiles) && !multipartFiles.isEmpty()) {
-                List<String> imagesUrls = product.getImages().stream().map(Image::getLink).toList();
-                imageCloudService.deleteImages(imagesUrls, productImagesFolderName);
-                product.clearAllImages();
-                addNewImages(multipartFiles, product);
-            }
+        attributeValueRepository.findAllByIdIn(idsToFetch);
+        productRepository.saveAndFlush(product);
+        if (!images.isEmpty()) {
+            updateImages(images, product);
+        }
+        productDetailCacheService.invalidate(List.of(id));
+        productIndexService.refresh(List.of(id));
+        refreshPriceBounds(oldCategoryId, oldBrandId, category.getId(), brand.getId());
+        catalogVersionService.bump();
+        productRepository.flush();
 
-            return modelMapper.map(product, ProductResponseDto.class);
-        } catch (DataIntegrityViolationException e) {
-            throw new PersistenceException(PRODUCT_PERSISTENCE_EXCEPTION, e);
+        return modelMapper.map(product, ProductResponseDto.class);
+    }
+
+    /**
+     * Recomputes the popularity counters of all products from the order items of not canceled orders.
+     * Used to repair counters that drifted from the {@code order_items} table.
+     *
+     * @return the number of updated products
+     */
+    @Transactional
+    public int rebuildPopularity() {
+        return productRepository.rebuildOrderCounts();
+    }
+
+    private void refreshPriceBounds(Long oldCategoryId, Long oldBrandId, Long categoryId, Long brandId) {
+        priceBoundsService.refresh(categoryId, brandId);
+        if (!oldCategoryId.equals(categoryId) || !oldBrandId.equals(brandId)) {
+            priceBoundsService.refresh(oldCategoryId, oldBrandId);
         }
     }
 
-    private void addNewImages(List<MultipartFile> multipartFiles, Product product) {
-        for (short i = 0; i < multipartFiles.size(); i++) {
+    private void addNewImages(List<ImageDto> images, Product product) {
+        for (short i = 0; i < images.size(); i++) {
             short j = (short) (i + 1);
-            product
-                .addImage(Image.builder().link(imageCloudService
-                        .uploadImage(multipartFiles.get(i), productImagesFolderName))
-                    .order(j)
-                    .build());
+            product.addImage(toImage(images.get(i), j));
+        }
+    }
+
+    private void updateImages(List<ImageDto> images, Product product) {
+        Map<String, Image> storedImages = product.getImages().stream()
+            .filter(image -> Objects.nonNull(image.getContentHash()))
+            .collect(Collectors.toMap(Image::getContentHash, Function.identity(), (first, second) -> first));
+        List<Image> keptImages = new ArrayList<>();
+        List<Image> newImages = new ArrayList<>();
+        for (short i = 0; i < images.size(); i++) {
+            short order = (short) (i + 1);
+            ImageDto image = images.get(i);
+            if (Objects.nonNull(image.getLink())) {
+                newImages.add(toImage(image, order));
+                continue;
+            }
+            Image storedImage = storedImages.get(image.getContentHash());
+            if (Objects.isNull(storedImage)) {
+                throw new ConflictException(PRODUCT_IMAGES_CHANGED_CONCURRENTLY.formatted(product.getId()));
+            }
+            storedImage.setOrder(order);
+            keptImages.add(storedImage);
         }
+        List<Image> removedImages = product.getImages().stream()
+            .filter(image -> !keptImages.contains(image))
+            .toList();
+        List<String> removedImageUrls = removedImages.stream()
+            .flatMap(image -> Stream.of(image.getLink(), image.getThumbnailLink(), image.getMediumLink()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        if (!removedImageUrls.isEmpty()) {
+            imageDeletionService.enqueue(removedImageUrls, productImagesFolderName);
+        }
+        removedImages.forEach(product::removeImage);
+        newImages.forEach(product::addImage);
+        product.getImages().sort(Comparator.comparing(Image::getOrder));
+    }
+
+    private Image toImage(ImageDto image, short order) {
+        return Image.builder()
+            .link(image.getLink())
+            .thumbnailLink(image.getThumbnailLink())
+            .mediumLink(image.getMediumLink())
+            .contentHash(image.getContentHash())
+            .order(order)
+            .build();
     }
 
 
@@ -302,6 +570,62 @@ public class ProductService {
             () -> new NotFoundException(CATEGORY_NOT_FOUND_BY_ID.formatted(productRequestDto.getCategoryId())));
     }
 
+    private List<ShortProductResponseDto> getShortProductsByIds(List<Long> productIds) {
+        return productRepository.findShortProductsByIds(productIds);
+    }
+
+    private Optional<ProductListingDto> findEstimatedListing(Specification<Product> specification,
+                                                             ProductFilterDto productFilterDto, Pageable pageable) {
+        Supplier<ProductListingDto> counter = () ->
+            productRepository.findProductListing(specification, productFilterDto.getName(), PageRequest.of(0, 1));
+        return totalCountService.findEstimate(productFilterDto, pageable, counter, ProductService::getTotalElements)
+            .map(totals -> new ProductListingDto(
+                new PageImpl<>(productRepository.findProductIds(specification, productFilterDto.getName(), pageable),
+                    pageable, getTotalElements(totals)),
+                totals.getPriceRange()));
+    }
+
+    private ProductListingDto findExactListing(Specification<Product> specification,
+                                               ProductFilterDto productFilterDto, Pageable pageable,
+                                               ProductMinMaxPriceDto knownPriceRange) {
+        ProductListingDto listing = parallelQueryService.isEnabled()
+            ? findListingInParallel(specification, productFilterDto, pageable, knownPriceRange)
+            : productRepository.findProductListing(specification, productFilterDto.getName(), pageable);
+        totalCountService.put(productFilterDto, listing, getTotalElements(listing));
+        return listing;
+    }
+
+    private ProductListingDto findListingInParallel(Specification<Product> specification,
+                                                    ProductFilterDto productFilterDto, Pageable pageable,
+                                                    ProductMinMaxPriceDto knownPriceRange) {
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<List<Long>> productIds = scope.fork(() ->
+                productRepository.findProductIds(specification, productFilterDto.getName(), pageable));
+            Supplier<Long> total = scope.fork(() -> productRepository.countProducts(specification));
+            Supplier<ProductMinMaxPriceDto> priceRange = Objects.isNull(knownPriceRange)
+                ? scope.fork(() -> productRepository.findProductMinMaxPrice(specification))
+                : () -> knownPriceRange;
+            scope.join();
+            return new ProductListingDto(new PageImpl<>(productIds.get(), pageable, total.get()), priceRange.get());
+        }
+    }
+
+    private static long getTotalElements(ProductListingDto listing) {
+        return listing.getProductIds().getTotalElements();
+    }
+
+    private ProductMinMaxPriceDto getKnownPriceRange(ProductFilterDto productFilterDto,
+                                                     Optional<ProductPriceBoundsDto> priceBounds) {
+        return Objects.isNull(productFilterDto.getPrice())
+            ? priceBounds.map(ProductPriceBoundsDto::getPriceRange).orElse(null)
+            : getFilterPriceRange(productFilterDto);
+    }
+
+    private ProductMinMaxPriceDto getFilterPriceRange(ProductFilterDto productFilterDto) {
+        return new ProductMinMaxPriceDto(BigDecimal.valueOf(productFilterDto.getPrice().getFrom()),
+            BigDecimal.valueOf(productFilterDto.getPrice().getTo()));
+    }
+
     private Specification<Product> getSpecificationFromFilterDto(ProductFilterDto productFilterDto) {
         List<Specification<Product>> specifications = new ArrayList<>();
         var name = productFilterDto.getName();
@@ -323,11 +647,21 @@ public class ProductService {
         }
         var attributeValueIds = productFilterDto.getAttributeValueIds();
         if (!Objects.isNull(attributeValueIds)) {
-            specifications.add(byAttributeValuesIds(attributeValueIds));
+            groupByAttribute(attributeValueIds).forEach(ids -> specifications.add(byAttributeValuesIds(ids)));
         }
         return Specification.allOf(specifications);
     }
 
+    private Collection<List<Long>> groupByAttribute(List<Long> attributeValueIds) {
+        Map<Long, Long> attributeIds = attributeValueRepository.findAllByIdIn(attributeValueIds).stream()
+            .collect(Collectors.toMap(AttributeValue::getId, attributeValue -> attributeValue.getAttribute().getId()));
+        Map<Long, List<Long>> groupedAttributeValueIds = new LinkedHashMap<>();
+        attributeValueIds.forEach(attributeValueId -> groupedAttributeValueIds
+            .computeIfAbsent(attributeIds.get(attributeValueId), k -> new ArrayList<>())
+            .add(attributeValueId));
+        return groupedAttributeValueIds.values();
+    }
+
     private boolean areAllVariablesNull(@NotNull ProductFilterDto filterDto) {
         return Stream.of(filterDto.getAttributeValueIds(),
                 filterDto.getBrandIds(),
@@ -1,6 +1,7 @@
 package io.teamchallenge.service.impl;
 
 import io.teamchallenge.constant.ExceptionMessage;
+import io.teamchallenge.dto.pageable.CursorPageableDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.dto.review.AddReviewRequestDto;
 import io.teamchallenge.dto.review.ReviewResponseDto;
@@ -15,10 +16,13 @@ import io.teamchallenge.repository.OrderRepository;
 import io.teamchallenge.repository.ProductRepository;
 import io.teamchallenge.repository.ReviewRepository;
 import io.teamchallenge.repository.UserRepository;
+import io.teamchallenge.util.CursorUtils;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +37,9 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ModelMapper modelMapper;
+    private final ProductIndexService productIndexService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductDetailCacheService productDetailCacheService;
 
     /**
      * Retrieves a paginated list of reviews for a specific product by its ID.
@@ -50,11 +57,32 @@ public class ReviewService {
                 .toList(),
             page.getTotalElements(),
             page.getPageable().getPageNumber(),
-            page.getTotalPages());
+            page.getTotalPages(),
+            true);
     }
 
     /**
-     * Creates a new review for a product.
+     * Retrieves the window of reviews for a specific product by its ID that follows the given cursor.
+     *
+     * @param productId the ID of the product whose reviews are to be retrieved.
+     * @param cursor    the cursor returned with the previous window, blank for the first window.
+     * @param pageable  the page size and sorting information.
+     * @return a {@link CursorPageableDto} containing a list of {@link ReviewResponseDto} objects
+     *         and the cursor of the next window.
+     */
+    public CursorPageableDto<ReviewResponseDto> getAllByProductId(Long productId, String cursor, Pageable pageable) {
+        Window<Review> window = reviewRepository.scrollAllByProductId(productId,
+            CursorUtils.decode(cursor, pageable.getSort()), pageable);
+
+        return new CursorPageableDto<>(
+            window.getContent().stream()
+                .map(review -> modelMapper.map(review, ReviewResponseDto.class))
+                .toList(),
+            CursorUtils.nextCursor(window, pageable.getSort()));
+    }
+
+    /**
+     * Creates a new review for a product and adds its rate to the product rating.
      *
      * @param reviewId            the composite ID of the review, which includes user ID and product ID.
      * @param addReviewRequestDto the data transfer object containing the details of the review to be added.
@@ -80,21 +108,31 @@ public class ReviewService {
             .user(userReference)
             .product(productReference)
             .build();
-        return modelMapper.map(reviewRepository.save(review), ReviewResponseDto.class);
+        Review savedReview = reviewRepository.save(review);
+        productRepository.addRating(reviewId.getProductId(), addReviewRequestDto.getRate());
+        refreshProduct(reviewId.getProductId());
+        return modelMapper.map(savedReview, ReviewResponseDto.class);
     }
 
     /**
-     * Deletes a review by its composite ID.
+     * Deletes a review by its composite ID and removes its rate from the product rating.
      *
      * @param reviewId the composite ID of the review to be deleted, which includes user ID and product ID.
      * @throws NotFoundException if the review does not exist.
      */
     @Transactional
     public void deleteByReviewId(ReviewId reviewId) {
-        if (!reviewRepository.existsById(reviewId)) {
-            throw new NotFoundException(
-                ExceptionMessage.REVIEW_NOT_FOUND_BY_ID.formatted(reviewId.getUserId(), reviewId.getProductId()));
-        }
-        reviewRepository.deleteById(reviewId);
+        Review review = reviewRepository.findById(reviewId)
+            .orElseThrow(() -> new NotFoundException(
+                ExceptionMessage.REVIEW_NOT_FOUND_BY_ID.formatted(reviewId.getUserId(), reviewId.getProductId())));
+        reviewRepository.delete(review);
+        productRepository.removeRating(reviewId.getProductId(), review.getRate());
+        refreshProduct(reviewId.getProductId());
+    }
+
+    private void refreshProduct(Long productId) {
+        productDetailCacheService.invalidate(List.of(productId));
+        productIndexService.refresh(List.of(productId));
+        catalogVersionService.bump();
     }
 }
@@ -0,0 +1,121 @@
+package io.teamchallenge.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service that decides whether the totals of a paged listing, such as the total number of elements,
+ * have to be counted exactly or can be estimated. Small totals are always counted exactly. Once the last
+ * counted total of a listing reaches the threshold, or when a page after the first one is requested and
+ * skipping the count there is enabled, the last counted totals of the listing are reused instead.
+ * Reused totals older than the refresh interval are counted again in the background, so no request waits
+ * for the count of a large listing.
+ *
+ * @author Niktia Malov
+ */
+@Slf4j
+@Service
+public class TotalCountService {
+    private final Cache<Object, CountedTotals> countedTotals;
+    private final Set<Object> recounting = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long exactThreshold;
+    private final boolean skipCountAfterFirstPage;
+    private final Duration refreshInterval;
+
+    /**
+     * Constructs the service.
+     *
+     * @param maximumSize             The maximum number of listings whose totals are kept.
+     * @param ttlSeconds              The number of seconds the totals of a listing are kept after they were counted.
+     * @param refreshSeconds          The number of seconds after which reused totals are counted again.
+     * @param exactThreshold          The total from which the listings are no longer counted exactly.
+     * @param skipCountAfterFirstPage Whether the known totals of a listing are reused for the pages after the first.
+     */
+    public TotalCountService(@Value("${listing.count.maximum-size}") Long maximumSize,
+                             @Value("${listing.count.ttl-seconds}") Long ttlSeconds,
+                             @Value("${listing.count.refresh-seconds}") Long refreshSeconds,
+                             @Value("${listing.count.exact-threshold}") Long exactThreshold,
+                             @Value("${listing.count.skip-after-first-page}") Boolean skipCountAfterFirstPage) {
+        this.countedTotals = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        this.refreshInterval = Duration.ofSeconds(refreshSeconds);
+        this.exactThreshold = exactThreshold;
+        this.skipCountAfterFirstPage = skipCountAfterFirstPage;
+    }
+
+    /**
+     * Finds the estimated totals of the listing with the given key. The totals are estimated only if they were
+     * counted before and either reached the threshold or the requested page is not the first one. If the totals
+     * are older than the refresh interval, they are counted again in the background with the given counter.
+     *
+     * @param key      The key identifying the listing, usually its filter.
+     * @param pageable The requested page of the listing.
+     * @param counter  The supplier that counts the totals of the listing exactly.
+     * @param totalOf  The function that extracts the total number of elements from the totals.
+     * @param <T>      The type of the totals.
+     * @return The estimated totals, or an empty Optional if the totals have to be counted exactly.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> findEstimate(Object key, Pageable pageable, Supplier<T> counter,
+                                        ToLongFunction<T> totalOf) {
+        CountedTotals counted = countedTotals.getIfPresent(key);
+        if (Objects.isNull(counted)
+            || counted.getTotal() < exactThreshold && !(skipCountAfterFirstPage && pageable.getPageNumber() > 0)) {
+            return Optional.empty();
+        }
+        if (counted.getCountedAt().plus(refreshInterval).isBefore(Instant.now()) && recounting.add(key)) {
+            executor.execute(() -> recount(key, counter, totalOf));
+        }
+        return Optional.of((T) counted.getTotals());
+    }
+
+    /**
+     * Stores the exactly counted totals of the listing with the given key.
+     *
+     * @param key    The key identifying the listing, usually its filter.
+     * @param totals The counted totals.
+     * @param total  The total number of elements of the listing.
+     */
+    public void put(Object key, Object totals, long total) {
+        countedTotals.put(key, new CountedTotals(totals, total, Instant.now()));
+    }
+
+    private <T> void recount(Object key, Supplier<T> counter, ToLongFunction<T> totalOf) {
+        try {
+            T totals = counter.get();
+            put(key, totals, totalOf.applyAsLong(totals));
+        } catch (RuntimeException e) {
+            countedTotals.invalidate(key);
+            log.error("Failed to recount totals of listing {}", key, e);
+        } finally {
+            recounting.remove(key);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class CountedTotals {
+        private final Object totals;
+        private final long total;
+        private final Instant countedAt;
+    }
+}
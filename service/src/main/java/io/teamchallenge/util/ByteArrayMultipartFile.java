@@ -0,0 +1,73 @@
+package io.teamchallenge.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * {@link MultipartFile} backed by an array of bytes created by the application, e.g. a rendition of an
+ * uploaded image, so that it can be stored by the same services as the uploaded files.
+ *
+ * @author Niktia Malov
+ */
+public class ByteArrayMultipartFile implements MultipartFile {
+    private final String name;
+    private final String contentType;
+    private final byte[] content;
+
+    /**
+     * Constructs the file.
+     *
+     * @param name        The name of the file.
+     * @param contentType The content type of the file.
+     * @param content     The content of the file.
+     */
+    public ByteArrayMultipartFile(String name, String contentType, byte[] content) {
+        this.name = name;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return name;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return content.length == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return content.length;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return content;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.write(dest.toPath(), content);
+    }
+}
@@ -0,0 +1,89 @@
+package io.teamchallenge.util;
+
+import io.teamchallenge.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import static io.teamchallenge.constant.ExceptionMessage.INVALID_CURSOR;
+
+/**
+ * Utility class for encoding keyset positions into opaque cursor tokens and back.
+ * A cursor contains the sort it was issued for and the sort key values of the last element of a window,
+ * so it cannot be replayed against another sort order.
+ *
+ * @author Niktia Malov
+ */
+public final class CursorUtils {
+    private static final String SORT_KEY = "$sort";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String VALUE_SEPARATOR = "=";
+
+    private CursorUtils() {
+    }
+
+    /**
+     * Decodes the given cursor into a keyset position.
+     *
+     * @param cursor The cursor to decode, blank for the first window.
+     * @param sort   The sort of the requested window.
+     * @return The initial position if the cursor is blank, otherwise the position encoded in the cursor.
+     * @throws InvalidCursorException if the cursor is malformed or was issued for another sort.
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (Objects.isNull(cursor) || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        String sortFingerprint = null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String line : decoded.split(LINE_SEPARATOR)) {
+                String[] keyValue = line.split(VALUE_SEPARATOR, 2);
+                if (keyValue.length != 2) {
+                    throw new InvalidCursorException(INVALID_CURSOR);
+                }
+                if (SORT_KEY.equals(keyValue[0])) {
+                    sortFingerprint = keyValue[1];
+                } else {
+                    keys.put(keyValue[0], keyValue[1]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_CURSOR, e);
+        }
+
+        if (!sort.toString().equals(sortFingerprint) || keys.isEmpty()) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Encodes the position after the last element of the given window into a cursor.
+     *
+     * @param window The retrieved window.
+     * @param sort   The sort the window was retrieved with.
+     * @return The cursor of the next window, or null if there is no next window.
+     */
+    public static String nextCursor(Window<?> window, Sort sort) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder(SORT_KEY).append(VALUE_SEPARATOR).append(sort);
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        position.getKeys().forEach((key, value) ->
+            builder.append(LINE_SEPARATOR).append(key).append(VALUE_SEPARATOR).append(value));
+
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,55 @@
+package io.teamchallenge.util;
+
+import io.teamchallenge.exception.PreconditionFailedException;
+import java.util.Objects;
+
+import static io.teamchallenge.constant.ExceptionMessage.INVALID_IF_MATCH;
+
+/**
+ * Utility class for converting the versions of entities into strong entity tags and back.
+ * The entity tag of a version is the version in quotes, so it changes whenever the entity is modified
+ * and can be compared against the {@code If-Match} and {@code If-None-Match} request headers.
+ *
+ * @author Niktia Malov
+ */
+public final class EntityTagUtils {
+    private static final String ANY = "*";
+    private static final String QUOTE = "\"";
+
+    private EntityTagUtils() {
+    }
+
+    /**
+     * Converts the given version into a strong entity tag.
+     *
+     * @param version The version of the entity.
+     * @return The entity tag of the version.
+     */
+    public static String toETag(Long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    /**
+     * Parses the version the client expects from the {@code If-Match} request header.
+     * A weak entity tag, a list of entity tags or a malformed value can never match the strong entity tag
+     * of the current version, so the precondition fails for them.
+     *
+     * @param ifMatch The value of the {@code If-Match} header, null if the header is absent.
+     * @return The expected version, or null if the header is absent or is {@code *}, so any version matches.
+     * @throws PreconditionFailedException if the header does not contain a single strong entity tag or {@code *}.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (Objects.isNull(ifMatch) || ifMatch.isBlank() || ifMatch.strip().equals(ANY)) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.length() < 3 || !tag.startsWith(QUOTE) || !tag.endsWith(QUOTE)) {
+            throw new PreconditionFailedException(INVALID_IF_MATCH);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(INVALID_IF_MATCH, e);
+        }
+    }
+}
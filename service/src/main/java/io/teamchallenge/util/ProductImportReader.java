@@ -0,0 +1,234 @@
+package io.teamchallenge.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.teamchallenge.dto.product.ProductImportRowDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static io.teamchallenge.constant.ExceptionMessage.IMPORT_ROW_MALFORMED;
+
+/**
+ * Reader of the rows of a product import file, which reads the file record by record, so a file of any size
+ * is read in constant memory. In the NDJSON format every non-blank line is a JSON object of a row; in the CSV
+ * format the first record is a header naming the columns {@code name, short_desc, description, price, quantity,
+ * brand, category, attributes}, in any order, with the attributes joined into one column as
+ * {@code name=value|value;name=value}. Unknown columns and JSON properties are ignored.
+ * A record that cannot be converted to a row is returned with the reason instead of the row,
+ * so that the rows following it can still be imported.
+ *
+ * @author Niktia Malov
+ */
+public final class ProductImportReader implements Closeable {
+    private static final int END = -1;
+
+    private final BufferedReader reader;
+    private final ProductFeedFormat format;
+    private final ObjectReader rowReader;
+    private Map<String, Integer> header;
+    private int rowNumber;
+
+    /**
+     * Constructs the reader.
+     *
+     * @param reader       The reader of the file.
+     * @param format       The format of the file.
+     * @param objectMapper The object mapper the rows of the NDJSON format are read with.
+     */
+    public ProductImportReader(Reader reader, ProductFeedFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader);
+        this.format = format;
+        this.rowReader = objectMapper.readerFor(ProductImportRowDto.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return The next row, or null if the end of the file was reached.
+     * @throws IOException if the file cannot be read.
+     */
+    public Row next() throws IOException {
+        if (format == ProductFeedFormat.CSV) {
+            if (Objects.isNull(header)) {
+                List<String> columns = readCsvRecord();
+                header = new HashMap<>();
+                for (int i = 0; Objects.nonNull(columns) && i < columns.size(); i++) {
+                    header.put(columns.get(i).trim().toLowerCase(), i);
+                }
+            }
+            List<String> values = readCsvRecord();
+            return Objects.isNull(values) ? null : toRow(++rowNumber, values);
+        }
+        String line = reader.readLine();
+        while (Objects.nonNull(line) && line.isBlank()) {
+            line = reader.readLine();
+        }
+        return Objects.isNull(line) ? null : toRow(++rowNumber, line);
+    }
+
+    /**
+     * Reads up to the given number of next rows.
+     *
+     * @param count The maximum number of rows to read.
+     * @return A list of the read rows, empty if the end of the file was reached.
+     * @throws IOException if the file cannot be read.
+     */
+    public List<Row> next(int count) throws IOException {
+        List<Row> rows = new ArrayList<>(count);
+        Row row = next();
+        while (Objects.nonNull(row)) {
+            rows.add(row);
+            if (rows.size() == count) {
+                break;
+            }
+            row = next();
+        }
+        return rows;
+    }
+
+    /**
+     * Skips the given number of rows, which were already read.
+     *
+     * @param count The number of rows to skip.
+     * @throws IOException if the file cannot be read.
+     */
+    public void skip(int count) throws IOException {
+        int skipped = 0;
+        while (skipped < count && Objects.nonNull(next())) {
+            skipped++;
+        }
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if the reader cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row toRow(int number, String line) {
+        try {
+            return new Row(number, rowReader.readValue(line), null);
+        } catch (JsonProcessingException e) {
+            return new Row(number, null, String.format(IMPORT_ROW_MALFORMED, e.getOriginalMessage()));
+        }
+    }
+
+    private Row toRow(int number, List<String> values) {
+        try {
+            String price = getColumn(values, "price");
+            String quantity = getColumn(values, "quantity");
+            return new Row(number, ProductImportRowDto.builder()
+                .name(getColumn(values, "name"))
+                .shortDesc(getColumn(values, "short_desc"))
+                .description(getColumn(values, "description"))
+                .price(Objects.isNull(price) ? null : new BigDecimal(price.trim()))
+                .quantity(Objects.isNull(quantity) ? null : Integer.valueOf(quantity.trim()))
+                .brand(getColumn(values, "brand"))
+                .category(getColumn(values, "category"))
+                .attributes(parseAttributes(getColumn(values, "attributes")))
+                .build(), null);
+        } catch (IllegalArgumentException e) {
+            return new Row(number, null, String.format(IMPORT_ROW_MALFORMED, e.getMessage()));
+        }
+    }
+
+    private String getColumn(List<String> values, String column) {
+        Integer index = header.get(column);
+        if (Objects.isNull(index) || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private Map<String, List<String>> parseAttributes(String attributes) {
+        Map<String, List<String>> parsed = new LinkedHashMap<>();
+        if (Objects.isNull(attributes) || attributes.isBlank()) {
+            return parsed;
+        }
+        for (String attribute : attributes.split(";")) {
+            int separator = attribute.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("attribute without name: " + attribute);
+            }
+            List<String> values = parsed.computeIfAbsent(attribute.substring(0, separator).trim(),
+                k -> new ArrayList<>());
+            for (String value : attribute.substring(separator + 1).split("\\|")) {
+                if (!value.isBlank()) {
+                    values.add(value.trim());
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            c = reader.read();
+        }
+        if (c == END) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (c != END) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        value.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Row of a product import file, holding either the read row or the reason it cannot be read.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Row {
+        private final int number;
+        private final ProductImportRowDto value;
+        private final String error;
+    }
+}
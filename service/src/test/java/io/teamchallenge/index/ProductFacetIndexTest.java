@@ -0,0 +1,198 @@
+package io.teamchallenge.index;
+
+import io.teamchallenge.dto.filter.PriceFilter;
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.ProductAttributeIndexDto;
+import io.teamchallenge.dto.product.ProductFacetCountsDto;
+import io.teamchallenge.dto.product.ProductIndexDto;
+import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductFacetIndexTest {
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex();
+        index.put(getProductIndexDto(1L, 1L, "599.99", 5, 4.5, 10), getProductAttributes(1L, 5L));
+        index.put(getProductIndexDto(2L, 2L, "19.99", 5, 3.0, 20), getProductAttributes(2L, 6L));
+        index.put(getProductIndexDto(3L, 1L, "99.00", 0, 5.0, 30), getProductAttributes(1L));
+        index.put(getProductIndexDto(2000L, 2L, "49.50", 1, 3.0, 0), getProductAttributes(5L));
+    }
+
+    @Test
+    void filterByBrandIdsTest() {
+        RoaringBitmap matches = index.filter(ProductFilterDto.builder().brandIds(List.of(1L)).build());
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), matches);
+    }
+
+    @Test
+    void filterByAttributeValueIdsMatchesAnyValueOfAttributeTest() {
+        RoaringBitmap matches = index.filter(ProductFilterDto.builder().attributeValueIds(List.of(1L, 2L)).build());
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), matches);
+    }
+
+    @Test
+    void filterByAttributeValueIdsMatchesEveryAttributeTest() {
+        RoaringBitmap matches =
+            index.filter(ProductFilterDto.builder().attributeValueIds(List.of(1L, 2L, 5L)).build());
+
+        assertEquals(RoaringBitmap.bitmapOf(1), matches);
+        assertTrue(index.filter(ProductFilterDto.builder().attributeValueIds(List.of(2L, 5L)).build()).isEmpty());
+    }
+
+    @Test
+    void filterByCategoryAndPriceTest() {
+        RoaringBitmap matches = index.filter(ProductFilterDto.builder()
+            .categoryId(1L)
+            .price(new PriceFilter(20, 100))
+            .build());
+
+        assertEquals(RoaringBitmap.bitmapOf(3, 2000), matches);
+    }
+
+    @Test
+    void filterByUnknownBrandReturnsNothingTest() {
+        RoaringBitmap matches = index.filter(ProductFilterDto.builder().brandIds(List.of(42L)).build());
+
+        assertTrue(matches.isEmpty());
+    }
+
+    @Test
+    void getPageOrdersAvailableProductsByRatingTest() {
+        RoaringBitmap matches = index.filter(new ProductFilterDto());
+
+        assertEquals(List.of(1L, 2L, 2000L, 3L), index.getPage(matches, Sort.unsorted(), 0, 10));
+        assertEquals(List.of(2L, 2000L), index.getPage(matches, Sort.unsorted(), 1, 2));
+        assertEquals(List.of(), index.getPage(matches, Sort.unsorted(), 4, 2));
+    }
+
+    @Test
+    void getPageOrdersByPriceAndPopularityTest() {
+        RoaringBitmap matches = index.filter(new ProductFilterDto());
+
+        assertEquals(List.of(2L, 2000L, 1L, 3L),
+            index.getPage(matches, Sort.by(Sort.Direction.ASC, "price"), 0, 10));
+        assertEquals(List.of(1L, 2000L, 2L, 3L),
+            index.getPage(matches, Sort.by(Sort.Direction.DESC, "price"), 0, 10));
+        assertEquals(List.of(2L, 1L, 2000L, 3L),
+            index.getPage(matches, Sort.by("popularity"), 0, 10));
+    }
+
+    @Test
+    void getPriceRangeTest() {
+        RoaringBitmap matches = index.filter(ProductFilterDto.builder().brandIds(List.of(1L)).build());
+
+        assertEquals(new ProductMinMaxPriceDto(new BigDecimal("99.00"), new BigDecimal("599.99")),
+            index.getPriceRange(matches));
+        assertEquals(new ProductMinMaxPriceDto(null, null), index.getPriceRange(new RoaringBitmap()));
+    }
+
+    @Test
+    void getFacetCountsWithoutFilterTest() {
+        ProductFacetCountsDto actual = index.getFacetCounts(new ProductFilterDto());
+
+        assertEquals(Map.of(1L, 2L, 2L, 2L), actual.getBrandCounts());
+        assertEquals(Map.of(1L, 2L, 2L, 1L, 5L, 2L, 6L, 1L), actual.getAttributeValueCounts());
+    }
+
+    @Test
+    void getFacetCountsExcludesOwnSelectionTest() {
+        ProductFacetCountsDto actual = index.getFacetCounts(ProductFilterDto.builder()
+            .brandIds(List.of(1L))
+            .attributeValueIds(List.of(1L))
+            .build());
+
+        assertEquals(Map.of(1L, 2L), actual.getBrandCounts());
+        assertEquals(Map.of(1L, 2L, 5L, 1L), actual.getAttributeValueCounts());
+    }
+
+    @Test
+    void getFacetCountsAppliesPriceAndOtherAttributesTest() {
+        ProductFacetCountsDto actual = index.getFacetCounts(ProductFilterDto.builder()
+            .price(new PriceFilter(0, 100))
+            .attributeValueIds(List.of(6L))
+            .build());
+
+        assertEquals(Map.of(2L, 1L), actual.getBrandCounts());
+        assertEquals(Map.of(2L, 1L, 5L, 1L, 6L, 1L), actual.getAttributeValueCounts());
+    }
+
+    @Test
+    void getFacetCountsAppliesOtherAttributesConjunctivelyTest() {
+        ProductFacetCountsDto actual = index.getFacetCounts(ProductFilterDto.builder()
+            .attributeValueIds(List.of(1L, 6L))
+            .build());
+
+        assertEquals(Map.of(), actual.getBrandCounts());
+        assertEquals(Map.of(2L, 1L, 5L, 1L), actual.getAttributeValueCounts());
+    }
+
+    @Test
+    void getFacetCountsWithAttributeValueOfNoIndexedProductTest() {
+        var filter = ProductFilterDto.builder()
+            .attributeValueIds(List.of(1L, 99L))
+            .build();
+
+        ProductFacetCountsDto actual = index.getFacetCounts(filter);
+
+        assertTrue(index.filter(filter).isEmpty());
+        assertEquals(Map.of(), actual.getBrandCounts());
+        assertEquals(Map.of(), actual.getAttributeValueCounts());
+    }
+
+    @Test
+    void putReplacesIndexedProductTest() {
+        index.put(getProductIndexDto(1L, 2L, "599.99", 5, 4.5, 10), getProductAttributes(6L));
+
+        assertEquals(RoaringBitmap.bitmapOf(3),
+            index.filter(ProductFilterDto.builder().brandIds(List.of(1L)).build()));
+        assertEquals(RoaringBitmap.bitmapOf(2),
+            index.filter(ProductFilterDto.builder().attributeValueIds(List.of(2L)).build()));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2),
+            index.filter(ProductFilterDto.builder().attributeValueIds(List.of(6L)).build()));
+    }
+
+    @Test
+    void removeTest() {
+        index.remove(1L);
+        index.remove(42L);
+
+        assertFalse(index.contains(1L));
+        assertEquals(3, index.size());
+        assertEquals(RoaringBitmap.bitmapOf(2000),
+            index.filter(ProductFilterDto.builder().attributeValueIds(List.of(5L)).build()));
+    }
+
+    private List<ProductAttributeIndexDto> getProductAttributes(Long... attributeValueIds) {
+        return Arrays.stream(attributeValueIds)
+            .map(attributeValueId -> new ProductAttributeIndexDto(0L, attributeValueId < 5 ? 1L : 2L, attributeValueId))
+            .toList();
+    }
+
+    private ProductIndexDto getProductIndexDto(Long id, Long brandId, String price, int quantity, double rating,
+                                               int orderCount) {
+        return ProductIndexDto.builder()
+            .id(id)
+            .brandId(brandId)
+            .categoryId(1L)
+            .price(new BigDecimal(price))
+            .quantity(quantity)
+            .rating(rating)
+            .orderCount(orderCount)
+            .build();
+    }
+}
@@ -4,13 +4,15 @@ import io.teamchallenge.dto.ImageDto;
 import io.teamchallenge.dto.category.CategoryResponseDto;
 import io.teamchallenge.dto.product.ProductAttributeResponseDto;
 import io.teamchallenge.dto.product.ProductResponseDto;
+import io.teamchallenge.dto.product.RatingHistogramBucketDto;
 import io.teamchallenge.entity.Image;
-import io.teamchallenge.entity.reviews.Review;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static io.teamchallenge.util.Utils.getProduct;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -23,6 +25,11 @@ public class ProductResponseDtoMapperTest {
     @Test
     void convertTest() {
         var product = getProduct();
+        ReflectionTestUtils.setField(product, "rating", 4.0);
+        ReflectionTestUtils.setField(product, "ratingCount", 3);
+        ReflectionTestUtils.setField(product, "rating5Count", 1);
+        ReflectionTestUtils.setField(product, "rating4Count", 1);
+        ReflectionTestUtils.setField(product, "rating3Count", 1);
 
         var expected = ProductResponseDto.builder()
             .id(product.getId())
@@ -44,6 +51,8 @@ public class ProductResponseDtoMapperTest {
                 .map(img -> ImageDto.builder()
                     .link(img.getLink())
                     .order(img.getOrder())
+                    .thumbnailLink(img.getLink())
+                    .mediumLink(img.getLink())
                     .build())
                 .collect(Collectors.toList()))
             .brand(product.getBrand().getName())
@@ -52,10 +61,14 @@ public class ProductResponseDtoMapperTest {
             .price(product.getPrice())
             .quantity(product.getQuantity())
             .createdAt(product.getCreatedAt())
-            .rating(product.getReviews().stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0))
+            .rating(product.getRating())
+            .ratingCount(3)
+            .ratingHistogram(List.of(
+                new RatingHistogramBucketDto((short) 5, 1),
+                new RatingHistogramBucketDto((short) 4, 1),
+                new RatingHistogramBucketDto((short) 3, 1),
+                new RatingHistogramBucketDto((short) 2, 0),
+                new RatingHistogramBucketDto((short) 1, 0)))
             .build();
 
         assertEquals(expected, productResponseDtoMapper.convert(product));
@@ -3,7 +3,6 @@ package io.teamchallenge.mapper;
 import io.teamchallenge.dto.ImageDto;
 import io.teamchallenge.dto.product.ShortProductResponseDto;
 import io.teamchallenge.entity.Image;
-import io.teamchallenge.entity.reviews.Review;
 import io.teamchallenge.util.Utils;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -11,9 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static io.teamchallenge.util.Utils.getProduct;
-import static io.teamchallenge.util.Utils.getReview;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +24,7 @@ public class ShortProductResponseDtoMapperTest {
     @Test
     void convertTest() {
         var product = getProduct();
-        product.addReview(getReview());
+        ReflectionTestUtils.setField(product, "rating", 4.0);
 
         var expected = ShortProductResponseDto
             .builder()
@@ -37,13 +36,12 @@ public class ShortProductResponseDtoMapperTest {
                 .map(img -> ImageDto.builder()
                     .link(img.getLink())
                     .order(img.getOrder())
+                    .thumbnailLink(img.getLink())
+                    .mediumLink(img.getLink())
                     .build())
                 .collect(Collectors.toList()))
             .available(product.getQuantity()>0)
-            .rating(product.getReviews().stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0))
+            .rating(product.getRating())
             .build();
 
         assertEquals(expected, shortProductResponseDtoMapper.convert(product));
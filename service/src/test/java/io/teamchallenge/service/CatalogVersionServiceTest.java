@@ -0,0 +1,37 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.service.impl.CatalogVersionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CatalogVersionServiceTest {
+    private final CatalogVersionService catalogVersionService = new CatalogVersionService();
+
+    @Test
+    void bumpWithoutTransactionTest() {
+        String eTag = catalogVersionService.getETag();
+
+        catalogVersionService.bump();
+
+        assertEquals(1L, catalogVersionService.getVersion());
+        assertNotEquals(eTag, catalogVersionService.getETag());
+    }
+
+    @Test
+    void bumpInTransactionIncreasesVersionAfterCommitTest() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogVersionService.bump();
+
+            assertEquals(0L, catalogVersionService.getVersion());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1L, catalogVersionService.getVersion());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
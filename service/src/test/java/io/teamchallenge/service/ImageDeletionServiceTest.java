@@ -0,0 +1,114 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.entity.ImageDeletion;
+import io.teamchallenge.exception.DeletionException;
+import io.teamchallenge.repository.ImageDeletionRepository;
+import io.teamchallenge.service.impl.ImageDeletionService;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDeletionServiceTest {
+    @Mock
+    private ImageDeletionRepository imageDeletionRepository;
+    @Mock
+    private ImageCloudService imageCloudService;
+    @Captor
+    private ArgumentCaptor<List<ImageDeletion>> deletionsCaptor;
+
+    private ImageDeletionService imageDeletionService;
+
+    @BeforeEach
+    void setUp() {
+        imageDeletionService = new ImageDeletionService(imageDeletionRepository, imageCloudService, 100, 600L, 60L,
+            600L);
+    }
+
+    @Test
+    void enqueueTest() {
+        imageDeletionService.enqueue(Arrays.asList("https://cloud/1", null), "products");
+
+        verify(imageDeletionRepository).saveAll(deletionsCaptor.capture());
+        assertEquals(1, deletionsCaptor.getValue().size());
+        var deletion = deletionsCaptor.getValue().get(0);
+        assertEquals("https://cloud/1", deletion.getUrl());
+        assertEquals("products", deletion.getFolderName());
+        assertEquals(0, deletion.getAttempts());
+        assertTrue(deletion.getNextAttemptAt().isAfter(deletion.getCreatedAt().plusSeconds(599)));
+    }
+
+    @Test
+    void enqueueWithoutUrlsTest() {
+        imageDeletionService.enqueue(List.of(), "products");
+
+        verify(imageDeletionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void processDueDeletesImagesByFolderTest() {
+        var first = getImageDeletion(1L, "products", 0);
+        var second = getImageDeletion(2L, "banners", 0);
+        var third = getImageDeletion(3L, "products", 0);
+        when(imageDeletionRepository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(),
+            eq(Limit.of(100)))).thenReturn(List.of(first, second, third));
+
+        assertEquals(3, imageDeletionService.processDue());
+
+        verify(imageCloudService).deleteImages(List.of("https://cloud/1", "https://cloud/3"), "products");
+        verify(imageCloudService).deleteImages(List.of("https://cloud/2"), "banners");
+        verify(imageDeletionRepository).deleteAllInBatch(List.of(first, third));
+        verify(imageDeletionRepository).deleteAllInBatch(List.of(second));
+    }
+
+    @Test
+    void processDuePostponesFailedDeletionsTest() {
+        var first = getImageDeletion(1L, "products", 0);
+        var second = getImageDeletion(2L, "products", 4);
+        when(imageDeletionRepository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAt(any(), any()))
+            .thenReturn(List.of(first, second));
+        doThrow(new DeletionException("unavailable"))
+            .when(imageCloudService).deleteImages(any(), any());
+        LocalDateTime before = LocalDateTime.now();
+
+        assertEquals(0, imageDeletionService.processDue());
+
+        verify(imageDeletionRepository).saveAll(List.of(first, second));
+        verify(imageDeletionRepository, never()).deleteAllInBatch(any());
+        assertEquals(1, first.getAttempts());
+        assertEquals("unavailable", first.getLastError());
+        assertTrue(!first.getNextAttemptAt().isBefore(before.plusSeconds(60))
+            && first.getNextAttemptAt().isBefore(before.plusSeconds(120)));
+        assertEquals(5, second.getAttempts());
+        assertTrue(!second.getNextAttemptAt().isBefore(before.plusSeconds(600))
+            && second.getNextAttemptAt().isBefore(before.plusSeconds(660)));
+    }
+
+    private ImageDeletion getImageDeletion(Long id, String folderName, int attempts) {
+        return ImageDeletion.builder()
+            .id(id)
+            .url("https://cloud/" + id)
+            .folderName(folderName)
+            .attempts(attempts)
+            .nextAttemptAt(LocalDateTime.now().minusMinutes(1))
+            .createdAt(LocalDateTime.now().minusMinutes(1))
+            .build();
+    }
+}
@@ -0,0 +1,167 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.entity.Image;
+import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.repository.ImageRepository;
+import io.teamchallenge.service.impl.ImageDeletionService;
+import io.teamchallenge.service.impl.ImageRenditionService;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageRenditionServiceTest {
+    private static final String FOLDER_NAME = "productImages";
+    private static final String LINK = "https://cloud/original";
+
+    @Mock
+    private ImageCloudService imageCloudService;
+    @Mock
+    private ImageRepository imageRepository;
+    @Mock
+    private ImageDeletionService imageDeletionService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<MultipartFile> filesCaptor;
+
+    private ImageRenditionService imageRenditionService;
+
+    @BeforeEach
+    void setUp() {
+        imageRenditionService = new ImageRenditionService(imageCloudService, imageRepository, imageDeletionService,
+            transactionManager, 1, 240, 800, 2, FOLDER_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageRenditionService.shutdown();
+    }
+
+    @Test
+    void createRenditionsTest() throws IOException {
+        byte[] original = getImage(2000, 1000, BufferedImage.TYPE_INT_RGB, "png");
+        when(imageCloudService.uploadImage(any(), eq(FOLDER_NAME)))
+            .thenReturn("https://cloud/thumbnail", "https://cloud/medium");
+
+        var actual = imageRenditionService.createRenditions(() -> new ByteArrayInputStream(original),
+            ImageDto.builder().link(LINK).build(), FOLDER_NAME);
+
+        assertEquals("https://cloud/thumbnail", actual.getThumbnailLink());
+        assertEquals("https://cloud/medium", actual.getMediumLink());
+        verify(imageCloudService, times(2)).uploadImage(filesCaptor.capture(), eq(FOLDER_NAME));
+        var thumbnail = filesCaptor.getAllValues().get(0);
+        var medium = filesCaptor.getAllValues().get(1);
+        assertEquals("image/jpeg", thumbnail.getContentType());
+        assertDimensions(240, 120, thumbnail);
+        assertDimensions(800, 400, medium);
+    }
+
+    @Test
+    void createRenditionsKeepsTransparencyTest() throws IOException {
+        byte[] original = getImage(300, 600, BufferedImage.TYPE_INT_ARGB, "png");
+        when(imageCloudService.uploadImage(any(), eq(FOLDER_NAME))).thenReturn("https://cloud/thumbnail");
+
+        var actual = imageRenditionService.createRenditions(() -> new ByteArrayInputStream(original),
+            ImageDto.builder().link(LINK).build(), FOLDER_NAME);
+
+        assertEquals("https://cloud/thumbnail", actual.getThumbnailLink());
+        assertEquals(LINK, actual.getMediumLink());
+        verify(imageCloudService).uploadImage(filesCaptor.capture(), eq(FOLDER_NAME));
+        assertEquals("image/png", filesCaptor.getValue().getContentType());
+        assertDimensions(120, 240, filesCaptor.getValue());
+    }
+
+    @Test
+    void createRenditionsOfSmallImageRefersToOriginalTest() throws IOException {
+        byte[] original = getImage(200, 100, BufferedImage.TYPE_INT_RGB, "jpeg");
+
+        var actual = imageRenditionService.createRenditions(() -> new ByteArrayInputStream(original),
+            ImageDto.builder().link(LINK).build(), FOLDER_NAME);
+
+        assertEquals(LINK, actual.getThumbnailLink());
+        assertEquals(LINK, actual.getMediumLink());
+        verify(imageCloudService, never()).uploadImage(any(), any());
+    }
+
+    @Test
+    void createRenditionsOfUnreadableImageRefersToOriginalTest() {
+        var actual = imageRenditionService.createRenditions(() -> new ByteArrayInputStream(new byte[] {1, 2, 3}),
+            ImageDto.builder().link(LINK).build(), FOLDER_NAME);
+
+        assertEquals(LINK, actual.getThumbnailLink());
+        assertEquals(LINK, actual.getMediumLink());
+    }
+
+    @Test
+    void createRenditionsLeavesFailedRenditionMissingTest() throws IOException {
+        byte[] original = getImage(2000, 1000, BufferedImage.TYPE_INT_RGB, "png");
+        when(imageCloudService.uploadImage(any(), eq(FOLDER_NAME)))
+            .thenThrow(new PersistenceException("unavailable"))
+            .thenReturn("https://cloud/medium");
+
+        var actual = imageRenditionService.createRenditions(() -> new ByteArrayInputStream(original),
+            ImageDto.builder().link(LINK).build(), FOLDER_NAME);
+
+        assertNull(actual.getThumbnailLink());
+        assertEquals("https://cloud/medium", actual.getMediumLink());
+    }
+
+    @Test
+    void backfillTest() throws IOException {
+        byte[] original = getImage(1000, 1000, BufferedImage.TYPE_INT_RGB, "png");
+        var first = Image.builder().id(1L).link(LINK).mediumLink("https://cloud/medium").build();
+        var second = Image.builder().id(2L).link("https://cloud/replaced").build();
+        when(imageRepository.findAllWithoutRenditions(eq(0L), any())).thenReturn(List.of(first, second));
+        when(imageRepository.findAllWithoutRenditions(eq(2L), any())).thenReturn(List.of());
+        when(imageCloudService.downloadImage(any(), eq(FOLDER_NAME)))
+            .thenAnswer(invocation -> new ByteArrayInputStream(original));
+        when(imageCloudService.uploadImage(any(), eq(FOLDER_NAME)))
+            .thenReturn("https://cloud/thumbnail", "https://cloud/thumbnail2", "https://cloud/medium2");
+        when(imageRepository.updateRenditionLinks(1L, LINK, "https://cloud/thumbnail", "https://cloud/medium"))
+            .thenReturn(1);
+        when(imageRepository.updateRenditionLinks(2L, "https://cloud/replaced", "https://cloud/thumbnail2",
+            "https://cloud/medium2")).thenReturn(0);
+
+        assertEquals(1, imageRenditionService.backfill());
+
+        verify(imageDeletionService).enqueue(List.of("https://cloud/thumbnail2", "https://cloud/medium2"),
+            FOLDER_NAME);
+    }
+
+    private byte[] getImage(int width, int height, int type, String format) throws IOException {
+        var image = new BufferedImage(width, height, type);
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, format, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private void assertDimensions(int width, int height, MultipartFile file) throws IOException {
+        BufferedImage image = ImageIO.read(file.getInputStream());
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+    }
+}
@@ -0,0 +1,154 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.dto.ImageDto;
+import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.service.impl.ImageDeletionService;
+import io.teamchallenge.service.impl.ImageRenditionService;
+import io.teamchallenge.service.impl.ImageUploadService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import static io.teamchallenge.util.Utils.PRODUCT_IMAGES_FOLDER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageUploadServiceTest {
+    private static final String STORED_HASH = "87b04e58961f9a99d853d4046a0b5b793e7c3e4bbd21f5aca8fb17c20cdb1d8b";
+    private static final String FIRST_HASH = "a7937b64b8caa58f03721bb6bacf5c78cb235febe0e70b1b84cd99541461a08e";
+
+    @Mock
+    private ImageCloudService imageCloudService;
+    @Mock
+    private ImageDeletionService imageDeletionService;
+    @Mock
+    private ImageRenditionService imageRenditionService;
+
+    private ImageUploadService imageUploadService;
+
+    @BeforeEach
+    void setUp() {
+        imageUploadService = new ImageUploadService(imageCloudService, imageDeletionService, imageRenditionService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageUploadService.shutdown();
+    }
+
+    @Test
+    void uploadAllUploadsFilesConcurrentlyTest() {
+        MultipartFile first = getFile("first");
+        MultipartFile second = getFile("second");
+        var bothStarted = new CountDownLatch(2);
+        when(imageCloudService.uploadImage(any(), any())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return "https://cloud/" + ((MultipartFile) invocation.getArgument(0)).getName();
+        });
+        when(imageRenditionService.createRenditions(any(), any(), eq(PRODUCT_IMAGES_FOLDER_NAME)))
+            .thenAnswer(invocation -> {
+                ImageDto image = invocation.getArgument(1);
+                image.setThumbnailLink(image.getLink() + "-thumbnail");
+                image.setMediumLink(image.getLink());
+                return image;
+            });
+
+        var actual = imageUploadService.uploadAll(List.of(first, second), PRODUCT_IMAGES_FOLDER_NAME);
+
+        assertEquals(List.of("https://cloud/first", "https://cloud/second"),
+            actual.stream().map(ImageDto::getLink).toList());
+        assertEquals("https://cloud/first-thumbnail", actual.get(0).getThumbnailLink());
+        verifyNoInteractions(imageDeletionService);
+    }
+
+    @Test
+    void uploadAllDiscardsUploadedImagesWhenUploadFailsTest() {
+        MultipartFile first = getFile("first");
+        MultipartFile second = getFile("second");
+        when(imageCloudService.uploadImage(first, PRODUCT_IMAGES_FOLDER_NAME)).thenReturn("https://cloud/first");
+        when(imageCloudService.uploadImage(second, PRODUCT_IMAGES_FOLDER_NAME))
+            .thenThrow(new PersistenceException("failed"));
+        when(imageRenditionService.createRenditions(eq(first), any(), eq(PRODUCT_IMAGES_FOLDER_NAME)))
+            .thenAnswer(invocation -> {
+                ImageDto image = invocation.getArgument(1);
+                image.setThumbnailLink("https://cloud/first-thumbnail");
+                image.setMediumLink(image.getLink());
+                return image;
+            });
+
+        var files = List.of(first, second);
+        assertThrows(PersistenceException.class,
+            () -> imageUploadService.uploadAll(files, PRODUCT_IMAGES_FOLDER_NAME));
+
+        verify(imageDeletionService).enqueue(List.of("https://cloud/first", "https://cloud/first-thumbnail"),
+            PRODUCT_IMAGES_FOLDER_NAME);
+    }
+
+    @Test
+    void uploadAllSkipsStoredAndRepeatedContentTest() {
+        MultipartFile stored = getFile("stored");
+        MultipartFile first = getFile("first");
+        MultipartFile repeated = new MockMultipartFile("repeated", "repeated.png", "image/png",
+            "first".getBytes());
+        when(imageCloudService.uploadImage(first, PRODUCT_IMAGES_FOLDER_NAME)).thenReturn("https://cloud/first");
+        when(imageRenditionService.createRenditions(eq(first), any(), eq(PRODUCT_IMAGES_FOLDER_NAME)))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+
+        var actual = imageUploadService.uploadAll(List.of(stored, first, repeated),
+            Set.of(STORED_HASH), PRODUCT_IMAGES_FOLDER_NAME);
+
+        assertEquals(2, actual.size());
+        assertEquals(ImageDto.builder().contentHash(STORED_HASH).build(), actual.get(0));
+        assertEquals("https://cloud/first", actual.get(1).getLink());
+        assertEquals(FIRST_HASH, actual.get(1).getContentHash());
+        verify(imageCloudService).uploadImage(any(), any());
+    }
+
+    @Test
+    void uploadAllWithoutFilesTest() {
+        assertEquals(List.of(), imageUploadService.uploadAll(null, PRODUCT_IMAGES_FOLDER_NAME));
+        verifyNoInteractions(imageCloudService);
+    }
+
+    @Test
+    void discardDeletesImagesWhenQueueCannotBeWrittenTest() {
+        List<String> urls = List.of("https://cloud/first");
+        doThrow(new IllegalStateException("database is down"))
+            .when(imageDeletionService).enqueue(urls, PRODUCT_IMAGES_FOLDER_NAME);
+
+        imageUploadService.discard(List.of(ImageDto.builder().link("https://cloud/first").build()),
+            PRODUCT_IMAGES_FOLDER_NAME);
+
+        verify(imageCloudService).deleteImages(urls, PRODUCT_IMAGES_FOLDER_NAME);
+    }
+
+    @Test
+    void discardWithoutUploadedImagesTest() {
+        imageUploadService.discard(List.of(), PRODUCT_IMAGES_FOLDER_NAME);
+
+        verify(imageDeletionService, never()).enqueue(any(), any());
+    }
+
+    private MultipartFile getFile(String name) {
+        return new MockMultipartFile(name, name + ".png", "image/png", name.getBytes());
+    }
+}
@@ -0,0 +1,136 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.datasource.PrimaryReads;
+import io.teamchallenge.exception.NotFoundException;
+import io.teamchallenge.repository.ImageRepository;
+import io.teamchallenge.service.impl.LocalImageStorageServiceImpl;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocalImageStorageServiceImplTest {
+    private static final String SHA_256_OF_IMAGE =
+        "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+    @Mock
+    private ImageRepository imageRepository;
+    @TempDir
+    private Path directory;
+
+    private LocalImageStorageServiceImpl localImageStorageService;
+
+    @BeforeEach
+    void setUp() {
+        localImageStorageService = new LocalImageStorageServiceImpl(imageRepository, directory, "/api/v1/images",
+            600L);
+    }
+
+    @Test
+    void uploadImageStoresImageByHashOfContentTest() throws IOException {
+        var file = new MockMultipartFile("images", "photo.PNG", "image/png", new byte[] {1, 2, 3});
+
+        String url = localImageStorageService.uploadImage(file, "productImages");
+        String secondUrl = localImageStorageService.uploadImage(file, "productImages");
+
+        assertEquals("/api/v1/images/productImages/" + SHA_256_OF_IMAGE + ".png", url);
+        assertEquals(url, secondUrl);
+        try (var files = Files.list(directory.resolve("productImages"))) {
+            assertEquals(List.of(SHA_256_OF_IMAGE + ".png"), files.map(path -> path.getFileName().toString()).toList());
+        }
+        assertArrayEquals(new byte[] {1, 2, 3},
+            Files.readAllBytes(directory.resolve("productImages").resolve(SHA_256_OF_IMAGE + ".png")));
+    }
+
+    @Test
+    void uploadImageUsesExtensionOfFileNameTest() {
+        var file = new MockMultipartFile("images", "photo.WebP", "application/octet-stream", new byte[] {1, 2, 3});
+
+        String url = localImageStorageService.uploadImage(file, "productImages");
+
+        assertEquals("/api/v1/images/productImages/" + SHA_256_OF_IMAGE + ".webp", url);
+    }
+
+    @Test
+    void deleteImagesKeepsReferencedImagesTest() throws IOException {
+        Path folder = Files.createDirectories(directory.resolve("productImages"));
+        Path referenced = writeUploadedBeforeGrace(folder.resolve("a".repeat(64) + ".png"), new byte[] {1});
+        Path unreferenced = writeUploadedBeforeGrace(folder.resolve("b".repeat(64) + ".png"), new byte[] {2});
+        String referencedUrl = "/api/v1/images/productImages/" + referenced.getFileName();
+        String unreferencedUrl = "/api/v1/images/productImages/" + unreferenced.getFileName();
+        when(imageRepository.existsByAnyLink(referencedUrl)).thenReturn(true);
+        when(imageRepository.existsByAnyLink(unreferencedUrl)).thenReturn(false);
+
+        localImageStorageService.deleteImages(List.of(referencedUrl, unreferencedUrl), "productImages");
+
+        assertTrue(Files.exists(referenced));
+        assertFalse(Files.exists(unreferenced));
+    }
+
+    @Test
+    void deleteImagesReadsReferencesFromPrimaryTest() throws IOException {
+        Path folder = Files.createDirectories(directory.resolve("productImages"));
+        Path image = writeUploadedBeforeGrace(folder.resolve("c".repeat(64) + ".png"), new byte[] {3});
+        String url = "/api/v1/images/productImages/" + image.getFileName();
+        when(imageRepository.existsByAnyLink(url)).thenAnswer(invocation -> PrimaryReads.isActive());
+
+        localImageStorageService.deleteImages(List.of(url), "productImages");
+
+        assertTrue(Files.exists(image));
+    }
+
+    @Test
+    void deleteImagesKeepsImageUploadedAgainWithinGraceTest() throws IOException {
+        var file = new MockMultipartFile("images", "photo.png", "image/png", new byte[] {1, 2, 3});
+        Path image = writeUploadedBeforeGrace(directory.resolve("productImages").resolve(SHA_256_OF_IMAGE + ".png"),
+            new byte[] {1, 2, 3});
+
+        String url = localImageStorageService.uploadImage(file, "productImages");
+        localImageStorageService.deleteImages(List.of(url), "productImages");
+
+        assertTrue(Files.exists(image));
+    }
+
+    @Test
+    void getImageTest() throws IOException {
+        Path folder = Files.createDirectories(directory.resolve("productImages"));
+        Path image = Files.write(folder.resolve(SHA_256_OF_IMAGE + ".png"), new byte[] {1, 2, 3});
+
+        var actual = localImageStorageService.getImage("productImages", SHA_256_OF_IMAGE + ".png");
+
+        assertEquals(image.toFile(), actual.getFile());
+    }
+
+    @Test
+    void getImageThrowsNotFoundExceptionTest() throws IOException {
+        Files.writeString(directory.resolve("secret.txt"), "secret");
+
+        assertThrows(NotFoundException.class,
+            () -> localImageStorageService.getImage("productImages", SHA_256_OF_IMAGE + ".png"));
+        assertThrows(NotFoundException.class, () -> localImageStorageService.getImage("..", "secret.txt"));
+    }
+
+    private Path writeUploadedBeforeGrace(Path file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+    }
+}
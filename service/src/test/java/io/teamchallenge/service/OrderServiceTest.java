@@ -4,6 +4,7 @@ import io.teamchallenge.dto.order.OrderFilterDto;
 import io.teamchallenge.dto.order.OrderRequestDto;
 import io.teamchallenge.dto.order.OrderResponseDto;
 import io.teamchallenge.dto.order.ShortOrderResponseDto;
+import io.teamchallenge.dto.pageable.CursorPageableDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.dto.user.UserVO;
 import io.teamchallenge.entity.Address;
@@ -13,11 +14,16 @@ import io.teamchallenge.entity.User;
 import io.teamchallenge.enumerated.DeliveryStatus;
 import io.teamchallenge.exception.ConflictException;
 import io.teamchallenge.exception.ForbiddenException;
+import io.teamchallenge.exception.PreconditionFailedException;
 import io.teamchallenge.repository.CartItemRepository;
 import io.teamchallenge.repository.OrderRepository;
 import io.teamchallenge.repository.ProductRepository;
 import io.teamchallenge.repository.UserRepository;
+import io.teamchallenge.service.impl.CatalogVersionService;
 import io.teamchallenge.service.impl.OrderService;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
+import io.teamchallenge.service.impl.ProductIndexService;
+import io.teamchallenge.service.impl.TotalCountService;
 import io.teamchallenge.util.Utils;
 import java.security.Principal;
 import java.util.Collections;
@@ -30,9 +36,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import static io.teamchallenge.util.Utils.getOrder;
 import static io.teamchallenge.util.Utils.getOrderResponseDto;
@@ -40,9 +50,14 @@ import static io.teamchallenge.util.Utils.getShortOrderResponseDto;
 import static io.teamchallenge.util.Utils.getShortOrderResponseDtoPageableDto;
 import static io.teamchallenge.util.Utils.getUserVO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,6 +73,14 @@ class OrderServiceTest {
     private UserRepository userRepository;
     @Mock
     private ModelMapper modelMapper;
+    @Mock
+    private ProductIndexService productIndexService;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private ProductDetailCacheService productDetailCacheService;
+    @Mock
+    private TotalCountService totalCountService;
     @InjectMocks
     private OrderService orderService;
 
@@ -89,6 +112,10 @@ class OrderServiceTest {
         verify(userRepository).existsByEmail(orderRequestDto.getEmail());
         verify(userRepository).existsByPhoneNumber(orderRequestDto.getPhoneNumber());
         verify(productRepository).findAllById(productIds);
+        verify(productRepository).incrementOrderCount(productIds);
+        verify(productDetailCacheService).invalidate(productIds);
+        verify(productIndexService).refresh(productIds);
+        verify(catalogVersionService).bump();
         verify(orderRepository).save(order);
         verify(cartItemRepository).deleteByUserId(user.getId());
     }
@@ -150,6 +177,10 @@ class OrderServiceTest {
         verify(userRepository).existsByEmail(orderRequestDto.getEmail());
         verify(userRepository).existsByPhoneNumber(orderRequestDto.getPhoneNumber());
         verify(productRepository).findAllById(productIds);
+        verify(productRepository).incrementOrderCount(productIds);
+        verify(productDetailCacheService).invalidate(productIds);
+        verify(productIndexService).refresh(productIds);
+        verify(catalogVersionService).bump();
         verify(orderRepository).save(order);
     }
 
@@ -207,12 +238,43 @@ class OrderServiceTest {
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        orderService.setDeliveryStatus(orderId, status);
+        orderService.setDeliveryStatus(orderId, status, null);
 
         assertEquals(status, order.getDeliveryStatus());
         verify(orderRepository).findById(orderId);
     }
 
+    @Test
+    void setDeliveryStatusCanceledDecrementsOrderCountTest() {
+        Long orderId = 1L;
+        Order order = getOrder();
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        orderService.setDeliveryStatus(orderId, DeliveryStatus.CANCELED, null);
+
+        assertEquals(DeliveryStatus.CANCELED, order.getDeliveryStatus());
+        verify(productRepository).updateOrderCountByOrderId(orderId, -1);
+        verify(productIndexService).refresh(List.of(1L));
+        verify(catalogVersionService).bump();
+    }
+
+    @Test
+    void setDeliveryStatusFromCanceledIncrementsOrderCountTest() {
+        Long orderId = 1L;
+        Order order = getOrder();
+        order.setDeliveryStatus(DeliveryStatus.CANCELED);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        orderService.setDeliveryStatus(orderId, DeliveryStatus.PROCESSING, null);
+
+        assertEquals(DeliveryStatus.PROCESSING, order.getDeliveryStatus());
+        verify(productRepository).updateOrderCountByOrderId(orderId, 1);
+        verify(productIndexService).refresh(List.of(1L));
+        verify(catalogVersionService).bump();
+    }
+
     @Test
     void setDeliveryStatusThrowsConflictExceptionTest() {
         Long orderId = 1L;
@@ -222,10 +284,38 @@ class OrderServiceTest {
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        assertThrows(ConflictException.class, () -> orderService.setDeliveryStatus(orderId, status));
+        assertThrows(ConflictException.class, () -> orderService.setDeliveryStatus(orderId, status, null));
         verify(orderRepository).findById(orderId);
     }
 
+    @Test
+    void setDeliveryStatusWithMatchingVersionTest() {
+        Long orderId = 1L;
+        Order order = getOrder();
+        order.setDeliveryStatus(DeliveryStatus.PROCESSING);
+        ReflectionTestUtils.setField(order, "version", 2L);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        orderService.setDeliveryStatus(orderId, DeliveryStatus.COMPLETED, 2L);
+
+        assertEquals(DeliveryStatus.COMPLETED, order.getDeliveryStatus());
+    }
+
+    @Test
+    void setDeliveryStatusThrowsPreconditionFailedExceptionTest() {
+        Long orderId = 1L;
+        Order order = getOrder();
+        order.setDeliveryStatus(DeliveryStatus.PROCESSING);
+        ReflectionTestUtils.setField(order, "version", 3L);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> orderService.setDeliveryStatus(orderId, DeliveryStatus.COMPLETED, 2L));
+        assertEquals(DeliveryStatus.PROCESSING, order.getDeliveryStatus());
+    }
+
     @Test
     void cancelOrderTest() {
         Long orderId = 1L;
@@ -235,10 +325,13 @@ class OrderServiceTest {
         when(userRepository.userHasOrderWithId(userId, orderId)).thenReturn(true);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        orderService.cancelOrder(orderId, userId);
+        orderService.cancelOrder(orderId, userId, null);
 
         verify(userRepository).userHasOrderWithId(userId, orderId);
         verify(orderRepository).findById(orderId);
+        verify(productRepository).updateOrderCountByOrderId(orderId, -1);
+        verify(productIndexService).refresh(List.of(1L));
+        verify(catalogVersionService).bump();
     }
 
     @Test
@@ -248,7 +341,7 @@ class OrderServiceTest {
 
         when(userRepository.userHasOrderWithId(userId, orderId)).thenReturn(false);
 
-        assertThrows(ForbiddenException.class, () -> orderService.cancelOrder(orderId, userId));
+        assertThrows(ForbiddenException.class, () -> orderService.cancelOrder(orderId, userId, null));
         verify(userRepository).userHasOrderWithId(userId, orderId);
     }
 
@@ -268,7 +361,48 @@ class OrderServiceTest {
 
         assertEquals(expectedResponse, result);
         verify(orderRepository).findAllByFilterParameters(filterParametersDto, pageable);
+        verify(totalCountService).put(filterParametersDto, 1L, 1L);
         verify(modelMapper).map(order, ShortOrderResponseDto.class);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllByFilterWithEstimatedTotalTest() {
+        OrderFilterDto filterParametersDto = new OrderFilterDto();
+        Pageable pageable = PageRequest.of(1, 1);
+        Order order = getOrder();
+        ShortOrderResponseDto shortOrderResponseDto = getShortOrderResponseDto();
+
+        when(totalCountService.findEstimate(eq(filterParametersDto), eq(pageable), any(), any()))
+            .thenReturn(Optional.of(50_000L));
+        when(orderRepository.findPageByFilterParameters(filterParametersDto, pageable)).thenReturn(List.of(order));
+        when(modelMapper.map(order, ShortOrderResponseDto.class)).thenReturn(shortOrderResponseDto);
+
+        PageableDto<ShortOrderResponseDto> result = orderService.getAllByFilter(filterParametersDto, pageable);
+
+        assertEquals(List.of(shortOrderResponseDto), result.getPage());
+        assertEquals(50_000L, result.getTotalElements());
+        assertFalse(result.isTotalElementsExact());
+        verify(orderRepository, never()).findAllByFilterParameters(any(), any());
+        verify(totalCountService, never()).put(any(), any(), anyLong());
+    }
+
+    @Test
+    void getAllByFilterAndCursorTest() {
+        OrderFilterDto filterParametersDto = new OrderFilterDto();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Order order = getOrder();
+        Window<Order> window = Window.from(Collections.singletonList(order), i -> ScrollPosition.keyset(), false);
+        ShortOrderResponseDto shortOrderResponseDto = getShortOrderResponseDto();
+        var expectedResponse = new CursorPageableDto<>(List.of(shortOrderResponseDto), null);
+
+        when(orderRepository.scrollAllByFilterParameters(filterParametersDto, ScrollPosition.keyset(), pageable))
+            .thenReturn(window);
+        when(modelMapper.map(order, ShortOrderResponseDto.class)).thenReturn(shortOrderResponseDto);
+
+        var result = orderService.getAllByFilter("", filterParametersDto, pageable);
+
+        assertEquals(expectedResponse, result);
+        verify(orderRepository).scrollAllByFilterParameters(filterParametersDto, ScrollPosition.keyset(), pageable);
+        verify(modelMapper).map(order, ShortOrderResponseDto.class);
+    }
+}
@@ -0,0 +1,173 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.service.impl.ParallelQueryService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelQueryServiceTest {
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void forkRunsQueriesConcurrentlyInOwnTransactionsTest() {
+        var parallelQueryService = new ParallelQueryService(transactionManager, true, 2);
+        var bothStarted = new CountDownLatch(2);
+        Thread caller = Thread.currentThread();
+
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Thread> first = scope.fork(() -> awaitOther(bothStarted));
+            Supplier<Thread> second = scope.fork(() -> awaitOther(bothStarted));
+            scope.join();
+
+            assertTrue(first.get().isVirtual());
+            assertTrue(second.get().isVirtual());
+            assertNotEquals(caller, first.get());
+        }
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void forkRunsQueryOnCallingThreadWhenDisabledTest() {
+        var parallelQueryService = new ParallelQueryService(transactionManager, false, 2);
+
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Thread> query = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(Thread.currentThread(), query.get());
+        }
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void forkRunsQueryOnCallingThreadWhenCapIsReachedTest() {
+        var parallelQueryService = new ParallelQueryService(transactionManager, true, 1);
+        var released = new CountDownLatch(1);
+
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Thread> first = scope.fork(() -> await(released));
+            Supplier<Thread> second = scope.fork(Thread::currentThread);
+            released.countDown();
+            scope.join();
+
+            assertTrue(first.get().isVirtual());
+            assertSame(Thread.currentThread(), second.get());
+        }
+    }
+
+    @Test
+    void forkCountsConnectionOfCallingThreadInTransactionInCapTest() {
+        var parallelQueryService = new ParallelQueryService(transactionManager, true, 2);
+        var released = new CountDownLatch(1);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Thread> first = scope.fork(() -> await(released));
+            Supplier<Thread> second = scope.fork(Thread::currentThread);
+            released.countDown();
+            scope.join();
+
+            assertTrue(first.get().isVirtual());
+            assertSame(Thread.currentThread(), second.get());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Thread> first = scope.fork(Thread::currentThread);
+            Supplier<Thread> second = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertTrue(first.get().isVirtual());
+            assertTrue(second.get().isVirtual());
+        }
+    }
+
+    @Test
+    void forkRunsQueryWithSecurityContextOfCallingThreadTest() {
+        var parallelQueryService = new ParallelQueryService(transactionManager, true, 2);
+        var authentication = new TestingAuthenticationToken("user@mail.com", null);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            Supplier<Authentication> query = scope.fork(() ->
+                SecurityContextHolder.getContext().getAuthentication());
+            scope.join();
+
+            assertSame(authentication, query.get());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void joinRethrowsFailureAndCancelsOtherQueriesTest() throws InterruptedException {
+        var parallelQueryService = new ParallelQueryService(transactionManager, true, 2);
+        var failure = new IllegalStateException("failed");
+        var interrupted = new CountDownLatch(1);
+
+        try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+            scope.fork(() -> {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw failure;
+            });
+
+            assertSame(failure, assertThrows(IllegalStateException.class, scope::join));
+        }
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void permitsAreReleasedAfterQueriesCompleteTest() {
+        var parallelQueryService = new ParallelQueryService(transactionManager, true, 1);
+
+        for (int i = 0; i < 3; i++) {
+            try (ParallelQueryService.Scope scope = parallelQueryService.open()) {
+                Supplier<Thread> query = scope.fork(Thread::currentThread);
+                scope.join();
+
+                assertTrue(query.get().isVirtual());
+            }
+        }
+    }
+
+    private Thread awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    private Thread await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(1, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread();
+    }
+}
@@ -0,0 +1,129 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.PriceHistogramBucketDto;
+import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.dto.product.ProductPriceBoundsDto;
+import io.teamchallenge.entity.pricebound.PriceBound;
+import io.teamchallenge.entity.pricebound.PriceBoundId;
+import io.teamchallenge.repository.PriceBoundRepository;
+import io.teamchallenge.service.impl.PriceBoundsService;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceBoundsServiceTest {
+    private static final BigDecimal BUCKET_WIDTH = BigDecimal.valueOf(50);
+
+    @Mock
+    private PriceBoundRepository priceBoundRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PriceBoundsService priceBoundsService;
+
+    @BeforeEach
+    void setUp() {
+        priceBoundsService = new PriceBoundsService(priceBoundRepository, transactionManager, BUCKET_WIDTH);
+    }
+
+    @Test
+    void findPriceBoundsReturnsEmptyWhenRollupIsStaleTest() {
+        assertTrue(priceBoundsService.isStale());
+        assertEquals(Optional.empty(), priceBoundsService.findPriceBounds(new ProductFilterDto()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPriceBoundsTest() {
+        rebuildRollup();
+        when(priceBoundRepository.findAll(any(Specification.class))).thenReturn(List.of(
+            getPriceBound(1L, 0, "19.99", "29.99", 2),
+            getPriceBound(2L, 0, "9.99", "9.99", 1),
+            getPriceBound(1L, 11, "599.99", "599.99", 1)));
+
+        ProductPriceBoundsDto actual = priceBoundsService
+            .findPriceBounds(ProductFilterDto.builder().categoryId(1L).brandIds(List.of(1L, 2L)).build())
+            .orElseThrow();
+
+        assertEquals(new ProductMinMaxPriceDto(new BigDecimal("9.99"), new BigDecimal("599.99")),
+            actual.getPriceRange());
+        assertEquals(List.of(
+                new PriceHistogramBucketDto(BigDecimal.ZERO, BUCKET_WIDTH, 3L),
+                new PriceHistogramBucketDto(BigDecimal.valueOf(550), BigDecimal.valueOf(600), 1L)),
+            actual.getHistogram());
+    }
+
+    @Test
+    void findPriceBoundsReturnsEmptyWhenFilterContainsAttributeValuesTest() {
+        rebuildRollup();
+
+        assertEquals(Optional.empty(), priceBoundsService.findPriceBounds(
+            ProductFilterDto.builder().attributeValueIds(List.of(1L)).build()));
+        assertEquals(Optional.empty(), priceBoundsService.findPriceBounds(
+            ProductFilterDto.builder().name("phone").build()));
+    }
+
+    @Test
+    void refreshTest() {
+        rebuildRollup();
+
+        priceBoundsService.refresh(1L, 2L);
+
+        verify(priceBoundRepository).refresh(eq(1L), eq(2L), eq(BUCKET_WIDTH));
+        assertFalse(priceBoundsService.isStale());
+    }
+
+    @Test
+    void refreshMarksRollupStaleWhenRecomputationFailsTest() {
+        rebuildRollup();
+        doThrow(new IllegalStateException()).when(priceBoundRepository).refresh(1L, 2L, BUCKET_WIDTH);
+
+        priceBoundsService.refresh(1L, 2L);
+
+        assertTrue(priceBoundsService.isStale());
+    }
+
+    @Test
+    void rebuildKeepsRollupStaleWhenRebuildFailsTest() {
+        when(priceBoundRepository.rebuild(BUCKET_WIDTH)).thenThrow(new IllegalStateException());
+
+        priceBoundsService.rebuild();
+
+        assertTrue(priceBoundsService.isStale());
+        verify(priceBoundRepository, never()).refresh(any(), any(), any());
+    }
+
+    private void rebuildRollup() {
+        when(priceBoundRepository.rebuild(BUCKET_WIDTH)).thenReturn(3);
+        priceBoundsService.rebuild();
+        assertFalse(priceBoundsService.isStale());
+    }
+
+    private PriceBound getPriceBound(Long brandId, int bucket, String minPrice, String maxPrice, int productCount) {
+        return PriceBound.builder()
+            .id(new PriceBoundId(1L, brandId, bucket))
+            .minPrice(new BigDecimal(minPrice))
+            .maxPrice(new BigDecimal(maxPrice))
+            .productCount(productCount)
+            .build();
+    }
+}
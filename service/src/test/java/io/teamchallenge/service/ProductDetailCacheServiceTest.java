@@ -0,0 +1,151 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.dto.product.ProductDetailCacheStatsDto;
+import io.teamchallenge.dto.product.ProductResponseDto;
+import io.teamchallenge.exception.NotFoundException;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static io.teamchallenge.util.Utils.getProductResponseDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductDetailCacheServiceTest {
+    private final ProductDetailCacheService productDetailCacheService = new ProductDetailCacheService(100L, 600L, 0L);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void getLoadsProductOnceTest() {
+        ProductResponseDto product = getProductResponseDto();
+        Function<Long, ProductResponseDto> loader = countingLoader(product);
+
+        assertSame(product, productDetailCacheService.get(1L, loader));
+        assertSame(product, productDetailCacheService.get(1L, loader));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getLoadsConcurrentMissesOnceTest() throws Exception {
+        ProductResponseDto product = getProductResponseDto();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, ProductResponseDto> loader = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return product;
+        };
+
+        CompletableFuture<ProductResponseDto> first =
+            CompletableFuture.supplyAsync(() -> productDetailCacheService.get(1L, loader));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProductResponseDto> second =
+            CompletableFuture.supplyAsync(() -> productDetailCacheService.get(1L, loader));
+        release.countDown();
+
+        assertSame(product, first.get(5, TimeUnit.SECONDS));
+        assertSame(product, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getDoesNotCacheFailedLoadTest() {
+        ProductResponseDto product = getProductResponseDto();
+
+        assertThrows(NotFoundException.class, () -> productDetailCacheService.get(1L, id -> {
+            throw new NotFoundException("Product not found");
+        }));
+        assertSame(product, productDetailCacheService.get(1L, countingLoader(product)));
+
+        assertEquals(1, productDetailCacheService.getStats().getLoadFailureCount());
+    }
+
+    @Test
+    void invalidateWithoutTransactionTest() {
+        Function<Long, ProductResponseDto> loader = countingLoader(getProductResponseDto());
+        productDetailCacheService.get(1L, loader);
+        productDetailCacheService.get(2L, loader);
+
+        productDetailCacheService.invalidate(List.of(1L));
+        productDetailCacheService.get(1L, loader);
+        productDetailCacheService.get(2L, loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidateInTransactionInvalidatesAfterCommitTest() {
+        Function<Long, ProductResponseDto> loader = countingLoader(getProductResponseDto());
+        productDetailCacheService.get(1L, loader);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productDetailCacheService.invalidate(List.of(1L));
+            productDetailCacheService.get(1L, loader);
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            productDetailCacheService.get(1L, loader);
+            assertEquals(2, loads.get());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getDoesNotCacheProductLoadedWithinReplicaLagAfterInvalidationTest() {
+        var cacheService = new ProductDetailCacheService(100L, 600L, 60L);
+        Function<Long, ProductResponseDto> loader = countingLoader(getProductResponseDto());
+        cacheService.get(1L, loader);
+        cacheService.get(2L, loader);
+
+        cacheService.invalidate(List.of(1L));
+        cacheService.get(1L, loader);
+        cacheService.get(1L, loader);
+        cacheService.get(2L, loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void getStatsTest() {
+        Function<Long, ProductResponseDto> loader = countingLoader(getProductResponseDto());
+        productDetailCacheService.get(1L, loader);
+        productDetailCacheService.get(1L, loader);
+        productDetailCacheService.get(1L, loader);
+        productDetailCacheService.get(2L, loader);
+
+        ProductDetailCacheStatsDto stats = productDetailCacheService.getStats();
+
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0, stats.getLoadFailureCount());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(2, stats.getSize());
+    }
+
+    private Function<Long, ProductResponseDto> countingLoader(ProductResponseDto product) {
+        return id -> {
+            loads.incrementAndGet();
+            return product;
+        };
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
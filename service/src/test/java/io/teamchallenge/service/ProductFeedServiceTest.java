@@ -0,0 +1,95 @@
+package io.teamchallenge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.teamchallenge.dto.product.ProductFeedRowDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.repository.ProductRepository;
+import io.teamchallenge.service.impl.ProductFeedService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFeedServiceTest {
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 10, 10, 0);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFeedService productFeedService;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        productFeedService = new ProductFeedService(productRepository, objectMapper);
+    }
+
+    @Test
+    void exportNdjsonTest() throws IOException {
+        when(productRepository.streamFeedRows(LocalDateTime.of(1970, 1, 1, 0, 0))).thenReturn(getRows());
+        var outputStream = new ByteArrayOutputStream();
+
+        productFeedService.export(null, ProductFeedFormat.NDJSON, outputStream);
+
+        assertEquals("""
+                {"id":1,"name":"Phone","shortDesc":"Smartphone","price":599.99,"available":true,\
+                "brand":"Brand","category":"Electronics","attributes":{"Color":["Red","Blue"],"Material":["Cotton"]},\
+                "image":"https://example.com/1.jpg","rating":4.5,"reviewCount":2,"updatedAt":"2024-05-10T10:00:00"}
+                {"id":2,"name":"T-shirt, white","shortDesc":"T-shirt","price":19.99,"available":false,\
+                "brand":"Brand","category":"Clothing","attributes":{},\
+                "image":null,"rating":0.0,"reviewCount":0,"updatedAt":"2024-05-10T10:00:00"}
+                """,
+            outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportCsvTest() throws IOException {
+        when(productRepository.streamFeedRows(UPDATED_AT)).thenReturn(getRows());
+        var outputStream = new ByteArrayOutputStream();
+
+        productFeedService.export(UPDATED_AT, ProductFeedFormat.CSV, outputStream);
+
+        verify(productRepository).streamFeedRows(eq(UPDATED_AT));
+        assertEquals("id,name,short_desc,price,available,brand,category,attributes,image,rating,review_count,"
+                + "updated_at\r\n"
+                + "1,Phone,Smartphone,599.99,true,Brand,Electronics,Color=Red|Blue;Material=Cotton,"
+                + "https://example.com/1.jpg,4.5,2,2024-05-10T10:00\r\n"
+                + "2,\"T-shirt, white\",T-shirt,19.99,false,Brand,Clothing,,,0.0,0,2024-05-10T10:00\r\n",
+            outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    private Stream<ProductFeedRowDto> getRows() {
+        return Stream.of(
+            getRow(1L, "Phone", "Smartphone", "599.99", 10, 4.5, 2, "Electronics", "https://example.com/1.jpg",
+                "Color", "Red"),
+            getRow(1L, "Phone", "Smartphone", "599.99", 10, 4.5, 2, "Electronics", "https://example.com/1.jpg",
+                "Color", "Blue"),
+            getRow(1L, "Phone", "Smartphone", "599.99", 10, 4.5, 2, "Electronics", "https://example.com/1.jpg",
+                "Material", "Cotton"),
+            getRow(2L, "T-shirt, white", "T-shirt", "19.99", 0, 0.0, 0, "Clothing", null, null, null));
+    }
+
+    private ProductFeedRowDto getRow(Long id, String name, String shortDesc, String price, int quantity,
+                                     double rating, int ratingCount, String category, String image,
+                                     String attribute, String attributeValue) {
+        return new ProductFeedRowDto(id, name, shortDesc, new BigDecimal(price), quantity, rating, ratingCount,
+            UPDATED_AT, "Brand", category, image, attribute, attributeValue);
+    }
+}
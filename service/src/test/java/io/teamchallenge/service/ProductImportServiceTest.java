@@ -0,0 +1,274 @@
+package io.teamchallenge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.teamchallenge.dto.product.ProductImportDto;
+import io.teamchallenge.entity.Brand;
+import io.teamchallenge.entity.Category;
+import io.teamchallenge.entity.Product;
+import io.teamchallenge.entity.attributes.Attribute;
+import io.teamchallenge.entity.attributes.AttributeValue;
+import io.teamchallenge.entity.attributes.ProductAttribute;
+import io.teamchallenge.entity.productimport.ProductImport;
+import io.teamchallenge.entity.productimport.ProductImportError;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import io.teamchallenge.enumerated.ProductImportStatus;
+import io.teamchallenge.exception.ConflictException;
+import io.teamchallenge.repository.AttributeRepository;
+import io.teamchallenge.repository.AttributeValueRepository;
+import io.teamchallenge.repository.BrandRepository;
+import io.teamchallenge.repository.CategoryRepository;
+import io.teamchallenge.repository.ProductImportErrorRepository;
+import io.teamchallenge.repository.ProductImportRepository;
+import io.teamchallenge.repository.ProductRepository;
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.PriceBoundsService;
+import io.teamchallenge.service.impl.ProductImportService;
+import io.teamchallenge.service.impl.ProductIndexService;
+import jakarta.validation.Validation;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+    @Mock
+    private ProductImportRepository productImportRepository;
+    @Mock
+    private ProductImportErrorRepository productImportErrorRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private AttributeRepository attributeRepository;
+    @Mock
+    private AttributeValueRepository attributeValueRepository;
+    @Mock
+    private ProductIndexService productIndexService;
+    @Mock
+    private PriceBoundsService priceBoundsService;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<Product>> productsCaptor;
+    @Captor
+    private ArgumentCaptor<List<ProductAttribute>> productAttributesCaptor;
+    @Captor
+    private ArgumentCaptor<List<ProductImportError>> errorsCaptor;
+    @TempDir
+    private Path directory;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportService(productImportRepository, productImportErrorRepository,
+            productRepository, brandRepository, categoryRepository, attributeRepository, attributeValueRepository,
+            productIndexService, priceBoundsService, catalogVersionService, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, directory, 500,
+            120L);
+    }
+
+    @Test
+    void runTest() throws IOException {
+        Path file = Files.writeString(directory.resolve("products.csv"),
+            "name,short_desc,description,price,quantity,brand,category,attributes\n"
+                + "Phone,Smartphone,Phone,599.99,3,brand,Electronics,Color=Red|Black\n"
+                + "Case,Case,Case,9.99,1,Unknown,Electronics,\n"
+                + "Phone,Smartphone,Phone,599.99,3,Brand,Electronics,\n"
+                + "Charger,Charger,Charger,cheap,1,Brand,Electronics,\n"
+                + "Cable,Cable,Cable,4.99,0,Brand,Electronics,\n");
+        var productImport = getProductImport(ProductFeedFormat.CSV, file);
+        mockDictionaries();
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+        when(productImportRepository.save(productImport)).thenReturn(productImport);
+        when(productRepository.findExistingNames(anyCollection())).thenReturn(List.of());
+        when(productRepository.insertAttributeValues(anyList())).thenReturn(List.of(AttributeValue.builder()
+            .id(11L).attribute(Attribute.builder().id(3L).build()).value("Black").build()));
+        when(productRepository.insertProducts(anyList())).thenReturn(Map.of("Phone", 100L));
+
+        productImportService.run(1L);
+
+        verify(productRepository).insertProducts(productsCaptor.capture());
+        assertEquals(1, productsCaptor.getValue().size());
+        assertEquals(1L, productsCaptor.getValue().get(0).getBrand().getId());
+        assertEquals(2L, productsCaptor.getValue().get(0).getCategory().getId());
+        verify(productRepository).insertProductAttributes(productAttributesCaptor.capture());
+        assertEquals(List.of(10L, 11L), productAttributesCaptor.getValue().stream()
+            .map(productAttribute -> productAttribute.getAttributeValue().getId())
+            .toList());
+        verify(productImportErrorRepository).saveAll(errorsCaptor.capture());
+        assertEquals(List.of(
+                "2: There is no brand with name: Unknown",
+                "3: The product with name: Phone is already imported by the row 1",
+                "4: The row is malformed: Character c is neither a decimal digit number, decimal point, "
+                    + "nor \"e\" notation exponential mark.",
+                "5: Invalid field quantity: The quantity of one product must be greater than 0"),
+            errorsCaptor.getValue().stream().map(error -> error.getRowNumber() + ": " + error.getMessage()).toList());
+        verify(productIndexService).refresh(List.of(100L));
+        verify(priceBoundsService).refresh(2L, 1L);
+        verify(catalogVersionService).bump();
+        assertEquals(ProductImportStatus.COMPLETED, productImport.getStatus());
+        assertEquals(5, productImport.getTotalRows());
+        assertEquals(5, productImport.getProcessedRows());
+        assertEquals(1, productImport.getImportedRows());
+        assertEquals(4, productImport.getFailedRows());
+        assertEquals(1, productImport.getCommittedChunks());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void runResumesAfterCommittedRowsTest() throws IOException {
+        Path file = Files.writeString(directory.resolve("products.ndjson"),
+            "{\"name\":\"Phone\",\"shortDesc\":\"Phone\",\"description\":\"Phone\",\"price\":599.99,\"quantity\":1,"
+                + "\"brand\":\"Brand\",\"category\":\"Electronics\"}\n"
+                + "{\"name\":\"Case\",\"shortDesc\":\"Case\",\"description\":\"Case\",\"price\":9.99,\"quantity\":1,"
+                + "\"brand\":\"Brand\",\"category\":\"Electronics\"}\n");
+        var productImport = getProductImport(ProductFeedFormat.NDJSON, file);
+        productImport.setTotalRows(2);
+        productImport.addChunk(1, 1, 0, 100);
+        mockDictionaries();
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+        when(productImportRepository.save(productImport)).thenReturn(productImport);
+        when(productRepository.findExistingNames(anyCollection())).thenReturn(List.of());
+        when(productRepository.insertProducts(anyList())).thenReturn(Map.of("Case", 101L));
+
+        productImportService.run(1L);
+
+        verify(productRepository).insertProducts(productsCaptor.capture());
+        assertEquals(List.of("Case"), productsCaptor.getValue().stream().map(Product::getName).toList());
+        assertEquals(ProductImportStatus.COMPLETED, productImport.getStatus());
+        assertEquals(2, productImport.getProcessedRows());
+        assertEquals(2, productImport.getImportedRows());
+        assertEquals(2, productImport.getCommittedChunks());
+    }
+
+    @Test
+    void runMarksImportAsFailedWhenFileIsMissingTest() {
+        var productImport = getProductImport(ProductFeedFormat.CSV, directory.resolve("missing.csv"));
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+        when(productImportRepository.save(productImport)).thenReturn(productImport);
+
+        productImportService.run(1L);
+
+        assertEquals(ProductImportStatus.FAILED, productImport.getStatus());
+        assertEquals("The file of the product import cannot be read", productImport.getFailureMessage());
+        verify(productRepository, never()).insertProducts(anyList());
+    }
+
+    @Test
+    void runSkipsImportOwnedByAnotherInstanceTest() {
+        var productImport = getProductImport(ProductFeedFormat.CSV, directory.resolve("products.csv"));
+        productImport.setOwnerId("another-instance");
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+
+        productImportService.run(1L);
+
+        assertEquals(ProductImportStatus.PENDING, productImport.getStatus());
+        verify(productImportRepository, never()).save(productImport);
+        verify(productRepository, never()).insertProducts(anyList());
+    }
+
+    @Test
+    void failInterruptedFailsOnlyImportsWithExpiredLeaseOfOtherInstancesTest() {
+        ArgumentCaptor<LocalDateTime> expiredBeforeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(productImportRepository.updateStatusOfAbandoned(
+            eq(List.of(ProductImportStatus.PENDING, ProductImportStatus.RUNNING)), eq(getInstanceId()),
+            expiredBeforeCaptor.capture(), eq(ProductImportStatus.FAILED), any())).thenReturn(2);
+
+        assertEquals(2, productImportService.failInterrupted());
+        LocalDateTime expected = LocalDateTime.now().minusSeconds(120);
+        assertTrue(expiredBeforeCaptor.getValue().isAfter(expected.minusSeconds(5)));
+        assertFalse(expiredBeforeCaptor.getValue().isAfter(expected));
+    }
+
+    @Test
+    void resumeThrowsConflictExceptionWhenImportIsNotFailedTest() {
+        var productImport = getProductImport(ProductFeedFormat.CSV, directory.resolve("products.csv"));
+        productImport.setStatus(ProductImportStatus.RUNNING);
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+
+        assertThrows(ConflictException.class, () -> productImportService.resume(1L));
+    }
+
+    @Test
+    void getByIdTest() {
+        var productImport = getProductImport(ProductFeedFormat.CSV, directory.resolve("products.csv"));
+        productImport.setStatus(ProductImportStatus.RUNNING);
+        productImport.setTotalRows(1000);
+        productImport.addChunk(500, 490, 10, 2000);
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+
+        ProductImportDto actual = productImportService.getById(1L);
+
+        assertEquals(0.5, actual.getProgress());
+        assertEquals(250.0, actual.getRowsPerSecond());
+        assertEquals(490, actual.getImportedRows());
+        assertEquals(10, actual.getFailedRows());
+    }
+
+    @Test
+    void getByIdOfPendingImportTest() {
+        var productImport = getProductImport(ProductFeedFormat.CSV, directory.resolve("products.csv"));
+        when(productImportRepository.findById(1L)).thenReturn(Optional.of(productImport));
+
+        ProductImportDto actual = productImportService.getById(1L);
+
+        assertNull(actual.getProgress());
+        assertNull(actual.getRowsPerSecond());
+    }
+
+    private ProductImport getProductImport(ProductFeedFormat format, Path file) {
+        return ProductImport.builder()
+            .id(1L)
+            .format(format)
+            .status(ProductImportStatus.PENDING)
+            .filePath(file.toString())
+            .ownerId(getInstanceId())
+            .build();
+    }
+
+    private String getInstanceId() {
+        return (String) ReflectionTestUtils.getField(productImportService, "instanceId");
+    }
+
+    private void mockDictionaries() {
+        when(brandRepository.findAll()).thenReturn(List.of(Brand.builder().id(1L).name("Brand").build()));
+        when(categoryRepository.findAll()).thenReturn(List.of(Category.builder().id(2L).name("Electronics").build()));
+        var color = Attribute.builder().id(3L).name("Color").build();
+        when(attributeRepository.findAll()).thenReturn(List.of(color));
+        when(attributeValueRepository.findAllWithAttribute()).thenReturn(List.of(
+            AttributeValue.builder().id(10L).attribute(color).value("Red").build()));
+    }
+}
@@ -0,0 +1,159 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.datasource.PrimaryReads;
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.ProductAttributeIndexDto;
+import io.teamchallenge.dto.product.ProductFacetCountsDto;
+import io.teamchallenge.dto.product.ProductIndexDto;
+import io.teamchallenge.dto.product.ProductListingDto;
+import io.teamchallenge.dto.product.ProductMinMaxPriceDto;
+import io.teamchallenge.repository.ProductAttributeRepository;
+import io.teamchallenge.repository.ProductRepository;
+import io.teamchallenge.service.impl.ProductIndexService;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIndexServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductAttributeRepository productAttributeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductIndexService productIndexService;
+
+    @BeforeEach
+    void setUp() {
+        productIndexService =
+            new ProductIndexService(productRepository, productAttributeRepository, transactionManager);
+    }
+
+    @Test
+    void findProductListingReturnsEmptyWhenIndexIsStaleTest() {
+        assertTrue(productIndexService.isStale());
+        assertEquals(Optional.empty(),
+            productIndexService.findProductListing(new ProductFilterDto(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findProductListingTest() {
+        rebuildIndex();
+        var pageable = PageRequest.of(0, 1);
+
+        ProductListingDto actual = productIndexService
+            .findProductListing(ProductFilterDto.builder().attributeValueIds(List.of(5L, 6L)).build(), pageable)
+            .orElseThrow();
+
+        assertFalse(productIndexService.isStale());
+        assertEquals(List.of(1L), actual.getProductIds().getContent());
+        assertEquals(2, actual.getProductIds().getTotalElements());
+        assertEquals(new ProductMinMaxPriceDto(new BigDecimal("19.99"), new BigDecimal("599.99")),
+            actual.getPriceRange());
+    }
+
+    @Test
+    void findProductListingReturnsEmptyWhenFilterContainsNameTest() {
+        rebuildIndex();
+
+        assertEquals(Optional.empty(), productIndexService.findProductListing(
+            ProductFilterDto.builder().name("phone").build(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findFacetCountsTest() {
+        rebuildIndex();
+
+        ProductFacetCountsDto actual = productIndexService
+            .findFacetCounts(ProductFilterDto.builder().brandIds(List.of(1L)).build())
+            .orElseThrow();
+
+        assertEquals(Map.of(1L, 1L, 2L, 1L), actual.getBrandCounts());
+        assertEquals(Map.of(5L, 1L), actual.getAttributeValueCounts());
+    }
+
+    @Test
+    void refreshTest() {
+        rebuildIndex();
+        when(productRepository.findIndexEntriesByIds(Set.of(1L, 2L)))
+            .thenReturn(List.of(getProductIndexDto(2L, "9.99")));
+        when(productAttributeRepository.findIndexEntriesByProductIds(Set.of(1L, 2L)))
+            .thenReturn(List.of(new ProductAttributeIndexDto(2L, 2L, 6L)));
+
+        productIndexService.refresh(List.of(1L, 2L));
+
+        ProductListingDto actual = productIndexService
+            .findProductListing(new ProductFilterDto(), PageRequest.of(0, 10))
+            .orElseThrow();
+        verify(productRepository).findIndexEntriesByIds(Set.of(1L, 2L));
+        assertEquals(List.of(2L), actual.getProductIds().getContent());
+        assertEquals(new ProductMinMaxPriceDto(new BigDecimal("9.99"), new BigDecimal("9.99")),
+            actual.getPriceRange());
+    }
+
+    @Test
+    void refreshReadsProductsFromPrimaryTest() {
+        rebuildIndex();
+        when(productRepository.findIndexEntriesByIds(Set.of(3L))).thenAnswer(invocation -> {
+            assertTrue(PrimaryReads.isActive());
+            return List.of(getProductIndexDto(3L, "9.99"));
+        });
+
+        productIndexService.refresh(List.of(3L));
+
+        assertFalse(productIndexService.isStale());
+        assertEquals(3L, productIndexService
+            .findProductListing(new ProductFilterDto(), PageRequest.of(0, 10))
+            .orElseThrow()
+            .getProductIds()
+            .getTotalElements());
+    }
+
+    @Test
+    void refreshMarksIndexStaleWhenReloadFailsTest() {
+        rebuildIndex();
+        when(productRepository.findIndexEntriesByIds(Set.of(1L)))
+            .thenThrow(new IllegalStateException());
+
+        productIndexService.refresh(List.of(1L));
+
+        assertTrue(productIndexService.isStale());
+    }
+
+    private void rebuildIndex() {
+        when(productRepository.findAllIndexEntries())
+            .thenReturn(List.of(getProductIndexDto(1L, "599.99"), getProductIndexDto(2L, "19.99")));
+        when(productAttributeRepository.findAllIndexEntries())
+            .thenReturn(List.of(new ProductAttributeIndexDto(1L, 2L, 5L), new ProductAttributeIndexDto(2L, 2L, 6L)));
+        productIndexService.rebuild();
+    }
+
+    private ProductIndexDto getProductIndexDto(Long id, String price) {
+        return ProductIndexDto.builder()
+            .id(id)
+            .brandId(id)
+            .categoryId(1L)
+            .price(new BigDecimal(price))
+            .quantity(5)
+            .rating(id == 1L ? 4.5 : 3.0)
+            .orderCount(0)
+            .build();
+    }
+}
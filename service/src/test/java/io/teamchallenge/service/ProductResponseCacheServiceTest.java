@@ -0,0 +1,111 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.ProductResponseDto;
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
+import io.teamchallenge.service.impl.ProductResponseCacheService;
+import io.teamchallenge.service.impl.ProductService;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static io.teamchallenge.util.Utils.getAdvancedPageableDto;
+import static io.teamchallenge.util.Utils.getProductFilterDto;
+import static io.teamchallenge.util.Utils.getProductResponseDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductResponseCacheServiceTest {
+    @Mock
+    private ProductService productService;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private ProductDetailCacheService productDetailCacheService;
+
+    private ProductResponseCacheService productResponseCacheService;
+
+    @BeforeEach
+    void setUp() {
+        productResponseCacheService =
+            new ProductResponseCacheService(productService, catalogVersionService, productDetailCacheService,
+                100L, 60L);
+    }
+
+    @Test
+    void getAllLoadsResponseOnceForSameVersionTest() {
+        var pageable = PageRequest.of(0, 10, Sort.by("price"));
+        var filter = getProductFilterDto();
+        var response = getAdvancedPageableDto();
+        when(catalogVersionService.getVersion()).thenReturn(1L);
+        when(productService.getAll(pageable, filter)).thenReturn(response);
+
+        assertEquals(response, productResponseCacheService.getAll(pageable, filter));
+        assertEquals(response, productResponseCacheService.getAll(pageable, filter));
+
+        verify(productService).getAll(pageable, filter);
+    }
+
+    @Test
+    void getAllSharesResponseOfEquivalentFiltersTest() {
+        var pageable = PageRequest.of(0, 10, Sort.by("price"));
+        var filter = ProductFilterDto.builder()
+            .name("Phone")
+            .brandIds(List.of(2L, 1L))
+            .attributeValueIds(List.of(4L, 2L, 4L))
+            .build();
+        var equivalentFilter = ProductFilterDto.builder()
+            .name("phone")
+            .brandIds(List.of(1L, 2L))
+            .attributeValueIds(List.of(2L, 4L))
+            .build();
+        var response = getAdvancedPageableDto();
+        when(catalogVersionService.getVersion()).thenReturn(1L);
+        when(productService.getAll(pageable, filter)).thenReturn(response);
+
+        productResponseCacheService.getAll(pageable, filter);
+        assertEquals(response, productResponseCacheService.getAll(pageable, equivalentFilter));
+
+        verify(productService, times(1)).getAll(any(), any());
+    }
+
+    @Test
+    void getAllReloadsResponseAfterVersionChangeTest() {
+        var pageable = PageRequest.of(0, 10, Sort.by("price"));
+        var filter = getProductFilterDto();
+        when(catalogVersionService.getVersion()).thenReturn(1L, 2L);
+        when(productService.getAll(pageable, filter)).thenReturn(getAdvancedPageableDto());
+
+        productResponseCacheService.getAll(pageable, filter);
+        productResponseCacheService.getAll(pageable, filter);
+
+        verify(productService, times(2)).getAll(pageable, filter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getByIdLoadsResponseThroughDetailCacheTest() {
+        var response = getProductResponseDto();
+        when(productDetailCacheService.get(eq(1L), any(Function.class)))
+            .thenAnswer(invocation -> invocation.<Function<Long, ProductResponseDto>>getArgument(1).apply(1L));
+        when(productService.getById(1L)).thenReturn(response);
+
+        assertEquals(response, productResponseCacheService.getById(1L));
+
+        verify(productService).getById(1L);
+        verify(catalogVersionService, never()).getVersion();
+    }
+}
@@ -3,36 +3,68 @@ package io.teamchallenge.service;
 import io.teamchallenge.constant.ExceptionMessage;
 import io.teamchallenge.dto.attributes.AttributeAttributeValueRequestDto;
 import io.teamchallenge.dto.filter.ProductFilterDto;
+import io.teamchallenge.dto.product.PriceHistogramBucketDto;
+import io.teamchallenge.dto.product.ProductAttributeComparisonDto;
 import io.teamchallenge.dto.product.ProductAttributeResponseDto;
+import io.teamchallenge.dto.product.ProductComparisonCellDto;
+import io.teamchallenge.dto.product.ProductFacetCountsDto;
+import io.teamchallenge.dto.product.ProductListingDto;
+import io.teamchallenge.dto.product.ProductPriceBoundsDto;
 import io.teamchallenge.dto.product.ProductResponseDto;
 import io.teamchallenge.dto.product.ShortProductResponseDto;
+import io.teamchallenge.dto.review.ReviewResponseDto;
 import io.teamchallenge.entity.Image;
 import io.teamchallenge.entity.Product;
+import io.teamchallenge.entity.attributes.Attribute;
 import io.teamchallenge.entity.attributes.AttributeValue;
 import io.teamchallenge.entity.attributes.ProductAttribute;
 import io.teamchallenge.exception.AlreadyExistsException;
+import io.teamchallenge.exception.ConflictException;
 import io.teamchallenge.exception.NotFoundException;
 import io.teamchallenge.exception.PersistenceException;
+import io.teamchallenge.exception.PreconditionFailedException;
 import io.teamchallenge.repository.AttributeRepository;
 import io.teamchallenge.repository.AttributeValueRepository;
 import io.teamchallenge.repository.BrandRepository;
 import io.teamchallenge.repository.CategoryRepository;
+import io.teamchallenge.repository.ImageRepository;
 import io.teamchallenge.repository.ProductAttributeRepository;
 import io.teamchallenge.repository.ProductRepository;
+import io.teamchallenge.repository.ReviewRepository;
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.ImageDeletionService;
+import io.teamchallenge.service.impl.ImageRenditionService;
+import io.teamchallenge.service.impl.ImageUploadService;
+import io.teamchallenge.service.impl.ParallelQueryService;
+import io.teamchallenge.service.impl.PriceBoundsService;
+import io.teamchallenge.service.impl.ProductIndexService;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
 import io.teamchallenge.service.impl.ProductService;
+import io.teamchallenge.service.impl.TotalCountService;
+import io.teamchallenge.util.CursorUtils;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import static io.teamchallenge.util.Utils.PRODUCT_IMAGES_FOLDER_NAME;
@@ -48,12 +80,17 @@ import static io.teamchallenge.util.Utils.getProductFilterDto;
 import static io.teamchallenge.util.Utils.getProductMinMaxPriceDto;
 import static io.teamchallenge.util.Utils.getProductRequestDto;
 import static io.teamchallenge.util.Utils.getProductResponseDto;
+import static io.teamchallenge.util.Utils.getReview;
+import static io.teamchallenge.util.Utils.getReviewResponseDto;
 import static io.teamchallenge.util.Utils.getShortProductResponseDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -62,6 +99,8 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
+    private static final int RECENT_REVIEWS_LIMIT = 3;
+
     private final ProductRepository productRepository;
     private final BrandRepository brandRepository;
     private final AttributeValueRepository attributeValueRepository;
@@ -70,6 +109,16 @@ class ProductServiceTest {
     private final ImageCloudService imageCloudService;
     private final ModelMapper modelMapper;
     private final AttributeRepository attributeRepository;
+    private final ProductIndexService productIndexService;
+    private final CatalogVersionService catalogVersionService;
+    private final TotalCountService totalCountService;
+    private final PriceBoundsService priceBoundsService;
+    private final ProductDetailCacheService productDetailCacheService;
+    private final ReviewRepository reviewRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ImageDeletionService imageDeletionService;
+    private final ImageRepository imageRepository;
+    private final ImageRenditionService imageRenditionService;
 
     private ProductService productService;
 
@@ -82,10 +131,32 @@ class ProductServiceTest {
         imageCloudService = mock(ImageCloudService.class);
         modelMapper = mock(ModelMapper.class);
         attributeRepository = mock(AttributeRepository.class);
-        productService =
+        productIndexService = mock(ProductIndexService.class);
+        catalogVersionService = mock(CatalogVersionService.class);
+        totalCountService = mock(TotalCountService.class);
+        priceBoundsService = mock(PriceBoundsService.class);
+        productDetailCacheService = mock(ProductDetailCacheService.class);
+        reviewRepository = mock(ReviewRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        imageDeletionService = mock(ImageDeletionService.class);
+        imageRepository = mock(ImageRepository.class);
+        imageRenditionService = mock(ImageRenditionService.class);
+        lenient().when(imageRenditionService.createRenditions(any(), any(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+        productService = createProductService(new ParallelQueryService(transactionManager, false, 4));
+    }
+
+    private ProductService createProductService(ParallelQueryService parallelQueryService) {
+        var service =
             new ProductService(productRepository, attributeRepository, brandRepository, attributeValueRepository,
-                productAttributeRepository, categoryRepository, modelMapper, imageCloudService);
-        ReflectionTestUtils.setField(productService, "productImagesFolderName", PRODUCT_IMAGES_FOLDER_NAME);
+                productAttributeRepository, categoryRepository, modelMapper, imageRepository,
+                new ImageUploadService(imageCloudService, imageDeletionService, imageRenditionService), imageDeletionService,
+                productIndexService, catalogVersionService, totalCountService, priceBoundsService,
+                parallelQueryService, productDetailCacheService, reviewRepository,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "productImagesFolderName", PRODUCT_IMAGES_FOLDER_NAME);
+        ReflectionTestUtils.setField(service, "recentReviewsLimit", RECENT_REVIEWS_LIMIT);
+        return service;
     }
 
     @Test
@@ -93,7 +164,6 @@ class ProductServiceTest {
         PageRequest pageable = PageRequest.of(0, 1);
         List<Long> productIds = List.of(1L);
         PageImpl<Long> retrievedIds = new PageImpl<>(productIds, pageable, 1);
-        var product = getProduct();
         var filter = getProductFilterDto();
         ShortProductResponseDto shortProductResponseDto = getShortProductResponseDto();
         var expected = getAdvancedPageableDto();
@@ -102,8 +172,9 @@ class ProductServiceTest {
         Specification<Product> specification3 = mock(Specification.class);
         Specification<Product> specification4 = mock(Specification.class);
         Specification<Product> specification5 = mock(Specification.class);
-        List<Specification<Product>> specifications =
-            List.of(specification1, specification2, specification3, specification4, specification5);
+        Specification<Product> specification6 = mock(Specification.class);
+        List<Specification<Product>> specifications = List.of(specification1, specification2, specification3,
+            specification4, specification5, specification6);
         Specification<Product> specification =
             Specification.allOf(specifications);
 
@@ -120,20 +191,24 @@ class ProductServiceTest {
             when(ProductRepository.Specs.byPriceRange(BigDecimal.valueOf(filter.getPrice().getFrom()),
                 BigDecimal.valueOf(filter.getPrice().getTo())))
                 .thenReturn(specification4);
-            when(ProductRepository.Specs.byAttributeValuesIds(filter.getAttributeValueIds()))
+            when(attributeValueRepository.findAllByIdIn(filter.getAttributeValueIds())).thenReturn(List.of(
+                AttributeValue.builder().id(2L).attribute(Attribute.builder().id(1L).build()).build(),
+                AttributeValue.builder().id(4L).attribute(Attribute.builder().id(2L).build()).build()));
+            when(ProductRepository.Specs.byAttributeValuesIds(List.of(2L)))
                 .thenReturn(specification5);
-            when(productRepository.findAllProductIds(specification, pageable))
-                .thenReturn(retrievedIds);
-            when(productRepository.findByIdsWithCollections(productIds))
-                .thenReturn(List.of(product));
-            when(modelMapper.map(product, ShortProductResponseDto.class))
-                .thenReturn(shortProductResponseDto);
+            when(ProductRepository.Specs.byAttributeValuesIds(List.of(4L)))
+                .thenReturn(specification6);
+            when(productRepository.findProductListing(specification, filter.getName(), pageable))
+                .thenReturn(new ProductListingDto(retrievedIds, getProductMinMaxPriceDto()));
+            when(productRepository.findShortProductsByIds(productIds))
+                .thenReturn(List.of(shortProductResponseDto));
 
             var actual = productService.getAll(pageable, filter);
 
-            verify(productRepository).findAllProductIds(eq(specification), eq(pageable));
-            verify(productRepository).findByIdsWithCollections(eq(productIds));
-            verify(modelMapper).map(eq(product), eq(ShortProductResponseDto.class));
+            verify(productRepository).findProductListing(eq(specification), eq(filter.getName()), eq(pageable));
+            verify(productRepository).findShortProductsByIds(eq(productIds));
+            mockStaticSpecification.verify(() -> Specification.allOf(eq(List.of(specification1, specification4,
+                specification2, specification3, specification5, specification6))));
             assertEquals(expected, actual);
 
         }
@@ -144,45 +219,207 @@ class ProductServiceTest {
         PageRequest pageable = PageRequest.of(0, 1);
         List<Long> productIds = List.of(1L);
         PageImpl<Long> retrievedIds = new PageImpl<>(productIds, pageable, 1);
-        var product = getProduct();
         ProductFilterDto filter = new ProductFilterDto();
         ShortProductResponseDto shortProductResponseDto = getShortProductResponseDto();
         var expected = getAdvancedPageableDto();
         var productMinMaxDto = getProductMinMaxPriceDto();
 
 
-        when(productRepository.findAllProductIds(null, pageable))
-            .thenReturn(retrievedIds);
+        when(productRepository.findProductListing(null, null, pageable))
+            .thenReturn(new ProductListingDto(retrievedIds, productMinMaxDto));
+        when(productRepository.findShortProductsByIds(productIds))
+            .thenReturn(List.of(shortProductResponseDto));
+
+        var actual = productService.getAll(pageable, filter);
+
+        verify(productRepository).findProductListing(eq(null), eq(null), eq(pageable));
+        verify(productRepository, never()).findProductMinMaxPrice(any());
+        verify(productRepository).findShortProductsByIds(eq(productIds));
+        verify(totalCountService).put(eq(filter), any(), eq(1L));
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    void getAllWithParallelQueriesTest() {
+        productService = createProductService(new ParallelQueryService(transactionManager, true, 4));
+        PageRequest pageable = PageRequest.of(0, 1);
+        List<Long> productIds = List.of(1L);
+        ProductFilterDto filter = new ProductFilterDto();
+        ShortProductResponseDto shortProductResponseDto = getShortProductResponseDto();
+        var expected = getAdvancedPageableDto();
+        var productMinMaxDto = getProductMinMaxPriceDto();
+
+        when(productRepository.findProductIds(null, null, pageable))
+            .thenReturn(productIds);
+        when(productRepository.countProducts(null))
+            .thenReturn(1L);
         when(productRepository.findProductMinMaxPrice(null))
             .thenReturn(productMinMaxDto);
-        when(productRepository.findByIdsWithCollections(productIds))
-            .thenReturn(List.of(product));
-        when(modelMapper.map(product, ShortProductResponseDto.class))
-            .thenReturn(shortProductResponseDto);
+        when(productRepository.findShortProductsByIds(productIds))
+            .thenReturn(List.of(shortProductResponseDto));
 
         var actual = productService.getAll(pageable, filter);
 
-        verify(productRepository).findAllProductIds(eq(null), eq(pageable));
+        verify(productRepository, never()).findProductListing(any(), any(), any());
+        verify(productRepository).countProducts(eq(null));
         verify(productRepository).findProductMinMaxPrice(eq(null));
-        verify(productRepository).findByIdsWithCollections(eq(productIds));
-        verify(modelMapper).map(eq(product), eq(ShortProductResponseDto.class));
-        assertEquals(actual, expected);
+        verify(totalCountService).put(eq(filter), any(), eq(1L));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllWithParallelQueriesTakesPriceRangeFromRollupTest() {
+        productService = createProductService(new ParallelQueryService(transactionManager, true, 4));
+        PageRequest pageable = PageRequest.of(0, 1);
+        List<Long> productIds = List.of(1L);
+        ProductFilterDto filter = new ProductFilterDto();
+        var productMinMaxDto = getProductMinMaxPriceDto();
+
+        when(priceBoundsService.findPriceBounds(filter))
+            .thenReturn(Optional.of(new ProductPriceBoundsDto(productMinMaxDto, List.of())));
+        when(productRepository.findProductIds(null, null, pageable))
+            .thenReturn(productIds);
+        when(productRepository.countProducts(null))
+            .thenReturn(1L);
+        when(productRepository.findShortProductsByIds(productIds))
+            .thenReturn(List.of(getShortProductResponseDto()));
+
+        var actual = productService.getAll(pageable, filter);
+
+        verify(productRepository, never()).findProductMinMaxPrice(any());
+        assertEquals(productMinMaxDto.getMin(), actual.getMinPrice());
+        assertEquals(productMinMaxDto.getMax(), actual.getMaxPrice());
+    }
+
+    @Test
+    void getAllWithEstimatedTotalTest() {
+        PageRequest pageable = PageRequest.of(1, 1);
+        List<Long> productIds = List.of(1L);
+        ProductFilterDto filter = new ProductFilterDto();
+        ShortProductResponseDto shortProductResponseDto = getShortProductResponseDto();
+        var productMinMaxDto = getProductMinMaxPriceDto();
+        var countedTotals = new ProductListingDto(new PageImpl<>(List.of(2L), PageRequest.of(0, 1), 50_000L),
+            productMinMaxDto);
+
+        when(totalCountService.findEstimate(eq(filter), eq(pageable), any(), any()))
+            .thenReturn(Optional.of(countedTotals));
+        when(productRepository.findProductIds(null, null, pageable)).thenReturn(productIds);
+        when(productRepository.findShortProductsByIds(productIds))
+            .thenReturn(List.of(shortProductResponseDto));
+
+        var actual = productService.getAll(pageable, filter);
+
+        verify(productRepository, never()).findProductListing(any(), any(), any());
+        verify(productRepository).findProductIds(eq(null), eq(null), eq(pageable));
+        assertEquals(List.of(shortProductResponseDto), actual.getPage());
+        assertEquals(50_000L, actual.getTotalElements());
+        assertEquals(1, actual.getCurrentPage());
+        assertEquals(productMinMaxDto.getMin(), actual.getMinPrice());
+        assertEquals(productMinMaxDto.getMax(), actual.getMaxPrice());
+        assertFalse(actual.isTotalElementsExact());
+    }
+
+    @Test
+    void getAllFromProductIndexTest() {
+        PageRequest pageable = PageRequest.of(0, 1);
+        List<Long> productIds = List.of(1L);
+        PageImpl<Long> retrievedIds = new PageImpl<>(productIds, pageable, 1);
+        ProductFilterDto filter = ProductFilterDto.builder().brandIds(List.of(1L)).build();
+        ShortProductResponseDto shortProductResponseDto = getShortProductResponseDto();
+        var facetCounts = new ProductFacetCountsDto(Map.of(1L, 1L, 2L, 3L), Map.of(1L, 1L));
+        var expected = getAdvancedPageableDto();
+        expected.setBrandCounts(facetCounts.getBrandCounts());
+        expected.setAttributeValueCounts(facetCounts.getAttributeValueCounts());
+
+        when(productIndexService.findProductListing(filter, pageable))
+            .thenReturn(Optional.of(new ProductListingDto(retrievedIds, getProductMinMaxPriceDto())));
+        when(productIndexService.findFacetCounts(filter))
+            .thenReturn(Optional.of(facetCounts));
+        when(productRepository.findShortProductsByIds(productIds))
+            .thenReturn(List.of(shortProductResponseDto));
+
+        var actual = productService.getAll(pageable, filter);
+
+        verify(productIndexService).findProductListing(eq(filter), eq(pageable));
+        verify(productRepository, never()).findProductListing(any(), any(), any());
+        verify(productRepository).findShortProductsByIds(eq(productIds));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByCursorTest() {
+        PageRequest pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "price"));
+        List<Long> productIds = List.of(1L);
+        var position = ScrollPosition.forward(Map.of("available", true, "price", BigDecimal.TEN, "id", 1L));
+        Window<Long> window = Window.from(productIds, i -> position, true);
+        ProductFilterDto filter = new ProductFilterDto();
+        ShortProductResponseDto shortProductResponseDto = getShortProductResponseDto();
+        var productMinMaxDto = getProductMinMaxPriceDto();
+
+        when(productRepository.scrollAllProductIds(null, ScrollPosition.keyset(), pageable))
+            .thenReturn(window);
+        when(productRepository.findProductMinMaxPrice(null))
+            .thenReturn(productMinMaxDto);
+        when(productRepository.findShortProductsByIds(productIds))
+            .thenReturn(List.of(shortProductResponseDto));
+
+        var actual = productService.getAll("", pageable, filter);
+
+        verify(productRepository).scrollAllProductIds(eq(null), eq(ScrollPosition.keyset()), eq(pageable));
+        verify(productRepository).findShortProductsByIds(eq(productIds));
+        assertEquals(List.of(shortProductResponseDto), actual.getPage());
+        assertEquals(productMinMaxDto.getMin(), actual.getMinPrice());
+        assertEquals(productMinMaxDto.getMax(), actual.getMaxPrice());
+        assertEquals(CursorUtils.nextCursor(window, pageable.getSort()), actual.getNextCursor());
+    }
+
+    @Test
+    void getAllByCursorWithPriceBoundsTest() {
+        PageRequest pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "price"));
+        List<Long> productIds = List.of(1L);
+        Window<Long> window = Window.from(productIds, i -> ScrollPosition.keyset(), false);
+        ProductFilterDto filter = ProductFilterDto.builder().categoryId(1L).build();
+        var productMinMaxDto = getProductMinMaxPriceDto();
+        var histogram = List.of(new PriceHistogramBucketDto(BigDecimal.ZERO, BigDecimal.valueOf(50), 1L));
+        var spec = mock(Specification.class);
+
+        try (var specs = mockStatic(ProductRepository.Specs.class)) {
+            when(ProductRepository.Specs.byCategoryId(1L)).thenReturn(spec);
+            when(productRepository.scrollAllProductIds(any(), eq(ScrollPosition.keyset()), eq(pageable)))
+                .thenReturn(window);
+            when(priceBoundsService.findPriceBounds(filter))
+                .thenReturn(Optional.of(new ProductPriceBoundsDto(productMinMaxDto, histogram)));
+
+            var actual = productService.getAll("", pageable, filter);
+
+            verify(productRepository, never()).findProductMinMaxPrice(any());
+            assertEquals(productMinMaxDto.getMin(), actual.getMinPrice());
+            assertEquals(productMinMaxDto.getMax(), actual.getMaxPrice());
+            assertEquals(histogram, actual.getPriceHistogram());
+        }
     }
 
     @Test
     void getByIdTest() {
         var product = getProduct();
         var productResponseDto = getProductResponseDto();
+        var review = getReview();
+        var reviewResponseDto = getReviewResponseDto();
         when(productRepository.findByIdWithCollections(1L))
             .thenReturn(Optional.of(product));
         when(modelMapper.map(product, ProductResponseDto.class))
             .thenReturn(productResponseDto);
+        when(reviewRepository.findRecentByProductId(1L, Limit.of(RECENT_REVIEWS_LIMIT)))
+            .thenReturn(List.of(review));
+        when(modelMapper.map(review, ReviewResponseDto.class))
+            .thenReturn(reviewResponseDto);
 
         var actual = productService.getById(1L);
 
         verify(productRepository).findByIdWithCollections(eq(1L));
         verify(modelMapper).map(eq(product), eq(ProductResponseDto.class));
-        assertEquals(actual, productResponseDto);
+        verify(reviewRepository).findRecentByProductId(eq(1L), eq(Limit.of(RECENT_REVIEWS_LIMIT)));
+        assertEquals(productResponseDto.toBuilder().recentReviews(List.of(reviewResponseDto)).build(), actual);
     }
 
     @Test
@@ -194,6 +431,57 @@ class ProductServiceTest {
         verify(productRepository).findByIdWithCollections(eq(2L));
     }
 
+    @Test
+    void getByIdsTest() {
+        var firstProduct = getProduct();
+        var secondProduct = getProduct();
+        secondProduct.setId(2L);
+        secondProduct.setName("name2");
+        var firstResponseDto = getProductResponseDto();
+        var secondResponseDto = firstResponseDto.toBuilder().id(2L).name("name2").build();
+        when(productRepository.findByIdsWithCollections(List.of(2L, 3L, 1L)))
+            .thenReturn(List.of(firstProduct, secondProduct));
+        when(modelMapper.map(firstProduct, ProductResponseDto.class)).thenReturn(firstResponseDto);
+        when(modelMapper.map(secondProduct, ProductResponseDto.class)).thenReturn(secondResponseDto);
+
+        var actual = productService.getByIds(Arrays.asList(2L, 3L, null, 2L, 1L));
+
+        verify(productRepository).findByIdsWithCollections(eq(List.of(2L, 3L, 1L)));
+        assertEquals(List.of(secondResponseDto, firstResponseDto), actual);
+    }
+
+    @Test
+    void getByIdsWithoutIdsTest() {
+        assertEquals(List.of(), productService.getByIds(Arrays.asList(null, null)));
+        verify(productRepository, never()).findByIdsWithCollections(any());
+    }
+
+    @Test
+    void compareTest() {
+        var firstProduct = getProduct();
+        var secondProduct = getProduct();
+        secondProduct.setId(2L);
+        secondProduct.setName("name2");
+        var firstResponseDto = getProductResponseDto();
+        var secondResponseDto = firstResponseDto.toBuilder().id(2L).name("name2").build();
+        when(productRepository.findByIdsWithCollections(List.of(2L, 1L)))
+            .thenReturn(List.of(firstProduct, secondProduct));
+        when(modelMapper.map(firstProduct, ProductResponseDto.class)).thenReturn(firstResponseDto);
+        when(modelMapper.map(secondProduct, ProductResponseDto.class)).thenReturn(secondResponseDto);
+        when(productRepository.findComparisonCells(List.of(2L, 1L))).thenReturn(List.of(
+            new ProductComparisonCellDto(1L, "Color", 1L, "Red"),
+            new ProductComparisonCellDto(1L, "Color", 2L, "Blue, Red"),
+            new ProductComparisonCellDto(2L, "Size", 1L, "Small")));
+
+        var actual = productService.compare(List.of(2L, 1L));
+
+        assertEquals(List.of(secondResponseDto, firstResponseDto), actual.getProducts());
+        assertEquals(List.of(
+                new ProductAttributeComparisonDto("Color", List.of("Blue, Red", "Red")),
+                new ProductAttributeComparisonDto("Size", Arrays.asList(null, "Small"))),
+            actual.getAttributes());
+    }
+
     @Test
     void deleteByIdTest() {
         var product = getProduct();
@@ -205,6 +493,10 @@ class ProductServiceTest {
 
         verify(productRepository).findById(eq(1L));
         verify(productRepository).deleteById(eq(1L));
+        verify(productDetailCacheService).invalidate(List.of(1L));
+        verify(productIndexService).refresh(eq(List.of(1L)));
+        verify(priceBoundsService).refresh(eq(1L), eq(1L));
+        verify(catalogVersionService).bump();
     }
 
     @Test
@@ -216,6 +508,14 @@ class ProductServiceTest {
         verify(productRepository).findById(eq(2L));
     }
 
+    @Test
+    void rebuildPopularityTest() {
+        when(productRepository.rebuildOrderCounts()).thenReturn(2);
+
+        assertEquals(2, productService.rebuildPopularity());
+        verify(productRepository).rebuildOrderCounts();
+    }
+
     @Test
     void createTest() {
         var product = getProduct();
@@ -255,6 +555,9 @@ class ProductServiceTest {
         verify(attributeValueRepository,never()).save(any());
         verify(attributeRepository,never()).getReferenceById(eq(1L));
         verify(modelMapper).map(eq(savedProduct), eq(ProductResponseDto.class));
+        verify(productIndexService).refresh(eq(List.of(savedProduct.getId())));
+        verify(priceBoundsService).refresh(eq(1L), eq(1L));
+        verify(catalogVersionService).bump();
         assertEquals(productResponseDto, actual);
     }
 
@@ -395,6 +698,45 @@ class ProductServiceTest {
         verify(attributeValueRepository).getReferenceById(eq(1L));
     }
 
+    @Test
+    void createDiscardsUploadedImagesWhenTransactionFailsTest() {
+        var file = getMultipartFile();
+        List<MultipartFile> multipartFiles = List.of(file);
+        var product = getProduct();
+        product.setId(null);
+        var productRequestDto = getProductRequestDto();
+        when(imageCloudService.uploadImage(file, PRODUCT_IMAGES_FOLDER_NAME))
+            .thenReturn(SAMPLE_URL);
+        when(productRepository.findByName(product.getName()))
+            .thenReturn(Optional.empty());
+        when(brandRepository.findById(1L))
+            .thenReturn(Optional.of(product.getBrand()));
+        when(categoryRepository.findById(1L))
+            .thenReturn(Optional.of(product.getCategory()));
+        when(attributeValueRepository.getReferenceById(1L))
+            .thenReturn(getAttributeValue());
+        when(productRepository.save(product))
+            .thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(PersistenceException.class, () -> productService.create(productRequestDto, multipartFiles));
+
+        verify(transactionManager).rollback(any());
+        verify(imageDeletionService).enqueue(eq(List.of(SAMPLE_URL)), eq(PRODUCT_IMAGES_FOLDER_NAME));
+        verify(productIndexService, never()).refresh(any());
+    }
+
+    @Test
+    void updateThrowsPreconditionFailedExceptionTest() {
+        var product = getProduct();
+        ReflectionTestUtils.setField(product, "version", 3L);
+        when(productRepository.findByIdWithCollections(1L)).thenReturn(Optional.of(product));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> productService.update(1L, getProductRequestDto(), List.of(), 2L));
+        verify(productRepository, never()).saveAndFlush(any());
+        verify(productDetailCacheService, never()).invalidate(any());
+    }
+
     @Test
     void updateTest() {
         var file = getMultipartFile();
@@ -405,7 +747,6 @@ class ProductServiceTest {
         List<String> imagesUrls = product.getImages().stream().map(Image::getLink).toList();
         when(imageCloudService.uploadImage(file, PRODUCT_IMAGES_FOLDER_NAME)).
             thenReturn(SAMPLE_URL);
-        doNothing().when(imageCloudService).deleteImages(imagesUrls, PRODUCT_IMAGES_FOLDER_NAME);
         when(productRepository.findByIdWithCollections(1L))
             .thenReturn(Optional.of(getProduct()));
         when(brandRepository.findById(1L)).
@@ -419,22 +760,73 @@ class ProductServiceTest {
         when(modelMapper.map(product, ProductResponseDto.class))
             .thenReturn(productResponseDto);
 
-        var actual = productService.update(1L, productRequestDto, multipartFiles);
+        var actual = productService.update(1L, productRequestDto, multipartFiles, null);
 
         verify(brandRepository).findById(eq(1L));
         verify(categoryRepository).findById(eq(1L));
         verify(attributeValueRepository,never()).save(any());
         verify(attributeRepository,never()).getReferenceById(eq(1L));
         verify(imageCloudService).uploadImage(eq(file), eq(PRODUCT_IMAGES_FOLDER_NAME));
-        verify(imageCloudService).deleteImages(eq(imagesUrls), eq(PRODUCT_IMAGES_FOLDER_NAME));
+        verify(imageCloudService, never()).deleteImages(any(), any());
+        verify(imageDeletionService).enqueue(eq(imagesUrls), eq(PRODUCT_IMAGES_FOLDER_NAME));
         verify(productRepository).findByIdWithCollections(eq(1L));
         verify(attributeValueRepository).findAllByIdIn(eq(Collections.emptyList()));
         verify(productRepository).saveAndFlush(eq(product));
         verify(productRepository).findByNameAndIdNot(eq(productRequestDto.getName()), eq(1L));
         verify(modelMapper).map(eq(product), eq(ProductResponseDto.class));
+        verify(productDetailCacheService).invalidate(List.of(1L));
+        verify(productIndexService).refresh(eq(List.of(1L)));
+        verify(priceBoundsService).refresh(eq(1L), eq(1L));
+        verify(catalogVersionService).bump();
         assertEquals(productResponseDto, actual);
     }
 
+    @Test
+    void updateKeepsUnchangedImagesTest() {
+        var unchangedFile = new MockMultipartFile("unchanged", "unchanged.png", "image/png", new byte[] {1});
+        var newFile = new MockMultipartFile("new", "new.png", "image/png", new byte[] {2});
+        String unchangedHash = "4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a";
+        var product = getProduct();
+        var unchangedImage = Image.builder().id(2L).link("https://unchanged.png").contentHash(unchangedHash)
+            .order((short) 2).build();
+        product.addImage(unchangedImage);
+        var productRequestDto = getProductRequestDto();
+        when(imageRepository.findContentHashesByProductId(1L)).thenReturn(Set.of(unchangedHash));
+        when(imageCloudService.uploadImage(newFile, PRODUCT_IMAGES_FOLDER_NAME)).thenReturn(SAMPLE_URL);
+        when(productRepository.findByIdWithCollections(1L)).thenReturn(Optional.of(product));
+        when(brandRepository.findById(1L)).thenReturn(Optional.of(product.getBrand()));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(product.getCategory()));
+        when(productRepository.findByNameAndIdNot(productRequestDto.getName(), 1L)).thenReturn(Optional.empty());
+
+        productService.update(1L, productRequestDto, List.of(unchangedFile, newFile, unchangedFile), null);
+
+        verify(imageCloudService).uploadImage(any(), any());
+        verify(imageDeletionService).enqueue(eq(List.of("https://image.jpg")), eq(PRODUCT_IMAGES_FOLDER_NAME));
+        assertEquals(List.of("https://unchanged.png", SAMPLE_URL),
+            product.getImages().stream().map(Image::getLink).toList());
+        assertEquals(List.of((short) 1, (short) 2), product.getImages().stream().map(Image::getOrder).toList());
+        assertSame(unchangedImage, product.getImages().get(0));
+    }
+
+    @Test
+    void updateThrowsConflictExceptionWhenUnchangedImageWasRemovedTest() {
+        var unchangedFile = new MockMultipartFile("unchanged", "unchanged.png", "image/png", new byte[] {1});
+        var product = getProduct();
+        var productRequestDto = getProductRequestDto();
+        when(imageRepository.findContentHashesByProductId(1L))
+            .thenReturn(Set.of("4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a"));
+        when(productRepository.findByIdWithCollections(1L)).thenReturn(Optional.of(product));
+        when(brandRepository.findById(1L)).thenReturn(Optional.of(product.getBrand()));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(product.getCategory()));
+        when(productRepository.findByNameAndIdNot(productRequestDto.getName(), 1L)).thenReturn(Optional.empty());
+
+        List<MultipartFile> multipartFiles = List.of(unchangedFile);
+        assertThrows(ConflictException.class,
+            () -> productService.update(1L, productRequestDto, multipartFiles, null));
+        verify(imageCloudService, never()).uploadImage(any(), any());
+        verify(imageDeletionService, never()).enqueue(any(), any());
+    }
+
     @Test
     void updateWithNewAttributesTest() {
         var file = getMultipartFile();
@@ -464,7 +856,6 @@ class ProductServiceTest {
             .thenReturn(attribute);
         when(imageCloudService.uploadImage(file, PRODUCT_IMAGES_FOLDER_NAME)).
             thenReturn(SAMPLE_URL);
-        doNothing().when(imageCloudService).deleteImages(imagesUrls, PRODUCT_IMAGES_FOLDER_NAME);
         when(productRepository.findByIdWithCollections(1L))
             .thenReturn(Optional.of(getProduct()));
         when(brandRepository.findById(1L)).
@@ -478,14 +869,15 @@ class ProductServiceTest {
         when(modelMapper.map(product, ProductResponseDto.class))
             .thenReturn(productResponseDto);
 
-        var actual = productService.update(1L, productRequestDto, multipartFiles);
+        var actual = productService.update(1L, productRequestDto, multipartFiles, null);
 
         verify(brandRepository).findById(eq(1L));
         verify(categoryRepository).findById(eq(1L));
         verify(attributeValueRepository).save(any());
         verify(attributeRepository).getReferenceById(eq(1L));
         verify(imageCloudService).uploadImage(eq(file), eq(PRODUCT_IMAGES_FOLDER_NAME));
-        verify(imageCloudService).deleteImages(eq(imagesUrls), eq(PRODUCT_IMAGES_FOLDER_NAME));
+        verify(imageCloudService, never()).deleteImages(any(), any());
+        verify(imageDeletionService).enqueue(eq(imagesUrls), eq(PRODUCT_IMAGES_FOLDER_NAME));
         verify(productRepository).findByIdWithCollections(eq(1L));
         verify(attributeValueRepository).findAllByIdIn(eq(Collections.emptyList()));
         verify(productRepository).saveAndFlush(eq(product));
@@ -513,13 +905,13 @@ class ProductServiceTest {
         when(modelMapper.map(product, ProductResponseDto.class))
             .thenReturn(productResponseDto);
 
-        var actual = productService.update(1L, productRequestDto, multipartFiles);
+        var actual = productService.update(1L, productRequestDto, multipartFiles, null);
 
         verify(brandRepository).findById(eq(1L));
         verify(categoryRepository).findById(eq(1L));
         verify(productRepository).findByIdWithCollections(eq(1L));
         verify(imageCloudService, never()).uploadImage(any(), any());
-        verify(imageCloudService, never()).deleteImages(any(), any());
+        verify(imageDeletionService, never()).enqueue(any(), any());
         verify(attributeValueRepository).findAllByIdIn(eq(Collections.emptyList()));
         verify(productRepository).saveAndFlush(eq(product));
         verify(productRepository).findByNameAndIdNot(eq(productRequestDto.getName()), eq(1L));
@@ -536,7 +928,7 @@ class ProductServiceTest {
         when(brandRepository.findById(1L))
             .thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> productService.update(1L, productRequestDto, multipartFiles));
+        assertThrows(NotFoundException.class, () -> productService.update(1L, productRequestDto, multipartFiles, null));
         verify(brandRepository).findById(eq(1L));
         verify(productRepository).findByIdWithCollections(eq(1L));
     }
@@ -552,7 +944,7 @@ class ProductServiceTest {
         when(categoryRepository.findById(1L)).
             thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> productService.update(1L, productRequestDto, multipartFiles));
+        assertThrows(NotFoundException.class, () -> productService.update(1L, productRequestDto, multipartFiles, null));
         verify(brandRepository).findById(eq(1L));
         verify(categoryRepository).findById(eq(1L));
         verify(productRepository).findByIdWithCollections(eq(1L));
@@ -566,7 +958,7 @@ class ProductServiceTest {
         when(productRepository.findByIdWithCollections(1L))
             .thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> productService.update(1L, productRequestDto, multipartFiles));
+        assertThrows(NotFoundException.class, () -> productService.update(1L, productRequestDto, multipartFiles, null));
         verify(productRepository).findByIdWithCollections(eq(1L));
     }
 
@@ -585,7 +977,7 @@ class ProductServiceTest {
             .thenReturn(Optional.of(product));
 
         assertThrows(AlreadyExistsException.class, () -> productService
-            .update(1L, productRequestDto, multipartFiles));
+            .update(1L, productRequestDto, multipartFiles, null));
         verify(brandRepository).findById(eq(1L));
         verify(categoryRepository).findById(eq(1L));
         verify(productRepository).findByNameAndIdNot(eq(product.getName()), eq(1L));
@@ -613,7 +1005,7 @@ class ProductServiceTest {
         when(attributeValueRepository.findAllByIdIn(List.of(3L)))
             .thenThrow(DataIntegrityViolationException.class);
 
-        assertThrows(PersistenceException.class, () -> productService.update(1L, productRequestDto, multipartFiles));
+        assertThrows(PersistenceException.class, () -> productService.update(1L, productRequestDto, multipartFiles, null));
         verify(productRepository).findByIdWithCollections(eq(1L));
         verify(brandRepository).findById(eq(1L));
         verify(categoryRepository).findById(eq(1L));
@@ -1,5 +1,6 @@
 package io.teamchallenge.service;
 
+import io.teamchallenge.dto.pageable.CursorPageableDto;
 import io.teamchallenge.dto.pageable.PageableDto;
 import io.teamchallenge.dto.review.AddReviewRequestDto;
 import io.teamchallenge.dto.review.ReviewResponseDto;
@@ -14,22 +15,34 @@ import io.teamchallenge.exception.NotFoundException;
 import io.teamchallenge.repository.ProductRepository;
 import io.teamchallenge.repository.ReviewRepository;
 import io.teamchallenge.repository.UserRepository;
+import io.teamchallenge.service.impl.CatalogVersionService;
+import io.teamchallenge.service.impl.ProductDetailCacheService;
+import io.teamchallenge.service.impl.ProductIndexService;
 import io.teamchallenge.service.impl.ReviewService;
+import io.teamchallenge.util.CursorUtils;
 import io.teamchallenge.util.Utils;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +59,12 @@ public class ReviewServiceTest {
     private UserRepository userRepository;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private ProductIndexService productIndexService;
+    @Mock
+    private CatalogVersionService catalogVersionService;
+    @Mock
+    private ProductDetailCacheService productDetailCacheService;
 
     @Test
     void getAllByProductIdTest() {
@@ -67,7 +86,8 @@ public class ReviewServiceTest {
             List.of(reviewResponseDto),
             page.getTotalElements(),
             page.getPageable().getPageNumber(),
-            page.getTotalPages());
+            page.getTotalPages(),
+            true);
 
         when(reviewRepository.findAllByProductId(productId, pageable)).thenReturn(page);
         when(modelMapper.map(review, ReviewResponseDto.class)).thenReturn(reviewResponseDto);
@@ -79,6 +99,26 @@ public class ReviewServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getAllByProductIdAndCursorTest() {
+        Long productId = 1L;
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "rate"));
+        Review review = Utils.getReview();
+        var position = ScrollPosition.forward(Map.of("rate", review.getRate(), "userId", 1L));
+        Window<Review> window = Window.from(List.of(review), i -> position, true);
+        ReviewResponseDto reviewResponseDto = Utils.getReviewResponseDto();
+        String cursor = CursorUtils.nextCursor(window, pageable.getSort());
+
+        when(reviewRepository.scrollAllByProductId(productId, CursorUtils.decode(cursor, pageable.getSort()),
+            pageable)).thenReturn(window);
+        when(modelMapper.map(review, ReviewResponseDto.class)).thenReturn(reviewResponseDto);
+
+        var actual = reviewService.getAllByProductId(productId, cursor, pageable);
+
+        verify(reviewRepository).scrollAllByProductId(eq(productId), any(KeysetScrollPosition.class), eq(pageable));
+        assertEquals(new CursorPageableDto<>(List.of(reviewResponseDto), cursor), actual);
+    }
+
     @Test
     void createTest() {
         ReviewId reviewId = Utils.getReviewId();
@@ -110,6 +150,10 @@ public class ReviewServiceTest {
         verify(modelMapper).map(review, ReviewResponseDto.class);
         verify(userRepository).getReferenceById(reviewId.getUserId());
         verify(productRepository).getReferenceById(reviewId.getProductId());
+        verify(productRepository).addRating(reviewId.getProductId(), requestDto.getRate());
+        verify(productDetailCacheService).invalidate(List.of(reviewId.getProductId()));
+        verify(productIndexService).refresh(List.of(reviewId.getProductId()));
+        verify(catalogVersionService).bump();
         verify(reviewRepository).existsById(reviewId);
     }
 
@@ -142,21 +186,26 @@ public class ReviewServiceTest {
     @Test
     void deleteByReviewIdTest() {
         ReviewId reviewId = Utils.getReviewId();
+        Review review = Utils.getReview();
 
-        when(reviewRepository.existsById(reviewId)).thenReturn(true);
-        doNothing().when(reviewRepository).deleteById(reviewId);
+        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+        doNothing().when(reviewRepository).delete(review);
 
         reviewService.deleteByReviewId(reviewId);
 
-        verify(reviewRepository).existsById(reviewId);
-        verify(reviewRepository).deleteById(reviewId);
+        verify(reviewRepository).findById(reviewId);
+        verify(reviewRepository).delete(review);
+        verify(productRepository).removeRating(reviewId.getProductId(), review.getRate());
+        verify(productDetailCacheService).invalidate(List.of(reviewId.getProductId()));
+        verify(productIndexService).refresh(List.of(reviewId.getProductId()));
+        verify(catalogVersionService).bump();
     }
 
     @Test
     void deleteByReviewIdThrowsNotFoundExceptionTest() {
         ReviewId reviewId = Utils.getReviewId();
 
-        when(reviewRepository.existsById(reviewId)).thenReturn(false);
+        when(reviewRepository.findById(reviewId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, ()->reviewService.deleteByReviewId(reviewId));
     }
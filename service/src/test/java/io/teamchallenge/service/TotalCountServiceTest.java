@@ -0,0 +1,80 @@
+package io.teamchallenge.service;
+
+import io.teamchallenge.service.impl.TotalCountService;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TotalCountServiceTest {
+    private static final String KEY = "filter";
+
+    @Test
+    void findEstimateWithoutCountedTotalsTest() {
+        var totalCountService = new TotalCountService(100L, 600L, 60L, 1000L, true);
+
+        var actual = totalCountService.findEstimate(KEY, PageRequest.of(1, 10), () -> 5000L, Long::longValue);
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void findEstimateBelowThresholdOnFirstPageTest() {
+        var totalCountService = new TotalCountService(100L, 600L, 60L, 1000L, true);
+        totalCountService.put(KEY, 999L, 999L);
+
+        var actual = totalCountService.findEstimate(KEY, PageRequest.of(0, 10), () -> 999L, Long::longValue);
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void findEstimateBelowThresholdAfterFirstPageTest() {
+        var totalCountService = new TotalCountService(100L, 600L, 60L, 1000L, true);
+        totalCountService.put(KEY, 999L, 999L);
+
+        var actual = totalCountService.findEstimate(KEY, PageRequest.of(1, 10), () -> 999L, Long::longValue);
+
+        assertEquals(999L, actual.orElseThrow());
+    }
+
+    @Test
+    void findEstimateBelowThresholdAfterFirstPageWithoutSkippingTest() {
+        var totalCountService = new TotalCountService(100L, 600L, 60L, 1000L, false);
+        totalCountService.put(KEY, 999L, 999L);
+
+        var actual = totalCountService.findEstimate(KEY, PageRequest.of(1, 10), () -> 999L, Long::longValue);
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void findEstimateAboveThresholdTest() {
+        var totalCountService = new TotalCountService(100L, 600L, 60L, 1000L, false);
+        totalCountService.put(KEY, 5000L, 5000L);
+
+        var actual = totalCountService.findEstimate(KEY, PageRequest.of(0, 10), () -> 6000L, Long::longValue);
+
+        assertEquals(5000L, actual.orElseThrow());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findEstimateRecountsOutdatedTotalsInBackgroundTest() {
+        var totalCountService = new TotalCountService(100L, 600L, 0L, 1000L, false);
+        Supplier<Long> counter = mock(Supplier.class);
+        when(counter.get()).thenReturn(6000L);
+        totalCountService.put(KEY, 5000L, 5000L);
+
+        var actual = totalCountService.findEstimate(KEY, PageRequest.of(0, 10), counter, Long::longValue);
+
+        assertEquals(5000L, actual.orElseThrow());
+        verify(counter, timeout(1000)).get();
+    }
+}
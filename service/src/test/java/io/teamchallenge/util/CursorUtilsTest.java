@@ -0,0 +1,56 @@
+package io.teamchallenge.util;
+
+import io.teamchallenge.exception.InvalidCursorException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorUtilsTest {
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "price");
+
+    @Test
+    void decodeBlankCursorTest() {
+        assertTrue(CursorUtils.decode("", SORT).isInitial());
+        assertTrue(CursorUtils.decode(null, SORT).isInitial());
+    }
+
+    @Test
+    void encodeAndDecodeTest() {
+        var position = ScrollPosition.forward(Map.of("price", "10.50", "id", "3"));
+        Window<Long> window = Window.from(List.of(3L), i -> position, true);
+
+        KeysetScrollPosition actual = CursorUtils.decode(CursorUtils.nextCursor(window, SORT), SORT);
+
+        assertEquals(position.getKeys(), actual.getKeys());
+    }
+
+    @Test
+    void nextCursorWithoutNextWindowTest() {
+        Window<Long> window = Window.from(List.of(3L), i -> ScrollPosition.keyset(), false);
+
+        assertNull(CursorUtils.nextCursor(window, SORT));
+    }
+
+    @Test
+    void decodeCursorOfAnotherSortThrowsInvalidCursorExceptionTest() {
+        var position = ScrollPosition.forward(Map.of("price", "10.50", "id", "3"));
+        String cursor = CursorUtils.nextCursor(Window.from(List.of(3L), i -> position, true), SORT);
+        Sort anotherSort = Sort.by(Sort.Direction.ASC, "price");
+
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decode(cursor, anotherSort));
+    }
+
+    @Test
+    void decodeMalformedCursorThrowsInvalidCursorExceptionTest() {
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decode("not a cursor!", SORT));
+    }
+}
@@ -0,0 +1,36 @@
+package io.teamchallenge.util;
+
+import io.teamchallenge.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntityTagUtilsTest {
+    @Test
+    void toETagTest() {
+        assertEquals("\"3\"", EntityTagUtils.toETag(3L));
+    }
+
+    @Test
+    void parseIfMatchTest() {
+        assertEquals(3L, EntityTagUtils.parseIfMatch(" \"3\" "));
+    }
+
+    @Test
+    void parseAbsentOrAnyIfMatchTest() {
+        assertNull(EntityTagUtils.parseIfMatch(null));
+        assertNull(EntityTagUtils.parseIfMatch(""));
+        assertNull(EntityTagUtils.parseIfMatch("*"));
+    }
+
+    @Test
+    void parseInvalidIfMatchTest() {
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtils.parseIfMatch("3"));
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtils.parseIfMatch("W/\"3\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtils.parseIfMatch("\"3\", \"4\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtils.parseIfMatch("\"\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityTagUtils.parseIfMatch("\"abc\""));
+    }
+}
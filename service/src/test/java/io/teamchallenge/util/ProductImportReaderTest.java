@@ -0,0 +1,100 @@
+package io.teamchallenge.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.teamchallenge.dto.product.ProductImportRowDto;
+import io.teamchallenge.enumerated.ProductFeedFormat;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductImportReaderTest {
+    @Test
+    void nextCsvTest() throws IOException {
+        String csv = "NAME,price,quantity,short_desc,description,brand,category,attributes,image\r\n"
+            + "\"T-shirt, white\",19.99,5,T-shirt,\"Cotton\r\n\"\"basic\"\" T-shirt\",Brand,Clothing,"
+            + "Color=White|Black;Material=Cotton,https://example.com/1.jpg\r\n"
+            + "\r\n"
+            + "Phone,599.99,1,Smartphone,Phone,Brand,Electronics,,\n";
+
+        try (var reader = new ProductImportReader(new StringReader(csv), ProductFeedFormat.CSV, new ObjectMapper())) {
+            var first = reader.next();
+            var second = reader.next();
+
+            assertEquals(1, first.getNumber());
+            assertNull(first.getError());
+            assertEquals(ProductImportRowDto.builder()
+                .name("T-shirt, white")
+                .shortDesc("T-shirt")
+                .description("Cotton\r\n\"basic\" T-shirt")
+                .price(new BigDecimal("19.99"))
+                .quantity(5)
+                .brand("Brand")
+                .category("Clothing")
+                .attributes(Map.of("Color", List.of("White", "Black"), "Material", List.of("Cotton")))
+                .build(), first.getValue());
+            assertEquals(2, second.getNumber());
+            assertEquals("Phone", second.getValue().getName());
+            assertTrue(second.getValue().getAttributes().isEmpty());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void nextMalformedCsvTest() throws IOException {
+        String csv = "name,price,quantity,attributes\nPhone,cheap,1,\nCase,9.99,1,Color\n";
+
+        try (var reader = new ProductImportReader(new StringReader(csv), ProductFeedFormat.CSV, new ObjectMapper())) {
+            var rows = reader.next(10);
+
+            assertEquals(2, rows.size());
+            assertNull(rows.get(0).getValue());
+            assertTrue(rows.get(0).getError().startsWith("The row is malformed"));
+            assertNull(rows.get(1).getValue());
+            assertEquals("The row is malformed: attribute without name: Color", rows.get(1).getError());
+        }
+    }
+
+    @Test
+    void nextNdjsonTest() throws IOException {
+        String ndjson = "{\"name\":\"Phone\",\"price\":599.99,\"quantity\":1,\"available\":true,"
+            + "\"attributes\":{\"Color\":[\"Red\"]}}\n"
+            + "\n"
+            + "{\"name\":\n"
+            + "{\"name\":\"Case\"}\n";
+
+        try (var reader = new ProductImportReader(new StringReader(ndjson), ProductFeedFormat.NDJSON,
+            new ObjectMapper())) {
+            var rows = reader.next(2);
+
+            assertEquals(2, rows.size());
+            assertEquals("Phone", rows.get(0).getValue().getName());
+            assertEquals(Map.of("Color", List.of("Red")), rows.get(0).getValue().getAttributes());
+            assertEquals(2, rows.get(1).getNumber());
+            assertNull(rows.get(1).getValue());
+            assertTrue(rows.get(1).getError().startsWith("The row is malformed"));
+            assertEquals("Case", reader.next().getValue().getName());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void skipTest() throws IOException {
+        String csv = "name\nPhone\nCase\nCharger\n";
+
+        try (var reader = new ProductImportReader(new StringReader(csv), ProductFeedFormat.CSV, new ObjectMapper())) {
+            reader.skip(2);
+            var row = reader.next();
+
+            assertEquals(3, row.getNumber());
+            assertEquals("Charger", row.getValue().getName());
+            assertNull(reader.next());
+        }
+    }
+}
@@ -172,10 +172,7 @@ public class Utils {
             .name(product.getName())
             .price(product.getPrice())
             .available(product.getQuantity() > 0)
-            .rating(product.getReviews().stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0))
+            .rating(product.getRating())
             .images(product.getImages()
                 .stream()
                 .map(img -> ImageDto.builder()
@@ -216,10 +213,7 @@ public class Utils {
             .price(product.getPrice())
             .quantity(product.getQuantity())
             .createdAt(product.getCreatedAt())
-            .rating(product.getReviews().stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0))
+            .rating(product.getRating())
             .build();
     }
 